@@ -0,0 +1,315 @@
+package aima.core.learning.framework;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import aima.core.util.Util;
+
+/**
+ * A column oriented, dictionary encoded view of a DataSet for learners which
+ * evaluate many splits of large data sets. The value of each attribute of
+ * each example is looked up once and stored as an int code in a primitive
+ * array per attribute; the codes of a string attribute follow the order of
+ * its possible values in the specification, followed by any other values
+ * which occur. Subsets of the examples are represented by arrays of row
+ * indices, so learners can split them by partitioning index ranges instead
+ * of creating new DataSets, and the counts of all values of an attribute
+ * against the target are obtained in a single pass.
+ *
+ * @author agent
+ *
+ */
+public class ColumnarDataSet {
+	private DataSet dataSet;
+
+	private List<String> attributeNames = new ArrayList<String>();
+
+	private Map<String, Integer> attributeIndexes = new HashMap<String, Integer>();
+
+	private int targetIndex;
+
+	// the values of each attribute, indexed by code
+	private List<List<String>> dictionaries = new ArrayList<List<String>>();
+
+	private List<Map<String, Integer>> codes = new ArrayList<Map<String, Integer>>();
+
+	// columns[a][row], the code of the value of attribute a of example row
+	private int[][] columns;
+
+	private Example[] examples;
+
+	public ColumnarDataSet(DataSet ds) {
+		this.dataSet = ds;
+		for (String name : ds.getAttributeNames()) {
+			addAttribute(name, ds.specification);
+		}
+		String target = ds.getTargetAttributeName();
+		if (!attributeIndexes.containsKey(target)) {
+			addAttribute(target, ds.specification);
+		}
+		targetIndex = attributeIndexes.get(target);
+
+		examples = ds.examples.toArray(new Example[ds.size()]);
+		columns = new int[attributeNames.size()][examples.length];
+		for (int row = 0; row < examples.length; row++) {
+			for (int a = 0; a < attributeNames.size(); a++) {
+				columns[a][row] = encode(a, examples[row]
+						.getAttributeValueAsString(attributeNames.get(a)));
+			}
+		}
+	}
+
+	/**
+	 * @return the DataSet this is a view of.
+	 */
+	public DataSet getDataSet() {
+		return dataSet;
+	}
+
+	/**
+	 * @param rows
+	 *            row indices
+	 * @return a DataSet of the examples with the specified row indices (the
+	 *         examples are shared, not copied).
+	 */
+	public DataSet getDataSet(int[] rows) {
+		DataSet ds = dataSet.emptyDataSet();
+		for (int row : rows) {
+			ds.add(examples[row]);
+		}
+		return ds;
+	}
+
+	public int size() {
+		return examples.length;
+	}
+
+	public Example getExample(int row) {
+		return examples[row];
+	}
+
+	/**
+	 * @return the row indices of all examples, in order.
+	 */
+	public int[] allRows() {
+		int[] rows = new int[examples.length];
+		for (int row = 0; row < rows.length; row++) {
+			rows[row] = row;
+		}
+		return rows;
+	}
+
+	public int getNumberOfAttributes() {
+		return attributeNames.size();
+	}
+
+	public String getAttributeName(int a) {
+		return attributeNames.get(a);
+	}
+
+	public int getAttributeIndex(String name) {
+		Integer a = attributeIndexes.get(name);
+		if (null == a) {
+			throw new RuntimeException("No such attribute" + name);
+		}
+		return a;
+	}
+
+	public int getTargetIndex() {
+		return targetIndex;
+	}
+
+	/**
+	 * @return the indices of the non target attributes, in the order of the
+	 *         specification.
+	 */
+	public List<Integer> getNonTargetAttributes() {
+		List<Integer> result = new ArrayList<Integer>();
+		for (String name : dataSet.getNonTargetAttributes()) {
+			result.add(getAttributeIndex(name));
+		}
+		return result;
+	}
+
+	/**
+	 * @return the number of distinct codes of attribute a.
+	 */
+	public int getNumberOfValues(int a) {
+		return dictionaries.get(a).size();
+	}
+
+	public String getValue(int a, int code) {
+		return dictionaries.get(a).get(code);
+	}
+
+	/**
+	 * @return the code of a value of attribute a, or -1 if the value neither
+	 *         occurs nor is a possible value of the attribute.
+	 */
+	public int getCode(int a, String value) {
+		Integer code = codes.get(a).get(value);
+		return null == code ? -1 : code;
+	}
+
+	/**
+	 * @return the code of the value of attribute a of the example with the
+	 *         specified row index.
+	 */
+	public int getCode(int a, int row) {
+		return columns[a][row];
+	}
+
+	/**
+	 * Count the values of an attribute in a subset of the examples.
+	 *
+	 * @return the number of examples of rows[from, to) with each code of
+	 *         attribute a.
+	 */
+	public int[] countValues(int a, int[] rows, int from, int to) {
+		int[] column = columns[a];
+		int[] counts = new int[getNumberOfValues(a)];
+		for (int i = from; i < to; i++) {
+			counts[column[rows[i]]]++;
+		}
+		return counts;
+	}
+
+	/**
+	 * Count the values of an attribute against the values of the target in a
+	 * single pass over a subset of the examples.
+	 *
+	 * @return the number of examples of rows[from, to) with each code of
+	 *         attribute a (first index) and each code of the target (second
+	 *         index).
+	 */
+	public int[][] contingencyCounts(int a, int[] rows, int from, int to) {
+		int[] column = columns[a];
+		int[] target = columns[targetIndex];
+		int[][] counts = new int[getNumberOfValues(a)][getNumberOfValues(targetIndex)];
+		for (int i = from; i < to; i++) {
+			int row = rows[i];
+			counts[column[row]][target[row]]++;
+		}
+		return counts;
+	}
+
+	/**
+	 * @return the information content of the target in the examples of
+	 *         rows[from, to).
+	 * @see DataSet#getInformationFor()
+	 */
+	public double getInformationFor(int[] rows, int from, int to) {
+		return information(countValues(targetIndex, rows, from, to));
+	}
+
+	/**
+	 * @return the information gain of attribute a on the examples of
+	 *         rows[from, to).
+	 * @see DataSet#calculateGainFor(String)
+	 */
+	public double calculateGainFor(int a, int[] rows, int from, int to) {
+		return calculateGainFor(a, rows, from, to, getInformationFor(rows,
+				from, to));
+	}
+
+	/**
+	 * @param information
+	 *            the information content of the target in the examples of
+	 *            rows[from, to), if already known.
+	 * @return the information gain of attribute a on the examples of
+	 *         rows[from, to).
+	 */
+	public double calculateGainFor(int a, int[] rows, int from, int to,
+			double information) {
+		double totalSize = to - from;
+		double remainder = 0.0;
+		for (int[] targetCounts : contingencyCounts(a, rows, from, to)) {
+			int reducedDataSetSize = 0;
+			for (int c : targetCounts) {
+				reducedDataSetSize += c;
+			}
+			if (reducedDataSetSize > 0) {
+				remainder += (reducedDataSetSize / totalSize)
+						* information(targetCounts);
+			}
+		}
+		return information - remainder;
+	}
+
+	/**
+	 * Reorder the row indices rows[from, to) by the code of attribute a,
+	 * keeping the order of rows with the same code.
+	 *
+	 * @param scratch
+	 *            an array at least as long as rows, overwritten.
+	 * @return the bounds of the groups: the rows with code c are at
+	 *         rows[bounds[c], bounds[c+1]).
+	 */
+	public int[] partition(int[] rows, int from, int to, int a, int[] scratch) {
+		int[] column = columns[a];
+		int n = getNumberOfValues(a);
+		int[] bounds = new int[n + 1];
+		for (int i = from; i < to; i++) {
+			bounds[column[rows[i]] + 1]++;
+		}
+		bounds[0] = from;
+		for (int c = 0; c < n; c++) {
+			bounds[c + 1] += bounds[c];
+		}
+		int[] next = new int[n];
+		System.arraycopy(bounds, 0, next, 0, n);
+		for (int i = from; i < to; i++) {
+			scratch[next[column[rows[i]]]++] = rows[i];
+		}
+		System.arraycopy(scratch, from, rows, from, to - from);
+		return bounds;
+	}
+
+	/**
+	 * @return the information content of a distribution given by counts,
+	 *         ignoring zero counts.
+	 */
+	public static double information(int[] counts) {
+		int nonZero = 0;
+		for (int c : counts) {
+			if (c > 0) {
+				nonZero++;
+			}
+		}
+		double[] data = new double[nonZero];
+		int i = 0;
+		for (int c : counts) {
+			if (c > 0) {
+				data[i++] = c;
+			}
+		}
+		return Util.information(Util.normalize(data));
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private void addAttribute(String name, DataSetSpecification spec) {
+		attributeIndexes.put(name, attributeNames.size());
+		attributeNames.add(name);
+		dictionaries.add(new ArrayList<String>());
+		codes.add(new HashMap<String, Integer>());
+		if (spec.getNamesOfStringAttributes().contains(name)) {
+			for (String value : spec.getPossibleAttributeValues(name)) {
+				encode(attributeNames.size() - 1, value);
+			}
+		}
+	}
+
+	private int encode(int a, String value) {
+		Integer code = codes.get(a).get(value);
+		if (null == code) {
+			code = dictionaries.get(a).size();
+			dictionaries.get(a).add(value);
+			codes.get(a).put(value, code);
+		}
+		return code;
+	}
+}
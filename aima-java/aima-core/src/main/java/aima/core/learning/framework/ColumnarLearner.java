@@ -0,0 +1,23 @@
+package aima.core.learning.framework;
+
+/**
+ * A learner which can be trained on a subset of the examples of a
+ * ColumnarDataSet, given by row indices, without copying the examples. This
+ * allows an ensemble to encode a data set once and share it with all its
+ * learners.
+ *
+ * @author agent
+ *
+ */
+public interface ColumnarLearner extends Learner {
+	/**
+	 * Train on the examples of a columnar data set with the specified row
+	 * indices.
+	 * 
+	 * @param ds
+	 *            a columnar data set
+	 * @param rows
+	 *            the row indices of the examples to train on, not modified.
+	 */
+	void train(ColumnarDataSet ds, int[] rows);
+}
@@ -2,6 +2,7 @@ package aima.core.learning.inductive;
 
 import java.util.Hashtable;
 
+import aima.core.learning.framework.ColumnarDataSet;
 import aima.core.learning.framework.DataSet;
 import aima.core.learning.framework.Example;
 
@@ -53,6 +54,41 @@ public class DLTest {
 		return unmatched;
 	}
 
+	/**
+	 * Reorder the row indices rows[from, to) so that the examples matched by
+	 * this test come first, keeping their order.
+	 * 
+	 * @return the end of the matched examples, i.e. rows[from, end) are
+	 *         matched and rows[end, to) are unmatched.
+	 */
+	public int partition(ColumnarDataSet ds, int[] rows, int from, int to) {
+		int[] attributes = new int[attrValues.size()];
+		int[] codes = new int[attrValues.size()];
+		int i = 0;
+		for (String key : attrValues.keySet()) {
+			attributes[i] = ds.getAttributeIndex(key);
+			codes[i] = ds.getCode(attributes[i], attrValues.get(key));
+			if (codes[i] < 0) {
+				// no example has this value
+				return from;
+			}
+			i++;
+		}
+		int end = from;
+		for (int r = from; r < to; r++) {
+			int row = rows[r];
+			boolean matches = true;
+			for (int a = 0; a < attributes.length && matches; a++) {
+				matches = ds.getCode(attributes[a], row) == codes[a];
+			}
+			if (matches) {
+				rows[r] = rows[end];
+				rows[end++] = row;
+			}
+		}
+		return end;
+	}
+
 	@Override
 	public String toString() {
 		StringBuffer buf = new StringBuffer();
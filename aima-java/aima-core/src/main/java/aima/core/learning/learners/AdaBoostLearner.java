@@ -3,6 +3,8 @@ package aima.core.learning.learners;
 import java.util.Hashtable;
 import java.util.List;
 
+import aima.core.learning.framework.ColumnarDataSet;
+import aima.core.learning.framework.ColumnarLearner;
 import aima.core.learning.framework.DataSet;
 import aima.core.learning.framework.Example;
 import aima.core.learning.framework.Learner;
@@ -10,10 +12,15 @@ import aima.core.util.Util;
 import aima.core.util.datastructure.Table;
 
 /**
+ * The data set is encoded once as a ColumnarDataSet, which is shared by all
+ * ColumnarLearners of the ensemble, and the predictions of each learner on the
+ * training examples are computed once and used both for its error and for the
+ * adjustment of the example weights.
+ * 
  * @author Ravi Mohan
  * 
  */
-public class AdaBoostLearner implements Learner {
+public class AdaBoostLearner implements ColumnarLearner {
 
 	private List<Learner> learners;
 
@@ -32,17 +39,36 @@ public class AdaBoostLearner implements Learner {
 	}
 
 	public void train(DataSet ds) {
-		initializeExampleWeights(ds.examples.size());
+		ColumnarDataSet cds = new ColumnarDataSet(ds);
+		train(cds, cds.allRows());
+	}
 
+	public void train(ColumnarDataSet ds, int[] rows) {
+		initializeExampleWeights(rows.length);
+
+		DataSet subset = null;
+		boolean[] correct = new boolean[rows.length];
 		for (Learner learner : learners) {
-			learner.train(ds);
+			if (learner instanceof ColumnarLearner) {
+				((ColumnarLearner) learner).train(ds, rows);
+			} else {
+				if (null == subset) {
+					subset = ds.getDataSet(rows);
+				}
+				learner.train(subset);
+			}
+
+			for (int i = 0; i < rows.length; i++) {
+				Example e = ds.getExample(rows[i]);
+				correct[i] = learner.predict(e).equals(e.targetValue());
+			}
 
-			double error = calculateError(ds, learner);
+			double error = calculateError(correct);
 			if (error < 0.0001) {
 				break;
 			}
 
-			adjustExampleWeights(ds, learner, error);
+			adjustExampleWeights(correct, error);
 
 			double newHypothesisWeight = learnerWeights.get(learner)
 					* Math.log((1.0 - error) / error);
@@ -147,22 +173,20 @@ public class AdaBoostLearner implements Learner {
 		}
 	}
 
-	private double calculateError(DataSet ds, Learner l) {
+	private double calculateError(boolean[] correct) {
 		double error = 0.0;
-		for (int i = 0; i < ds.examples.size(); i++) {
-			Example e = ds.getExample(i);
-			if (!(l.predict(e).equals(e.targetValue()))) {
+		for (int i = 0; i < correct.length; i++) {
+			if (!correct[i]) {
 				error = error + exampleWeights[i];
 			}
 		}
 		return error;
 	}
 
-	private void adjustExampleWeights(DataSet ds, Learner l, double error) {
+	private void adjustExampleWeights(boolean[] correct, double error) {
 		double epsilon = error / (1.0 - error);
-		for (int j = 0; j < ds.examples.size(); j++) {
-			Example e = ds.getExample(j);
-			if ((l.predict(e).equals(e.targetValue()))) {
+		for (int j = 0; j < correct.length; j++) {
+			if (correct[j]) {
 				exampleWeights[j] = exampleWeights[j] * epsilon;
 			}
 		}
@@ -2,18 +2,23 @@ package aima.core.learning.learners;
 
 import java.util.List;
 
+import aima.core.learning.framework.ColumnarDataSet;
+import aima.core.learning.framework.ColumnarLearner;
 import aima.core.learning.framework.DataSet;
 import aima.core.learning.framework.Example;
-import aima.core.learning.framework.Learner;
 import aima.core.learning.inductive.DLTest;
 import aima.core.learning.inductive.DLTestFactory;
 import aima.core.learning.inductive.DecisionList;
 
 /**
+ * Induces a decision list on a ColumnarDataSet. The examples still to be
+ * covered are a range of an array of row indices, which each candidate test
+ * partitions in place into matched and unmatched examples.
+ * 
  * @author Ravi Mohan
  * @author Mike Stampone
  */
-public class DecisionListLearner implements Learner {
+public class DecisionListLearner implements ColumnarLearner {
 	public static final String FAILURE = "Failure";
 
 	private DecisionList decisionList;
@@ -40,7 +45,14 @@ public class DecisionListLearner implements Learner {
 	 */
 	@Override
 	public void train(DataSet ds) {
-		this.decisionList = decisionListLearning(ds);
+		ColumnarDataSet cds = new ColumnarDataSet(ds);
+		train(cds, cds.allRows());
+	}
+
+	@Override
+	public void train(ColumnarDataSet ds, int[] rows) {
+		int[] subset = rows.clone();
+		this.decisionList = decisionListLearning(ds, subset, 0, subset.length);
 	}
 
 	@Override
@@ -81,42 +93,37 @@ public class DecisionListLearner implements Learner {
 	//
 	// PRIVATE METHODS
 	//
-	private DecisionList decisionListLearning(DataSet ds) {
-		if (ds.size() == 0) {
+	// the examples are rows[from, to)
+	private DecisionList decisionListLearning(ColumnarDataSet ds, int[] rows,
+			int from, int to) {
+		if (from == to) {
 			return new DecisionList(positive, negative);
 		}
 		List<DLTest> possibleTests = testFactory
-				.createDLTestsWithAttributeCount(ds, 1);
-		DLTest test = getValidTest(possibleTests, ds);
-		if (test == null) {
-			return new DecisionList(null, FAILURE);
-		}
-		// at this point there is a test that classifies some subset of examples
-		// with the same target value
-		DataSet matched = test.matchedExamples(ds);
-		DecisionList list = new DecisionList(positive, negative);
-		list.add(test, matched.getExample(0).targetValue());
-		return list.mergeWith(decisionListLearning(test.unmatchedExamples(ds)));
-	}
-
-	private DLTest getValidTest(List<DLTest> possibleTests, DataSet ds) {
+				.createDLTestsWithAttributeCount(ds.getDataSet(), 1);
 		for (DLTest test : possibleTests) {
-			DataSet matched = test.matchedExamples(ds);
-			if (!(matched.size() == 0)) {
-				if (allExamplesHaveSameTargetValue(matched)) {
-					return test;
-				}
+			int matchedEnd = test.partition(ds, rows, from, to);
+			if (matchedEnd > from
+					&& allExamplesHaveSameTargetValue(ds, rows, from,
+							matchedEnd)) {
+				// at this point there is a test that classifies some subset of
+				// examples with the same target value
+				DecisionList list = new DecisionList(positive, negative);
+				list.add(test, ds.getExample(rows[from]).targetValue());
+				return list.mergeWith(decisionListLearning(ds, rows,
+						matchedEnd, to));
 			}
-
 		}
-		return null;
+		return new DecisionList(null, FAILURE);
 	}
 
-	private boolean allExamplesHaveSameTargetValue(DataSet matched) {
-		// assumes at least i example in dataset
-		String targetValue = matched.getExample(0).targetValue();
-		for (Example e : matched.examples) {
-			if (!(e.targetValue().equals(targetValue))) {
+	private boolean allExamplesHaveSameTargetValue(ColumnarDataSet ds,
+			int[] rows, int from, int to) {
+		// assumes at least 1 example in the range
+		int target = ds.getTargetIndex();
+		int targetValue = ds.getCode(target, rows[from]);
+		for (int i = from + 1; i < to; i++) {
+			if (ds.getCode(target, rows[i]) != targetValue) {
 				return false;
 			}
 		}
@@ -1,20 +1,26 @@
 package aima.core.learning.learners;
 
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.List;
 
+import aima.core.learning.framework.ColumnarDataSet;
+import aima.core.learning.framework.ColumnarLearner;
 import aima.core.learning.framework.DataSet;
 import aima.core.learning.framework.Example;
-import aima.core.learning.framework.Learner;
 import aima.core.learning.inductive.ConstantDecisonTree;
 import aima.core.learning.inductive.DecisionTree;
 import aima.core.util.Util;
 
 /**
+ * Induces a decision tree on a ColumnarDataSet. Subsets of the examples are
+ * ranges of an array of row indices, which are partitioned in place by the
+ * values of the chosen attribute, and the information gain of an attribute is
+ * calculated from a single pass of value/target counts over a range.
+ * 
  * @author Ravi Mohan
  * @author Mike Stampone
  */
-public class DecisionTreeLearner implements Learner {
+public class DecisionTreeLearner implements ColumnarLearner {
 	private DecisionTree tree;
 
 	private String defaultValue;
@@ -41,9 +47,16 @@ public class DecisionTreeLearner implements Learner {
 	 */
 	@Override
 	public void train(DataSet ds) {
-		List<String> attributes = ds.getNonTargetAttributes();
-		this.tree = decisionTreeLearning(ds, attributes,
-				new ConstantDecisonTree(defaultValue));
+		ColumnarDataSet cds = new ColumnarDataSet(ds);
+		train(cds, cds.allRows());
+	}
+
+	@Override
+	public void train(ColumnarDataSet ds, int[] rows) {
+		int[] subset = rows.clone();
+		this.tree = decisionTreeLearning(ds, subset, 0, subset.length,
+				ds.getNonTargetAttributes(), new ConstantDecisonTree(
+						defaultValue), new int[subset.length]);
 	}
 
 	@Override
@@ -81,46 +94,75 @@ public class DecisionTreeLearner implements Learner {
 	// PRIVATE METHODS
 	//
 
-	private DecisionTree decisionTreeLearning(DataSet ds,
-			List<String> attributeNames, ConstantDecisonTree defaultTree) {
-		if (ds.size() == 0) {
+	// the examples are rows[from, to)
+	private DecisionTree decisionTreeLearning(ColumnarDataSet ds, int[] rows,
+			int from, int to, List<Integer> attributes,
+			ConstantDecisonTree defaultTree, int[] scratch) {
+		if (from == to) {
 			return defaultTree;
 		}
-		if (allExamplesHaveSameClassification(ds)) {
-			return new ConstantDecisonTree(ds.getExample(0).targetValue());
+		int target = ds.getTargetIndex();
+		int[] targetCounts = ds.countValues(target, rows, from, to);
+		if (targetCounts[ds.getCode(target, rows[from])] == to - from) {
+			// all examples have the same classification
+			return new ConstantDecisonTree(ds.getExample(rows[from])
+					.targetValue());
 		}
-		if (attributeNames.size() == 0) {
-			return majorityValue(ds);
+		if (attributes.size() == 0) {
+			return majorityValue(ds, rows, from, to, targetCounts);
 		}
-		String chosenAttribute = chooseAttribute(ds, attributeNames);
-
-		DecisionTree tree = new DecisionTree(chosenAttribute);
-		ConstantDecisonTree m = majorityValue(ds);
-
-		List<String> values = ds.getPossibleAttributeValues(chosenAttribute);
+		int chosenAttribute = chooseAttribute(ds, rows, from, to, attributes,
+				ColumnarDataSet.information(targetCounts));
+		String chosenAttributeName = ds.getAttributeName(chosenAttribute);
+
+		DecisionTree tree = new DecisionTree(chosenAttributeName);
+		ConstantDecisonTree m = majorityValue(ds, rows, from, to, targetCounts);
+
+		int[] bounds = ds.partition(rows, from, to, chosenAttribute, scratch);
+		List<Integer> newAttribs = new ArrayList<Integer>(attributes);
+		newAttribs.remove(Integer.valueOf(chosenAttribute));
+		List<String> values = ds.getDataSet().getPossibleAttributeValues(
+				chosenAttributeName);
 		for (String v : values) {
-			DataSet filtered = ds.matchingDataSet(chosenAttribute, v);
-			List<String> newAttribs = Util.removeFrom(attributeNames,
-					chosenAttribute);
-			DecisionTree subTree = decisionTreeLearning(filtered, newAttribs, m);
+			int code = ds.getCode(chosenAttribute, v);
+			DecisionTree subTree = decisionTreeLearning(ds, rows, bounds[code],
+					bounds[code + 1], newAttribs, m, scratch);
 			tree.addNode(v, subTree);
-
 		}
 
 		return tree;
 	}
 
-	private ConstantDecisonTree majorityValue(DataSet ds) {
-		Learner learner = new MajorityLearner();
-		learner.train(ds);
-		return new ConstantDecisonTree(learner.predict(ds.getExample(0)));
+	private ConstantDecisonTree majorityValue(ColumnarDataSet ds, int[] rows,
+			int from, int to, int[] targetCounts) {
+		int target = ds.getTargetIndex();
+		int max = 0, ties = 0;
+		for (int c = 0; c < targetCounts.length; c++) {
+			if (targetCounts[c] > targetCounts[max]) {
+				max = c;
+				ties = 0;
+			} else if (c != max && targetCounts[c] == targetCounts[max]) {
+				ties++;
+			}
+		}
+		if (ties == 0) {
+			return new ConstantDecisonTree(ds.getValue(target, max));
+		}
+		// break ties the same way as the MajorityLearner
+		List<String> targets = new ArrayList<String>();
+		for (int i = from; i < to; i++) {
+			targets.add(ds.getExample(rows[i]).targetValue());
+		}
+		return new ConstantDecisonTree(Util.mode(targets));
 	}
 
-	private String chooseAttribute(DataSet ds, List<String> attributeNames) {
+	private int chooseAttribute(ColumnarDataSet ds, int[] rows, int from,
+			int to, List<Integer> attributes, double information) {
 		double greatestGain = 0.0;
-		String attributeWithGreatestGain = attributeNames.get(0);
-		for (String attr : attributeNames) {
-			double gain = ds.calculateGainFor(attr);
+		int attributeWithGreatestGain = attributes.get(0);
+		for (int attr : attributes) {
+			double gain = ds.calculateGainFor(attr, rows, from, to,
+					information);
 			if (gain > greatestGain) {
 				greatestGain = gain;
 				attributeWithGreatestGain = attr;
@@ -129,17 +171,4 @@ public class DecisionTreeLearner implements Learner {
 
 		return attributeWithGreatestGain;
 	}
-
-	private boolean allExamplesHaveSameClassification(DataSet ds) {
-		String classification = ds.getExample(0).targetValue();
-		Iterator<Example> iter = ds.iterator();
-		while (iter.hasNext()) {
-			Example element = iter.next();
-			if (!(element.targetValue().equals(classification))) {
-				return false;
-			}
-
-		}
-		return true;
-	}
 }
@@ -1,5 +1,6 @@
 package aima.core.learning.learners;
 
+import aima.core.learning.framework.ColumnarDataSet;
 import aima.core.learning.framework.DataSet;
 import aima.core.learning.inductive.DecisionTree;
 
@@ -18,4 +19,9 @@ public class StumpLearner extends DecisionTreeLearner {
 		// System.out.println("Stump learner training");
 		// do nothing the stump is not inferred from the dataset
 	}
+
+	@Override
+	public void train(ColumnarDataSet ds, int[] rows) {
+		// do nothing the stump is not inferred from the dataset
+	}
 }
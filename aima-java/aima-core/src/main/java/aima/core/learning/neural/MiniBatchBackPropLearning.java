@@ -0,0 +1,432 @@
+package aima.core.learning.neural;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import aima.core.util.ParallelTasks;
+import aima.core.util.Util;
+import aima.core.util.math.Matrix;
+import aima.core.util.math.MatrixKernels;
+import aima.core.util.math.Vector;
+
+/**
+ * Back propagation on mini-batches of examples for feed-forward networks with
+ * any number of layers. The weights are held as dense row-major double[]
+ * blocks and a batch is processed as a block of rows, so each layer of the
+ * forward and the backward pass is a (cache-blocked) matrix multiplication
+ * instead of one matrix-vector product per example (see
+ * {@link MatrixKernels}). A batch is split across threads, each with its own
+ * activation and gradient buffers, and the gradients are summed once all
+ * threads have finished.<br>
+ * <br>
+ * The weight update is that of {@link BackPropLearning}, with the gradient
+ * averaged over the batch: with a batch size of 1 the updates are the same as
+ * those of the per-example path. The weights, biases and last updates are
+ * read from the layers at the start of each call and written back at its
+ * end, so both ways of training can be mixed. The threads are daemon threads,
+ * released with {@link #shutdown()}.
+ *
+ * @author agent
+ *
+ */
+public class MiniBatchBackPropLearning {
+	private final List<Layer> layers;
+	private final double learningRate;
+	private final double momentum;
+	private final int batchSize;
+	private final int threads;
+	// sizes[0] is the number of inputs, sizes[l+1] the neurons of layer l
+	private final int[] sizes;
+	// weights[l] is sizes[l+1] x sizes[l], row-major
+	private final double[][] weights, biases, lastWeightUpdates,
+			lastBiasUpdates;
+	private final Worker[] workers;
+	private ExecutorService pool = null;
+
+	/**
+	 * Constructor for the two layers of a FeedForwardNeuralNetwork.
+	 */
+	public MiniBatchBackPropLearning(FeedForwardNeuralNetwork ffnn,
+			double learningRate, double momentum, int batchSize, int threads) {
+		this(layersOf(ffnn), learningRate, momentum, batchSize, threads);
+	}
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param layers
+	 *            the layers of the network, from the first hidden layer to the
+	 *            output layer. The inputs of each layer are the outputs of the
+	 *            previous one.
+	 * @param learningRate
+	 *            the learning rate &alpha;.
+	 * @param momentum
+	 *            the momentum factor.
+	 * @param batchSize
+	 *            the number of examples whose gradients are averaged into one
+	 *            update.
+	 * @param threads
+	 *            the number of threads a batch is split across.
+	 */
+	public MiniBatchBackPropLearning(List<Layer> layers, double learningRate,
+			double momentum, int batchSize, int threads) {
+		if (layers.isEmpty()) {
+			throw new IllegalArgumentException("A network needs layers.");
+		}
+		if (batchSize < 1 || threads < 1) {
+			throw new IllegalArgumentException(
+					"Batch size and threads must be >= 1.");
+		}
+		this.layers = new ArrayList<Layer>(layers);
+		this.learningRate = learningRate;
+		this.momentum = momentum;
+		this.batchSize = batchSize;
+		this.threads = Math.min(threads, batchSize);
+
+		int n = layers.size();
+		sizes = new int[n + 1];
+		sizes[0] = layers.get(0).numberOfInputs();
+		for (int l = 0; l < n; l++) {
+			Layer layer = layers.get(l);
+			if (layer.numberOfInputs() != sizes[l]) {
+				throw new IllegalArgumentException("Layer " + l + " has "
+						+ layer.numberOfInputs() + " inputs, expected "
+						+ sizes[l] + ".");
+			}
+			sizes[l + 1] = layer.numberOfNeurons();
+		}
+		weights = new double[n][];
+		biases = new double[n][];
+		lastWeightUpdates = new double[n][];
+		lastBiasUpdates = new double[n][];
+		for (int l = 0; l < n; l++) {
+			weights[l] = new double[sizes[l + 1] * sizes[l]];
+			biases[l] = new double[sizes[l + 1]];
+			lastWeightUpdates[l] = new double[sizes[l + 1] * sizes[l]];
+			lastBiasUpdates[l] = new double[sizes[l + 1]];
+		}
+		workers = new Worker[this.threads];
+		int rowsPerWorker = (batchSize + this.threads - 1) / this.threads;
+		for (int w = 0; w < workers.length; w++) {
+			workers[w] = new Worker(rowsPerWorker);
+		}
+		if (this.threads > 1) {
+			pool = ParallelTasks.newDaemonPool(this.threads,
+					"MiniBatchBackPropLearning");
+		}
+	}
+
+	/**
+	 * Train on all examples of a data set for a number of epochs, in a new
+	 * random order each epoch.
+	 */
+	public void trainOn(NNDataSet innds, int numberofEpochs) {
+		List<NNExample> examples = innds.getExamples();
+		int m = examples.size();
+		double[] inputs = new double[m * sizes[0]];
+		double[] targets = new double[m * sizes[sizes.length - 1]];
+		pack(examples, inputs, targets);
+		int[] order = new int[m];
+		for (int i = 0; i < m; i++) {
+			order[i] = i;
+		}
+		load();
+		try {
+			for (int epoch = 0; epoch < numberofEpochs; epoch++) {
+				shuffle(order);
+				for (int from = 0; from < m; from += batchSize) {
+					trainOnBatch(inputs, targets, order, from, Math.min(m,
+							from + batchSize));
+				}
+			}
+		} finally {
+			store();
+		}
+	}
+
+	/**
+	 * Train on one batch of examples, i.e. make one weight update.
+	 * 
+	 * @param batch
+	 *            at most batch size examples.
+	 */
+	public void trainOn(List<NNExample> batch) {
+		if (batch.size() > batchSize) {
+			throw new IllegalArgumentException("Batch has " + batch.size()
+					+ " examples, more than the batch size " + batchSize
+					+ ".");
+		}
+		int m = batch.size();
+		double[] inputs = new double[m * sizes[0]];
+		double[] targets = new double[m * sizes[sizes.length - 1]];
+		pack(batch, inputs, targets);
+		int[] order = new int[m];
+		for (int i = 0; i < m; i++) {
+			order[i] = i;
+		}
+		load();
+		try {
+			trainOnBatch(inputs, targets, order, 0, m);
+		} finally {
+			store();
+		}
+	}
+
+	/**
+	 * Returns the output values of the network for the specified input values
+	 */
+	public Vector processInput(Vector input) {
+		load();
+		return output(workers[0], input);
+	}
+
+	public int[] testOnDataSet(NNDataSet nnds) {
+		// the weights are copied from the layers once for all examples
+		load();
+		int[] result = new int[] { 0, 0 };
+		for (NNExample nne : nnds.getExamples()) {
+			if (nne.isCorrect(output(workers[0], nne.getInput()))) {
+				result[0] = result[0] + 1;
+			} else {
+				result[1] = result[1] + 1;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Release the threads.
+	 */
+	public void shutdown() {
+		if (null != pool) {
+			pool.shutdownNow();
+		}
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private static List<Layer> layersOf(FeedForwardNeuralNetwork ffnn) {
+		List<Layer> layers = new ArrayList<Layer>();
+		layers.add(ffnn.getHiddenLayer());
+		layers.add(ffnn.getOutputLayer());
+		return layers;
+	}
+
+	// the output of the network, computed in the first row of the worker
+	private Vector output(Worker worker, Vector input) {
+		for (int i = 0; i < sizes[0]; i++) {
+			worker.x[i] = input.getValue(i);
+		}
+		worker.forward(1);
+		double[] output = worker.a[layers.size() - 1];
+		Vector result = new Vector(sizes[sizes.length - 1]);
+		for (int i = 0; i < result.size(); i++) {
+			result.setValue(i, output[i]);
+		}
+		return result;
+	}
+
+	private void pack(List<NNExample> examples, double[] inputs,
+			double[] targets) {
+		int in = sizes[0], out = sizes[sizes.length - 1];
+		for (int i = 0; i < examples.size(); i++) {
+			Vector input = examples.get(i).getInput();
+			Vector target = examples.get(i).getTarget();
+			for (int j = 0; j < in; j++) {
+				inputs[i * in + j] = input.getValue(j);
+			}
+			for (int j = 0; j < out; j++) {
+				targets[i * out + j] = target.getValue(j);
+			}
+		}
+	}
+
+	private static void shuffle(int[] order) {
+		for (int i = order.length - 1; i > 0; i--) {
+			int j = Util.randomNumberBetween(0, i);
+			int tmp = order[i];
+			order[i] = order[j];
+			order[j] = tmp;
+		}
+	}
+
+	// copy the weights, biases and last updates from the layers
+	private void load() {
+		for (int l = 0; l < layers.size(); l++) {
+			Layer layer = layers.get(l);
+			toArray(layer.getWeightMatrix(), weights[l]);
+			toArray(layer.getBiasVector(), biases[l]);
+			toArray(layer.getLastWeightUpdateMatrix(), lastWeightUpdates[l]);
+			toArray(layer.getLastBiasUpdateVector(), lastBiasUpdates[l]);
+		}
+	}
+
+	// copy the weights, biases and last updates to the layers
+	private void store() {
+		for (int l = 0; l < layers.size(); l++) {
+			Layer layer = layers.get(l);
+			int rows = sizes[l + 1], columns = sizes[l];
+			double[][] w = layer.getWeightMatrix().getArray();
+			Matrix weightUpdate = new Matrix(rows, columns);
+			Vector biasUpdate = new Vector(rows);
+			for (int i = 0; i < rows; i++) {
+				System.arraycopy(weights[l], i * columns, w[i], 0, columns);
+				System.arraycopy(lastWeightUpdates[l], i * columns,
+						weightUpdate.getArray()[i], 0, columns);
+				layer.getBiasVector().setValue(i, biases[l][i]);
+				biasUpdate.setValue(i, lastBiasUpdates[l][i]);
+			}
+			layer.acceptNewWeightUpdate(weightUpdate);
+			layer.acceptNewBiasUpdate(biasUpdate);
+		}
+	}
+
+	private static void toArray(Matrix m, double[] to) {
+		int columns = m.getColumnDimension();
+		double[][] from = m.getArray();
+		for (int i = 0; i < m.getRowDimension(); i++) {
+			System.arraycopy(from[i], 0, to, i * columns, columns);
+		}
+	}
+
+	// the examples are order[from, to)
+	private void trainOnBatch(final double[] inputs, final double[] targets,
+			final int[] order, int from, int to) {
+		final int m = to - from;
+		int used = Math.min(workers.length, m);
+		int rowsPerWorker = (m + used - 1) / used;
+		if (null == pool || used == 1) {
+			workers[0].gradients(inputs, targets, order, from, to);
+			used = 1;
+		} else {
+			List<Callable<Object>> calls = new ArrayList<Callable<Object>>();
+			for (int w = 0; w < used; w++) {
+				final Worker worker = workers[w];
+				final int first = from + w * rowsPerWorker;
+				final int end = Math.min(to, first + rowsPerWorker);
+				calls.add(new Callable<Object>() {
+					public Object call() {
+						worker.gradients(inputs, targets, order, first, end);
+						return null;
+					}
+				});
+			}
+			ParallelTasks.invokeAll(pool, calls);
+		}
+		// reduce the gradients and update the weights, as BackPropLearning:
+		// update = momentum * last + (1 - momentum) * -alpha * gradient
+		double scale = -learningRate * (1.0 - momentum) / m;
+		for (int l = 0; l < layers.size(); l++) {
+			update(l, weights[l], lastWeightUpdates[l], used, scale, true);
+			update(l, biases[l], lastBiasUpdates[l], used, scale, false);
+		}
+	}
+
+	private void update(int l, double[] values, double[] lastUpdates,
+			int used, double scale, boolean ofWeights) {
+		for (int i = 0; i < values.length; i++) {
+			double gradient = 0;
+			for (int w = 0; w < used; w++) {
+				gradient += ofWeights ? workers[w].weightGradients[l][i]
+						: workers[w].biasGradients[l][i];
+			}
+			double update = momentum * lastUpdates[i] + scale * gradient;
+			lastUpdates[i] = update;
+			values[i] += update;
+		}
+	}
+
+	/**
+	 * The buffers of the rows of a batch processed by one thread.
+	 */
+	private class Worker {
+		private final double[] x, t;
+		// induced fields, activations and sensitivities of each layer, rows x
+		// sizes[l+1]
+		private final double[][] z, a, s;
+		private final double[][] weightGradients, biasGradients;
+
+		public Worker(int rows) {
+			int n = layers.size();
+			x = new double[rows * sizes[0]];
+			t = new double[rows * sizes[n]];
+			z = new double[n][];
+			a = new double[n][];
+			s = new double[n][];
+			weightGradients = new double[n][];
+			biasGradients = new double[n][];
+			for (int l = 0; l < n; l++) {
+				z[l] = new double[rows * sizes[l + 1]];
+				a[l] = new double[rows * sizes[l + 1]];
+				s[l] = new double[rows * sizes[l + 1]];
+				weightGradients[l] = new double[sizes[l + 1] * sizes[l]];
+				biasGradients[l] = new double[sizes[l + 1]];
+			}
+		}
+
+		// the sums of the gradients of the examples order[from, to)
+		public void gradients(double[] inputs, double[] targets, int[] order,
+				int from, int to) {
+			int rows = to - from;
+			int n = layers.size();
+			int in = sizes[0], out = sizes[n];
+			for (int i = 0; i < rows; i++) {
+				System.arraycopy(inputs, order[from + i] * in, x, i * in, in);
+				System.arraycopy(targets, order[from + i] * out, t, i * out,
+						out);
+			}
+			forward(rows);
+
+			// output layer: s = -2 F'(z) (t - a)
+			ActivationFunction af = layers.get(n - 1).getActivationFunction();
+			for (int k = 0; k < rows * out; k++) {
+				s[n - 1][k] = -2.0 * af.deriv(z[n - 1][k])
+						* (t[k] - a[n - 1][k]);
+			}
+			for (int l = n - 1; l >= 0; l--) {
+				double[] previous = l == 0 ? x : a[l - 1];
+				Arrays.fill(weightGradients[l], 0);
+				Arrays.fill(biasGradients[l], 0);
+				// G = S^T A_(l-1)
+				MatrixKernels.multiplyTransposedAAdd(s[l], rows, sizes[l + 1],
+						previous, sizes[l], weightGradients[l]);
+				for (int i = 0; i < rows; i++) {
+					for (int j = 0; j < sizes[l + 1]; j++) {
+						biasGradients[l][j] += s[l][i * sizes[l + 1] + j];
+					}
+				}
+				if (l > 0) {
+					// s_(l-1) = F'(z_(l-1)) (S_l W_l)
+					MatrixKernels.multiply(s[l], rows, sizes[l + 1],
+							weights[l], sizes[l], s[l - 1]);
+					af = layers.get(l - 1).getActivationFunction();
+					for (int k = 0; k < rows * sizes[l]; k++) {
+						s[l - 1][k] *= af.deriv(z[l - 1][k]);
+					}
+				}
+			}
+		}
+
+		public void forward(int rows) {
+			for (int l = 0; l < layers.size(); l++) {
+				double[] previous = l == 0 ? x : a[l - 1];
+				int n = sizes[l + 1];
+				// Z = A_(l-1) W^T + b
+				MatrixKernels.multiplyTransposedB(previous, rows, sizes[l],
+						weights[l], n, z[l]);
+				ActivationFunction af = layers.get(l).getActivationFunction();
+				for (int i = 0; i < rows; i++) {
+					for (int j = 0; j < n; j++) {
+						int k = i * n + j;
+						z[l][k] += biases[l][j];
+						a[l][k] = af.activation(z[l][k]);
+					}
+				}
+			}
+		}
+	}
+}
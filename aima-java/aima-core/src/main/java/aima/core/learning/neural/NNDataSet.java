@@ -168,6 +168,13 @@ public abstract class NNDataSet {
 		return stdevs;
 	}
 
+	/*
+	 * all examples of the data set, whether or not they have been processed
+	 */
+	public List<NNExample> getExamples() {
+		return dataset;
+	}
+
 	//
 	// PRIVATE METHODS
 	//
@@ -1,11 +1,13 @@
 package aima.core.learning.reinforcement.agent;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 import aima.core.agent.Action;
 import aima.core.learning.reinforcement.PerceptStateReward;
-import aima.core.util.FrequencyCounter;
+import aima.core.util.datastructure.Interner;
 
 /**
  * Artificial Intelligence A Modern Approach (3rd Edition): page 837.<br>
@@ -29,7 +31,12 @@ import aima.core.util.FrequencyCounter;
  * 
  * Figure 21.4 A passive reinforcement learning agent that learns utility
  * estimates using temporal differences. The step-size function &alpha;(n) is
- * chosen to ensure convergence, as described in the text.
+ * chosen to ensure convergence, as described in the text.<br>
+ * <br>
+ * U and N<sub>s</sub> are kept in primitive arrays indexed by interned state
+ * ids. The transitions experienced can be recorded in a
+ * {@link TransitionBuffer} and replayed, i.e. applied to U again, many at a
+ * time.
  * 
  * @param <S>
  *            the state type.
@@ -45,14 +52,18 @@ public class PassiveTDAgent<S, A extends Action> extends
 	// persistent: &pi;, a fixed policy
 	private Map<S, A> pi = new HashMap<S, A>();
 	// U, a table of utilities, initially empty
-	private Map<S, Double> U = new HashMap<S, Double>();
 	// N<sub>s</sub>, a table of frequencies for states, initially zero
-	private FrequencyCounter<S> Ns = new FrequencyCounter<S>();
-	// s,a,r, the previous state, action, and reward, initially null
-	private S s = null;
+	private Interner<S> states = new Interner<S>();
+	private double[] U = new double[16];
+	private int[] Ns = new int[16];
+	private boolean[] known = new boolean[16];
+	// s,a,r, the previous state, action, and reward, initially null (-1)
+	private int s = -1;
 	private A a = null;
-	private Double r = null;
+	private double r = 0;
 	//
+	private TransitionBuffer recording = null;
+	private Map<S, Double> utility = null;
 	private double alpha = 0.0;
 	private double gamma = 0.0;
 
@@ -85,25 +96,27 @@ public class PassiveTDAgent<S, A extends Action> extends
 	public A execute(PerceptStateReward<S> percept) {
 		// if s' is new then U[s'] <- r'
 		S sDelta = percept.state();
+		int sPrime = stateId(sDelta);
 		double rDelta = percept.reward();
-		if (!U.containsKey(sDelta)) {
-			U.put(sDelta, rDelta);
+		if (!known[sPrime]) {
+			U[sPrime] = rDelta;
+			known[sPrime] = true;
+			utility = null;
 		}
 		// if s is not null then
-		if (null != s) {
-			// increment N<sub>s</sub>[s]
-			Ns.incrementFor(s);
-			// U[s] <- U[s] + &alpha;(N<sub>s</sub>[s])(r + &gamma;U[s'] - U[s])
-			double U_s = U.get(s);
-			U.put(s, U_s + alpha(Ns, s) * (r + gamma * U.get(sDelta) - U_s));
+		if (s >= 0) {
+			if (null != recording) {
+				recording.add(s, -1, r, sPrime, rDelta);
+			}
+			update(s, r, sPrime);
 		}
 		// if s'.TERMINAL? then s,a,r <- null else s,a,r <- s',&pi;[s'],r'
 		if (isTerminal(sDelta)) {
-			s = null;
+			s = -1;
 			a = null;
-			r = null;
+			r = 0;
 		} else {
-			s = sDelta;
+			s = sPrime;
 			a = pi.get(sDelta);
 			r = rDelta;
 		}
@@ -112,18 +125,57 @@ public class PassiveTDAgent<S, A extends Action> extends
 		return a;
 	}
 
+	/**
+	 * {@inheritDoc} The map is cached until U next changes, and cannot be
+	 * modified.
+	 */
 	@Override
 	public Map<S, Double> getUtility() {
-		return new HashMap<S, Double>(U);
+		if (null == utility) {
+			Map<S, Double> u = new HashMap<S, Double>();
+			for (int id = 0; id < states.size(); id++) {
+				if (known[id]) {
+					u.put(states.get(id), U[id]);
+				}
+			}
+			utility = Collections.unmodifiableMap(u);
+		}
+		return utility;
 	}
 
 	@Override
 	public void reset() {
-		U = new HashMap<S, Double>();
-		Ns.clear();
-		s = null;
+		Arrays.fill(U, 0);
+		Arrays.fill(Ns, 0);
+		Arrays.fill(known, false);
+		s = -1;
 		a = null;
-		r = null;
+		r = 0;
+		utility = null;
+	}
+
+	/**
+	 * Record the transitions experienced by subsequent calls to execute.
+	 * 
+	 * @param buffer
+	 *            the buffer to add the transitions to, null to stop recording.
+	 */
+	public void setRecording(TransitionBuffer buffer) {
+		this.recording = buffer;
+	}
+
+	/**
+	 * Apply the temporal difference update of each recorded transition again,
+	 * in order, as if they were experienced again.
+	 * 
+	 * @param buffer
+	 *            transitions recorded by this agent.
+	 */
+	public void replay(TransitionBuffer buffer) {
+		for (int i = 0; i < buffer.size(); i++) {
+			update(buffer.getState(i), buffer.getReward(i), buffer
+					.getNextState(i));
+		}
 	}
 
 	//
@@ -137,13 +189,13 @@ public class PassiveTDAgent<S, A extends Action> extends
 	 * <b>Note:</b> override this method to obtain the desired behavior.
 	 * 
 	 * @param Ns
-	 *            a frequency counter of observed states.
+	 *            the number of times the state has been visited.
 	 * @param s
 	 *            the current state.
 	 * @return the learning rate to use based on the frequency of the state
 	 *         passed in.
 	 */
-	protected double alpha(FrequencyCounter<S> Ns, S s) {
+	protected double alpha(int Ns, S s) {
 		// Default implementation is just to return a fixed parameter value
 		// irrespective of the # of times a state has been encountered
 		return alpha;
@@ -152,6 +204,25 @@ public class PassiveTDAgent<S, A extends Action> extends
 	//
 	// PRIVATE METHODS
 	//
+	private int stateId(S state) {
+		int id = states.intern(state);
+		if (id == U.length) {
+			U = Arrays.copyOf(U, 2 * id);
+			Ns = Arrays.copyOf(Ns, 2 * id);
+			known = Arrays.copyOf(known, 2 * id);
+		}
+		return id;
+	}
+
+	private void update(int s, double r, int sPrime) {
+		// increment N<sub>s</sub>[s]
+		Ns[s]++;
+		// U[s] <- U[s] + &alpha;(N<sub>s</sub>[s])(r + &gamma;U[s'] - U[s])
+		U[s] = U[s] + alpha(Ns[s], states.get(s))
+				* (r + gamma * U[sPrime] - U[s]);
+		utility = null;
+	}
+
 	private boolean isTerminal(S s) {
 		boolean terminal = false;
 		Action a = pi.get(s);
@@ -1,13 +1,13 @@
 package aima.core.learning.reinforcement.agent;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import aima.core.agent.Action;
 import aima.core.learning.reinforcement.PerceptStateReward;
 import aima.core.probability.mdp.ActionsFunction;
-import aima.core.util.FrequencyCounter;
-import aima.core.util.datastructure.Pair;
 
 /**
  * Artificial Intelligence A Modern Approach (3rd Edition): page 844.<br>
@@ -53,7 +53,12 @@ import aima.core.util.datastructure.Pair;
  * terminal state and is what will be updated in Q[s,a], which appears not to be
  * correct as you did not perform an action in the terminal state and the
  * initial state is not reachable from the prior terminal state. Comments
- * welcome.
+ * welcome.<br>
+ * <br>
+ * Q and N<sub>sa</sub> are kept in a {@link QTable}, indexed by interned
+ * state and action ids, and the actions of each state are looked up once. The
+ * transitions experienced can be recorded in a {@link TransitionBuffer} and
+ * replayed, i.e. applied to Q again, many at a time.
  * 
  * @param <S>
  *            the state type.
@@ -68,17 +73,20 @@ public class QLearningAgent<S, A extends Action> extends
 		ReinforcementAgent<S, A> {
 	// persistent: Q, a table of action values indexed by state and action,
 	// initially zero
-	Map<Pair<S, A>, Double> Q = new HashMap<Pair<S, A>, Double>();
 	// N<sub>sa</sub>, a table of frequencies for state-action pairs, initially
 	// zero
-	private FrequencyCounter<Pair<S, A>> Nsa = new FrequencyCounter<Pair<S, A>>();
-	// s,a,r, the previous state, action, and reward, initially null
-	private S s = null;
-	private A a = null;
-	private Double r = null;
+	QTable<S, A> Q = new QTable<S, A>();
+	// s,a,r, the previous state, action, and reward, initially null (-1)
+	private int s = -1;
+	private int a = -1;
+	private double r = 0;
 	//
 	private ActionsFunction<S, A> actionsFunction = null;
-	private A noneAction = null;
+	private int noneAction;
+	// the ids of the actions of each state id, looked up once
+	private List<int[]> actionsOf = new ArrayList<int[]>();
+	private TransitionBuffer recording = null;
+	private Map<S, Double> utility = null;
 	private double alpha = 0.0;
 	private double gamma = 0.0;
 	private int Ne = 0;
@@ -105,7 +113,7 @@ public class QLearningAgent<S, A extends Action> extends
 			A noneAction, double alpha,
 			double gamma, int Ne, double Rplus) {
 		this.actionsFunction = actionsFunction;
-		this.noneAction = noneAction;
+		this.noneAction = Q.actionId(noneAction);
 		this.alpha = alpha;
 		this.gamma = gamma;
 		this.Ne = Ne;
@@ -127,34 +135,26 @@ public class QLearningAgent<S, A extends Action> extends
 	@Override
 	public A execute(PerceptStateReward<S> percept) {
 
-		S sPrime = percept.state();
+		int sPrime = stateId(percept.state());
 		double rPrime = percept.reward();
 
-		// if TERMAINAL?(s') then Q[s',None] <- r'
-		if (isTerminal(sPrime)) {
-			Q.put(new Pair<S, A>(sPrime, noneAction), rPrime);
-		}
-
-		// if s is not null then
-		if (null != s) {
-			// increment N<sub>sa</sub>[s,a]
-			Pair<S, A> sa = new Pair<S, A>(s, a);
-			Nsa.incrementFor(sa);
-			// Q[s,a] <- Q[s,a] + &alpha;(N<sub>sa</sub>[s,a])(r +
-			// &gamma;max<sub>a'</sub>Q[s',a'] - Q[s,a])
-			Double Q_sa = Q.get(sa);
-			if (null == Q_sa) {
-				Q_sa = 0.0;
+		// if s is not null then ...
+		if (s >= 0) {
+			if (null != recording) {
+				recording.add(s, a, r, sPrime, rPrime);
 			}
-			Q.put(sa, Q_sa + alpha(Nsa, s, a)
-					* (r + gamma * maxAPrime(sPrime) - Q_sa));
+			update(s, a, r, sPrime, rPrime);
+		} else if (isTerminal(sPrime)) {
+			// if TERMAINAL?(s') then Q[s',None] <- r'
+			Q.set(sPrime, noneAction, rPrime);
+			utility = null;
 		}
 		// if s'.TERMINAL? then s,a,r <- null else
 		// s,a,r <- s',argmax<sub>a'</sub>f(Q[s',a'],N<sub>sa</sub>[s',a']),r'
 		if (isTerminal(sPrime)) {
-			s = null;
-			a = null;
-			r = null;
+			s = -1;
+			a = -1;
+			r = 0;
 		} else {
 			s = sPrime;
 			a = argmaxAPrime(sPrime);
@@ -162,33 +162,57 @@ public class QLearningAgent<S, A extends Action> extends
 		}
 
 		// return a
-		return a;
+		return a < 0 ? null : Q.getAction(a);
 	}
 
 	@Override
 	public void reset() {
 		Q.clear();
-		Nsa.clear();
-		s = null;
-		a = null;
-		r = null;
+		s = -1;
+		a = -1;
+		r = 0;
+		utility = null;
 	}
 
+	/**
+	 * {@inheritDoc} The map is cached until Q next changes, and cannot be
+	 * modified.
+	 */
 	@Override
 	public Map<S, Double> getUtility() {
 		// Q-values are directly related to utility values as follows
 		// (AIMA3e pg. 843 - 21.6) :
 		// U(s) = max<sub>a</sub>Q(s,a).
-		Map<S, Double> U = new HashMap<S, Double>();
-		for (Pair<S, A> sa : Q.keySet()) {
-			Double q = Q.get(sa);
-			Double u = U.get(sa.getFirst());
-			if (null == u || u < q) {
-				U.put(sa.getFirst(), q);
-			}
+		if (null == utility) {
+			utility = Collections.unmodifiableMap(Q.getMaxValues());
 		}
+		return utility;
+	}
+
+	/**
+	 * Record the transitions experienced by subsequent calls to execute.
+	 * 
+	 * @param buffer
+	 *            the buffer to add the transitions to, null to stop recording.
+	 */
+	public void setRecording(TransitionBuffer buffer) {
+		this.recording = buffer;
+	}
 
-		return U;
+	/**
+	 * Apply the Q-learning update of each recorded transition again, in
+	 * order, as if they were experienced again (experience replay). Unlike
+	 * execute, this does not choose actions.
+	 * 
+	 * @param buffer
+	 *            transitions recorded by this agent.
+	 */
+	public void replay(TransitionBuffer buffer) {
+		for (int i = 0; i < buffer.size(); i++) {
+			update(buffer.getState(i), buffer.getAction(i), buffer
+					.getReward(i), buffer.getNextState(i), buffer
+					.getNextReward(i));
+		}
 	}
 
 	//
@@ -204,14 +228,14 @@ public class QLearningAgent<S, A extends Action> extends
 	 * <b>Note:</b> override this method to obtain the desired behavior.
 	 * 
 	 * @param Nsa
-	 *            a frequency counter of observed state action pairs.
+	 *            the number of times the state action pair has been observed.
 	 * @param s
 	 *            the current state.
 	 * @param a the current action.
 	 * @return the learning rate to use based on the frequency of the state
 	 *         passed in.
 	 */
-	protected double alpha(FrequencyCounter<Pair<S, A>> Nsa, S s, A a) {
+	protected double alpha(int Nsa, S s, A a) {
 		// Default implementation is just to return a fixed parameter value
 		// irrespective of the # of times a state action has been encountered
 		return alpha;
@@ -244,25 +268,49 @@ public class QLearningAgent<S, A extends Action> extends
 	//
 	// PRIVATE METHODS
 	//
-	private boolean isTerminal(S s) {
-		boolean terminal = false;
-		if (null != s && actionsFunction.actions(s).size() == 0) {
-			// No actions possible in state is considered terminal.
-			terminal = true;
+	private int stateId(S state) {
+		int id = Q.stateId(state);
+		if (id == actionsOf.size()) {
+			int[] actions = new int[actionsFunction.actions(state).size()];
+			int i = 0;
+			for (A action : actionsFunction.actions(state)) {
+				actions[i++] = Q.actionId(action);
+			}
+			actionsOf.add(actions);
+		}
+		return id;
+	}
+
+	private void update(int s, int a, double r, int sPrime, double rPrime) {
+		// if TERMAINAL?(s') then Q[s',None] <- r'
+		if (isTerminal(sPrime)) {
+			Q.set(sPrime, noneAction, rPrime);
 		}
-		return terminal;
+		// increment N<sub>sa</sub>[s,a]
+		int Nsa = Q.incrementCount(s, a);
+		// Q[s,a] <- Q[s,a] + &alpha;(N<sub>sa</sub>[s,a])(r +
+		// &gamma;max<sub>a'</sub>Q[s',a'] - Q[s,a])
+		double Q_sa = Q.get(s, a);
+		Q.set(s, a, Q_sa
+				+ alpha(Nsa, Q.getState(s), Q.getAction(a))
+				* (r + gamma * maxAPrime(sPrime) - Q_sa));
+		utility = null;
 	}
 
-	private double maxAPrime(S sPrime) {
+	private boolean isTerminal(int s) {
+		// No actions possible in state is considered terminal.
+		return actionsOf.get(s).length == 0;
+	}
+
+	private double maxAPrime(int sPrime) {
 		double max = Double.NEGATIVE_INFINITY;
-		if (actionsFunction.actions(sPrime).size() == 0) {
+		if (isTerminal(sPrime)) {
 			// a terminal state
-			max = Q.get(new Pair<S, A>(sPrime, noneAction));
+			max = Q.get(sPrime, noneAction);
 		} else {
-			for (A aPrime : actionsFunction.actions(sPrime)) {
-				Double Q_sPrimeAPrime = Q.get(new Pair<S, A>(sPrime, aPrime));
-				if (null != Q_sPrimeAPrime && Q_sPrimeAPrime > max) {
-					max = Q_sPrimeAPrime;
+			for (int aPrime : actionsOf.get(sPrime)) {
+				if (Q.isKnown(sPrime, aPrime) && Q.get(sPrime, aPrime) > max) {
+					max = Q.get(sPrime, aPrime);
 				}
 			}
 		}
@@ -274,13 +322,12 @@ public class QLearningAgent<S, A extends Action> extends
 	}
 
 	// argmax<sub>a'</sub>f(Q[s',a'],N<sub>sa</sub>[s',a'])
-	private A argmaxAPrime(S sPrime) {
-		A a = null;
+	private int argmaxAPrime(int sPrime) {
+		int a = -1;
 		double max = Double.NEGATIVE_INFINITY;
-		for (A aPrime : actionsFunction.actions(sPrime)) {
-			Pair<S, A> sPrimeAPrime = new Pair<S, A>(sPrime, aPrime);
-			double explorationValue = f(Q.get(sPrimeAPrime), Nsa
-					.getCount(sPrimeAPrime));
+		for (int aPrime : actionsOf.get(sPrime)) {
+			double explorationValue = f(Q.isKnown(sPrime, aPrime) ? Q.get(
+					sPrime, aPrime) : null, Q.getCount(sPrime, aPrime));
 			if (explorationValue > max) {
 				max = explorationValue;
 				a = aPrime;
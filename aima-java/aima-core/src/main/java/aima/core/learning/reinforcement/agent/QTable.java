@@ -0,0 +1,160 @@
+package aima.core.learning.reinforcement.agent;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import aima.core.util.datastructure.Interner;
+
+/**
+ * A table of action values Q[s,a] and state-action frequencies
+ * N<sub>sa</sub>[s,a], for the states and actions seen so far. States and
+ * actions are interned to int ids and the entries are kept in dense primitive
+ * arrays with one row per state, so that reads and updates neither allocate
+ * keys nor box values. An entry which has never been set is unknown, which
+ * corresponds to a missing key in a map based table.
+ * 
+ * @param <S>
+ *            the state type.
+ * @param <A>
+ *            the action type.
+ *
+ * @author agent
+ *
+ */
+public class QTable<S, A> {
+	private Interner<S> states = new Interner<S>();
+	private Interner<A> actions = new Interner<A>();
+	// entry [s,a] is at s * columns + a
+	private int rows = 0, columns = 0;
+	private double[] q = new double[0];
+	private int[] n = new int[0];
+	private boolean[] known = new boolean[0];
+
+	/**
+	 * 
+	 * @return the id of a state, assigning one if it has not been seen yet.
+	 */
+	public int stateId(S s) {
+		int id = states.intern(s);
+		if (id >= rows) {
+			resize(Math.max(16, 2 * rows), columns);
+		}
+		return id;
+	}
+
+	/**
+	 * 
+	 * @return the id of an action, assigning one if it has not been seen yet.
+	 */
+	public int actionId(A a) {
+		int id = actions.intern(a);
+		if (id >= columns) {
+			resize(rows, Math.max(4, 2 * columns));
+		}
+		return id;
+	}
+
+	public S getState(int s) {
+		return states.get(s);
+	}
+
+	public A getAction(int a) {
+		return actions.get(a);
+	}
+
+	public int getNumberOfStates() {
+		return states.size();
+	}
+
+	/**
+	 * 
+	 * @return true if Q[s,a] has been set.
+	 */
+	public boolean isKnown(int s, int a) {
+		return known[s * columns + a];
+	}
+
+	/**
+	 * 
+	 * @return Q[s,a], 0 if unknown.
+	 */
+	public double get(int s, int a) {
+		return q[s * columns + a];
+	}
+
+	public void set(int s, int a, double value) {
+		int i = s * columns + a;
+		q[i] = value;
+		known[i] = true;
+	}
+
+	/**
+	 * 
+	 * @return N<sub>sa</sub>[s,a].
+	 */
+	public int getCount(int s, int a) {
+		return n[s * columns + a];
+	}
+
+	/**
+	 * Increment N<sub>sa</sub>[s,a].
+	 * 
+	 * @return the incremented count.
+	 */
+	public int incrementCount(int s, int a) {
+		return ++n[s * columns + a];
+	}
+
+	/**
+	 * Forget all values and counts. The ids of states and actions are kept.
+	 */
+	public void clear() {
+		Arrays.fill(q, 0);
+		Arrays.fill(n, 0);
+		Arrays.fill(known, false);
+	}
+
+	/**
+	 * 
+	 * @return max<sub>a</sub>Q(s,a) of each state with a known entry.
+	 */
+	public Map<S, Double> getMaxValues() {
+		Map<S, Double> max = new HashMap<S, Double>();
+		for (int s = 0; s < states.size(); s++) {
+			boolean found = false;
+			double u = 0;
+			for (int a = 0; a < actions.size(); a++) {
+				int i = s * columns + a;
+				if (known[i] && (!found || u < q[i])) {
+					u = q[i];
+					found = true;
+				}
+			}
+			if (found) {
+				max.put(states.get(s), u);
+			}
+		}
+		return max;
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private void resize(int newRows, int newColumns) {
+		double[] newQ = new double[newRows * newColumns];
+		int[] newN = new int[newRows * newColumns];
+		boolean[] newKnown = new boolean[newRows * newColumns];
+		for (int s = 0; s < rows; s++) {
+			System.arraycopy(q, s * columns, newQ, s * newColumns, columns);
+			System.arraycopy(n, s * columns, newN, s * newColumns, columns);
+			System.arraycopy(known, s * columns, newKnown, s * newColumns,
+					columns);
+		}
+		q = newQ;
+		n = newN;
+		known = newKnown;
+		rows = newRows;
+		columns = newColumns;
+	}
+}
@@ -0,0 +1,78 @@
+package aima.core.learning.reinforcement.agent;
+
+import java.util.Arrays;
+
+/**
+ * A growable record of the transitions (s, a, r, s', r') experienced by a
+ * reinforcement agent, with states and actions given by the ids of the
+ * agent's tables, kept in parallel primitive arrays. An agent can record its
+ * transitions while acting in an environment and later replay many of them
+ * in one call.
+ *
+ * @author agent
+ *
+ */
+public class TransitionBuffer {
+	private int size = 0;
+	private int[] s = new int[64], a = new int[64], sPrime = new int[64];
+	private double[] r = new double[64], rPrime = new double[64];
+
+	/**
+	 * Record a transition.
+	 * 
+	 * @param s
+	 *            the id of the previous state.
+	 * @param a
+	 *            the id of the action taken in s, ignored by passive agents.
+	 * @param r
+	 *            the reward received in s.
+	 * @param sPrime
+	 *            the id of the state reached.
+	 * @param rPrime
+	 *            the reward received in s'.
+	 */
+	public void add(int s, int a, double r, int sPrime, double rPrime) {
+		if (size == this.s.length) {
+			int capacity = 2 * size;
+			this.s = Arrays.copyOf(this.s, capacity);
+			this.a = Arrays.copyOf(this.a, capacity);
+			this.sPrime = Arrays.copyOf(this.sPrime, capacity);
+			this.r = Arrays.copyOf(this.r, capacity);
+			this.rPrime = Arrays.copyOf(this.rPrime, capacity);
+		}
+		this.s[size] = s;
+		this.a[size] = a;
+		this.r[size] = r;
+		this.sPrime[size] = sPrime;
+		this.rPrime[size] = rPrime;
+		size++;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void clear() {
+		size = 0;
+	}
+
+	public int getState(int i) {
+		return s[i];
+	}
+
+	public int getAction(int i) {
+		return a[i];
+	}
+
+	public double getReward(int i) {
+		return r[i];
+	}
+
+	public int getNextState(int i) {
+		return sPrime[i];
+	}
+
+	public double getNextReward(int i) {
+		return rPrime[i];
+	}
+}
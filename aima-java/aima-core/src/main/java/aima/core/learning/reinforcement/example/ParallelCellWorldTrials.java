@@ -0,0 +1,92 @@
+package aima.core.learning.reinforcement.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+import aima.core.environment.cellworld.Cell;
+import aima.core.environment.cellworld.CellWorld;
+import aima.core.environment.cellworld.CellWorldAction;
+import aima.core.learning.reinforcement.agent.ReinforcementAgent;
+import aima.core.probability.mdp.TransitionProbabilityFunction;
+import aima.core.util.JavaRandomizer;
+import aima.core.util.ParallelTasks;
+
+/**
+ * Runs trials of independent reinforcement learning agents in parallel, e.g.
+ * the same agent with different learning rates or exploration parameters in
+ * a hyperparameter sweep. Each agent gets its own CellWorldEnvironment and
+ * random number generator on the same cell world, so nothing but the
+ * (read-only) cell world and transition model is shared. The random number
+ * generators are seeded from a base seed, so a sweep can be repeated.
+ *
+ * @author agent
+ *
+ */
+public class ParallelCellWorldTrials {
+	private Cell<Double> startingCell = null;
+	private CellWorld<Double> cw = null;
+	private TransitionProbabilityFunction<Cell<Double>, CellWorldAction> tpf = null;
+	private int threads = 1;
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param startingCell
+	 *            the cell that agents are to start from at the beginning of
+	 *            each trial.
+	 * @param cw
+	 *            the cell world.
+	 * @param tpf
+	 *            the transition probability function of the environments.
+	 * @param threads
+	 *            the number of agents run at the same time.
+	 */
+	public ParallelCellWorldTrials(Cell<Double> startingCell,
+			CellWorld<Double> cw,
+			TransitionProbabilityFunction<Cell<Double>, CellWorldAction> tpf,
+			int threads) {
+		this.startingCell = startingCell;
+		this.cw = cw;
+		this.tpf = tpf;
+		this.threads = threads;
+	}
+
+	/**
+	 * Reset each agent and execute n trials with it in its own environment.
+	 * 
+	 * @param agents
+	 *            the agents, which must be distinct objects.
+	 * @param n
+	 *            the number of trials per agent.
+	 * @param seed
+	 *            the base seed, from which the seed of each agent's random
+	 *            number generator is derived.
+	 * @return the utilities learned by each agent, in the order of the agents.
+	 */
+	public List<Map<Cell<Double>, Double>> executeTrials(
+			List<? extends ReinforcementAgent<Cell<Double>, CellWorldAction>> agents,
+			final int n, long seed) {
+		// The seeds are drawn in the order of the agents, before any of them
+		// run, so they do not depend on how the runs are scheduled.
+		Random seeds = new Random(seed);
+		List<Callable<Map<Cell<Double>, Double>>> runs = new ArrayList<Callable<Map<Cell<Double>, Double>>>();
+		for (final ReinforcementAgent<Cell<Double>, CellWorldAction> agent : agents) {
+			final long agentSeed = seeds.nextLong();
+			runs.add(new Callable<Map<Cell<Double>, Double>>() {
+				public Map<Cell<Double>, Double> call() {
+					CellWorldEnvironment cwe = new CellWorldEnvironment(
+							startingCell, cw.getCells(), tpf,
+							new JavaRandomizer(new Random(agentSeed)));
+					cwe.addAgent(agent);
+					agent.reset();
+					cwe.executeTrials(n);
+					return agent.getUtility();
+				}
+			});
+		}
+		return ParallelTasks.runAll(runs, threads);
+	}
+}
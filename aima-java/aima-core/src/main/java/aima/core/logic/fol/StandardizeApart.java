@@ -66,7 +66,7 @@ public class StandardizeApart {
 	public Clause standardizeApart(Clause clause,
 			StandardizeApartIndexical standardizeApartIndexical) {
 
-		Set<Variable> toRename = variableCollector.collectAllVariables(clause);
+		Set<Variable> toRename = clause.getVariables();
 		Map<Variable, Term> renameSubstitution = new HashMap<Variable, Term>();
 
 		for (Variable var : toRename) {
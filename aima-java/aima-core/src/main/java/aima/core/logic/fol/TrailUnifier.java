@@ -0,0 +1,353 @@
+package aima.core.logic.fol;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import aima.core.logic.fol.parsing.ast.FOLNode;
+import aima.core.logic.fol.parsing.ast.Function;
+import aima.core.logic.fol.parsing.ast.Term;
+import aima.core.logic.fol.parsing.ast.Variable;
+
+/**
+ * A unification engine (see {@link Unifier} for the algorithm) for callers
+ * which unify many pairs of expressions, e.g. while searching for resolvents.
+ * Instead of building a new substitution map for each attempt, each variable
+ * is assigned an integer slot, a binding is a pointer to the (shared, not
+ * copied) term the slot's variable is bound to, and the slots bound are
+ * recorded on a trail. Bindings are only followed when needed, so no
+ * substitution is applied during unification, and backtracking to an earlier
+ * state, e.g. after a failed attempt, just clears the slots recorded on the
+ * trail since then:
+ *
+ * <pre>
+ * int mark = trail.mark();
+ * if (trail.unify(x, y)) {
+ *     ... trail.resolve(t) ... trail.getSubstitution() ...
+ * }
+ * trail.undo(mark);
+ * </pre>
+ *
+ * The OCCUR-CHECK? can be turned off (as in Prolog) where it is known not to
+ * be needed. Instances are not thread safe, see {@link TrailUnifierAdapter}
+ * for a drop in replacement for Unifier.
+ *
+ * @author agent
+ *
+ */
+public class TrailUnifier {
+	private boolean occurCheck = true;
+	// The slots of the variables seen since the last reset
+	private Map<Variable, Integer> slots = new HashMap<Variable, Integer>();
+	private Variable[] variables = new Variable[16];
+	// The term each slot is bound to, null if unbound
+	private FOLNode[] bindings = new FOLNode[16];
+	// The slots bound, in the order they were bound
+	private int[] trail = new int[16];
+	private int trailSize = 0;
+	// Marks of the slots visited while looking for a cycle
+	private byte[] visits = new byte[16];
+
+	public TrailUnifier() {
+
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param occurCheck
+	 *            false if OCCUR-CHECK? is to be skipped when binding a
+	 *            variable.
+	 */
+	public TrailUnifier(boolean occurCheck) {
+		this.occurCheck = occurCheck;
+	}
+
+	public boolean isOccurCheck() {
+		return occurCheck;
+	}
+
+	public void setOccurCheck(boolean occurCheck) {
+		this.occurCheck = occurCheck;
+	}
+
+	/**
+	 *
+	 * @return the current position of the trail, to be passed to
+	 *         {@link #undo(int)}.
+	 */
+	public int mark() {
+		return trailSize;
+	}
+
+	/**
+	 * Undo all bindings made since the trail was at the specified position.
+	 */
+	public void undo(int mark) {
+		while (trailSize > mark) {
+			bindings[trail[--trailSize]] = null;
+		}
+	}
+
+	/**
+	 * Undo all bindings and forget the slots of all variables.
+	 */
+	public void reset() {
+		undo(0);
+		for (int i = 0; i < slots.size(); i++) {
+			variables[i] = null;
+		}
+		slots.clear();
+	}
+
+	/**
+	 * Bind a variable, without any checks, e.g. to start from an existing
+	 * substitution.
+	 */
+	public void bind(Variable var, Term value) {
+		if (var.equals(value)) {
+			return;
+		}
+		int slot = slotOf(var);
+		bindings[slot] = value;
+		push(slot);
+	}
+
+	/**
+	 * Unify two expressions, extending the current bindings. On failure some
+	 * bindings may have been made, the caller is expected to undo to a mark
+	 * taken beforehand.
+	 *
+	 * @return true if x and y unify.
+	 */
+	public boolean unify(FOLNode x, FOLNode y) {
+		x = deref(x);
+		y = deref(y);
+		if (x == y) {
+			return true;
+		} else if (x instanceof Variable) {
+			if (x.equals(y)) {
+				return true;
+			}
+			return bindVar((Variable) x, y);
+		} else if (y instanceof Variable) {
+			return bindVar((Variable) y, x);
+		} else if (x.isCompound() && y.isCompound()) {
+			if (!x.getSymbolicName().equals(y.getSymbolicName())) {
+				return false;
+			}
+			return unify(x.getArgs(), y.getArgs());
+		} else {
+			return x.equals(y);
+		}
+	}
+
+	/**
+	 * Unify two lists of expressions element by element.
+	 *
+	 * @return true if x and y are of the same size and unify.
+	 */
+	public boolean unify(List<? extends FOLNode> x, List<? extends FOLNode> y) {
+		int size = x.size();
+		if (size != y.size()) {
+			return false;
+		}
+		for (int i = 0; i < size; i++) {
+			if (!unify(x.get(i), y.get(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 *
+	 * @return true if the variable is currently bound.
+	 */
+	public boolean isBound(Variable var) {
+		Integer slot = slots.get(var);
+		return null != slot && null != bindings[slot];
+	}
+
+	/**
+	 *
+	 * @return the number of variables currently bound.
+	 */
+	public int getNumberOfBindings() {
+		return trailSize;
+	}
+
+	/**
+	 * Check the bindings made since the trail was at the specified position
+	 * for cycles, i.e. a variable bound, directly or through other bindings,
+	 * to a term containing itself. There can only be cycles if the
+	 * OCCUR-CHECK? is skipped, and then the bindings have no finite
+	 * substitution.
+	 *
+	 * @return true if the bindings are cyclic.
+	 */
+	public boolean isCyclic(int mark) {
+		boolean cyclic = false;
+		for (int i = mark; i < trailSize && !cyclic; i++) {
+			cyclic = isCyclicSlot(trail[i]);
+		}
+		Arrays.fill(visits, 0, slots.size(), (byte) 0);
+		return cyclic;
+	}
+
+	/**
+	 * Apply the current bindings to a term. Subterms which are not affected by
+	 * the bindings are shared with the argument, not copied. The bindings must
+	 * not be cyclic, see {@link #isCyclic(int)}.
+	 */
+	public Term resolve(Term t) {
+		return resolve(t, false);
+	}
+
+	/**
+	 * Add the current bindings, in the order they were made, to a map. The
+	 * values are fully resolved copies of the terms bound, as returned by
+	 * {@link Unifier}. The bindings must not be cyclic, see
+	 * {@link #isCyclic(int)}.
+	 *
+	 * @return theta.
+	 */
+	public Map<Variable, Term> getSubstitution(Map<Variable, Term> theta) {
+		return getSubstitution(0, theta);
+	}
+
+	/**
+	 * Add the bindings made since the trail was at the specified position to
+	 * a map, see {@link #getSubstitution(Map)}.
+	 *
+	 * @return theta.
+	 */
+	public Map<Variable, Term> getSubstitution(int mark,
+			Map<Variable, Term> theta) {
+		for (int i = mark; i < trailSize; i++) {
+			int slot = trail[i];
+			theta.put(variables[slot], resolve((Term) bindings[slot], true));
+		}
+		return theta;
+	}
+
+	//
+	// PROTECTED METHODS
+	//
+	protected Term resolve(Term t, boolean copy) {
+		FOLNode n = deref(t);
+		if (n instanceof Function) {
+			Function f = (Function) n;
+			List<Term> args = f.getArgs();
+			List<Term> resolvedArgs = null;
+			for (int i = 0; i < args.size(); i++) {
+				Term arg = args.get(i);
+				Term resolved = resolve(arg, copy);
+				if (null == resolvedArgs && (copy || resolved != arg)) {
+					resolvedArgs = new ArrayList<Term>(args.subList(0, i));
+				}
+				if (null != resolvedArgs) {
+					resolvedArgs.add(resolved);
+				}
+			}
+			return null == resolvedArgs ? f : new Function(f
+					.getFunctionName(), resolvedArgs);
+		}
+		return copy ? ((Term) n).copy() : (Term) n;
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private FOLNode deref(FOLNode n) {
+		while (n instanceof Variable) {
+			Integer slot = slots.get(n);
+			if (null == slot || null == bindings[slot]) {
+				break;
+			}
+			n = bindings[slot];
+		}
+		return n;
+	}
+
+	private boolean bindVar(Variable var, FOLNode x) {
+		if (!(x instanceof Term)) {
+			return false;
+		}
+		if (occurCheck && occurs(var, x)) {
+			return false;
+		}
+		int slot = slotOf(var);
+		bindings[slot] = x;
+		push(slot);
+		return true;
+	}
+
+	private boolean occurs(Variable var, FOLNode x) {
+		x = deref(x);
+		if (x instanceof Variable) {
+			return var.equals(x);
+		} else if (x instanceof Function) {
+			for (FOLNode arg : x.getArgs()) {
+				if (occurs(var, arg)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	// Depth first search of the bindings reachable from a slot, which is
+	// marked 1 while it is being searched and 2 once it is done
+	private boolean isCyclicSlot(int slot) {
+		if (2 == visits[slot] || null == bindings[slot]) {
+			return false;
+		} else if (1 == visits[slot]) {
+			return true;
+		}
+		visits[slot] = 1;
+		if (isCyclicTerm(bindings[slot])) {
+			return true;
+		}
+		visits[slot] = 2;
+		return false;
+	}
+
+	private boolean isCyclicTerm(FOLNode x) {
+		if (x instanceof Variable) {
+			Integer slot = slots.get(x);
+			return null != slot && isCyclicSlot(slot);
+		} else if (x instanceof Function) {
+			for (FOLNode arg : x.getArgs()) {
+				if (isCyclicTerm(arg)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private int slotOf(Variable var) {
+		Integer slot = slots.get(var);
+		if (null == slot) {
+			slot = slots.size();
+			if (slot == variables.length) {
+				variables = Arrays.copyOf(variables, 2 * slot);
+				bindings = Arrays.copyOf(bindings, 2 * slot);
+				visits = Arrays.copyOf(visits, 2 * slot);
+			}
+			variables[slot] = var;
+			slots.put(var, slot);
+		}
+		return slot;
+	}
+
+	private void push(int slot) {
+		if (trailSize == trail.length) {
+			trail = Arrays.copyOf(trail, 2 * trailSize);
+		}
+		trail[trailSize++] = slot;
+	}
+}
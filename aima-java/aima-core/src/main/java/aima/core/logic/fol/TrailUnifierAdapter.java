@@ -0,0 +1,130 @@
+package aima.core.logic.fol;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import aima.core.logic.fol.parsing.ast.FOLNode;
+import aima.core.logic.fol.parsing.ast.Term;
+import aima.core.logic.fol.parsing.ast.Variable;
+
+/**
+ * A {@link Unifier} which unifies with a {@link TrailUnifier}, so it can be
+ * used wherever a Unifier is, e.g. by FOLKnowledgeBase, FOLModelElimination or
+ * FOLOTTERLikeTheoremProver. The substitutions returned are the same as those
+ * of Unifier, but a substitution map is only built once unification has
+ * succeeded, so failed attempts (the common case when searching for
+ * resolvents) only record a slot for each variable seen. Each thread uses its
+ * own TrailUnifier.<br>
+ * <br>
+ * All unification is done by the TrailUnifier, so overriding
+ * {@link #occurCheck(Map, Variable, FOLNode)} has no effect, the OCCUR-CHECK?
+ * is turned off with the constructor instead. When it is, the check for cycles
+ * is only made once unification has succeeded, and a unification which
+ * results in cyclic bindings fails as it would with the OCCUR-CHECK?.
+ *
+ * @author agent
+ *
+ */
+public class TrailUnifierAdapter extends Unifier {
+	private boolean occurCheck = true;
+	private ThreadLocal<TrailUnifier> trailUnifiers = new ThreadLocal<TrailUnifier>() {
+		@Override
+		protected TrailUnifier initialValue() {
+			return new TrailUnifier(occurCheck);
+		}
+	};
+
+	public TrailUnifierAdapter() {
+
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param occurCheck
+	 *            false if OCCUR-CHECK? is to be skipped when binding a
+	 *            variable.
+	 */
+	public TrailUnifierAdapter(boolean occurCheck) {
+		this.occurCheck = occurCheck;
+	}
+
+	public boolean isOccurCheck() {
+		return occurCheck;
+	}
+
+	@Override
+	public Map<Variable, Term> unify(FOLNode x, FOLNode y) {
+		TrailUnifier trail = trailUnifiers.get();
+		try {
+			if (trail.unify(x, y) && isAcyclic(trail, 0)) {
+				return trail.getSubstitution(new LinkedHashMap<Variable, Term>());
+			}
+			return null;
+		} finally {
+			trail.reset();
+		}
+	}
+
+	@Override
+	public Map<Variable, Term> unify(FOLNode x, FOLNode y,
+			Map<Variable, Term> theta) {
+		if (null == theta) {
+			return null;
+		}
+		TrailUnifier trail = trailUnifiers.get();
+		try {
+			int mark = start(trail, theta);
+			if (trail.unify(x, y) && isAcyclic(trail, mark)) {
+				return finish(trail, mark, theta);
+			}
+			return null;
+		} finally {
+			trail.reset();
+		}
+	}
+
+	@Override
+	public Map<Variable, Term> unify(List<? extends FOLNode> x,
+			List<? extends FOLNode> y, Map<Variable, Term> theta) {
+		if (null == theta) {
+			return null;
+		}
+		TrailUnifier trail = trailUnifiers.get();
+		try {
+			int mark = start(trail, theta);
+			if (trail.unify(x, y) && isAcyclic(trail, mark)) {
+				return finish(trail, mark, theta);
+			}
+			return null;
+		} finally {
+			trail.reset();
+		}
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private int start(TrailUnifier trail, Map<Variable, Term> theta) {
+		for (Map.Entry<Variable, Term> binding : theta.entrySet()) {
+			trail.bind(binding.getKey(), binding.getValue());
+		}
+		return trail.mark();
+	}
+
+	private boolean isAcyclic(TrailUnifier trail, int mark) {
+		return occurCheck || !trail.isCyclic(mark);
+	}
+
+	private Map<Variable, Term> finish(TrailUnifier trail, int mark,
+			Map<Variable, Term> theta) {
+		if (mark > 0) {
+			// Apply the new bindings to the existing ones, as Unifier does
+			for (Map.Entry<Variable, Term> binding : theta.entrySet()) {
+				binding.setValue(trail.resolve(binding.getValue(), true));
+			}
+		}
+		return trail.getSubstitution(mark, theta);
+	}
+}
@@ -78,6 +78,19 @@ public class FOLModelElimination implements InferenceProcedure {
 		this.maxQueryTime = maxQueryTime;
 	}
 
+	public Unifier getUnifier() {
+		return unifier;
+	}
+
+	/**
+	 * 
+	 * @param unifier
+	 *            the unifier to be used, e.g. a TrailUnifierAdapter.
+	 */
+	public void setUnifier(Unifier unifier) {
+		this.unifier = unifier;
+	}
+
 	//
 	// START-InferenceProcedure
 
@@ -95,7 +108,7 @@ public class FOLModelElimination implements InferenceProcedure {
 		AnswerHandler ansHandler = new AnswerHandler(kb, query, maxQueryTime);
 
 		IndexedFarParents ifps = new IndexedFarParents(
-				ansHandler.getSetOfSupport(), background);
+				ansHandler.getSetOfSupport(), background, unifier);
 
 		// Iterative deepening to be used
 		for (int maxDepth = 1; maxDepth < Integer.MAX_VALUE; maxDepth++) {
@@ -422,13 +435,15 @@ public class FOLModelElimination implements InferenceProcedure {
 class IndexedFarParents {
 	//
 	private int saIdx = 0;
-	private Unifier unifier = new Unifier();
+	private Unifier unifier = null;
 	private SubstVisitor substVisitor = new SubstVisitor();
 	//
 	private Map<String, List<Chain>> posHeads = new LinkedHashMap<String, List<Chain>>();
 	private Map<String, List<Chain>> negHeads = new LinkedHashMap<String, List<Chain>>();
 
-	public IndexedFarParents(List<Chain> sos, List<Chain> background) {
+	public IndexedFarParents(List<Chain> sos, List<Chain> background,
+			Unifier unifier) {
+		this.unifier = unifier;
 		constructInternalDataStructures(sos, background);
 	}
 
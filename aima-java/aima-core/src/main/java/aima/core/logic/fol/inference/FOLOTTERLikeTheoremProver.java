@@ -1,6 +1,7 @@
 package aima.core.logic.fol.inference;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -10,6 +11,7 @@ import java.util.Set;
 
 import aima.core.logic.fol.Connectors;
 import aima.core.logic.fol.SubsumptionElimination;
+import aima.core.logic.fol.Unifier;
 import aima.core.logic.fol.inference.otter.ClauseFilter;
 import aima.core.logic.fol.inference.otter.ClauseSimplifier;
 import aima.core.logic.fol.inference.otter.LightestClauseHeuristic;
@@ -21,6 +23,8 @@ import aima.core.logic.fol.inference.proof.ProofFinal;
 import aima.core.logic.fol.inference.proof.ProofStepGoal;
 import aima.core.logic.fol.kb.FOLKnowledgeBase;
 import aima.core.logic.fol.kb.data.Clause;
+import aima.core.logic.fol.kb.data.DiscriminationTree;
+import aima.core.logic.fol.kb.data.FeatureVectorIndex;
 import aima.core.logic.fol.kb.data.Literal;
 import aima.core.logic.fol.parsing.ast.ConnectedSentence;
 import aima.core.logic.fol.parsing.ast.NotSentence;
@@ -80,6 +84,13 @@ import aima.core.logic.fol.parsing.ast.Variable;
  * For lots of interesting problems to play with, see <b>The TPTP Problem
  * Library for Automated Theorem Proving</b>:<br>
  * <a href="http://www.cs.miami.edu/~tptp/">http://www.cs.miami.edu/~tptp/</a><br>
+ * <br>
+ * <b>Note:</b> The clauses are indexed, so that forward and backward
+ * subsumption only test the clauses allowed by their feature vectors (see
+ * {@link FeatureVectorIndex}) and INFER only attempts to resolve (or
+ * paramodulate) a clause with the members of usable which have a literal that
+ * may unify with the complement of one of its literals (or which contain a
+ * positive equality, respectively).
  * 
  * @author Ciaran O'Reilly
  * 
@@ -94,6 +105,7 @@ public class FOLOTTERLikeTheoremProver implements InferenceProcedure {
 	private ClauseSimplifier clauseSimplifier = new DefaultClauseSimplifier();
 	//
 	private Paramodulation paramodulation = new Paramodulation();
+	private Unifier unifier = new Unifier();
 
 	public FOLOTTERLikeTheoremProver() {
 
@@ -154,6 +166,35 @@ public class FOLOTTERLikeTheoremProver implements InferenceProcedure {
 		this.clauseSimplifier = clauseSimplifier;
 	}
 
+	public Unifier getUnifier() {
+		return unifier;
+	}
+
+	/**
+	 * 
+	 * @param unifier
+	 *            the unifier to be used for binary resolution, e.g. a
+	 *            TrailUnifierAdapter.
+	 */
+	public void setUnifier(Unifier unifier) {
+		this.unifier = unifier;
+	}
+
+	/**
+	 * 
+	 * @param result
+	 *            a result returned by ask on this prover.
+	 * @return the number of clauses generated by INFER while answering the
+	 *         query of the result.
+	 */
+	public long getNumberOfClausesGenerated(InferenceResult result) {
+		if (!(result instanceof OTTERAnswerHandler)) {
+			throw new IllegalArgumentException(
+					"Result was not returned by an OTTER like theorem prover.");
+		}
+		return ((OTTERAnswerHandler) result).clausesGenerated;
+	}
+
 	//
 	// START-InferenceProcedure
 	public InferenceResult ask(FOLKnowledgeBase KB, Sentence alpha) {
@@ -245,10 +286,10 @@ public class FOLOTTERLikeTheoremProver implements InferenceProcedure {
 				// * move clause from sos to usable
 				sos.remove(clause);
 				getLightestClauseHeuristic().removedClauseFromSOS(clause);
-				usable.add(clause);
+				idxdClauses.addToUsable(clause, usable);
 				// * PROCESS(INFER(clause, usable), sos)
-				process(ansHandler, idxdClauses, infer(clause, usable), sos,
-						usable);
+				process(ansHandler, idxdClauses, infer(ansHandler, clause,
+						idxdClauses.getUsablePartners(clause)), sos, usable);
 			}
 
 			// * until sos = [] or a refutation has been found
@@ -261,15 +302,17 @@ public class FOLOTTERLikeTheoremProver implements InferenceProcedure {
 	 * <pre>
 	 * function INFER(clause, usable) returns clauses
 	 */
-	private Set<Clause> infer(Clause clause, Set<Clause> usable) {
+	private Set<Clause> infer(OTTERAnswerHandler ansHandler, Clause clause,
+			Collection<Clause> usable) {
 		Set<Clause> resultingClauses = new LinkedHashSet<Clause>();
 
 		// * resolve clause with each member of usable
 		for (Clause c : usable) {
-			Set<Clause> resolvents = clause.binaryResolvents(c);
+			Set<Clause> resolvents = clause.binaryResolvents(c, unifier);
 			for (Clause rc : resolvents) {
 				resultingClauses.add(rc);
 			}
+			ansHandler.clausesGenerated += resolvents.size();
 
 			// if using paramodulation to handle equality
 			if (isUseParamodulation()) {
@@ -277,6 +320,7 @@ public class FOLOTTERLikeTheoremProver implements InferenceProcedure {
 				for (Clause p : paras) {
 					resultingClauses.add(p);
 				}
+				ansHandler.clausesGenerated += paras.size();
 			}
 		}
 
@@ -339,20 +383,13 @@ public class FOLOTTERLikeTheoremProver implements InferenceProcedure {
 		Set<Clause> toCheck = new LinkedHashSet<Clause>();
 
 		if (ansHandler.isCheckForUnitRefutation(clause)) {
-			for (Clause s : sos) {
-				if (s.isUnitClause()) {
-					toCheck.add(s);
-				}
-			}
-			for (Clause u : usable) {
-				if (u.isUnitClause()) {
-					toCheck.add(u);
-				}
-			}
+			// The unit clauses in sos and usable
+			// which may resolve with clause
+			toCheck.addAll(idxdClauses.getUnitPartners(clause));
 		}
 
 		if (toCheck.size() > 0) {
-			toCheck = infer(clause, toCheck);
+			toCheck = infer(ansHandler, clause, toCheck);
 			for (Clause t : toCheck) {
 				// * clause <- SIMPLIFY(clause)
 				t = getClauseSimplifier().simplify(t);
@@ -382,15 +419,15 @@ public class FOLOTTERLikeTheoremProver implements InferenceProcedure {
 		}
 	}
 
-	// This is a simple indexing on the clauses to support
-	// more efficient forward and backward subsumption testing.
+	// Indexes the clauses in sos and usable by their feature vectors, to
+	// support more efficient forward and backward subsumption testing, and by
+	// their literals, to find the partners for resolution and paramodulation
+	// of a clause in usable and among the unit clauses.
 	class IndexedClauses {
 		private LightestClauseHeuristic lightestClauseHeuristic = null;
-		// Group the clauses by their # of literals.
-		private Map<Integer, Set<Clause>> clausesGroupedBySize = new HashMap<Integer, Set<Clause>>();
-		// Keep track of the min and max # of literals.
-		private int minNoLiterals = Integer.MAX_VALUE;
-		private int maxNoLiterals = 0;
+		private FeatureVectorIndex subsumptionIndex = new FeatureVectorIndex();
+		private PartnerIndex usablePartners = new PartnerIndex();
+		private PartnerIndex unitPartners = new PartnerIndex();
 
 		public IndexedClauses(LightestClauseHeuristic lightestClauseHeuristic,
 				Set<Clause> sos, Set<Clause> usable) {
@@ -400,50 +437,41 @@ public class FOLOTTERLikeTheoremProver implements InferenceProcedure {
 			}
 			for (Clause c : usable) {
 				indexClause(c);
+				usablePartners.add(c);
 			}
 		}
 
-		public void addClause(Clause c, Set<Clause> sos, Set<Clause> usable) {
-			// Perform forward subsumption elimination
-			boolean addToSOS = true;
-			for (int i = minNoLiterals; i < c.getNumberLiterals(); i++) {
-				Set<Clause> fs = clausesGroupedBySize.get(i);
-				if (null != fs) {
-					for (Clause s : fs) {
-						if (s.subsumes(c)) {
-							addToSOS = false;
-							break;
-						}
-					}
-				}
-				if (!addToSOS) {
-					break;
-				}
+		public void addToUsable(Clause c, Set<Clause> usable) {
+			if (usable.add(c)) {
+				usablePartners.add(c);
 			}
+		}
+
+		public Collection<Clause> getUsablePartners(Clause c) {
+			return usablePartners.getPartners(c);
+		}
 
-			if (addToSOS) {
+		public Collection<Clause> getUnitPartners(Clause c) {
+			return unitPartners.getPartners(c);
+		}
+
+		public void addClause(Clause c, Set<Clause> sos, Set<Clause> usable) {
+			// Perform forward subsumption elimination
+			if (null == subsumptionIndex.findSubsumingClause(c)) {
 				sos.add(c);
 				lightestClauseHeuristic.addedClauseToSOS(c);
 				indexClause(c);
 				// Have added clause, therefore
 				// perform backward subsumption elimination
-				Set<Clause> subsumed = new HashSet<Clause>();
-				for (int i = c.getNumberLiterals() + 1; i <= maxNoLiterals; i++) {
-					subsumed.clear();
-					Set<Clause> bs = clausesGroupedBySize.get(i);
-					if (null != bs) {
-						for (Clause s : bs) {
-							if (c.subsumes(s)) {
-								subsumed.add(s);
-								if (sos.contains(s)) {
-									sos.remove(s);
-									lightestClauseHeuristic
-											.removedClauseFromSOS(s);
-								}
-								usable.remove(s);
-							}
-						}
-						bs.removeAll(subsumed);
+				for (Clause s : subsumptionIndex.findSubsumedClauses(c)) {
+					subsumptionIndex.remove(s);
+					unitPartners.remove(s);
+					if (sos.contains(s)) {
+						sos.remove(s);
+						lightestClauseHeuristic.removedClauseFromSOS(s);
+					}
+					if (usable.remove(s)) {
+						usablePartners.remove(s);
 					}
 				}
 			}
@@ -453,19 +481,94 @@ public class FOLOTTERLikeTheoremProver implements InferenceProcedure {
 		// PRIVATE METHODS
 		//
 		private void indexClause(Clause c) {
-			int size = c.getNumberLiterals();
-			if (size < minNoLiterals) {
-				minNoLiterals = size;
+			subsumptionIndex.add(c);
+			if (c.isUnitClause()) {
+				unitPartners.add(c);
+			}
+		}
+	}
+
+	// Indexes a set of clauses by their literals.
+	class PartnerIndex {
+		private DiscriminationTree<Clause> positiveLiterals = new DiscriminationTree<Clause>();
+		private DiscriminationTree<Clause> negativeLiterals = new DiscriminationTree<Clause>();
+		// The clauses with a positive term equality, i.e. those which can be
+		// used to paramodulate into another clause.
+		private Set<Clause> equalityClauses = new LinkedHashSet<Clause>();
+		private Set<Clause> clauses = new LinkedHashSet<Clause>();
+
+		public void add(Clause c) {
+			if (!clauses.add(c)) {
+				return;
+			}
+			for (Literal l : c.getLiterals()) {
+				if (l.isPositiveLiteral()) {
+					positiveLiterals.add(l.getAtomicSentence(), c);
+				} else {
+					negativeLiterals.add(l.getAtomicSentence(), c);
+				}
+			}
+			if (hasPositiveEquality(c)) {
+				equalityClauses.add(c);
+			}
+		}
+
+		public void remove(Clause c) {
+			if (!clauses.remove(c)) {
+				return;
+			}
+			for (Literal l : c.getLiterals()) {
+				if (l.isPositiveLiteral()) {
+					positiveLiterals.remove(l.getAtomicSentence(), c);
+				} else {
+					negativeLiterals.remove(l.getAtomicSentence(), c);
+				}
+			}
+			equalityClauses.remove(c);
+		}
+
+		// The clauses which may resolve with c and, if using paramodulation,
+		// the clauses which may paramodulate with c.
+		public Collection<Clause> getPartners(Clause c) {
+			Set<Clause> partners = new LinkedHashSet<Clause>();
+			if (c.isEmpty()) {
+				// Only an empty clause resolves with an empty clause
+				for (Clause e : clauses) {
+					if (e.isEmpty()) {
+						partners.add(e);
+					}
+				}
 			}
-			if (size > maxNoLiterals) {
-				maxNoLiterals = size;
+			for (Literal l : c.getLiterals()) {
+				if (l.isPositiveLiteral()) {
+					partners.addAll(negativeLiterals.getUnifiableCandidates(l
+							.getAtomicSentence()));
+				} else {
+					partners.addAll(positiveLiterals.getUnifiableCandidates(l
+							.getAtomicSentence()));
+				}
 			}
-			Set<Clause> cforsize = clausesGroupedBySize.get(size);
-			if (null == cforsize) {
-				cforsize = new HashSet<Clause>();
-				clausesGroupedBySize.put(size, cforsize);
+			if (isUseParamodulation()) {
+				if (hasPositiveEquality(c)) {
+					// c can paramodulate into any clause
+					partners.addAll(clauses);
+				} else {
+					partners.addAll(equalityClauses);
+				}
 			}
-			cforsize.add(c);
+			return partners;
+		}
+
+		//
+		// PRIVATE METHODS
+		//
+		private boolean hasPositiveEquality(Clause c) {
+			for (Literal l : c.getPositiveLiterals()) {
+				if (l.getAtomicSentence() instanceof TermEquality) {
+					return true;
+				}
+			}
+			return false;
 		}
 	}
 
@@ -477,6 +580,7 @@ public class FOLOTTERLikeTheoremProver implements InferenceProcedure {
 		private boolean complete = false;
 		private List<Proof> proofs = new ArrayList<Proof>();
 		private boolean timedOut = false;
+		private long clausesGenerated = 0L;
 
 		public OTTERAnswerHandler(Literal answerLiteral,
 				Set<Variable> answerLiteralVariables, Clause answerClause,
@@ -8,6 +8,8 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import aima.core.logic.fol.CNFConverter;
 import aima.core.logic.fol.StandardizeApart;
@@ -26,6 +28,7 @@ import aima.core.logic.fol.inference.proof.ProofStepClauseClausifySentence;
 import aima.core.logic.fol.kb.data.CNF;
 import aima.core.logic.fol.kb.data.Chain;
 import aima.core.logic.fol.kb.data.Clause;
+import aima.core.logic.fol.kb.data.DiscriminationTree;
 import aima.core.logic.fol.kb.data.Literal;
 import aima.core.logic.fol.parsing.FOLParser;
 import aima.core.logic.fol.parsing.ast.FOLNode;
@@ -35,7 +38,12 @@ import aima.core.logic.fol.parsing.ast.Term;
 import aima.core.logic.fol.parsing.ast.Variable;
 
 /**
- * A First Order Logic (FOL) Knowledge Base.
+ * A First Order Logic (FOL) Knowledge Base.<br>
+ * <br>
+ * Facts are indexed by the structure of their arguments (see
+ * {@link DiscriminationTree}), so FETCH only attempts to unify a query with
+ * the facts compatible with it. Any number of threads may fetch from the KB
+ * at the same time, while telling the KB excludes all other access.
  * 
  * @author Ciaran O'Reilly
  * 
@@ -61,8 +69,10 @@ public class FOLKnowledgeBase {
 	// along with those that represent implications.
 	private List<Clause> allDefiniteClauses = new ArrayList<Clause>();
 	private List<Clause> implicationDefiniteClauses = new ArrayList<Clause>();
-	// All the facts in the KB indexed by Atomic Sentence name (Note: pg. 279)
-	private Map<String, List<Literal>> indexFacts = new HashMap<String, List<Literal>>();
+	// All the facts in the KB indexed by Atomic Sentence name and arguments
+	// (Note: pg. 279)
+	private Map<String, DiscriminationTree<Literal>> indexFacts = new HashMap<String, DiscriminationTree<Literal>>();
+	private ReadWriteLock lock = new ReentrantReadWriteLock();
 	// Keep track of indexical keys for uniquely standardizing apart sentences
 	private StandardizeApartIndexical variableIndexical = StandardizeApartIndexicalFactory
 			.newStandardizeApartIndexical('v');
@@ -96,11 +106,16 @@ public class FOLKnowledgeBase {
 	}
 
 	public void clear() {
-		this.originalSentences.clear();
-		this.clauses.clear();
-		this.allDefiniteClauses.clear();
-		this.implicationDefiniteClauses.clear();
-		this.indexFacts.clear();
+		lock.writeLock().lock();
+		try {
+			this.originalSentences.clear();
+			this.clauses.clear();
+			this.allDefiniteClauses.clear();
+			this.implicationDefiniteClauses.clear();
+			this.indexFacts.clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
 	}
 
 	public InferenceProcedure getInferenceProcedure() {
@@ -188,19 +203,24 @@ public class FOLKnowledgeBase {
 	}
 
 	// Note: pg 278, FETCH(q) concept.
-	public synchronized Set<Map<Variable, Term>> fetch(Literal l) {
+	public Set<Map<Variable, Term>> fetch(Literal l) {
 		// Get all of the substitutions in the KB that p unifies with
 		Set<Map<Variable, Term>> allUnifiers = new LinkedHashSet<Map<Variable, Term>>();
 
-		List<Literal> matchingFacts = fetchMatchingFacts(l);
-		if (null != matchingFacts) {
-			for (Literal fact : matchingFacts) {
-				Map<Variable, Term> substitution = unifier.unify(
-						l.getAtomicSentence(), fact.getAtomicSentence());
-				if (null != substitution) {
-					allUnifiers.add(substitution);
+		lock.readLock().lock();
+		try {
+			List<Literal> matchingFacts = fetchMatchingFacts(l);
+			if (null != matchingFacts) {
+				for (Literal fact : matchingFacts) {
+					Map<Variable, Term> substitution = unifier.unify(l
+							.getAtomicSentence(), fact.getAtomicSentence());
+					if (null != substitution) {
+						allUnifiers.add(substitution);
+					}
 				}
 			}
+		} finally {
+			lock.readLock().unlock();
 		}
 
 		return allUnifiers;
@@ -280,9 +300,14 @@ public class FOLKnowledgeBase {
 
 	// Note: see pg. 281
 	public boolean isRenaming(Literal l) {
-		List<Literal> possibleMatches = fetchMatchingFacts(l);
-		if (null != possibleMatches) {
-			return isRenaming(l, possibleMatches);
+		lock.readLock().lock();
+		try {
+			List<Literal> possibleMatches = fetchMatchingFacts(l);
+			if (null != possibleMatches) {
+				return isRenaming(l, possibleMatches);
+			}
+		} finally {
+			lock.readLock().unlock();
 		}
 
 		return false;
@@ -338,7 +363,16 @@ public class FOLKnowledgeBase {
 	//
 
 	// Note: pg 278, STORE(s) concept.
-	private synchronized void store(Sentence sentence) {
+	private void store(Sentence sentence) {
+		lock.writeLock().lock();
+		try {
+			storeLocked(sentence);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void storeLocked(Sentence sentence) {
 		originalSentences.add(sentence);
 
 		// Convert the sentence to CNF
@@ -381,10 +415,10 @@ public class FOLKnowledgeBase {
 	private void indexFact(Literal fact) {
 		String factKey = getFactKey(fact);
 		if (!indexFacts.containsKey(factKey)) {
-			indexFacts.put(factKey, new ArrayList<Literal>());
+			indexFacts.put(factKey, new DiscriminationTree<Literal>());
 		}
 
-		indexFacts.get(factKey).add(fact);
+		indexFacts.get(factKey).add(fact.getAtomicSentence(), fact);
 	}
 
 	private void recursiveFetch(Map<Variable, Term> theta, Literal l,
@@ -421,8 +455,13 @@ public class FOLKnowledgeBase {
 		}
 	}
 
+	// Only the facts whose arguments are compatible with those of l
 	private List<Literal> fetchMatchingFacts(Literal l) {
-		return indexFacts.get(getFactKey(l));
+		DiscriminationTree<Literal> facts = indexFacts.get(getFactKey(l));
+		if (null == facts) {
+			return null;
+		}
+		return facts.getUnifiableCandidates(l.getAtomicSentence());
 	}
 
 	private String getFactKey(Literal l) {
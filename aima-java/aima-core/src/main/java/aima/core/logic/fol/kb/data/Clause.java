@@ -56,11 +56,15 @@ public class Clause {
 	private final List<Literal> negativeLiterals = new ArrayList<Literal>();
 	private boolean immutable = false;
 	private boolean saCheckRequired = true;
-	private String equalityIdentity = "";
+	private volatile String equalityIdentity = null;
+	private int hashCode = 0;
+	private Set<Variable> variables = null;
 	private Set<Clause> factors = null;
 	private Set<Clause> nonTrivialFactors = null;
 	private String stringRep = null;
 	private ProofStep proofStep = null;
+	// The interner this is the canonical instance of, if any
+	ClauseInterner interner = null;
 
 	public Clause() {
 		// i.e. the empty clause
@@ -75,7 +79,7 @@ public class Clause {
 				this.negativeLiterals.add(l);
 			}
 		}
-		recalculateIdentity();
+		resetIdentity();
 	}
 
 	public Clause(List<Literal> lits1, List<Literal> lits2) {
@@ -88,7 +92,7 @@ public class Clause {
 				this.negativeLiterals.add(l);
 			}
 		}
-		recalculateIdentity();
+		resetIdentity();
 	}
 
 	public ProofStep getProofStep() {
@@ -178,7 +182,7 @@ public class Clause {
 				negativeLiterals.add(literal);
 			}
 		}
-		recalculateIdentity();
+		resetIdentity();
 	}
 
 	public void addPositiveLiteral(AtomicSentence atom) {
@@ -213,6 +217,20 @@ public class Clause {
 		return Collections.unmodifiableList(negativeLiterals);
 	}
 
+	/**
+	 * 
+	 * @return the variables contained in this clause, in the order they
+	 *         occur. The set is computed once and shared, so should not be
+	 *         modified.
+	 */
+	public Set<Variable> getVariables() {
+		if (null == variables) {
+			variables = Collections.unmodifiableSet(_variableCollector
+					.collectAllVariables(this));
+		}
+		return variables;
+	}
+
 	public Set<Clause> getFactors() {
 		if (null == factors) {
 			calculateFactors(null);
@@ -272,6 +290,11 @@ public class Clause {
 	// Note: returns a set with an empty clause if both clauses
 	// are empty, otherwise returns a set of binary resolvents.
 	public Set<Clause> binaryResolvents(Clause othC) {
+		return binaryResolvents(othC, _unifier);
+	}
+
+	// Note: as above, using the specified unifier.
+	public Set<Clause> binaryResolvents(Clause othC, Unifier unifier) {
 		Set<Clause> resolvents = new LinkedHashSet<Clause>();
 		// Resolving two empty clauses
 		// gives you an empty clause
@@ -317,7 +340,7 @@ public class Clause {
 			for (Literal pl : trPosLits) {
 				for (Literal nl : trNegLits) {
 					copyRBindings.clear();
-					if (null != _unifier.unify(pl.getAtomicSentence(),
+					if (null != unifier.unify(pl.getAtomicSentence(),
 							nl.getAtomicSentence(), copyRBindings)) {
 						copyRPosLits.clear();
 						copyRNegLits.clear();
@@ -375,7 +398,10 @@ public class Clause {
 
 	@Override
 	public int hashCode() {
-		return equalityIdentity.hashCode();
+		if (null == equalityIdentity) {
+			calculateIdentity();
+		}
+		return hashCode;
 	}
 
 	@Override
@@ -390,44 +416,80 @@ public class Clause {
 			return false;
 		}
 		Clause othClause = (Clause) othObj;
+		// Canonical instances of the same interner are only
+		// equal if they are the same instance.
+		if (null != interner && interner == othClause.interner) {
+			return false;
+		}
+		if (hashCode() != othClause.hashCode()) {
+			return false;
+		}
 
-		return equalityIdentity.equals(othClause.equalityIdentity);
+		return getEqualityIdentity().equals(othClause.getEqualityIdentity());
 	}
 
 	public String getEqualityIdentity() {
+		if (null == equalityIdentity) {
+			calculateIdentity();
+		}
 		return equalityIdentity;
 	}
 
 	//
 	// PRIVATE METHODS
 	//
-	private void recalculateIdentity() {
-		synchronized (equalityIdentity) {
+	// Replace the literals of this clause with the equal literals returned
+	// by the interner, which makes this its canonical instance.
+	void internLiterals(ClauseInterner clauseInterner) {
+		List<Literal> interned = new ArrayList<Literal>(literals.size());
+		for (Literal l : literals) {
+			interned.add(clauseInterner.intern(l));
+		}
+		literals.clear();
+		positiveLiterals.clear();
+		negativeLiterals.clear();
+		for (Literal l : interned) {
+			literals.add(l);
+			if (l.isPositiveLiteral()) {
+				positiveLiterals.add(l);
+			} else {
+				negativeLiterals.add(l);
+			}
+		}
+		interner = clauseInterner;
+		setImmutable();
+	}
 
-			// Sort the literals first based on negation, atomic sentence,
-			// constant, function and variable.
-			List<Literal> sortedLiterals = new ArrayList<Literal>(literals);
-			Collections.sort(sortedLiterals, _literalSorter);
+	private void resetIdentity() {
+		// Reset, these as will need to re-calcualte
+		// if requested for again, best to only
+		// access lazily.
+		equalityIdentity = null;
+		variables = null;
+		factors = null;
+		nonTrivialFactors = null;
+		// Reset the objects string representation
+		// until it is requested for.
+		stringRep = null;
+	}
 
-			// All variables are considered the same as regards
-			// sorting. Therefore, to determine if two clauses
-			// are equivalent you need to determine
-			// the # of unique variables they contain and
-			// there positions across the clauses
-			ClauseEqualityIdentityConstructor ceic = new ClauseEqualityIdentityConstructor(
-					sortedLiterals, _literalSorter);
+	private void calculateIdentity() {
+		// Sort the literals first based on negation, atomic sentence,
+		// constant, function and variable.
+		List<Literal> sortedLiterals = new ArrayList<Literal>(literals);
+		Collections.sort(sortedLiterals, _literalSorter);
 
-			equalityIdentity = ceic.getIdentity();
+		// All variables are considered the same as regards
+		// sorting. Therefore, to determine if two clauses
+		// are equivalent you need to determine
+		// the # of unique variables they contain and
+		// there positions across the clauses
+		ClauseEqualityIdentityConstructor ceic = new ClauseEqualityIdentityConstructor(
+				sortedLiterals, _literalSorter);
 
-			// Reset, these as will need to re-calcualte
-			// if requested for again, best to only
-			// access lazily.
-			factors = null;
-			nonTrivialFactors = null;
-			// Reset the objects string representation
-			// until it is requested for.
-			stringRep = null;
-		}
+		String identity = ceic.getIdentity();
+		hashCode = identity.hashCode();
+		equalityIdentity = identity;
 	}
 
 	private void calculateFactors(Set<Clause> parentFactors) {
@@ -516,10 +578,8 @@ public class Clause {
 		// then need to standardize apart in
 		// order to work correctly.
 		if (isStandardizedApartCheckRequired() || this == othClause) {
-			Set<Variable> mVariables = _variableCollector
-					.collectAllVariables(this);
-			Set<Variable> oVariables = _variableCollector
-					.collectAllVariables(othClause);
+			Set<Variable> mVariables = getVariables();
+			Set<Variable> oVariables = othClause.getVariables();
 
 			Set<Variable> cVariables = new HashSet<Variable>();
 			cVariables.addAll(mVariables);
@@ -596,8 +656,7 @@ public class Clause {
 		// Want to ensure none of the othCVariables are
 		// part of the key set of a unification as
 		// this indicates it is not a legal subsumption.
-		Set<Variable> othCVariables = _variableCollector
-				.collectAllVariables(othC);
+		Set<Variable> othCVariables = othC.getVariables();
 		Map<Variable, Term> theta = new LinkedHashMap<Variable, Term>();
 		List<Literal> literalPermuations = new ArrayList<Literal>();
 		for (long l = 0L; l < numPermutations; l++) {
@@ -0,0 +1,167 @@
+package aima.core.logic.fol.kb.data;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import aima.core.logic.fol.parsing.ast.AtomicSentence;
+import aima.core.logic.fol.parsing.ast.Function;
+import aima.core.logic.fol.parsing.ast.Predicate;
+import aima.core.logic.fol.parsing.ast.Term;
+import aima.core.logic.fol.parsing.ast.TermEquality;
+
+/**
+ * Hash-conses terms, atomic sentences, literals and clauses, i.e. returns a
+ * single canonical instance for all the instances which are equal to each
+ * other. The subterms of an interned term are interned, so equal subterms of
+ * interned clauses are shared instead of duplicated, and equal clauses
+ * (clauses are equal if they are the same up to the renaming of their
+ * variables) generated more than once share the same instance, along with its
+ * factors and variables, which are computed once and cached by the clause.
+ * Two clauses interned by the same interner are equal if and only if they are
+ * the same instance, so {@link Clause#equals(Object)} is a pointer check for
+ * them.<br>
+ * <br>
+ * A clause is interned in place (its literals are replaced by their canonical
+ * instances) and made immutable. The interner only holds weak references to
+ * the canonical instances, so those no longer used elsewhere can be garbage
+ * collected. Instances are not thread safe.<br>
+ * <br>
+ * The resolution based provers do not intern the clauses they generate. The
+ * premise clauses, which belong to the knowledge base, can not be interned,
+ * and the pointer checks and shared factors did not make OTTERBenchmark any
+ * faster, while the canonical instances took more heap.
+ *
+ * @author agent
+ *
+ */
+public class ClauseInterner {
+	private Map<Object, WeakReference<Object>> sentences = new WeakHashMap<Object, WeakReference<Object>>();
+	private Map<String, WeakReference<Clause>> clauses = new WeakHashMap<String, WeakReference<Clause>>();
+
+	public ClauseInterner() {
+
+	}
+
+	/**
+	 *
+	 * @return the canonical instance of the term.
+	 */
+	public Term intern(Term t) {
+		if (t instanceof Function) {
+			Function f = (Function) t;
+			List<Term> args = internArgs(f.getArgs());
+			if (null != args) {
+				t = new Function(f.getFunctionName(), args);
+			}
+		}
+		return canonical(t);
+	}
+
+	/**
+	 *
+	 * @return the canonical instance of the atomic sentence.
+	 */
+	public AtomicSentence intern(AtomicSentence atom) {
+		if (atom instanceof TermEquality) {
+			TermEquality te = (TermEquality) atom;
+			Term term1 = intern(te.getTerm1());
+			Term term2 = intern(te.getTerm2());
+			if (term1 != te.getTerm1() || term2 != te.getTerm2()) {
+				atom = new TermEquality(term1, term2);
+			}
+		} else if (atom instanceof Predicate) {
+			Predicate p = (Predicate) atom;
+			List<Term> args = internArgs(p.getArgs());
+			if (null != args) {
+				atom = new Predicate(p.getPredicateName(), args);
+			}
+		}
+		return canonical(atom);
+	}
+
+	/**
+	 *
+	 * @return the canonical instance of the literal.
+	 */
+	public Literal intern(Literal l) {
+		AtomicSentence atom = intern(l.getAtomicSentence());
+		if (atom != l.getAtomicSentence()) {
+			l = l.newInstance(atom);
+		}
+		return canonical(l);
+	}
+
+	/**
+	 *
+	 * @return the canonical instance of the clause, i.e. a previously
+	 *         interned clause equal to c, if there is one, otherwise c itself,
+	 *         after interning its literals.
+	 */
+	public Clause intern(Clause c) {
+		if (this == c.interner) {
+			return c;
+		}
+		String identity = c.getEqualityIdentity();
+		WeakReference<Clause> ref = clauses.get(identity);
+		Clause canonical = null == ref ? null : ref.get();
+		if (null == canonical) {
+			c.internLiterals(this);
+			// The key is the clause's own identity, so the entry is
+			// kept for as long as the clause is referenced.
+			clauses.put(identity, new WeakReference<Clause>(c));
+			canonical = c;
+		}
+		return canonical;
+	}
+
+	/**
+	 *
+	 * @return true if c is the canonical instance of a clause interned by this
+	 *         interner.
+	 */
+	public boolean isInterned(Clause c) {
+		return this == c.interner;
+	}
+
+	/**
+	 *
+	 * @return the number of canonical clauses currently held.
+	 */
+	public int size() {
+		return clauses.size();
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	// The interned arguments, or null if they are all already canonical.
+	private List<Term> internArgs(List<Term> args) {
+		List<Term> interned = null;
+		for (int i = 0; i < args.size(); i++) {
+			Term arg = args.get(i);
+			Term iArg = intern(arg);
+			if (null == interned && iArg != arg) {
+				interned = new ArrayList<Term>(args.subList(0, i));
+			}
+			if (null != interned) {
+				interned.add(iArg);
+			}
+		}
+		return interned;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T canonical(T o) {
+		WeakReference<Object> ref = sentences.get(o);
+		Object canonical = null == ref ? null : ref.get();
+		if (null == canonical) {
+			sentences.put(o, new WeakReference<Object>(o));
+			canonical = o;
+		}
+		return (T) canonical;
+	}
+}
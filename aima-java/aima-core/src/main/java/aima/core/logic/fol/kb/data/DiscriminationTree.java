@@ -0,0 +1,339 @@
+package aima.core.logic.fol.kb.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import aima.core.logic.fol.parsing.ast.AtomicSentence;
+import aima.core.logic.fol.parsing.ast.Function;
+import aima.core.logic.fol.parsing.ast.Term;
+import aima.core.logic.fol.parsing.ast.Variable;
+
+/**
+ * A discrimination tree, a term index which maps atomic sentences to values,
+ * e.g. facts to themselves or literals to the clauses they occur in. Each
+ * atomic sentence is stored along the path of the symbols of its preorder
+ * traversal, with all variables represented by the same wildcard symbol, so
+ * a query only visits the paths compatible with the structure of its
+ * arguments instead of every entry with the same predicate. Retrieval is
+ * imperfect: as repeated variables are not distinguished the candidates
+ * returned are a superset of the entries actually related to the query, so
+ * callers still unify (or match) each candidate with the query.<br>
+ * <br>
+ * Candidates are returned in the order in which they were added. Retrieval
+ * does not modify the tree, so any number of threads may query it as long as
+ * no thread is adding or removing entries at the same time.
+ *
+ * @param <V>
+ *            the type of the values stored.
+ *
+ * @author agent
+ *
+ */
+public class DiscriminationTree<V> {
+
+	private enum Mode {
+		UNIFIABLE, GENERALIZATIONS, INSTANCES
+	}
+
+	private Node root = new Node(0);
+	// the values indexed by entry id, null once removed
+	private List<V> values = new ArrayList<V>();
+	private int size = 0;
+
+	public DiscriminationTree() {
+
+	}
+
+	/**
+	 * Add an entry.
+	 *
+	 * @param key
+	 *            the atomic sentence under which the value is stored.
+	 * @param value
+	 *            the value.
+	 */
+	public void add(AtomicSentence key, V value) {
+		Node n = root.getOrAddChild(getRootSymbol(key), key.getArgs().size());
+		for (Term t : flatten(key).terms) {
+			if (t instanceof Variable) {
+				n = n.getOrAddVariableChild();
+			} else {
+				n = n.getOrAddChild(getSymbol(t), arity(t));
+			}
+		}
+		n.addId(values.size());
+		values.add(value);
+		size++;
+	}
+
+	/**
+	 * Remove an entry.
+	 *
+	 * @param key
+	 *            the atomic sentence under which the value was stored.
+	 * @param value
+	 *            the value.
+	 * @return true if the entry was found and removed.
+	 */
+	public boolean remove(AtomicSentence key, V value) {
+		Node n = root.getChild(getRootSymbol(key));
+		for (Term t : flatten(key).terms) {
+			if (null == n) {
+				return false;
+			}
+			if (t instanceof Variable) {
+				n = n.variableChild;
+			} else {
+				n = n.getChild(getSymbol(t));
+			}
+		}
+		if (null == n) {
+			return false;
+		}
+		for (int i = 0; i < n.idsSize; i++) {
+			int id = n.ids[i];
+			if (value.equals(values.get(id))) {
+				System.arraycopy(n.ids, i + 1, n.ids, i, n.idsSize - i - 1);
+				n.idsSize--;
+				values.set(id, null);
+				size--;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 *
+	 * @return the number of entries.
+	 */
+	public int size() {
+		return size;
+	}
+
+	public void clear() {
+		root = new Node(0);
+		values.clear();
+		size = 0;
+	}
+
+	/**
+	 *
+	 * @param query
+	 *            an atomic sentence.
+	 * @return the values of the entries whose keys may unify with the query.
+	 */
+	public List<V> getUnifiableCandidates(AtomicSentence query) {
+		return retrieve(query, Mode.UNIFIABLE);
+	}
+
+	/**
+	 *
+	 * @param query
+	 *            an atomic sentence.
+	 * @return the values of the entries whose keys may be more general than
+	 *         the query, i.e. for which a substitution &theta; may exist such
+	 *         that SUBST(&theta;, key) = query.
+	 */
+	public List<V> getGeneralizationCandidates(AtomicSentence query) {
+		return retrieve(query, Mode.GENERALIZATIONS);
+	}
+
+	/**
+	 *
+	 * @param query
+	 *            an atomic sentence.
+	 * @return the values of the entries whose keys may be instances of the
+	 *         query, i.e. for which a substitution &theta; may exist such that
+	 *         SUBST(&theta;, query) = key.
+	 */
+	public List<V> getInstanceCandidates(AtomicSentence query) {
+		return retrieve(query, Mode.INSTANCES);
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private List<V> retrieve(AtomicSentence query, Mode mode) {
+		List<V> result = new ArrayList<V>();
+		Node n = root.getChild(getRootSymbol(query));
+		if (null != n) {
+			IdCollector ids = new IdCollector();
+			retrieve(n, flatten(query), 0, mode, ids);
+			Arrays.sort(ids.ids, 0, ids.size);
+			for (int i = 0; i < ids.size; i++) {
+				result.add(values.get(ids.ids[i]));
+			}
+		}
+		return result;
+	}
+
+	private void retrieve(Node n, Flattened query, int qi, Mode mode,
+			IdCollector ids) {
+		if (qi == query.terms.size()) {
+			ids.addAll(n);
+			return;
+		}
+		Term qt = query.terms.get(qi);
+		if (qt instanceof Variable) {
+			if (Mode.GENERALIZATIONS == mode) {
+				// Only a variable is more general than a variable
+				if (null != n.variableChild) {
+					retrieve(n.variableChild, query, qi + 1, mode, ids);
+				}
+			} else {
+				// The query variable can be bound to any subterm
+				skip(n, 1, query, qi + 1, mode, ids);
+			}
+		} else {
+			Node child = n.getChild(getSymbol(qt));
+			if (null != child) {
+				retrieve(child, query, qi + 1, mode, ids);
+			}
+			if (Mode.INSTANCES != mode && null != n.variableChild) {
+				// A variable in the tree can be bound to the whole subterm
+				retrieve(n.variableChild, query, query.next[qi], mode, ids);
+			}
+		}
+	}
+
+	// Skip over count subterms in the tree
+	private void skip(Node n, int count, Flattened query, int qi, Mode mode,
+			IdCollector ids) {
+		if (0 == count) {
+			retrieve(n, query, qi, mode, ids);
+			return;
+		}
+		if (null != n.variableChild) {
+			skip(n.variableChild, count - 1, query, qi, mode, ids);
+		}
+		if (null != n.children) {
+			for (Node child : n.children.values()) {
+				skip(child, count - 1 + child.arity, query, qi, mode, ids);
+			}
+		}
+	}
+
+	private static String getRootSymbol(AtomicSentence as) {
+		return as.getSymbolicName() + "/" + as.getArgs().size();
+	}
+
+	private static String getSymbol(Term t) {
+		if (t instanceof Function) {
+			return t.getSymbolicName() + "/" + t.getArgs().size();
+		}
+		return t.getSymbolicName();
+	}
+
+	private static int arity(Term t) {
+		return t instanceof Function ? t.getArgs().size() : 0;
+	}
+
+	private static Flattened flatten(AtomicSentence as) {
+		Flattened f = new Flattened();
+		for (Term t : as.getArgs()) {
+			f.add(t);
+		}
+		f.next = new int[f.terms.size()];
+		int i = 0;
+		for (Term t : as.getArgs()) {
+			i = f.setNext(t, i);
+		}
+		return f;
+	}
+
+	/**
+	 * The subterms of the arguments of an atomic sentence in preorder, along
+	 * with the position following each subterm.
+	 */
+	private static class Flattened {
+		private List<Term> terms = new ArrayList<Term>();
+		private int[] next = null;
+
+		private void add(Term t) {
+			terms.add(t);
+			if (t instanceof Function) {
+				for (Term arg : t.getArgs()) {
+					add(arg);
+				}
+			}
+		}
+
+		private int setNext(Term t, int i) {
+			int j = i + 1;
+			if (t instanceof Function) {
+				for (Term arg : t.getArgs()) {
+					j = setNext(arg, j);
+				}
+			}
+			next[i] = j;
+			return j;
+		}
+	}
+
+	private static class Node {
+		// the number of arguments of the symbol leading to this node
+		private int arity = 0;
+		private Map<String, Node> children = null;
+		private Node variableChild = null;
+		// the ids of the entries ending at this node, in the order added
+		private int[] ids = null;
+		private int idsSize = 0;
+
+		private Node(int arity) {
+			this.arity = arity;
+		}
+
+		private Node getChild(String symbol) {
+			return null == children ? null : children.get(symbol);
+		}
+
+		private Node getOrAddChild(String symbol, int arity) {
+			if (null == children) {
+				children = new HashMap<String, Node>();
+			}
+			Node child = children.get(symbol);
+			if (null == child) {
+				child = new Node(arity);
+				children.put(symbol, child);
+			}
+			return child;
+		}
+
+		private Node getOrAddVariableChild() {
+			if (null == variableChild) {
+				variableChild = new Node(0);
+			}
+			return variableChild;
+		}
+
+		private void addId(int id) {
+			if (null == ids) {
+				ids = new int[2];
+			} else if (idsSize == ids.length) {
+				ids = Arrays.copyOf(ids, 2 * idsSize);
+			}
+			ids[idsSize++] = id;
+		}
+	}
+
+	private static class IdCollector {
+		private int[] ids = new int[16];
+		private int size = 0;
+
+		private void addAll(Node n) {
+			if (0 == n.idsSize) {
+				return;
+			}
+			if (size + n.idsSize > ids.length) {
+				ids = Arrays.copyOf(ids, Math.max(2 * ids.length, size
+						+ n.idsSize));
+			}
+			System.arraycopy(n.ids, 0, ids, size, n.idsSize);
+			size += n.idsSize;
+		}
+	}
+}
@@ -0,0 +1,201 @@
+package aima.core.logic.fol.kb.data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import aima.core.logic.fol.parsing.ast.Function;
+import aima.core.logic.fol.parsing.ast.Term;
+import aima.core.logic.fol.parsing.ast.Variable;
+
+/**
+ * A feature vector index of clauses, for forward and backward subsumption
+ * (see {@link Clause#subsumes(Clause)}). Each clause is mapped to a vector of
+ * features which cannot decrease under substitution or when literals are
+ * added: the number of positive and negative literals, the number of
+ * literals with each signed predicate symbol and the number of occurrences of
+ * each constant and function symbol in positive and in negative literals
+ * (predicate and function symbols are hashed into a fixed number of features,
+ * summing their counts). Therefore a clause can only subsume another if each
+ * of its features is less than or equal to that of the other, and the
+ * vectors are stored in a trie so whole subtrees of clauses which fail this
+ * test are skipped.
+ *
+ * @author agent
+ *
+ */
+public class FeatureVectorIndex {
+	// The number of features into which the signed predicate symbols and the
+	// constant and function symbols are hashed.
+	private static final int PREDICATE_FEATURES = 16;
+	private static final int SYMBOL_FEATURES = 16;
+	private static final int FEATURES = 2 + PREDICATE_FEATURES
+			+ SYMBOL_FEATURES;
+
+	private Node root = new Node();
+	private int size = 0;
+
+	public FeatureVectorIndex() {
+
+	}
+
+	/**
+	 * Add a clause.
+	 *
+	 * @return true if the clause was not already in the index.
+	 */
+	public boolean add(Clause c) {
+		Node n = root;
+		for (int f : features(c)) {
+			Node child = n.children.get(f);
+			if (null == child) {
+				child = new Node();
+				n.children.put(f, child);
+			}
+			n = child;
+		}
+		if (n.clauses.add(c)) {
+			size++;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Remove a clause.
+	 *
+	 * @return true if the clause was in the index.
+	 */
+	public boolean remove(Clause c) {
+		Node n = root;
+		for (int f : features(c)) {
+			n = n.children.get(f);
+			if (null == n) {
+				return false;
+			}
+		}
+		if (n.clauses.remove(c)) {
+			size--;
+			return true;
+		}
+		return false;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void clear() {
+		root = new Node();
+		size = 0;
+	}
+
+	/**
+	 *
+	 * @return the clauses in the index which may subsume c.
+	 */
+	public List<Clause> getSubsumingCandidates(Clause c) {
+		List<Clause> result = new ArrayList<Clause>();
+		collect(root, features(c), 0, true, result);
+		return result;
+	}
+
+	/**
+	 *
+	 * @return the clauses in the index which may be subsumed by c.
+	 */
+	public List<Clause> getSubsumedCandidates(Clause c) {
+		List<Clause> result = new ArrayList<Clause>();
+		collect(root, features(c), 0, false, result);
+		return result;
+	}
+
+	/**
+	 * Forward subsumption.
+	 *
+	 * @return a clause in the index which subsumes c, or null if there is
+	 *         none.
+	 */
+	public Clause findSubsumingClause(Clause c) {
+		for (Clause s : getSubsumingCandidates(c)) {
+			if (s.subsumes(c)) {
+				return s;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Backward subsumption.
+	 *
+	 * @return the clauses in the index which are subsumed by c.
+	 */
+	public List<Clause> findSubsumedClauses(Clause c) {
+		List<Clause> subsumed = new ArrayList<Clause>();
+		for (Clause s : getSubsumedCandidates(c)) {
+			if (c.subsumes(s)) {
+				subsumed.add(s);
+			}
+		}
+		return subsumed;
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private void collect(Node n, int[] features, int depth,
+			boolean lessOrEqual, List<Clause> result) {
+		if (FEATURES == depth) {
+			result.addAll(n.clauses);
+			return;
+		}
+		Map<Integer, Node> children = lessOrEqual ? n.children.headMap(
+				features[depth], true) : n.children.tailMap(features[depth],
+				true);
+		for (Node child : children.values()) {
+			collect(child, features, depth + 1, lessOrEqual, result);
+		}
+	}
+
+	private static int[] features(Clause c) {
+		int[] features = new int[FEATURES];
+		features[0] = c.getNumberPositiveLiterals();
+		features[1] = c.getNumberNegativeLiterals();
+		for (Literal l : c.getLiterals()) {
+			String sign = l.isPositiveLiteral() ? "" : "~";
+			features[2 + bucket(sign
+					+ l.getAtomicSentence().getSymbolicName() + "/"
+					+ l.getAtomicSentence().getArgs().size(),
+					PREDICATE_FEATURES)]++;
+			for (Term t : l.getAtomicSentence().getArgs()) {
+				countSymbols(t, sign, features);
+			}
+		}
+		return features;
+	}
+
+	private static void countSymbols(Term t, String sign, int[] features) {
+		if (t instanceof Variable) {
+			return;
+		}
+		features[2 + PREDICATE_FEATURES
+				+ bucket(sign + t.getSymbolicName(), SYMBOL_FEATURES)]++;
+		if (t instanceof Function) {
+			for (Term arg : t.getArgs()) {
+				countSymbols(arg, sign, features);
+			}
+		}
+	}
+
+	private static int bucket(String symbol, int buckets) {
+		return (symbol.hashCode() & 0x7fffffff) % buckets;
+	}
+
+	private static class Node {
+		private TreeMap<Integer, Node> children = new TreeMap<Integer, Node>();
+		private Set<Clause> clauses = new LinkedHashSet<Clause>();
+	}
+}
@@ -0,0 +1,838 @@
+package aima.core.logic.propositional.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import aima.core.logic.propositional.parsing.PEParser;
+import aima.core.logic.propositional.parsing.ast.BinarySentence;
+import aima.core.logic.propositional.parsing.ast.FalseSentence;
+import aima.core.logic.propositional.parsing.ast.Sentence;
+import aima.core.logic.propositional.parsing.ast.Symbol;
+import aima.core.logic.propositional.parsing.ast.TrueSentence;
+import aima.core.logic.propositional.parsing.ast.UnarySentence;
+import aima.core.logic.propositional.visitors.CNFClauseGatherer;
+import aima.core.logic.propositional.visitors.CNFTransformer;
+import aima.core.logic.propositional.visitors.SymbolCollector;
+
+/**
+ * A conflict-driven clause learning (CDCL) satisfiability solver, i.e. DPLL
+ * extended with the techniques which allow modern SAT solvers to handle
+ * problems with many thousands of symbols:
+ * <ul>
+ * <li>symbols are numbered and literals encoded as ints (2 * symbol for a
+ * positive literal, 2 * symbol + 1 for a negative one).</li>
+ * <li>unit propagation with two watched literals per clause, so only the
+ * clauses watching a literal are visited when it becomes false, and nothing
+ * needs to be undone on backtracking.</li>
+ * <li>on a conflict, a clause implied by the clauses is learned from the
+ * implication graph (first unique implication point), and the search jumps
+ * back to the level at which the learned clause propagates.</li>
+ * <li>VSIDS branching: the next symbol assigned is the unassigned one with
+ * the highest activity, which is bumped for the symbols involved in recent
+ * conflicts, and assigned its last value (phase saving).</li>
+ * <li>restarts following the Luby sequence, and periodic deletion of the
+ * least active learned clauses.</li>
+ * </ul>
+ * The solver is incremental: sentences can be told to it between calls to
+ * {@link #isSatisfiable(Model)}, which solves under assumptions, i.e. values
+ * for some of the symbols which hold for that call only. Learned clauses are
+ * kept between calls. The dpllSatisfiable methods can be used in place of
+ * those of {@link DPLL}, they solve with a new solver each time.
+ *
+ * @see <a href="http://minisat.se/downloads/MiniSat.pdf">An Extensible
+ *      SAT-solver</a>
+ *
+ * @author agent
+ *
+ */
+public class CDCL {
+	private static final int UNDEF = -1;
+	private static final byte TRUE = 1;
+	private static final byte FALSE = -1;
+	private static final int RESTART_BASE = 100;
+	private static final double VAR_DECAY = 0.95;
+	private static final double CLAUSE_DECAY = 0.999;
+	//
+	private Map<Symbol, Integer> variables = new HashMap<Symbol, Integer>();
+	private List<Symbol> symbols = new ArrayList<Symbol>();
+	private List<Clause> clauses = new ArrayList<Clause>();
+	private List<Clause> learnts = new ArrayList<Clause>();
+	// Indexed by literal
+	private byte[] values = new byte[0];
+	private WatchList[] watches = new WatchList[0];
+	// Indexed by variable
+	private int[] levels = new int[0];
+	private Clause[] reasons = new Clause[0];
+	private double[] activities = new double[0];
+	private boolean[] polarities = new boolean[0];
+	private boolean[] seen = new boolean[0];
+	private VarOrder order = new VarOrder();
+	// The literals assigned, in order, and where each decision level starts
+	private int[] trail = new int[0];
+	private int trailSize = 0;
+	private int[] trailLimits = new int[0];
+	private int decisionLevel = 0;
+	private int propagateHead = 0;
+	//
+	private boolean ok = true;
+	private double varIncrement = 1;
+	private double clauseIncrement = 1;
+	private double maxLearnts = 0;
+	private int[] assumptions = new int[0];
+	private boolean[] modelValues = null;
+	private List<Integer> failedAssumptions = new ArrayList<Integer>();
+	private long conflicts = 0L;
+	private long decisions = 0L;
+	private long propagations = 0L;
+
+	public CDCL() {
+
+	}
+
+	/**
+	 * Returns <code>true</code> if the specified sentence is satisfiable. A
+	 * sentence is satisfiable if it is true in, or satisfied by, some model.
+	 *
+	 * @param s
+	 *            a sentence in propositional logic
+	 *
+	 * @return <code>true</code> if the specified sentence is satisfiable.
+	 */
+	public boolean dpllSatisfiable(Sentence s) {
+		return dpllSatisfiable(s, new Model());
+	}
+
+	/**
+	 * Returns <code>true</code> if the specified sentence is satisfiable. A
+	 * sentence is satisfiable if it is true in, or satisfied by, some model.
+	 *
+	 * @param string
+	 *            a String representation of a Sentence in propositional logic
+	 *
+	 * @return <code>true</code> if the specified sentence is satisfiable.
+	 */
+	public boolean dpllSatisfiable(String string) {
+		Sentence sen = (Sentence) new PEParser().parse(string);
+		return dpllSatisfiable(sen, new Model());
+	}
+
+	/**
+	 * Returns <code>true</code> if the specified sentence is satisfiable. A
+	 * sentence is satisfiable if it is true in, or satisfied by, some model.
+	 *
+	 * @param s
+	 *            a sentence in propositional logic
+	 * @param m
+	 *            a model the sentence must be true in
+	 *
+	 * @return <code>true</code> if the specified sentence is satisfiable.
+	 */
+	public boolean dpllSatisfiable(Sentence s, Model m) {
+		CDCL solver = new CDCL();
+		solver.tell(s);
+		return solver.isSatisfiable(m);
+	}
+
+	/**
+	 * Adds the clauses of the conjunctive normal form of a sentence to those
+	 * of the solver.
+	 *
+	 * @param s
+	 *            a sentence in propositional logic
+	 */
+	public void tell(Sentence s) {
+		for (Symbol symbol : new SymbolCollector().getSymbolsIn(s)) {
+			variableOf(symbol);
+		}
+		for (Sentence clause : new CNFClauseGatherer()
+				.getClausesFrom(new CNFTransformer().transform(s))) {
+			addClause(clause);
+		}
+	}
+
+	/**
+	 * Adds the clauses of the conjunctive normal form of a sentence to those
+	 * of the solver.
+	 *
+	 * @param string
+	 *            a String representation of a Sentence in propositional logic
+	 */
+	public void tell(String string) {
+		tell((Sentence) new PEParser().parse(string));
+	}
+
+	/**
+	 * Adds a clause, as returned by {@link CNFClauseGatherer}, i.e. a
+	 * disjunction of symbols and negated symbols, to those of the solver.
+	 *
+	 * @param clause
+	 *            a clause in propositional logic
+	 */
+	public void addClause(Sentence clause) {
+		List<Integer> literals = new ArrayList<Integer>();
+		if (collectLiterals(clause, literals)) {
+			int[] lits = new int[literals.size()];
+			for (int i = 0; i < lits.length; i++) {
+				lits[i] = literals.get(i);
+			}
+			addClause(lits);
+		}
+	}
+
+	/**
+	 *
+	 * @return <code>true</code> if the clauses told to the solver are
+	 *         satisfiable.
+	 */
+	public boolean isSatisfiable() {
+		return isSatisfiable(new Model());
+	}
+
+	/**
+	 * Determine if the clauses told to the solver are satisfiable under
+	 * assumptions. If they are, the model found can be retrieved with
+	 * {@link #getModel()}, otherwise the assumptions responsible can be
+	 * retrieved with {@link #getFailedAssumptions()}.
+	 *
+	 * @param assumptions
+	 *            a model the clauses must be true in, for this call only.
+	 *
+	 * @return <code>true</code> if the clauses told to the solver are
+	 *         satisfiable in a model which extends the assumptions.
+	 */
+	public boolean isSatisfiable(Model assumptions) {
+		modelValues = null;
+		failedAssumptions.clear();
+		List<Integer> assumed = new ArrayList<Integer>();
+		for (Symbol symbol : assumptions.getAssignedSymbols()) {
+			int var = variableOf(symbol);
+			assumed.add(assumptions.isTrue(symbol) ? 2 * var : 2 * var + 1);
+		}
+		if (!ok) {
+			return false;
+		}
+		this.assumptions = new int[assumed.size()];
+		for (int i = 0; i < this.assumptions.length; i++) {
+			this.assumptions[i] = assumed.get(i);
+		}
+		maxLearnts = Math.max(clauses.size() / 3.0, 100);
+
+		Boolean status = null;
+		for (int restarts = 0; null == status; restarts++) {
+			status = search((long) (luby(restarts) * RESTART_BASE));
+			maxLearnts *= 1.1;
+		}
+
+		if (status) {
+			modelValues = new boolean[symbols.size()];
+			for (int var = 0; var < modelValues.length; var++) {
+				modelValues[var] = values[2 * var] == TRUE;
+			}
+		} else if (failedAssumptions.isEmpty()) {
+			// The clauses themselves are unsatisfiable
+			ok = false;
+		}
+		cancelUntil(0);
+		this.assumptions = new int[0];
+
+		return status;
+	}
+
+	/**
+	 *
+	 * @return the model found by the last call to isSatisfiable, if it
+	 *         returned <code>true</code>, otherwise null. It assigns a value
+	 *         to every symbol told to the solver.
+	 */
+	public Model getModel() {
+		if (null == modelValues) {
+			return null;
+		}
+		Model model = new Model();
+		for (int var = 0; var < modelValues.length; var++) {
+			model = model.extend(symbols.get(var), modelValues[var]);
+		}
+		return model;
+	}
+
+	/**
+	 *
+	 * @return if the last call to isSatisfiable returned <code>false</code>,
+	 *         a subset of its assumptions under which the clauses are
+	 *         unsatisfiable, i.e. empty if they are unsatisfiable under any
+	 *         assumptions.
+	 */
+	public Model getFailedAssumptions() {
+		Model model = new Model();
+		for (int lit : failedAssumptions) {
+			// Stored negated, as in the learned clause they imply
+			model = model.extend(symbols.get(lit >> 1), (lit & 1) == 1);
+		}
+		return model;
+	}
+
+	public int getNumberOfSymbols() {
+		return symbols.size();
+	}
+
+	public int getNumberOfClauses() {
+		return clauses.size();
+	}
+
+	public int getNumberOfLearntClauses() {
+		return learnts.size();
+	}
+
+	public long getNumberOfConflicts() {
+		return conflicts;
+	}
+
+	public long getNumberOfDecisions() {
+		return decisions;
+	}
+
+	public long getNumberOfPropagations() {
+		return propagations;
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private int variableOf(Symbol symbol) {
+		Integer var = variables.get(symbol);
+		if (null == var) {
+			var = symbols.size();
+			variables.put(symbol, var);
+			symbols.add(symbol);
+			ensureCapacity(var + 1);
+			levels[var] = 0;
+			reasons[var] = null;
+			watches[2 * var] = new WatchList();
+			watches[2 * var + 1] = new WatchList();
+			order.insert(var);
+		}
+		return var;
+	}
+
+	private void ensureCapacity(int numberOfVariables) {
+		if (numberOfVariables > levels.length) {
+			int capacity = Math.max(numberOfVariables, 2 * levels.length);
+			values = Arrays.copyOf(values, 2 * capacity);
+			watches = Arrays.copyOf(watches, 2 * capacity);
+			levels = Arrays.copyOf(levels, capacity);
+			reasons = Arrays.copyOf(reasons, capacity);
+			activities = Arrays.copyOf(activities, capacity);
+			polarities = Arrays.copyOf(polarities, capacity);
+			seen = Arrays.copyOf(seen, capacity);
+			trail = Arrays.copyOf(trail, capacity);
+			trailLimits = Arrays.copyOf(trailLimits, capacity);
+			order.ensureCapacity(capacity);
+		}
+	}
+
+	// Returns false if the clause is true, as it contains TRUE.
+	private boolean collectLiterals(Sentence s, List<Integer> literals) {
+		if (s instanceof Symbol) {
+			literals.add(2 * variableOf((Symbol) s));
+		} else if (s instanceof TrueSentence) {
+			return false;
+		} else if (s instanceof FalseSentence) {
+			// Can be dropped from the clause
+		} else if (s instanceof UnarySentence
+				&& ((UnarySentence) s).getNegated() instanceof Symbol) {
+			literals.add(2 * variableOf((Symbol) ((UnarySentence) s)
+					.getNegated()) + 1);
+		} else if (s instanceof UnarySentence
+				&& ((UnarySentence) s).getNegated() instanceof TrueSentence) {
+			// Can be dropped from the clause
+		} else if (s instanceof UnarySentence
+				&& ((UnarySentence) s).getNegated() instanceof FalseSentence) {
+			return false;
+		} else if (s instanceof BinarySentence
+				&& ((BinarySentence) s).isOrSentence()) {
+			BinarySentence bs = (BinarySentence) s;
+			return collectLiterals(bs.getFirst(), literals)
+					&& collectLiterals(bs.getSecond(), literals);
+		} else {
+			throw new IllegalArgumentException("Sentence is not a clause: "
+					+ s);
+		}
+		return true;
+	}
+
+	private void addClause(int[] lits) {
+		if (!ok) {
+			return;
+		}
+		cancelUntil(0);
+		// Remove duplicate and false literals, and
+		// ignore the clause if it is a tautology or true.
+		Arrays.sort(lits);
+		int size = 0;
+		int previous = UNDEF;
+		for (int lit : lits) {
+			if (values[lit] == TRUE || lit == (previous ^ 1)) {
+				return;
+			}
+			if (lit != previous && values[lit] != FALSE) {
+				lits[size++] = lit;
+				previous = lit;
+			}
+		}
+		if (0 == size) {
+			ok = false;
+		} else if (1 == size) {
+			enqueue(lits[0], null);
+			ok = null == propagate();
+		} else {
+			Clause c = new Clause(Arrays.copyOf(lits, size), false);
+			clauses.add(c);
+			attach(c);
+		}
+	}
+
+	private void attach(Clause c) {
+		watches[c.lits[0]].add(c);
+		watches[c.lits[1]].add(c);
+	}
+
+	private void enqueue(int lit, Clause reason) {
+		int var = lit >> 1;
+		values[lit] = TRUE;
+		values[lit ^ 1] = FALSE;
+		levels[var] = decisionLevel;
+		reasons[var] = reason;
+		trail[trailSize++] = lit;
+	}
+
+	private void newDecisionLevel() {
+		trailLimits[decisionLevel++] = trailSize;
+	}
+
+	private void cancelUntil(int level) {
+		if (decisionLevel > level) {
+			for (int i = trailSize - 1; i >= trailLimits[level]; i--) {
+				int lit = trail[i];
+				int var = lit >> 1;
+				values[lit] = 0;
+				values[lit ^ 1] = 0;
+				reasons[var] = null;
+				polarities[var] = (lit & 1) == 0;
+				order.insert(var);
+			}
+			trailSize = trailLimits[level];
+			propagateHead = trailSize;
+			decisionLevel = level;
+		}
+	}
+
+	// Returns the conflicting clause if a clause became false, otherwise
+	// null.
+	private Clause propagate() {
+		Clause conflict = null;
+		while (propagateHead < trailSize && null == conflict) {
+			// The clauses watching the literal made false
+			int falseLit = trail[propagateHead++] ^ 1;
+			WatchList ws = watches[falseLit];
+			propagations++;
+			int i = 0, j = 0;
+			while (i < ws.size) {
+				Clause c = ws.clauses[i++];
+				if (c.deleted) {
+					continue;
+				}
+				int[] lits = c.lits;
+				// Make sure the false literal is lits[1]
+				if (lits[0] == falseLit) {
+					lits[0] = lits[1];
+					lits[1] = falseLit;
+				}
+				if (values[lits[0]] == TRUE) {
+					ws.clauses[j++] = c;
+					continue;
+				}
+				// Look for a new literal to watch
+				boolean found = false;
+				for (int k = 2; k < lits.length; k++) {
+					if (values[lits[k]] != FALSE) {
+						lits[1] = lits[k];
+						lits[k] = falseLit;
+						watches[lits[1]].add(c);
+						found = true;
+						break;
+					}
+				}
+				if (found) {
+					continue;
+				}
+				// The clause is unit or false
+				ws.clauses[j++] = c;
+				if (values[lits[0]] == FALSE) {
+					conflict = c;
+					propagateHead = trailSize;
+					while (i < ws.size) {
+						ws.clauses[j++] = ws.clauses[i++];
+					}
+				} else {
+					enqueue(lits[0], c);
+				}
+			}
+			Arrays.fill(ws.clauses, j, ws.size, null);
+			ws.size = j;
+		}
+		return conflict;
+	}
+
+	// Returns TRUE if a model is found, FALSE if there is none and null if
+	// the number of conflicts was reached.
+	private Boolean search(long maxConflicts) {
+		long conflictCount = 0;
+		List<Integer> learnt = new ArrayList<Integer>();
+		while (true) {
+			Clause conflict = propagate();
+			if (null != conflict) {
+				conflicts++;
+				conflictCount++;
+				if (0 == decisionLevel) {
+					return Boolean.FALSE;
+				}
+				int backtrackLevel = analyze(conflict, learnt);
+				cancelUntil(backtrackLevel);
+				if (1 == learnt.size()) {
+					enqueue(learnt.get(0), null);
+				} else {
+					int[] lits = new int[learnt.size()];
+					for (int i = 0; i < lits.length; i++) {
+						lits[i] = learnt.get(i);
+					}
+					Clause c = new Clause(lits, true);
+					learnts.add(c);
+					attach(c);
+					bumpActivity(c);
+					enqueue(lits[0], c);
+				}
+				varIncrement /= VAR_DECAY;
+				clauseIncrement /= CLAUSE_DECAY;
+			} else {
+				if (conflictCount >= maxConflicts) {
+					cancelUntil(0);
+					return null;
+				}
+				if (learnts.size() - trailSize >= maxLearnts) {
+					reduceLearnts();
+				}
+				int next = UNDEF;
+				while (decisionLevel < assumptions.length) {
+					int lit = assumptions[decisionLevel];
+					if (values[lit] == TRUE) {
+						// Already holds, use a dummy decision level
+						newDecisionLevel();
+					} else if (values[lit] == FALSE) {
+						analyzeFinal(lit ^ 1);
+						return Boolean.FALSE;
+					} else {
+						next = lit;
+						break;
+					}
+				}
+				if (UNDEF == next) {
+					next = pickBranchLiteral();
+					if (UNDEF == next) {
+						return Boolean.TRUE;
+					}
+					decisions++;
+				}
+				newDecisionLevel();
+				enqueue(next, null);
+			}
+		}
+	}
+
+	// Learn a clause from the conflict (first unique implication point), its
+	// first literal is the one asserted when backtracking to the level
+	// returned.
+	private int analyze(Clause conflict, List<Integer> learnt) {
+		learnt.clear();
+		learnt.add(UNDEF);
+		int pathCount = 0;
+		int lit = UNDEF;
+		int index = trailSize - 1;
+		Clause c = conflict;
+		do {
+			if (c.learnt) {
+				bumpActivity(c);
+			}
+			for (int k = (UNDEF == lit ? 0 : 1); k < c.lits.length; k++) {
+				int q = c.lits[k];
+				int var = q >> 1;
+				if (!seen[var] && levels[var] > 0) {
+					bumpActivity(var);
+					seen[var] = true;
+					if (levels[var] >= decisionLevel) {
+						pathCount++;
+					} else {
+						learnt.add(q);
+					}
+				}
+			}
+			// The next literal of the current level to look at
+			while (!seen[trail[index] >> 1]) {
+				index--;
+			}
+			lit = trail[index--];
+			c = reasons[lit >> 1];
+			seen[lit >> 1] = false;
+			pathCount--;
+		} while (pathCount > 0);
+		learnt.set(0, lit ^ 1);
+
+		// Remove the literals implied by the others
+		List<Integer> implied = new ArrayList<Integer>();
+		for (int i = 1; i < learnt.size(); i++) {
+			int q = learnt.get(i);
+			Clause reason = reasons[q >> 1];
+			boolean redundant = null != reason;
+			if (redundant) {
+				for (int k = 1; k < reason.lits.length; k++) {
+					int var = reason.lits[k] >> 1;
+					if (!seen[var] && levels[var] > 0) {
+						redundant = false;
+						break;
+					}
+				}
+			}
+			if (redundant) {
+				implied.add(q);
+			}
+		}
+		for (int i = 1; i < learnt.size(); i++) {
+			seen[learnt.get(i) >> 1] = false;
+		}
+		learnt.removeAll(implied);
+
+		// Watch the literal of the highest level after the asserting one
+		int backtrackLevel = 0;
+		if (learnt.size() > 1) {
+			int max = 1;
+			for (int i = 2; i < learnt.size(); i++) {
+				if (levels[learnt.get(i) >> 1] > levels[learnt.get(max) >> 1]) {
+					max = i;
+				}
+			}
+			int q = learnt.get(max);
+			learnt.set(max, learnt.get(1));
+			learnt.set(1, q);
+			backtrackLevel = levels[q >> 1];
+		}
+		return backtrackLevel;
+	}
+
+	// Collect the assumptions which imply lit, i.e. which make an assumption
+	// false.
+	private void analyzeFinal(int lit) {
+		failedAssumptions.add(lit);
+		if (0 == decisionLevel) {
+			return;
+		}
+		seen[lit >> 1] = true;
+		for (int i = trailSize - 1; i >= trailLimits[0]; i--) {
+			int var = trail[i] >> 1;
+			if (seen[var]) {
+				Clause reason = reasons[var];
+				if (null == reason) {
+					failedAssumptions.add(trail[i] ^ 1);
+				} else {
+					for (int k = 1; k < reason.lits.length; k++) {
+						if (levels[reason.lits[k] >> 1] > 0) {
+							seen[reason.lits[k] >> 1] = true;
+						}
+					}
+				}
+				seen[var] = false;
+			}
+		}
+		seen[lit >> 1] = false;
+	}
+
+	private int pickBranchLiteral() {
+		while (!order.isEmpty()) {
+			int var = order.removeMax();
+			if (values[2 * var] == 0) {
+				return polarities[var] ? 2 * var : 2 * var + 1;
+			}
+		}
+		return UNDEF;
+	}
+
+	private void bumpActivity(int var) {
+		activities[var] += varIncrement;
+		if (activities[var] > 1e100) {
+			// Rescale, the order is unaffected
+			for (int v = 0; v < symbols.size(); v++) {
+				activities[v] *= 1e-100;
+			}
+			varIncrement *= 1e-100;
+		}
+		order.increased(var);
+	}
+
+	private void bumpActivity(Clause c) {
+		c.activity += clauseIncrement;
+		if (c.activity > 1e20) {
+			for (Clause l : learnts) {
+				l.activity *= 1e-20;
+			}
+			clauseIncrement *= 1e-20;
+		}
+	}
+
+	// Delete the less active half of the learned clauses, except those which
+	// are binary or the reason for a current assignment.
+	private void reduceLearnts() {
+		Collections.sort(learnts, new Comparator<Clause>() {
+			public int compare(Clause c1, Clause c2) {
+				return Double.compare(c1.activity, c2.activity);
+			}
+		});
+		int half = learnts.size() / 2;
+		List<Clause> kept = new ArrayList<Clause>(learnts.size() - half);
+		for (int i = 0; i < learnts.size(); i++) {
+			Clause c = learnts.get(i);
+			if (i < half && c.lits.length > 2 && !isLocked(c)) {
+				// Removed from the watch lists when next visited
+				c.deleted = true;
+			} else {
+				kept.add(c);
+			}
+		}
+		learnts = kept;
+	}
+
+	private boolean isLocked(Clause c) {
+		return reasons[c.lits[0] >> 1] == c && values[c.lits[0]] == TRUE;
+	}
+
+	// The Luby sequence 1, 1, 2, 1, 1, 2, 4, 1, 1, 2, 1, 1, 2, 4, 8, ...
+	private static double luby(int x) {
+		int size = 1, seq = 0;
+		while (size < x + 1) {
+			seq++;
+			size = 2 * size + 1;
+		}
+		while (size - 1 != x) {
+			size = (size - 1) >> 1;
+			seq--;
+			x = x % size;
+		}
+		return Math.pow(2, seq);
+	}
+
+	private static class Clause {
+		private int[] lits;
+		private boolean learnt;
+		private double activity = 0;
+		private boolean deleted = false;
+
+		public Clause(int[] lits, boolean learnt) {
+			this.lits = lits;
+			this.learnt = learnt;
+		}
+	}
+
+	private static class WatchList {
+		private Clause[] clauses = new Clause[4];
+		private int size = 0;
+
+		public void add(Clause c) {
+			if (size == clauses.length) {
+				clauses = Arrays.copyOf(clauses, 2 * size);
+			}
+			clauses[size++] = c;
+		}
+	}
+
+	// A binary max heap of the variables by activity.
+	private class VarOrder {
+		private int[] heap = new int[0];
+		private int size = 0;
+		// The position of each variable in the heap, -1 if not in it
+		private int[] positions = new int[0];
+
+		public void ensureCapacity(int capacity) {
+			int old = positions.length;
+			heap = Arrays.copyOf(heap, capacity);
+			positions = Arrays.copyOf(positions, capacity);
+			Arrays.fill(positions, old, capacity, -1);
+		}
+
+		public boolean isEmpty() {
+			return 0 == size;
+		}
+
+		public void insert(int var) {
+			if (positions[var] < 0) {
+				heap[size] = var;
+				positions[var] = size;
+				size++;
+				up(positions[var]);
+			}
+		}
+
+		public void increased(int var) {
+			if (positions[var] >= 0) {
+				up(positions[var]);
+			}
+		}
+
+		public int removeMax() {
+			int var = heap[0];
+			size--;
+			positions[var] = -1;
+			if (size > 0) {
+				heap[0] = heap[size];
+				positions[heap[0]] = 0;
+				down(0);
+			}
+			return var;
+		}
+
+		private void up(int i) {
+			int var = heap[i];
+			while (i > 0) {
+				int parent = (i - 1) >> 1;
+				if (activities[heap[parent]] >= activities[var]) {
+					break;
+				}
+				heap[i] = heap[parent];
+				positions[heap[i]] = i;
+				i = parent;
+			}
+			heap[i] = var;
+			positions[var] = i;
+		}
+
+		private void down(int i) {
+			int var = heap[i];
+			while (2 * i + 1 < size) {
+				int child = 2 * i + 1;
+				if (child + 1 < size
+						&& activities[heap[child + 1]] > activities[heap[child]]) {
+					child++;
+				}
+				if (activities[heap[child]] <= activities[var]) {
+					break;
+				}
+				heap[i] = heap[child];
+				positions[heap[i]] = i;
+				i = child;
+			}
+			heap[i] = var;
+			positions[var] = i;
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package aima.core.probability.bayes.approx;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import aima.core.probability.CategoricalDistribution;
+import aima.core.probability.RandomVariable;
+import aima.core.probability.bayes.BayesianNetwork;
+import aima.core.probability.proposition.AssignmentProposition;
+import aima.core.probability.util.ProbabilityTable;
+import aima.core.util.ParallelTasks;
+import aima.core.util.SplittableRandomizer;
+
+/**
+ * GIBBS-ASK (AIMA3e Fig. 14.16) running several independent Markov chains in
+ * parallel. Each chain starts from its own prior sample, has its own
+ * Randomizer split off the given one and works on an array of domain offsets
+ * instead of a map of values. After an optional burn-in, the value of X is
+ * recorded after each sweep through the nonevidence variables; the counts of
+ * all chains are merged, and the recorded values are used to compute the
+ * effective sample size and R-hat, so the number of samples can be chosen to
+ * reach a target accuracy.
+ *
+ * @see GibbsAsk
+ *
+ * @author agent
+ *
+ */
+public class ParallelGibbsAsk implements BayesSampleInference {
+	private int chains = 0;
+	private int threads = 0;
+	private int burnIn = 0;
+	private SplittableRandomizer randomizer = null;
+
+	/**
+	 * Run one chain per available processor.
+	 */
+	public ParallelGibbsAsk() {
+		this(Runtime.getRuntime().availableProcessors(), Runtime.getRuntime()
+				.availableProcessors(), new SplittableRandomizer());
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param chains
+	 *            the number of chains, at least 2 for R-hat.
+	 * @param threads
+	 *            the number of threads running the chains.
+	 * @param r
+	 *            the Randomizer the Randomizers of the chains are split off.
+	 */
+	public ParallelGibbsAsk(int chains, int threads, SplittableRandomizer r) {
+		this.chains = chains;
+		this.threads = threads;
+		this.randomizer = r;
+	}
+
+	/**
+	 * Set the number of sweeps at the start of each chain which are not
+	 * counted.
+	 *
+	 * @param burnIn
+	 *            the number of sweeps to discard.
+	 */
+	public void setBurnIn(int burnIn) {
+		this.burnIn = burnIn;
+	}
+
+	/**
+	 * Estimate <b>P</b>(X|e) with diagnostics.
+	 *
+	 * @param X
+	 *            the query variables
+	 * @param e
+	 *            observed values for variables E
+	 * @param bn
+	 *            a Bayesian network of finite nodes.
+	 * @param Nsamples
+	 *            the total number of samples to be counted, divided evenly
+	 *            between the chains (rounded up).
+	 * @return an estimate of <b>P</b>(X|e) with its effective sample size and
+	 *         R-hat.
+	 */
+	public SampleEstimate estimate(RandomVariable[] X,
+			AssignmentProposition[] e, BayesianNetwork bn, int Nsamples) {
+		final SamplingNetwork net = new SamplingNetwork(bn, X, e);
+		final int n = (Nsamples + chains - 1) / chains;
+		List<Callable<int[]>> tasks = new ArrayList<Callable<int[]>>();
+		for (int c = 0; c < chains; c++) {
+			final SplittableRandomizer r = randomizer.split();
+			tasks.add(new Callable<int[]>() {
+				public int[] call() {
+					return runChain(net, n, r);
+				}
+			});
+		}
+		int[][] traces = ParallelTasks.runAll(tasks, threads).toArray(
+				new int[chains][]);
+
+		int querySize = net.getQuerySize();
+		double[] N = new double[querySize];
+		for (int[] trace : traces) {
+			for (int x : trace) {
+				N[x] += 1.0;
+			}
+		}
+		return new SampleEstimate(new ProbabilityTable(N, X).normalize(),
+				chains * n, ParallelSampling.effectiveSampleSize(traces,
+						querySize), ParallelSampling.rHat(traces, querySize));
+	}
+
+	//
+	// START-BayesSampleInference
+	@Override
+	public CategoricalDistribution ask(final RandomVariable[] X,
+			final AssignmentProposition[] observedEvidence,
+			final BayesianNetwork bn, int N) {
+		return estimate(X, observedEvidence, bn, N).getDistribution();
+	}
+
+	// END-BayesSampleInference
+	//
+
+	//
+	// PRIVATE METHODS
+	//
+	private int[] runChain(SamplingNetwork net, int n,
+			SplittableRandomizer r) {
+		int[] trace = new int[n];
+		double[] scratch = new double[net.getMaxDomainSize()];
+		int[] x = net.priorSample(r);
+		for (int j = 0; j < burnIn; j++) {
+			net.gibbsSweep(x, scratch, r);
+		}
+		for (int j = 0; j < n; j++) {
+			net.gibbsSweep(x, scratch, r);
+			trace[j] = net.queryIndex(x);
+		}
+		return trace;
+	}
+}
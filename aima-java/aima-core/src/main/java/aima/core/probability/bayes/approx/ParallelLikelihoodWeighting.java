@@ -0,0 +1,130 @@
+package aima.core.probability.bayes.approx;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import aima.core.probability.CategoricalDistribution;
+import aima.core.probability.RandomVariable;
+import aima.core.probability.bayes.BayesianNetwork;
+import aima.core.probability.proposition.AssignmentProposition;
+import aima.core.probability.util.ProbabilityTable;
+import aima.core.util.ParallelTasks;
+import aima.core.util.SplittableRandomizer;
+
+/**
+ * LIKELIHOOD-WEIGHTING (AIMA3e Fig. 14.15) generating batches of weighted
+ * samples in parallel. Each batch has its own Randomizer split off the given
+ * one and works on an array of domain offsets instead of a map of values. The
+ * weight sums of all batches are merged; as the samples are independent, the
+ * effective sample size follows from the weights alone and R-hat is not
+ * applicable.
+ *
+ * @see LikelihoodWeighting
+ *
+ * @author agent
+ *
+ */
+public class ParallelLikelihoodWeighting implements BayesSampleInference {
+	private int batches = 0;
+	private int threads = 0;
+	private SplittableRandomizer randomizer = null;
+
+	/**
+	 * Generate one batch per available processor.
+	 */
+	public ParallelLikelihoodWeighting() {
+		this(Runtime.getRuntime().availableProcessors(), Runtime.getRuntime()
+				.availableProcessors(), new SplittableRandomizer());
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param batches
+	 *            the number of batches the samples are divided into.
+	 * @param threads
+	 *            the number of threads generating the batches.
+	 * @param r
+	 *            the Randomizer the Randomizers of the batches are split off.
+	 */
+	public ParallelLikelihoodWeighting(int batches, int threads,
+			SplittableRandomizer r) {
+		this.batches = batches;
+		this.threads = threads;
+		this.randomizer = r;
+	}
+
+	/**
+	 * Estimate <b>P</b>(X|e) with diagnostics.
+	 *
+	 * @param X
+	 *            the query variables
+	 * @param e
+	 *            observed values for variables E
+	 * @param bn
+	 *            a Bayesian network of finite nodes.
+	 * @param N
+	 *            the total number of samples to be generated, divided evenly
+	 *            between the batches (rounded up).
+	 * @return an estimate of <b>P</b>(X|e) with its effective sample size.
+	 */
+	public SampleEstimate estimate(RandomVariable[] X,
+			AssignmentProposition[] e, BayesianNetwork bn, int N) {
+		final SamplingNetwork net = new SamplingNetwork(bn, X, e);
+		final int n = (N + batches - 1) / batches;
+		List<Callable<double[]>> tasks = new ArrayList<Callable<double[]>>();
+		for (int b = 0; b < batches; b++) {
+			final SplittableRandomizer r = randomizer.split();
+			tasks.add(new Callable<double[]>() {
+				public double[] call() {
+					return runBatch(net, n, r);
+				}
+			});
+		}
+
+		int querySize = net.getQuerySize();
+		// W, a vector of weighted counts for each value of X,
+		// followed by the sum of the weights and of their squares
+		double[] W = new double[querySize + 2];
+		for (double[] batch : ParallelTasks.runAll(tasks, threads)) {
+			for (int i = 0; i < W.length; i++) {
+				W[i] += batch[i];
+			}
+		}
+		double[] counts = new double[querySize];
+		System.arraycopy(W, 0, counts, 0, querySize);
+		return new SampleEstimate(new ProbabilityTable(counts, X).normalize(),
+				batches * n, ParallelSampling.effectiveSampleSize(
+						W[querySize], W[querySize + 1]), Double.NaN);
+	}
+
+	//
+	// START-BayesSampleInference
+	@Override
+	public CategoricalDistribution ask(final RandomVariable[] X,
+			final AssignmentProposition[] observedEvidence,
+			final BayesianNetwork bn, int N) {
+		return estimate(X, observedEvidence, bn, N).getDistribution();
+	}
+
+	// END-BayesSampleInference
+	//
+
+	//
+	// PRIVATE METHODS
+	//
+	private double[] runBatch(SamplingNetwork net, int n,
+			SplittableRandomizer r) {
+		int querySize = net.getQuerySize();
+		double[] W = new double[querySize + 2];
+		int[] x = new int[net.getNumberOfVariables()];
+		for (int j = 0; j < n; j++) {
+			double w = net.weightedSample(x, r);
+			W[net.queryIndex(x)] += w;
+			W[querySize] += w;
+			W[querySize + 1] += w * w;
+		}
+		return W;
+	}
+}
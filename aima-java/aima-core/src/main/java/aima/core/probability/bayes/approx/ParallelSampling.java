@@ -0,0 +1,162 @@
+package aima.core.probability.bayes.approx;
+
+/**
+ * Helpers shared by the parallel samplers: the convergence diagnostics of
+ * Gelman et al., Bayesian Data Analysis (3rd Edition), section 11.4-11.5.
+ *
+ * @author agent
+ *
+ */
+class ParallelSampling {
+	/**
+	 * Maximum lag of the autocorrelations summed up for the effective sample
+	 * size.
+	 */
+	private static final int MAX_LAG = 1000;
+
+	/**
+	 * Compute R-hat (without splitting the chains) of chains of query
+	 * indices, the maximum over the indicators of all query values.
+	 *
+	 * @param traces
+	 *            the query index of each sample of each chain, all chains
+	 *            having the same length.
+	 * @param querySize
+	 *            the number of query values.
+	 * @return R-hat, or NaN if there are less than two chains.
+	 */
+	public static double rHat(int[][] traces, int querySize) {
+		int m = traces.length;
+		int n = traces[0].length;
+		if (m < 2 || n < 2) {
+			return Double.NaN;
+		}
+		double result = 1.0;
+		for (int k = 0; k < querySize; k++) {
+			double[] mean = new double[m];
+			double W = 0;
+			for (int j = 0; j < m; j++) {
+				mean[j] = indicatorMean(traces[j], k);
+				// The sample variance of an indicator
+				W += mean[j] * (1 - mean[j]) * n / (n - 1);
+			}
+			W /= m;
+			double varPlus = varPlus(mean, W, n);
+			if (W > 0) {
+				result = Math.max(result, Math.sqrt(varPlus / W));
+			} else if (varPlus > 0) {
+				// Each chain stuck at a different value
+				return Double.POSITIVE_INFINITY;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Compute the effective sample size of chains of query indices from the
+	 * autocorrelations within and the variance between the chains, the
+	 * minimum over the indicators of all query values.
+	 *
+	 * @param traces
+	 *            the query index of each sample of each chain, all chains
+	 *            having the same length.
+	 * @param querySize
+	 *            the number of query values.
+	 * @return the effective sample size.
+	 */
+	public static double effectiveSampleSize(int[][] traces, int querySize) {
+		int m = traces.length;
+		int n = traces[0].length;
+		double total = (double) m * n;
+		if (n < 2) {
+			return total;
+		}
+		double result = total;
+		for (int k = 0; k < querySize; k++) {
+			double[] mean = new double[m];
+			double W = 0;
+			for (int j = 0; j < m; j++) {
+				mean[j] = indicatorMean(traces[j], k);
+				W += mean[j] * (1 - mean[j]) * n / (n - 1);
+			}
+			W /= m;
+			double varPlus = m > 1 ? varPlus(mean, W, n) : W;
+			if (0 == varPlus) {
+				continue;
+			}
+			// Sum the autocorrelations in pairs while the pairs are
+			// positive (Geyer's initial positive sequence)
+			double sum = 0;
+			int maxLag = Math.min(n - 1, MAX_LAG);
+			for (int t = 1; t + 1 <= maxLag; t += 2) {
+				double pair = autocorrelation(traces, k, t, varPlus)
+						+ autocorrelation(traces, k, t + 1, varPlus);
+				if (pair < 0) {
+					break;
+				}
+				sum += pair;
+			}
+			result = Math.min(result, total / (1 + 2 * sum));
+		}
+		return result;
+	}
+
+	/**
+	 * Compute the effective sample size of weighted samples (Kish).
+	 *
+	 * @param sumW
+	 *            the sum of the weights.
+	 * @param sumW2
+	 *            the sum of the squared weights.
+	 * @return the effective sample size.
+	 */
+	public static double effectiveSampleSize(double sumW, double sumW2) {
+		return 0 == sumW2 ? 0 : sumW * sumW / sumW2;
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private static double indicatorMean(int[] trace, int k) {
+		int cnt = 0;
+		for (int x : trace) {
+			if (x == k) {
+				cnt++;
+			}
+		}
+		return (double) cnt / trace.length;
+	}
+
+	// The pooled estimate of the variance, from the within chain
+	// variance W and the variance of the chain means.
+	private static double varPlus(double[] mean, double W, int n) {
+		int m = mean.length;
+		double grandMean = 0;
+		for (double mu : mean) {
+			grandMean += mu;
+		}
+		grandMean /= m;
+		double B = 0;
+		for (double mu : mean) {
+			B += (mu - grandMean) * (mu - grandMean);
+		}
+		B = B * n / (m - 1);
+		return (n - 1.0) / n * W + B / n;
+	}
+
+	private static double autocorrelation(int[][] traces, int k, int t,
+			double varPlus) {
+		double V = 0;
+		int cnt = 0;
+		for (int[] trace : traces) {
+			for (int i = 0; i + t < trace.length; i++) {
+				if ((trace[i] == k) != (trace[i + t] == k)) {
+					V += 1;
+				}
+				cnt++;
+			}
+		}
+		V /= cnt;
+		return 1 - V / (2 * varPlus);
+	}
+}
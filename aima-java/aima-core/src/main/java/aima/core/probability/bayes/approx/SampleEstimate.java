@@ -0,0 +1,68 @@
+package aima.core.probability.bayes.approx;
+
+import aima.core.probability.CategoricalDistribution;
+
+/**
+ * The result of a parallel sampling run: the estimated distribution together
+ * with diagnostics which indicate how accurate the estimate is.
+ *
+ * @author agent
+ *
+ */
+public class SampleEstimate {
+	private CategoricalDistribution distribution = null;
+	private int numberOfSamples = 0;
+	private double effectiveSampleSize = 0;
+	private double rHat = Double.NaN;
+
+	public SampleEstimate(CategoricalDistribution distribution,
+			int numberOfSamples, double effectiveSampleSize, double rHat) {
+		this.distribution = distribution;
+		this.numberOfSamples = numberOfSamples;
+		this.effectiveSampleSize = effectiveSampleSize;
+		this.rHat = rHat;
+	}
+
+	/**
+	 *
+	 * @return the estimate of <b>P</b>(X|e).
+	 */
+	public CategoricalDistribution getDistribution() {
+		return distribution;
+	}
+
+	/**
+	 *
+	 * @return the number of samples generated (without burn-in).
+	 */
+	public int getNumberOfSamples() {
+		return numberOfSamples;
+	}
+
+	/**
+	 *
+	 * @return the number of independent samples the estimate is worth. The
+	 *         standard error of an estimated probability p is about
+	 *         sqrt(p(1-p)/ESS).
+	 */
+	public double getEffectiveSampleSize() {
+		return effectiveSampleSize;
+	}
+
+	/**
+	 *
+	 * @return the potential scale reduction factor R-hat of Gelman and Rubin,
+	 *         which approaches 1 as the chains converge (values below 1.01
+	 *         are commonly taken to indicate convergence), or NaN if it is
+	 *         not applicable, e.g. for independent samples.
+	 */
+	public double getRHat() {
+		return rHat;
+	}
+
+	@Override
+	public String toString() {
+		return distribution + " (N=" + numberOfSamples + ", ESS="
+				+ Math.round(effectiveSampleSize) + ", R-hat=" + rHat + ")";
+	}
+}
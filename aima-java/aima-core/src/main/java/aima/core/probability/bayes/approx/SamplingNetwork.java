@@ -0,0 +1,276 @@
+package aima.core.probability.bayes.approx;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import aima.core.probability.RandomVariable;
+import aima.core.probability.bayes.BayesianNetwork;
+import aima.core.probability.bayes.FiniteNode;
+import aima.core.probability.bayes.Node;
+import aima.core.probability.domain.FiniteDomain;
+import aima.core.probability.proposition.AssignmentProposition;
+import aima.core.probability.util.ProbabilityTable;
+import aima.core.util.Randomizer;
+
+/**
+ * A Bayesian Network of finite nodes compiled for sampling: the variables are
+ * numbered in topological order, a state of the network is an array of domain
+ * offsets (one per variable) and the CPTs are plain arrays of values, so that
+ * samples can be generated without creating any objects. Instances are
+ * immutable and can be shared between threads.
+ *
+ * @author agent
+ *
+ */
+class SamplingNetwork {
+	private RandomVariable[] vars = null;
+	private int[] domainSizes = null;
+	// For each variable the variables of its CPT, their strides
+	// in the CPT's values and the values.
+	private int[][] family = null;
+	private int[][] familyStrides = null;
+	private int[] selfStride = null;
+	private double[][] cpt = null;
+	private int[][] children = null;
+	// Domain offset of each evidence variable, -1 if not observed
+	private int[] evidence = null;
+	private int[] nonEvidence = null;
+	private int[] query = null;
+
+	public SamplingNetwork(BayesianNetwork bn, RandomVariable[] X,
+			AssignmentProposition[] e) {
+		List<RandomVariable> topo = bn.getVariablesInTopologicalOrder();
+		int n = topo.size();
+		vars = topo.toArray(new RandomVariable[n]);
+		Map<RandomVariable, Integer> idx = new HashMap<RandomVariable, Integer>();
+		for (int i = 0; i < n; i++) {
+			idx.put(vars[i], i);
+		}
+		domainSizes = new int[n];
+		family = new int[n][];
+		familyStrides = new int[n][];
+		selfStride = new int[n];
+		cpt = new double[n][];
+		List<List<Integer>> childList = new ArrayList<List<Integer>>();
+		for (int i = 0; i < n; i++) {
+			childList.add(new ArrayList<Integer>());
+		}
+		for (int i = 0; i < n; i++) {
+			Node node = bn.getNode(vars[i]);
+			if (!(node instanceof FiniteNode)) {
+				throw new IllegalArgumentException(
+						"Parallel sampling only works with finite Nodes.");
+			}
+			domainSizes[i] = domainOf(vars[i]).size();
+			ProbabilityTable table = (ProbabilityTable) ((FiniteNode) node)
+					.getCPT().getFactorFor();
+			RandomVariable[] tableVars = table.getFor().toArray(
+					new RandomVariable[table.getFor().size()]);
+			family[i] = new int[tableVars.length];
+			familyStrides[i] = new int[tableVars.length];
+			int stride = 1;
+			for (int j = tableVars.length - 1; j >= 0; j--) {
+				int v = idx.get(tableVars[j]);
+				family[i][j] = v;
+				familyStrides[i][j] = stride;
+				if (v == i) {
+					selfStride[i] = stride;
+				} else {
+					childList.get(v).add(i);
+				}
+				stride *= domainOf(tableVars[j]).size();
+			}
+			cpt[i] = table.getValues();
+		}
+		children = new int[n][];
+		for (int i = 0; i < n; i++) {
+			children[i] = new int[childList.get(i).size()];
+			for (int j = 0; j < children[i].length; j++) {
+				children[i][j] = childList.get(i).get(j);
+			}
+		}
+
+		evidence = new int[n];
+		Arrays.fill(evidence, -1);
+		for (AssignmentProposition ap : e) {
+			int v = idx.get(ap.getTermVariable());
+			evidence[v] = domainOf(vars[v]).getOffset(ap.getValue());
+		}
+		int cnt = 0;
+		for (int i = 0; i < n; i++) {
+			if (-1 == evidence[i]) {
+				cnt++;
+			}
+		}
+		nonEvidence = new int[cnt];
+		cnt = 0;
+		for (int i = 0; i < n; i++) {
+			if (-1 == evidence[i]) {
+				nonEvidence[cnt++] = i;
+			}
+		}
+		query = new int[X.length];
+		for (int i = 0; i < X.length; i++) {
+			query[i] = idx.get(X[i]);
+		}
+	}
+
+	/**
+	 *
+	 * @return the number of variables, i.e. the size of a state.
+	 */
+	public int getNumberOfVariables() {
+		return vars.length;
+	}
+
+	/**
+	 *
+	 * @return the number of cells of a distribution over the query
+	 *         variables.
+	 */
+	public int getQuerySize() {
+		int result = 1;
+		for (int q : query) {
+			result *= domainSizes[q];
+		}
+		return result;
+	}
+
+	/**
+	 *
+	 * @return the offset of the values of the query variables in the state
+	 *         within a distribution over the query variables.
+	 */
+	public int queryIndex(int[] state) {
+		int result = 0;
+		for (int q : query) {
+			result = result * domainSizes[q] + state[q];
+		}
+		return result;
+	}
+
+	/**
+	 *
+	 * @return a new state with the evidence variables set and all other
+	 *         variables sampled from their CPTs in topological order.
+	 */
+	public int[] priorSample(Randomizer r) {
+		int[] state = new int[vars.length];
+		for (int i = 0; i < vars.length; i++) {
+			state[i] = (-1 == evidence[i]) ? sample(i, state, r) : evidence[i];
+		}
+		return state;
+	}
+
+	/**
+	 * Generate a state by likelihood weighting (AIMA3e Fig. 14.15
+	 * WEIGHTED-SAMPLE).
+	 *
+	 * @param state
+	 *            to be overwritten with the sampled state.
+	 * @return the weight of the sampled state.
+	 */
+	public double weightedSample(int[] state, Randomizer r) {
+		double w = 1.0;
+		for (int i = 0; i < vars.length; i++) {
+			if (-1 == evidence[i]) {
+				state[i] = sample(i, state, r);
+			} else {
+				state[i] = evidence[i];
+				w *= probability(i, state);
+			}
+		}
+		return w;
+	}
+
+	/**
+	 * Resample each non evidence variable from its distribution given its
+	 * Markov blanket (one sweep of GIBBS-ASK, AIMA3e Fig. 14.16).
+	 *
+	 * @param scratch
+	 *            an array at least as large as the largest domain.
+	 */
+	public void gibbsSweep(int[] state, double[] scratch, Randomizer r) {
+		for (int z : nonEvidence) {
+			double sum = 0;
+			for (int k = 0; k < domainSizes[z]; k++) {
+				state[z] = k;
+				double p = probability(z, state);
+				for (int c : children[z]) {
+					p *= probability(c, state);
+				}
+				scratch[k] = p;
+				sum += p;
+			}
+			state[z] = choose(scratch, domainSizes[z], sum, r);
+		}
+	}
+
+	/**
+	 *
+	 * @return the size of the largest domain.
+	 */
+	public int getMaxDomainSize() {
+		int result = 0;
+		for (int s : domainSizes) {
+			result = Math.max(result, s);
+		}
+		return result;
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private static FiniteDomain domainOf(RandomVariable var) {
+		return (FiniteDomain) var.getDomain();
+	}
+
+	// P(state[v] | parents(v))
+	private double probability(int v, int[] state) {
+		int offset = 0;
+		int[] f = family[v];
+		int[] s = familyStrides[v];
+		for (int j = 0; j < f.length; j++) {
+			offset += s[j] * state[f[j]];
+		}
+		return cpt[v][offset];
+	}
+
+	// Sample v given the values of its parents in state
+	private int sample(int v, int[] state, Randomizer r) {
+		int offset = 0;
+		int[] f = family[v];
+		int[] s = familyStrides[v];
+		for (int j = 0; j < f.length; j++) {
+			if (f[j] != v) {
+				offset += s[j] * state[f[j]];
+			}
+		}
+		double choice = r.nextDouble();
+		double total = 0;
+		int last = domainSizes[v] - 1;
+		for (int k = 0; k < last; k++) {
+			total += cpt[v][offset + k * selfStride[v]];
+			if (choice <= total) {
+				return k;
+			}
+		}
+		return last;
+	}
+
+	private static int choose(double[] weights, int size, double sum,
+			Randomizer r) {
+		double choice = r.nextDouble() * sum;
+		double total = 0;
+		for (int k = 0; k < size - 1; k++) {
+			total += weights[k];
+			if (choice <= total) {
+				return k;
+			}
+		}
+		return size - 1;
+	}
+}
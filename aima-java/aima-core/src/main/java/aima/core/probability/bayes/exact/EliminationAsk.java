@@ -4,7 +4,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import aima.core.probability.CategoricalDistribution;
@@ -12,6 +14,7 @@ import aima.core.probability.Factor;
 import aima.core.probability.RandomVariable;
 import aima.core.probability.bayes.BayesInference;
 import aima.core.probability.bayes.BayesianNetwork;
+import aima.core.probability.bayes.ConditionalProbabilityTable;
 import aima.core.probability.bayes.FiniteNode;
 import aima.core.probability.bayes.Node;
 import aima.core.probability.proposition.AssignmentProposition;
@@ -40,6 +43,15 @@ import aima.core.probability.util.ProbabilityTable;
  * <br>
  * <b>Note:</b> The implementation has been extended to handle queries with
  * multiple variables. <br>
+ * <br>
+ * <b>Note:</b> The factors for all variables are made before any variable is
+ * summed out, so that the hidden variables can be summed out in any order. By
+ * default they are summed out in reverse topological order, alternatively an
+ * {@link EliminationHeuristic} (e.g. min-fill) can be used to greedily choose
+ * an order over the moral graph of the network, which usually keeps the
+ * intermediate factors much smaller. The factors made from the CPTs (i.e. the
+ * CPTs restricted to the evidence) are cached, so that repeated queries with
+ * the same evidence do not have to create them again. <br>
  * 
  * @author Ciaran O'Reilly
  */
@@ -47,11 +59,38 @@ public class EliminationAsk implements BayesInference {
 	//
 	private static final ProbabilityTable _identity = new ProbabilityTable(
 			new double[] { 1.0 });
+	private static final int DEFAULT_FACTOR_CACHE_SIZE = 1000;
+	//
+	private EliminationHeuristic heuristic = null;
+	private FactorCache factorCache = new FactorCache(
+			DEFAULT_FACTOR_CACHE_SIZE);
 
 	public EliminationAsk() {
 
 	}
 
+	/**
+	 * Constructor.
+	 * 
+	 * @param heuristic
+	 *            the heuristic used to choose the order in which the hidden
+	 *            variables are summed out.
+	 */
+	public EliminationAsk(EliminationHeuristic heuristic) {
+		this.heuristic = heuristic;
+	}
+
+	/**
+	 * Set the maximum number of factors made from CPTs to be cached between
+	 * queries, 0 disables caching.
+	 * 
+	 * @param size
+	 *            the maximum number of cached factors.
+	 */
+	public void setFactorCacheSize(int size) {
+		factorCache = new FactorCache(size);
+	}
+
 	// function ELIMINATION-ASK(X, e, bn) returns a distribution over X
 	/**
 	 * The ELIMINATION-ASK algorithm in Figure 14.11.
@@ -74,10 +113,13 @@ public class EliminationAsk implements BayesInference {
 
 		// factors <- []
 		List<Factor> factors = new ArrayList<Factor>();
+		List<RandomVariable> ordered = order(bn, VARS, hidden, e);
 		// for each var in ORDER(bn.VARS) do
-		for (RandomVariable var : order(bn, VARS)) {
+		for (RandomVariable var : ordered) {
 			// factors <- [MAKE-FACTOR(var, e) | factors]
 			factors.add(0, makeFactor(var, e, bn));
+		}
+		for (RandomVariable var : ordered) {
 			// if var is hidden variable then factors <- SUM-OUT(var, factors)
 			if (hidden.contains(var)) {
 				factors = sumOut(var, factors, bn);
@@ -182,6 +224,52 @@ public class EliminationAsk implements BayesInference {
 		return order;
 	}
 
+	/**
+	 * Determine the order in which the hidden variables are summed out. If a
+	 * heuristic was specified, the hidden variables are ordered greedily over
+	 * the moral graph of the variables (without the evidence variables, as the
+	 * factors are restricted to the evidence) and are followed by the other
+	 * variables. Otherwise {@link #order(BayesianNetwork, Collection)} is
+	 * used.
+	 * 
+	 * @param bn
+	 *            the Bayesian Network over which the query is being made.
+	 * @param vars
+	 *            a subset of the RandomVariables making up the Bayesian
+	 *            Network, with any irrelevant hidden variables alreay removed.
+	 * @param hidden
+	 *            the hidden variables in vars.
+	 * @param e
+	 *            observed values for variables E.
+	 * @return an ordering of vars, the hidden variables are summed out in this
+	 *         order.
+	 */
+	protected List<RandomVariable> order(BayesianNetwork bn,
+			Collection<RandomVariable> vars, Set<RandomVariable> hidden,
+			AssignmentProposition[] e) {
+		if (null == heuristic) {
+			return order(bn, vars);
+		}
+		Set<RandomVariable> evidenceVars = new HashSet<RandomVariable>();
+		for (AssignmentProposition ap : e) {
+			evidenceVars.add(ap.getTermVariable());
+		}
+		List<RandomVariable> toEliminate = new ArrayList<RandomVariable>();
+		List<RandomVariable> others = new ArrayList<RandomVariable>();
+		for (RandomVariable var : vars) {
+			if (hidden.contains(var)) {
+				toEliminate.add(var);
+			} else {
+				others.add(var);
+			}
+		}
+		List<RandomVariable> order = new MoralGraph(bn, vars, evidenceVars)
+				.eliminationOrder(toEliminate, heuristic);
+		order.addAll(others);
+
+		return order;
+	}
+
 	//
 	// PRIVATE METHODS
 	//
@@ -201,8 +289,7 @@ public class EliminationAsk implements BayesInference {
 			}
 		}
 
-		return fn.getCPT().getFactorFor(
-				evidence.toArray(new AssignmentProposition[evidence.size()]));
+		return factorCache.getFactorFor(fn.getCPT(), evidence);
 	}
 
 	private List<Factor> sumOut(RandomVariable var, List<Factor> factors,
@@ -233,4 +320,57 @@ public class EliminationAsk implements BayesInference {
 
 		return product;
 	}
+
+	/**
+	 * Least recently used cache of the factors made from CPTs, keyed by the
+	 * CPT and the evidence values for its variables. The factors are not
+	 * changed by the algorithm, so they can be shared between queries.
+	 */
+	private static class FactorCache {
+		private final int maxSize;
+		private final Map<List<Object>, Factor> factors;
+
+		public FactorCache(final int maxSize) {
+			this.maxSize = maxSize;
+			factors = new LinkedHashMap<List<Object>, Factor>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(
+						Map.Entry<List<Object>, Factor> eldest) {
+					return size() > maxSize;
+				}
+			};
+		}
+
+		public Factor getFactorFor(ConditionalProbabilityTable cpt,
+				List<AssignmentProposition> evidence) {
+			AssignmentProposition[] aps = evidence
+					.toArray(new AssignmentProposition[evidence.size()]);
+			if (0 == maxSize) {
+				return cpt.getFactorFor(aps);
+			}
+			// The key is the CPT followed by the evidence value
+			// (or null) for each of its variables.
+			List<Object> key = new ArrayList<Object>();
+			key.add(cpt);
+			for (RandomVariable rv : cpt.getFor()) {
+				Object value = null;
+				for (AssignmentProposition ap : evidence) {
+					if (rv.equals(ap.getTermVariable())) {
+						value = ap.getValue();
+					}
+				}
+				key.add(value);
+			}
+			synchronized (factors) {
+				Factor result = factors.get(key);
+				if (null == result) {
+					result = cpt.getFactorFor(aps);
+					factors.put(key, result);
+				}
+				return result;
+			}
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package aima.core.probability.bayes.exact;
+
+import aima.core.probability.RandomVariable;
+
+/**
+ * A heuristic estimating the cost of eliminating a variable next, used to
+ * greedily choose the order in which variable elimination sums out the hidden
+ * variables. Good orderings keep the factors created small.
+ *
+ * @see MoralGraph#eliminationOrder(java.util.Collection, EliminationHeuristic)
+ * @see GreedyEliminationHeuristic
+ *
+ * @author agent
+ *
+ */
+public interface EliminationHeuristic {
+	/**
+	 *
+	 * @param graph
+	 *            the moral graph, with all variables eliminated so far
+	 *            removed.
+	 * @param var
+	 *            a variable in the graph.
+	 * @return the cost of eliminating var next, lower is better.
+	 */
+	double cost(MoralGraph graph, RandomVariable var);
+}
@@ -0,0 +1,48 @@
+package aima.core.probability.bayes.exact;
+
+import aima.core.probability.RandomVariable;
+
+/**
+ * The commonly used greedy heuristics for ordering variable elimination,
+ * computed over the moral graph.
+ *
+ * @author agent
+ *
+ */
+public enum GreedyEliminationHeuristic implements EliminationHeuristic {
+	/**
+	 * Eliminate the variable with the fewest neighbors.
+	 */
+	MIN_DEGREE {
+		public double cost(MoralGraph graph, RandomVariable var) {
+			return graph.getNeighbors(var).size();
+		}
+	},
+	/**
+	 * Eliminate the variable whose elimination adds the fewest edges.
+	 */
+	MIN_FILL {
+		public double cost(MoralGraph graph, RandomVariable var) {
+			return graph.countFillIns(var);
+		}
+	},
+	/**
+	 * Eliminate the variable whose elimination adds the edges with the lowest
+	 * total weight, the weight of an edge being the product of the domain
+	 * sizes of the variables it connects.
+	 */
+	WEIGHTED_MIN_FILL {
+		public double cost(MoralGraph graph, RandomVariable var) {
+			return graph.weightOfFillIns(var);
+		}
+	},
+	/**
+	 * Eliminate the variable which creates the smallest factor (AIMA3e pg.
+	 * 528).
+	 */
+	MIN_WEIGHT {
+		public double cost(MoralGraph graph, RandomVariable var) {
+			return graph.sizeOfFactor(var);
+		}
+	};
+}
@@ -0,0 +1,455 @@
+package aima.core.probability.bayes.exact;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import aima.core.probability.CategoricalDistribution;
+import aima.core.probability.RandomVariable;
+import aima.core.probability.bayes.BayesianNetwork;
+import aima.core.probability.bayes.FiniteNode;
+import aima.core.probability.bayes.Node;
+import aima.core.probability.domain.FiniteDomain;
+import aima.core.probability.proposition.AssignmentProposition;
+import aima.core.probability.util.ProbabilityTable;
+
+/**
+ * A junction tree (also called clique tree) compiled from a Bayesian Network,
+ * as used for exact inference by the clustering algorithms mentioned in AIMA3e
+ * pg. 529.<br>
+ * <br>
+ * The moral graph of the network is triangulated by eliminating its variables
+ * in a greedy order, the maximal clusters created form the cliques, which are
+ * connected by a maximum weight spanning tree (the weight being the number of
+ * shared variables). Each CPT is multiplied into a clique containing its
+ * family. Evidence is entered by zeroing the inconsistent entries of a
+ * clique's potential and is propagated with one collect and one distribute
+ * pass (Hugin architecture), after which each clique holds the joint
+ * distribution of its variables and the evidence, so the posterior
+ * distributions of all variables can be read off without further
+ * propagation.<br>
+ * <br>
+ * Evidence can be updated incrementally: if evidence is only added, it is
+ * entered into the calibrated tree and distributed from there, otherwise the
+ * tree is reset to the CPTs before entering the evidence.<br>
+ * <br>
+ * <b>Note:</b> A junction tree is not thread safe.
+ *
+ * @author agent
+ *
+ */
+public class JunctionTree {
+	private static final ProbabilityTable _identity = new ProbabilityTable(
+			new double[] { 1.0 });
+	//
+	private BayesianNetwork bn = null;
+	private List<Clique> cliques = new ArrayList<Clique>();
+	private Map<RandomVariable, Clique> homeClique = new HashMap<RandomVariable, Clique>();
+	private Map<RandomVariable, Object> evidence = new LinkedHashMap<RandomVariable, Object>();
+	private boolean calibrated = false;
+
+	/**
+	 * Compile a junction tree, triangulating the moral graph with the min-fill
+	 * heuristic.
+	 *
+	 * @param bn
+	 *            a Bayesian Network of finite nodes.
+	 */
+	public JunctionTree(BayesianNetwork bn) {
+		this(bn, GreedyEliminationHeuristic.MIN_FILL);
+	}
+
+	/**
+	 * Compile a junction tree.
+	 *
+	 * @param bn
+	 *            a Bayesian Network of finite nodes.
+	 * @param heuristic
+	 *            the heuristic for the elimination order which triangulates
+	 *            the moral graph. The largest clique is the same size as the
+	 *            largest factor variable elimination creates with this order.
+	 */
+	public JunctionTree(BayesianNetwork bn, EliminationHeuristic heuristic) {
+		this.bn = bn;
+		List<RandomVariable> vars = bn.getVariablesInTopologicalOrder();
+		final Map<RandomVariable, Integer> topoIdx = new HashMap<RandomVariable, Integer>();
+		for (RandomVariable var : vars) {
+			topoIdx.put(var, topoIdx.size());
+		}
+
+		createCliques(vars, topoIdx, heuristic);
+		connectCliques();
+		assignCPTs(vars);
+	}
+
+	/**
+	 *
+	 * @return the Bayesian Network the junction tree was compiled from.
+	 */
+	public BayesianNetwork getNetwork() {
+		return bn;
+	}
+
+	/**
+	 *
+	 * @return the variables of each clique in the tree.
+	 */
+	public List<Set<RandomVariable>> getCliques() {
+		List<Set<RandomVariable>> result = new ArrayList<Set<RandomVariable>>();
+		for (Clique c : cliques) {
+			result.add(new LinkedHashSet<RandomVariable>(Arrays.asList(c.vars)));
+		}
+		return result;
+	}
+
+	/**
+	 *
+	 * @return the evidence currently entered into the tree.
+	 */
+	public Map<RandomVariable, Object> getEvidence() {
+		return new LinkedHashMap<RandomVariable, Object>(evidence);
+	}
+
+	/**
+	 * Set the evidence, replacing the evidence entered before. If the evidence
+	 * only extends the current evidence, just the new evidence is entered and
+	 * propagated.
+	 *
+	 * @param e
+	 *            observed values for variables E.
+	 */
+	public void setEvidence(AssignmentProposition... e) {
+		Map<RandomVariable, Object> newEvidence = new LinkedHashMap<RandomVariable, Object>();
+		for (AssignmentProposition ap : e) {
+			if (!homeClique.containsKey(ap.getTermVariable())) {
+				throw new IllegalArgumentException("Variable "
+						+ ap.getTermVariable()
+						+ " is not part of the Bayesian Network.");
+			}
+			newEvidence.put(ap.getTermVariable(), ap.getValue());
+		}
+		if (calibrated && newEvidence.equals(evidence)) {
+			return;
+		}
+
+		if (calibrated
+				&& newEvidence.entrySet().containsAll(evidence.entrySet())) {
+			// Only enter the additional evidence
+			Set<Clique> changed = new LinkedHashSet<Clique>();
+			for (Map.Entry<RandomVariable, Object> ev : newEvidence.entrySet()) {
+				if (!evidence.containsKey(ev.getKey())) {
+					changed.add(enterEvidence(ev.getKey(), ev.getValue()));
+				}
+			}
+			if (1 == changed.size()) {
+				// The rest of the tree is consistent with the changed
+				// clique, so distributing from it is sufficient.
+				distribute(changed.iterator().next(), null);
+			} else {
+				propagate();
+			}
+		} else {
+			// Start over from the CPTs
+			for (Clique c : cliques) {
+				c.potential = c.initialPotential;
+				for (Separator s : c.separators) {
+					s.potential = new ProbabilityTable(s.vars);
+					Arrays.fill(s.potential.getValues(), 1.0);
+				}
+			}
+			for (Map.Entry<RandomVariable, Object> ev : newEvidence.entrySet()) {
+				enterEvidence(ev.getKey(), ev.getValue());
+			}
+			propagate();
+		}
+		evidence = newEvidence;
+		calibrated = true;
+	}
+
+	/**
+	 * Get the posterior distribution of a variable given the current
+	 * evidence.
+	 *
+	 * @param var
+	 *            a variable of the Bayesian Network.
+	 * @return P(var | e).
+	 */
+	public CategoricalDistribution getMarginal(RandomVariable var) {
+		return getDistribution(var);
+	}
+
+	/**
+	 * Get the posterior distributions of all variables given the current
+	 * evidence.
+	 *
+	 * @return P(X | e) for each variable X of the Bayesian Network, in
+	 *         topological order.
+	 */
+	public Map<RandomVariable, CategoricalDistribution> getMarginals() {
+		Map<RandomVariable, CategoricalDistribution> result = new LinkedHashMap<RandomVariable, CategoricalDistribution>();
+		for (RandomVariable var : bn.getVariablesInTopologicalOrder()) {
+			result.put(var, getMarginal(var));
+		}
+		return result;
+	}
+
+	/**
+	 * Get the posterior joint distribution of variables which are all part of
+	 * the same clique.
+	 *
+	 * @param vars
+	 *            variables of the Bayesian Network.
+	 * @return P(vars | e), or null if no clique contains all of vars.
+	 */
+	public CategoricalDistribution getDistribution(RandomVariable... vars) {
+		if (!calibrated) {
+			setEvidence();
+		}
+		Clique best = null;
+		if (1 == vars.length) {
+			best = homeClique.get(vars[0]);
+			if (null == best) {
+				throw new IllegalArgumentException("Variable " + vars[0]
+						+ " is not part of the Bayesian Network.");
+			}
+		} else {
+			for (Clique c : cliques) {
+				if (c.contains(vars)
+						&& (null == best || c.potential.size() < best.potential
+								.size())) {
+					best = c;
+				}
+			}
+			if (null == best) {
+				return null;
+			}
+		}
+
+		return best.potential.sumOut(best.varsNotIn(vars))
+				.pointwiseProductPOS(_identity, vars).normalize();
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private void createCliques(List<RandomVariable> vars,
+			final Map<RandomVariable, Integer> topoIdx,
+			EliminationHeuristic heuristic) {
+		// Triangulate the moral graph, each eliminated variable and its
+		// neighbors form a cluster, the maximal clusters are the cliques.
+		MoralGraph graph = new MoralGraph(bn);
+		List<Set<RandomVariable>> clusters = new ArrayList<Set<RandomVariable>>();
+		for (RandomVariable var : graph.eliminationOrder(vars, heuristic)) {
+			Set<RandomVariable> cluster = graph.eliminate(var);
+			boolean maximal = true;
+			// Clusters created later do not contain the variables
+			// eliminated before, so can only be subsets.
+			for (Set<RandomVariable> c : clusters) {
+				if (c.containsAll(cluster)) {
+					maximal = false;
+					break;
+				}
+			}
+			if (maximal) {
+				clusters.add(cluster);
+			}
+		}
+		for (Set<RandomVariable> cluster : clusters) {
+			RandomVariable[] cvars = cluster.toArray(new RandomVariable[cluster
+					.size()]);
+			// Keep the variables in topological order
+			Arrays.sort(cvars, new Comparator<RandomVariable>() {
+				public int compare(RandomVariable o1, RandomVariable o2) {
+					return topoIdx.get(o1) - topoIdx.get(o2);
+				}
+			});
+			Clique c = new Clique(cvars);
+			cliques.add(c);
+			for (RandomVariable var : cvars) {
+				Clique home = homeClique.get(var);
+				if (null == home
+						|| c.initialPotential.size() < home.initialPotential
+								.size()) {
+					homeClique.put(var, c);
+				}
+			}
+		}
+	}
+
+	private void connectCliques() {
+		// Prim's algorithm for a maximum weight spanning tree,
+		// the weight of an edge being the size of the separator.
+		int n = cliques.size();
+		if (0 == n) {
+			return;
+		}
+		boolean[] inTree = new boolean[n];
+		int[] bestWeight = new int[n];
+		int[] bestNeighbor = new int[n];
+		Arrays.fill(bestWeight, -1);
+		inTree[0] = true;
+		for (int i = 1; i < n; i++) {
+			bestWeight[i] = cliques.get(0).countShared(cliques.get(i));
+			bestNeighbor[i] = 0;
+		}
+		for (int added = 1; added < n; added++) {
+			int next = -1;
+			for (int i = 1; i < n; i++) {
+				if (!inTree[i] && (-1 == next || bestWeight[i] > bestWeight[next])) {
+					next = i;
+				}
+			}
+			inTree[next] = true;
+			Clique c = cliques.get(next);
+			new Separator(cliques.get(bestNeighbor[next]), c);
+			for (int i = 1; i < n; i++) {
+				if (!inTree[i]) {
+					int w = c.countShared(cliques.get(i));
+					if (w > bestWeight[i]) {
+						bestWeight[i] = w;
+						bestNeighbor[i] = next;
+					}
+				}
+			}
+		}
+	}
+
+	private void assignCPTs(List<RandomVariable> vars) {
+		for (RandomVariable var : vars) {
+			Node n = bn.getNode(var);
+			if (!(n instanceof FiniteNode)) {
+				throw new IllegalArgumentException(
+						"Junction trees only work with finite Nodes.");
+			}
+			FiniteNode fn = (FiniteNode) n;
+			ProbabilityTable cpt = (ProbabilityTable) fn.getCPT()
+					.getFactorFor();
+			RandomVariable[] family = cpt.getFor().toArray(
+					new RandomVariable[cpt.getFor().size()]);
+			Clique assignTo = null;
+			for (Clique c : cliques) {
+				if (c.contains(family)
+						&& (null == assignTo || c.initialPotential.size() < assignTo.initialPotential
+								.size())) {
+					assignTo = c;
+				}
+			}
+			assignTo.initialPotential = assignTo.initialPotential
+					.pointwiseProductPOS(cpt, assignTo.vars);
+		}
+	}
+
+	private Clique enterEvidence(RandomVariable var, Object value) {
+		ProbabilityTable indicator = new ProbabilityTable(var);
+		indicator.getValues()[((FiniteDomain) var.getDomain())
+				.getOffset(value)] = 1.0;
+		Clique c = homeClique.get(var);
+		c.potential = c.potential.pointwiseProductPOS(indicator, c.vars);
+		return c;
+	}
+
+	private void propagate() {
+		if (cliques.size() > 0) {
+			collect(cliques.get(0), null);
+			distribute(cliques.get(0), null);
+		}
+	}
+
+	private void collect(Clique c, Separator from) {
+		for (Separator s : c.separators) {
+			if (s != from) {
+				Clique other = s.other(c);
+				collect(other, s);
+				passMessage(other, s, c);
+			}
+		}
+	}
+
+	private void distribute(Clique c, Separator from) {
+		for (Separator s : c.separators) {
+			if (s != from) {
+				Clique other = s.other(c);
+				passMessage(c, s, other);
+				distribute(other, s);
+			}
+		}
+	}
+
+	private void passMessage(Clique from, Separator s, Clique to) {
+		ProbabilityTable newPotential = from.potential.sumOut(from
+				.varsNotIn(s.vars));
+		ProbabilityTable update = newPotential.divideBy(s.potential);
+		to.potential = to.potential.pointwiseProductPOS(update, to.vars);
+		s.potential = newPotential;
+	}
+
+	private class Clique {
+		private RandomVariable[] vars = null;
+		private Set<RandomVariable> varSet = null;
+		private List<Separator> separators = new ArrayList<Separator>();
+		// The product of the CPTs assigned to the clique
+		private ProbabilityTable initialPotential = null;
+		// The current potential, after calibration the joint
+		// distribution of vars and the evidence.
+		private ProbabilityTable potential = null;
+
+		public Clique(RandomVariable[] vars) {
+			this.vars = vars;
+			varSet = new LinkedHashSet<RandomVariable>(Arrays.asList(vars));
+			initialPotential = new ProbabilityTable(vars);
+			Arrays.fill(initialPotential.getValues(), 1.0);
+		}
+
+		public boolean contains(RandomVariable[] rvs) {
+			return varSet.containsAll(Arrays.asList(rvs));
+		}
+
+		public int countShared(Clique other) {
+			int result = 0;
+			for (RandomVariable var : vars) {
+				if (other.varSet.contains(var)) {
+					result++;
+				}
+			}
+			return result;
+		}
+
+		public RandomVariable[] varsNotIn(RandomVariable[] rvs) {
+			Set<RandomVariable> result = new LinkedHashSet<RandomVariable>(
+					varSet);
+			result.removeAll(Arrays.asList(rvs));
+			return result.toArray(new RandomVariable[result.size()]);
+		}
+	}
+
+	private class Separator {
+		private Clique c1 = null;
+		private Clique c2 = null;
+		private RandomVariable[] vars = null;
+		private ProbabilityTable potential = null;
+
+		public Separator(Clique c1, Clique c2) {
+			this.c1 = c1;
+			this.c2 = c2;
+			List<RandomVariable> shared = new ArrayList<RandomVariable>();
+			for (RandomVariable var : c1.vars) {
+				if (c2.varSet.contains(var)) {
+					shared.add(var);
+				}
+			}
+			vars = shared.toArray(new RandomVariable[shared.size()]);
+			c1.separators.add(this);
+			c2.separators.add(this);
+		}
+
+		public Clique other(Clique c) {
+			return c == c1 ? c2 : c1;
+		}
+	}
+}
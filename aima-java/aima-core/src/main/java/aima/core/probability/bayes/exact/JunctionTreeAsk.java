@@ -0,0 +1,74 @@
+package aima.core.probability.bayes.exact;
+
+import aima.core.probability.CategoricalDistribution;
+import aima.core.probability.RandomVariable;
+import aima.core.probability.bayes.BayesInference;
+import aima.core.probability.bayes.BayesianNetwork;
+import aima.core.probability.proposition.AssignmentProposition;
+
+/**
+ * Exact inference with a junction tree (AIMA3e pg. 529). The junction tree of
+ * the last Bayesian Network queried is kept, so that a series of queries
+ * against the same network only compiles it once, and queries sharing the
+ * same evidence are answered without any further propagation. Queries whose
+ * variables are not all part of one clique are answered by
+ * {@link EliminationAsk}.<br>
+ * <br>
+ * <b>Note:</b> Like the junction tree, this class is not thread safe.
+ *
+ * @author agent
+ *
+ */
+public class JunctionTreeAsk implements BayesInference {
+	private EliminationHeuristic heuristic = null;
+	private JunctionTree junctionTree = null;
+	private EliminationAsk eliminationAsk = null;
+
+	public JunctionTreeAsk() {
+		this(GreedyEliminationHeuristic.MIN_FILL);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param heuristic
+	 *            the heuristic for the elimination order used to compile the
+	 *            junction tree.
+	 */
+	public JunctionTreeAsk(EliminationHeuristic heuristic) {
+		this.heuristic = heuristic;
+		this.eliminationAsk = new EliminationAsk(heuristic);
+	}
+
+	/**
+	 * Get the junction tree for a Bayesian Network, compiling it if it is not
+	 * the network queried last.
+	 *
+	 * @param bn
+	 *            a Bayesian Network of finite nodes.
+	 * @return the junction tree compiled from bn.
+	 */
+	public JunctionTree getJunctionTree(BayesianNetwork bn) {
+		if (null == junctionTree || junctionTree.getNetwork() != bn) {
+			junctionTree = new JunctionTree(bn, heuristic);
+		}
+		return junctionTree;
+	}
+
+	//
+	// START-BayesInference
+	public CategoricalDistribution ask(final RandomVariable[] X,
+			final AssignmentProposition[] observedEvidence,
+			final BayesianNetwork bn) {
+		JunctionTree jt = getJunctionTree(bn);
+		jt.setEvidence(observedEvidence);
+		CategoricalDistribution result = jt.getDistribution(X);
+		if (null == result) {
+			result = eliminationAsk.ask(X, observedEvidence, bn);
+		}
+		return result;
+	}
+
+	// END-BayesInference
+	//
+}
@@ -0,0 +1,268 @@
+package aima.core.probability.bayes.exact;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import aima.core.probability.RandomVariable;
+import aima.core.probability.bayes.BayesianNetwork;
+import aima.core.probability.bayes.Node;
+import aima.core.probability.domain.FiniteDomain;
+
+/**
+ * The moral graph of a Bayesian Network: an undirected graph with an edge
+ * between each variable and its parents and between all parents of a variable.
+ * Two variables are adjacent if and only if they appear together in one of the
+ * factors made from the conditional probability tables. Eliminating a variable
+ * from the graph connects all its neighbors, i.e. adds the edges that the
+ * factor created by summing out the variable introduces.<br>
+ * <br>
+ * The graph is used to choose an elimination order for variable elimination
+ * (see AIMA3e pg. 528) with a greedy heuristic, e.g. min-fill.
+ *
+ * @author agent
+ *
+ */
+public class MoralGraph {
+	private Map<RandomVariable, Set<RandomVariable>> neighbors = new LinkedHashMap<RandomVariable, Set<RandomVariable>>();
+
+	/**
+	 * Construct the moral graph of all the variables of a Bayesian Network.
+	 *
+	 * @param bn
+	 *            a Bayesian Network with finite random variables.
+	 */
+	public MoralGraph(BayesianNetwork bn) {
+		this(bn, bn.getVariablesInTopologicalOrder(),
+				new ArrayList<RandomVariable>());
+	}
+
+	/**
+	 * Construct the moral graph of a subset of the variables of a Bayesian
+	 * Network.
+	 *
+	 * @param bn
+	 *            a Bayesian Network with finite random variables.
+	 * @param vars
+	 *            the variables whose factors are to be represented.
+	 * @param excluded
+	 *            variables which are left out of the graph, e.g. evidence
+	 *            variables as they do not appear in the factors restricted to
+	 *            the evidence.
+	 */
+	public MoralGraph(BayesianNetwork bn, Collection<RandomVariable> vars,
+			Collection<RandomVariable> excluded) {
+		for (RandomVariable var : vars) {
+			if (!excluded.contains(var)) {
+				neighbors.put(var, new LinkedHashSet<RandomVariable>());
+			}
+		}
+		for (RandomVariable var : vars) {
+			List<RandomVariable> family = new ArrayList<RandomVariable>();
+			if (neighbors.containsKey(var)) {
+				family.add(var);
+			}
+			for (Node parent : bn.getNode(var).getParents()) {
+				if (neighbors.containsKey(parent.getRandomVariable())) {
+					family.add(parent.getRandomVariable());
+				}
+			}
+			connect(family);
+		}
+	}
+
+	private MoralGraph(MoralGraph toCopy) {
+		for (Map.Entry<RandomVariable, Set<RandomVariable>> e : toCopy.neighbors
+				.entrySet()) {
+			neighbors.put(e.getKey(), new LinkedHashSet<RandomVariable>(e
+					.getValue()));
+		}
+	}
+
+	/**
+	 *
+	 * @return the variables in the graph.
+	 */
+	public Set<RandomVariable> getVariables() {
+		return neighbors.keySet();
+	}
+
+	/**
+	 *
+	 * @param var
+	 *            a variable in the graph.
+	 * @return the variables adjacent to var.
+	 */
+	public Set<RandomVariable> getNeighbors(RandomVariable var) {
+		Set<RandomVariable> result = neighbors.get(var);
+		if (null == result) {
+			throw new IllegalArgumentException("Variable " + var
+					+ " is not part of the moral graph.");
+		}
+		return result;
+	}
+
+	/**
+	 *
+	 * @param var1
+	 *            a variable in the graph.
+	 * @param var2
+	 *            another variable in the graph.
+	 * @return true if there is an edge between var1 and var2.
+	 */
+	public boolean isAdjacent(RandomVariable var1, RandomVariable var2) {
+		return getNeighbors(var1).contains(var2);
+	}
+
+	/**
+	 *
+	 * @param var
+	 *            a variable in the graph.
+	 * @return the number of edges which eliminating var would add to the
+	 *         graph.
+	 */
+	public int countFillIns(RandomVariable var) {
+		int result = 0;
+		List<RandomVariable> nbrs = new ArrayList<RandomVariable>(
+				getNeighbors(var));
+		for (int i = 0; i < nbrs.size(); i++) {
+			Set<RandomVariable> nbrsOfI = neighbors.get(nbrs.get(i));
+			for (int j = i + 1; j < nbrs.size(); j++) {
+				if (!nbrsOfI.contains(nbrs.get(j))) {
+					result++;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 *
+	 * @param var
+	 *            a variable in the graph.
+	 * @return the sum of the weights of the edges which eliminating var would
+	 *         add to the graph, the weight of an edge being the product of the
+	 *         domain sizes of the variables it connects.
+	 */
+	public double weightOfFillIns(RandomVariable var) {
+		double result = 0;
+		List<RandomVariable> nbrs = new ArrayList<RandomVariable>(
+				getNeighbors(var));
+		for (int i = 0; i < nbrs.size(); i++) {
+			Set<RandomVariable> nbrsOfI = neighbors.get(nbrs.get(i));
+			for (int j = i + 1; j < nbrs.size(); j++) {
+				if (!nbrsOfI.contains(nbrs.get(j))) {
+					result += (double) domainSize(nbrs.get(i))
+							* domainSize(nbrs.get(j));
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 *
+	 * @param var
+	 *            a variable in the graph.
+	 * @return the size of the factor created when summing out var, i.e. the
+	 *         product of the domain sizes of var and its neighbors.
+	 */
+	public double sizeOfFactor(RandomVariable var) {
+		double result = domainSize(var);
+		for (RandomVariable nbr : getNeighbors(var)) {
+			result *= domainSize(nbr);
+		}
+		return result;
+	}
+
+	/**
+	 * Eliminate a variable from the graph: connect all its neighbors and remove
+	 * it.
+	 *
+	 * @param var
+	 *            a variable in the graph.
+	 * @return the variable and its neighbors before elimination, i.e. the
+	 *         variables of the factor created when summing out var.
+	 */
+	public Set<RandomVariable> eliminate(RandomVariable var) {
+		Set<RandomVariable> nbrs = getNeighbors(var);
+		connect(nbrs);
+		for (RandomVariable nbr : nbrs) {
+			neighbors.get(nbr).remove(var);
+		}
+		neighbors.remove(var);
+
+		Set<RandomVariable> cluster = new LinkedHashSet<RandomVariable>();
+		cluster.add(var);
+		cluster.addAll(nbrs);
+		return cluster;
+	}
+
+	/**
+	 * Greedily determine an order in which to eliminate variables: repeatedly
+	 * choose the variable with the lowest cost according to the heuristic (the
+	 * first one in the given order on ties) and eliminate it. This graph is not
+	 * changed.
+	 *
+	 * @param toEliminate
+	 *            the variables in the graph to be eliminated.
+	 * @param heuristic
+	 *            the cost of eliminating a variable.
+	 * @return the variables in toEliminate in the order of elimination.
+	 */
+	public List<RandomVariable> eliminationOrder(
+			Collection<RandomVariable> toEliminate,
+			EliminationHeuristic heuristic) {
+		MoralGraph graph = new MoralGraph(this);
+		List<RandomVariable> remaining = new ArrayList<RandomVariable>(
+				toEliminate);
+		List<RandomVariable> order = new ArrayList<RandomVariable>();
+		while (!remaining.isEmpty()) {
+			int best = 0;
+			double bestCost = heuristic.cost(graph, remaining.get(0));
+			for (int i = 1; i < remaining.size(); i++) {
+				double cost = heuristic.cost(graph, remaining.get(i));
+				if (cost < bestCost) {
+					best = i;
+					bestCost = cost;
+				}
+			}
+			RandomVariable var = remaining.remove(best);
+			graph.eliminate(var);
+			order.add(var);
+		}
+		return order;
+	}
+
+	/**
+	 *
+	 * @param var
+	 *            a finite random variable.
+	 * @return the number of values var can take.
+	 */
+	public static int domainSize(RandomVariable var) {
+		if (!(var.getDomain() instanceof FiniteDomain)) {
+			throw new IllegalArgumentException("Variable " + var
+					+ " does not have a finite domain.");
+		}
+		return ((FiniteDomain) var.getDomain()).size();
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private void connect(Collection<RandomVariable> vars) {
+		for (RandomVariable v1 : vars) {
+			Set<RandomVariable> nbrs = neighbors.get(v1);
+			for (RandomVariable v2 : vars) {
+				if (v1 != v2) {
+					nbrs.add(v2);
+				}
+			}
+		}
+	}
+}
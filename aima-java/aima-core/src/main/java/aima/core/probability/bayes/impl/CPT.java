@@ -130,50 +130,11 @@ public class CPT implements ConditionalProbabilityTable {
 							+ "] is not equal to the number of parents ["
 							+ parents.size() + "] for this CPT.");
 		}
-		final ProbabilityTable cc = new ProbabilityTable(getOn());
-		ProbabilityTable.Iterator pti = new ProbabilityTable.Iterator() {
-			private int idx = 0;
-
-			@Override
-			public void iterate(Map<RandomVariable, Object> possibleAssignment,
-					double probability) {
-				cc.getValues()[idx] = probability;
-				idx++;
-			}
-		};
-		table.iterateOverTable(pti, parentValues);
-
-		return cc;
+		return table.restrict(parentValues);
 	}
 
 	public Factor getFactorFor(final AssignmentProposition... evidence) {
-		Set<RandomVariable> fofVars = new LinkedHashSet<RandomVariable>(
-				table.getFor());
-		for (AssignmentProposition ap : evidence) {
-			fofVars.remove(ap.getTermVariable());
-		}
-		final ProbabilityTable fof = new ProbabilityTable(fofVars);
-		// Otherwise need to iterate through the table for the
-		// non evidence variables.
-		final Object[] termValues = new Object[fofVars.size()];
-		ProbabilityTable.Iterator di = new ProbabilityTable.Iterator() {
-			public void iterate(Map<RandomVariable, Object> possibleWorld,
-					double probability) {
-				if (0 == termValues.length) {
-					fof.getValues()[0] += probability;
-				} else {
-					int i = 0;
-					for (RandomVariable rv : fof.getFor()) {
-						termValues[i] = possibleWorld.get(rv);
-						i++;
-					}
-					fof.getValues()[fof.getIndex(termValues)] += probability;
-				}
-			}
-		};
-		table.iterateOverTable(di, evidence);
-
-		return fof;
+		return table.restrict(evidence);
 	}
 
 	// END-ConditionalProbabilityTable
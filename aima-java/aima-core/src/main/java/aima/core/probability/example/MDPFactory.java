@@ -12,6 +12,7 @@ import aima.core.environment.cellworld.CellWorldAction;
 import aima.core.probability.mdp.ActionsFunction;
 import aima.core.probability.mdp.MarkovDecisionProcess;
 import aima.core.probability.mdp.RewardFunction;
+import aima.core.probability.mdp.SuccessorStatesFunction;
 import aima.core.probability.mdp.TransitionProbabilityFunction;
 import aima.core.probability.mdp.impl.MDP;
 
@@ -123,6 +124,31 @@ public class MDPFactory {
 		return tf;
 	}
 
+	/**
+	 * The states which can be reached with an action in the cell world
+	 * described in Fig 17.1: the intended outcome and the two at right angles
+	 * to it (some of which may be the cell itself).
+	 * 
+	 * @param cw
+	 *            the cell world from figure 17.1.
+	 * @return the successor states function for the cell world of figure 17.1.
+	 */
+	public static SuccessorStatesFunction<Cell<Double>, CellWorldAction> createSuccessorStatesFunctionForFigure17_1(
+			final CellWorld<Double> cw) {
+		SuccessorStatesFunction<Cell<Double>, CellWorldAction> sf = new SuccessorStatesFunction<Cell<Double>, CellWorldAction>() {
+			@Override
+			public Set<Cell<Double>> successors(Cell<Double> s,
+					CellWorldAction a) {
+				Set<Cell<Double>> successors = new HashSet<Cell<Double>>();
+				successors.add(cw.result(s, a));
+				successors.add(cw.result(s, a.getFirstRightAngledAction()));
+				successors.add(cw.result(s, a.getSecondRightAngledAction()));
+				return successors;
+			}
+		};
+		return sf;
+	}
+
 	/**
 	 * 
 	 * @return the reward function which takes the content of the cell as being
@@ -0,0 +1,99 @@
+package aima.core.probability.hmm.exact;
+
+import java.util.List;
+
+import aima.core.probability.CategoricalDistribution;
+import aima.core.probability.hmm.HiddenMarkovModel;
+import aima.core.probability.hmm.impl.CompiledHMM;
+import aima.core.probability.proposition.AssignmentProposition;
+
+/**
+ * Online filtering for long streams of observations: the forward message
+ * <b>f</b><sub>1:t</sub> = <b>P</b>(X<sub>t</sub> | e<sub>1:t</sub>) is
+ * updated in place with the forward equation (15.12), using two preallocated
+ * buffers. As the message is normalized after each step, the log of the
+ * normalizing constants sums up to the log likelihood of the evidence, log
+ * P(e<sub>1:t</sub>), which does not underflow however long the stream.
+ *
+ * @author agent
+ *
+ */
+public class StreamingFiltering {
+	private CompiledHMM hmm = null;
+	private int t = 0;
+	private double logLikelihood = 0;
+	private double[] f = null;
+	private double[] next = null;
+
+	public StreamingFiltering(HiddenMarkovModel hmm) {
+		this(new CompiledHMM(hmm));
+	}
+
+	public StreamingFiltering(CompiledHMM hmm) {
+		this.hmm = hmm;
+		f = new double[hmm.getNumberOfStates()];
+		next = new double[hmm.getNumberOfStates()];
+		reset();
+	}
+
+	/**
+	 * Restart filtering at time 0 with the prior of the model.
+	 */
+	public void reset() {
+		t = 0;
+		logLikelihood = 0;
+		hmm.copyPrior(f);
+	}
+
+	/**
+	 * Process the evidence of the next time step.
+	 *
+	 * @param e
+	 *            the index of the evidence value e<sub>t+1</sub>.
+	 * @return the forward message <b>f</b><sub>1:t+1</sub>, which is
+	 *         overwritten by the next call.
+	 */
+	public double[] filter(int e) {
+		logLikelihood += Math.log(hmm.forward(f, e, next));
+		double[] tmp = f;
+		f = next;
+		next = tmp;
+		t++;
+		return f;
+	}
+
+	/**
+	 * Process the evidence of the next time step.
+	 *
+	 * @param e
+	 *            the evidence e<sub>t+1</sub>.
+	 * @return <b>P</b>(X<sub>t+1</sub> | e<sub>1:t+1</sub>).
+	 */
+	public CategoricalDistribution filter(List<AssignmentProposition> e) {
+		return hmm.convert(filter(hmm.getEvidenceIndex(e)));
+	}
+
+	/**
+	 *
+	 * @return t, the number of time steps processed.
+	 */
+	public int getTime() {
+		return t;
+	}
+
+	/**
+	 *
+	 * @return log P(e<sub>1:t</sub>).
+	 */
+	public double getLogLikelihood() {
+		return logLikelihood;
+	}
+
+	/**
+	 *
+	 * @return <b>P</b>(X<sub>t</sub> | e<sub>1:t</sub>).
+	 */
+	public CategoricalDistribution getDistribution() {
+		return hmm.convert(f);
+	}
+}
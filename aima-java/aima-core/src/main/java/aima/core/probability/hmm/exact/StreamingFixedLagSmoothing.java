@@ -0,0 +1,128 @@
+package aima.core.probability.hmm.exact;
+
+import java.util.List;
+
+import aima.core.probability.CategoricalDistribution;
+import aima.core.probability.hmm.HiddenMarkovModel;
+import aima.core.probability.hmm.impl.CompiledHMM;
+import aima.core.probability.proposition.AssignmentProposition;
+
+/**
+ * Smoothing with a fixed time lag of d steps for long streams of
+ * observations. Instead of maintaining the d-step backward transformation
+ * matrix <b>B</b> as in FIXED-LAG-SMOOTHING (Figure 15.6), which requires the
+ * inverses of <b>T</b> and <b>O</b><sub>t-d</sub>, the last d+1 forward
+ * messages and evidence values are kept in ring buffers and the backward
+ * message <b>b</b><sub>t-d+1:t</sub> is recomputed from them with d backward
+ * steps, O(dS<sup>2</sup>) per time step with a diagonal sensor model. All
+ * messages are normalized, so this works for any transition and sensor model
+ * and does not underflow on long streams.
+ *
+ * @see FixedLagSmoothing
+ *
+ * @author agent
+ *
+ */
+public class StreamingFixedLagSmoothing {
+	private CompiledHMM hmm = null;
+	private int d = 0;
+	private int t = 0;
+	// <b>f</b><sub>1:k</sub> is stored in fv[k % (d+2)], one more than needed
+	// so that the forward step does not overwrite its input
+	private double[][] fv = null;
+	// e<sub>k</sub> is stored in ev[k % (d+1)]
+	private int[] ev = null;
+	private double[] b = null;
+	private double[] bNext = null;
+	private double[] smoothed = null;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param hmm
+	 *            a hidden Markov model.
+	 * @param d
+	 *            d, the length of the lag for smoothing.
+	 */
+	public StreamingFixedLagSmoothing(HiddenMarkovModel hmm, int d) {
+		this(new CompiledHMM(hmm), d);
+	}
+
+	public StreamingFixedLagSmoothing(CompiledHMM hmm, int d) {
+		if (d < 0) {
+			throw new IllegalArgumentException("Lag must not be negative.");
+		}
+		this.hmm = hmm;
+		this.d = d;
+		int S = hmm.getNumberOfStates();
+		fv = new double[d + 2][S];
+		ev = new int[d + 1];
+		b = new double[S];
+		bNext = new double[S];
+		smoothed = new double[S];
+		reset();
+	}
+
+	/**
+	 * Restart smoothing at time 0 with the prior of the model.
+	 */
+	public void reset() {
+		t = 0;
+		hmm.copyPrior(fv[0]);
+	}
+
+	/**
+	 * Process the evidence of the next time step.
+	 *
+	 * @param e
+	 *            the index of the evidence value e<sub>t</sub>.
+	 * @return <b>P</b>(X<sub>t-d</sub> | e<sub>1:t</sub>), which is
+	 *         overwritten by the next call, or null if t <= d.
+	 */
+	public double[] fixedLagSmoothing(int e) {
+		t++;
+		hmm.forward(fv[(t - 1) % fv.length], e, fv[t % fv.length]);
+		ev[t % ev.length] = e;
+		if (t <= d) {
+			return null;
+		}
+		// <b>b</b><sub>t-d+1:t</sub>, starting from all 1s
+		for (int i = 0; i < b.length; i++) {
+			b[i] = 1;
+		}
+		for (int k = t; k > t - d; k--) {
+			hmm.backward(b, ev[k % ev.length], bNext);
+			double[] tmp = b;
+			b = bNext;
+			bNext = tmp;
+		}
+		// NORMALIZE(<b>f</b><sub>1:t-d</sub> * <b>b</b><sub>t-d+1:t</sub>)
+		double[] f = fv[(t - d) % fv.length];
+		for (int i = 0; i < smoothed.length; i++) {
+			smoothed[i] = f[i] * b[i];
+		}
+		hmm.normalize(smoothed);
+		return smoothed;
+	}
+
+	/**
+	 * Process the evidence of the next time step.
+	 *
+	 * @param et
+	 *            the current evidence from time step t
+	 * @return a distribution over <b>X</b><sub>t-d</sub>, or null if t <= d.
+	 */
+	public CategoricalDistribution fixedLagSmoothing(
+			List<AssignmentProposition> et) {
+		double[] s = fixedLagSmoothing(hmm.getEvidenceIndex(et));
+		return null == s ? null : hmm.convert(s);
+	}
+
+	/**
+	 *
+	 * @return t, the number of time steps processed.
+	 */
+	public int getTime() {
+		return t;
+	}
+}
@@ -0,0 +1,193 @@
+package aima.core.probability.hmm.exact;
+
+import java.util.List;
+
+import aima.core.probability.hmm.HiddenMarkovModel;
+import aima.core.probability.hmm.impl.CompiledHMM;
+import aima.core.probability.proposition.AssignmentProposition;
+
+/**
+ * Artificial Intelligence A Modern Approach (3rd Edition): page 577.<br>
+ * <br>
+ * The Viterbi algorithm, finding the most likely sequence of states given a
+ * sequence of observations with the recursion (15.11):
+ *
+ * <pre>
+ * <b>m</b><sub>1:t+1</sub> = <b>P</b>(e<sub>t+1</sub> | X<sub>t+1</sub>) max<sub>x<sub>t</sub></sub>(<b>P</b>(X<sub>t+1</sub> | x<sub>t</sub>) <b>m</b><sub>1:t</sub>)
+ * </pre>
+ *
+ * The messages are kept in log space, so they do not underflow on long
+ * sequences, and the transition and sensor probabilities are converted to
+ * logs once. Observations are processed one at a time; per step the
+ * algorithm only appends S back pointers, from which the most likely path is
+ * recovered at any time. Requires a diagonal sensor model.
+ *
+ * @author agent
+ *
+ */
+public class Viterbi {
+	private CompiledHMM hmm = null;
+	private int S = 0;
+	// log P(X<sub>t</sub> = j | X<sub>t-1</sub> = i), row major
+	private double[] logT = null;
+	// log P(e | X<sub>t</sub> = i), per evidence value
+	private double[][] logO = null;
+	private int t = 0;
+	private double[] m = null;
+	private double[] next = null;
+	// the back pointers from X<sub>k+1</sub> to X<sub>k</sub> are stored at
+	// [(k-1)*S, k*S)
+	private int[] backPointers = null;
+
+	public Viterbi(HiddenMarkovModel hmm) {
+		this(new CompiledHMM(hmm));
+	}
+
+	public Viterbi(CompiledHMM hmm) {
+		this.hmm = hmm;
+		S = hmm.getNumberOfStates();
+		logT = new double[S * S];
+		for (int i = 0; i < S; i++) {
+			for (int j = 0; j < S; j++) {
+				logT[i * S + j] = Math.log(hmm.getTransitionProbability(i, j));
+			}
+		}
+		logO = new double[hmm.getNumberOfEvidenceValues()][S];
+		for (int e = 0; e < logO.length; e++) {
+			for (int i = 0; i < S; i++) {
+				logO[e][i] = Math.log(hmm.getSensorProbability(e, i));
+			}
+		}
+		m = new double[S];
+		next = new double[S];
+		backPointers = new int[16 * S];
+		reset();
+	}
+
+	/**
+	 * Restart decoding at time 0.
+	 */
+	public void reset() {
+		t = 0;
+		// X<sub>0</sub> is not part of the path, so the first step sums it
+		// out instead of maximizing over it
+		hmm.copyPrior(next);
+		for (int j = 0; j < S; j++) {
+			double p = 0;
+			for (int i = 0; i < S; i++) {
+				p += next[i] * hmm.getTransitionProbability(i, j);
+			}
+			m[j] = Math.log(p);
+		}
+	}
+
+	/**
+	 * Process the evidence of the next time step.
+	 *
+	 * @param e
+	 *            the index of the evidence value e<sub>t+1</sub>.
+	 */
+	public void step(int e) {
+		double[] lo = logO[e];
+		if (0 == t) {
+			for (int j = 0; j < S; j++) {
+				m[j] += lo[j];
+			}
+		} else {
+			if (backPointers.length < t * S) {
+				int[] grown = new int[2 * backPointers.length];
+				System.arraycopy(backPointers, 0, grown, 0, (t - 1) * S);
+				backPointers = grown;
+			}
+			int offset = (t - 1) * S;
+			for (int j = 0; j < S; j++) {
+				double best = Double.NEGATIVE_INFINITY;
+				int argBest = 0;
+				for (int i = 0; i < S; i++) {
+					double v = m[i] + logT[i * S + j];
+					if (v > best) {
+						best = v;
+						argBest = i;
+					}
+				}
+				next[j] = best + lo[j];
+				backPointers[offset + j] = argBest;
+			}
+			double[] tmp = m;
+			m = next;
+			next = tmp;
+		}
+		t++;
+	}
+
+	/**
+	 * Process the evidence of the next time step.
+	 *
+	 * @param e
+	 *            the evidence e<sub>t+1</sub>.
+	 */
+	public void step(List<AssignmentProposition> e) {
+		step(hmm.getEvidenceIndex(e));
+	}
+
+	/**
+	 *
+	 * @return t, the number of time steps processed.
+	 */
+	public int getTime() {
+		return t;
+	}
+
+	/**
+	 *
+	 * @return the log of the joint probability of the most likely path and
+	 *         the evidence, max<sub>x<sub>1:t</sub></sub> log
+	 *         P(x<sub>1:t</sub>, e<sub>1:t</sub>).
+	 */
+	public double getLogProbability() {
+		return m[argMax(m)];
+	}
+
+	/**
+	 *
+	 * @return the state indices of the most likely path x<sub>1:t</sub>.
+	 */
+	public int[] getMostLikelyPath() {
+		int[] path = new int[t];
+		if (t > 0) {
+			path[t - 1] = argMax(m);
+			for (int k = t - 1; k > 0; k--) {
+				path[k - 1] = backPointers[(k - 1) * S + path[k]];
+			}
+		}
+		return path;
+	}
+
+	/**
+	 * Find the most likely path for a sequence of observations.
+	 *
+	 * @param ev
+	 *            the indices of the evidence values e<sub>1:t</sub>.
+	 * @return the state indices of the most likely path x<sub>1:t</sub>.
+	 */
+	public int[] decode(int[] ev) {
+		reset();
+		for (int e : ev) {
+			step(e);
+		}
+		return getMostLikelyPath();
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private int argMax(double[] v) {
+		int best = 0;
+		for (int i = 1; i < S; i++) {
+			if (v[i] > v[best]) {
+				best = i;
+			}
+		}
+		return best;
+	}
+}
@@ -0,0 +1,351 @@
+package aima.core.probability.hmm.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import aima.core.probability.CategoricalDistribution;
+import aima.core.probability.RandomVariable;
+import aima.core.probability.domain.FiniteDomain;
+import aima.core.probability.hmm.HiddenMarkovModel;
+import aima.core.probability.proposition.AssignmentProposition;
+import aima.core.probability.util.ProbabilityTable;
+import aima.core.util.math.Matrix;
+
+/**
+ * A HiddenMarkovModel compiled into arrays, for algorithms which process long
+ * streams of observations. The transition model is stored row major, evidence
+ * values are referred to by their index and the sensor model is stored as the
+ * diagonal of each sensor matrix, so that multiplying a message by
+ * <b>O</b><sub>t</sub> takes S instead of S<sup>2</sup> operations (sensor
+ * matrices which are not diagonal are premultiplied with the transition model
+ * instead). The message operations write into preallocated double[] buffers
+ * and rescale their results, so that no objects are allocated per step and
+ * the messages do not underflow.<br>
+ * <br>
+ * Instances are not modified after construction and can be shared between
+ * threads.
+ *
+ * @author agent
+ *
+ */
+public class CompiledHMM {
+	private RandomVariable stateVariable = null;
+	private FiniteDomain stateVariableDomain = null;
+	private int S = 0;
+	// T[i*S+j] = P(X<sub>t</sub> = j | X<sub>t-1</sub> = i)
+	private double[] T = null;
+	private double[] prior = null;
+	private List<Object> evidenceValues = new ArrayList<Object>();
+	private Map<Object, Integer> evidenceIndexes = new HashMap<Object, Integer>();
+	// The diagonal of <b>O</b><sub>e</sub>, null if it is not diagonal
+	private double[][] sensorDiagonal = null;
+	// <b>O</b><sub>e</sub><b>T</b><sup>T</sup> and <b>T</b><b>O</b><sub>e</sub>,
+	// row major, only for sensor matrices which are not diagonal
+	private double[][] forwardMatrix = null;
+	private double[][] backwardMatrix = null;
+
+	public CompiledHMM(HiddenMarkovModel hmm) {
+		stateVariable = hmm.getStateVariable();
+		stateVariableDomain = (FiniteDomain) stateVariable.getDomain();
+		Matrix tm = hmm.getTransitionModel();
+		S = tm.getRowDimension();
+		T = new double[S * S];
+		for (int i = 0; i < S; i++) {
+			for (int j = 0; j < S; j++) {
+				T[i * S + j] = tm.get(i, j);
+			}
+		}
+		prior = hmm.getPrior().getRowPackedCopy();
+
+		int n = hmm.getSensorModel().size();
+		sensorDiagonal = new double[n][];
+		forwardMatrix = new double[n][];
+		backwardMatrix = new double[n][];
+		for (Map.Entry<Object, Matrix> sm : hmm.getSensorModel().entrySet()) {
+			int e = evidenceValues.size();
+			evidenceValues.add(sm.getKey());
+			evidenceIndexes.put(sm.getKey(), e);
+			Matrix O = sm.getValue();
+			if (isDiagonal(O)) {
+				sensorDiagonal[e] = new double[S];
+				for (int i = 0; i < S; i++) {
+					sensorDiagonal[e][i] = O.get(i, i);
+				}
+			} else {
+				forwardMatrix[e] = O.times(tm.transpose()).getRowPackedCopy();
+				backwardMatrix[e] = tm.times(O).getRowPackedCopy();
+			}
+		}
+	}
+
+	public RandomVariable getStateVariable() {
+		return stateVariable;
+	}
+
+	/**
+	 *
+	 * @return S, the number of states.
+	 */
+	public int getNumberOfStates() {
+		return S;
+	}
+
+	/**
+	 *
+	 * @param i
+	 *            the index of a state.
+	 * @return the value of the state variable with index i.
+	 */
+	public Object getStateValue(int i) {
+		return stateVariableDomain.getValueAt(i);
+	}
+
+	/**
+	 *
+	 * @return the number of evidence values the sensor model is defined for.
+	 */
+	public int getNumberOfEvidenceValues() {
+		return evidenceValues.size();
+	}
+
+	/**
+	 *
+	 * @param e
+	 *            the index of an evidence value.
+	 * @return the evidence value with index e.
+	 */
+	public Object getEvidenceValue(int e) {
+		return evidenceValues.get(e);
+	}
+
+	/**
+	 *
+	 * @param value
+	 *            an evidence value.
+	 * @return the index of the evidence value.
+	 */
+	public int getEvidenceIndex(Object value) {
+		Integer e = evidenceIndexes.get(value);
+		if (null == e) {
+			throw new IllegalArgumentException(
+					"Evidence does not map to sensor model.");
+		}
+		return e;
+	}
+
+	/**
+	 *
+	 * @param evidence
+	 *            a single evidence observation.
+	 * @return the index of the observed evidence value.
+	 * @see HiddenMarkovModel#getEvidence(List)
+	 */
+	public int getEvidenceIndex(List<AssignmentProposition> evidence) {
+		if (evidence.size() != 1) {
+			throw new IllegalArgumentException(
+					"Only a single evidence observation value should be provided.");
+		}
+		return getEvidenceIndex(evidence.get(0).getValue());
+	}
+
+	/**
+	 *
+	 * @return P(X<sub>t</sub> = j | X<sub>t-1</sub> = i).
+	 */
+	public double getTransitionProbability(int i, int j) {
+		return T[i * S + j];
+	}
+
+	/**
+	 *
+	 * @return P(e | X<sub>t</sub> = i).
+	 * @throws IllegalArgumentException
+	 *             if the sensor matrix of e is not diagonal.
+	 */
+	public double getSensorProbability(int e, int i) {
+		checkDiagonal(e);
+		return sensorDiagonal[e][i];
+	}
+
+	/**
+	 *
+	 * @return P(X<sub>0</sub> = i).
+	 */
+	public double getPrior(int i) {
+		return prior[i];
+	}
+
+	/**
+	 * Copy the prior distribution into a message buffer.
+	 *
+	 * @param f
+	 *            a message of length S.
+	 */
+	public void copyPrior(double[] f) {
+		System.arraycopy(prior, 0, f, 0, S);
+	}
+
+	/**
+	 *
+	 * @return true if all sensor matrices are diagonal.
+	 */
+	public boolean isSensorModelDiagonal() {
+		for (double[] d : sensorDiagonal) {
+			if (null == d) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The forward equation (15.12):<br>
+	 *
+	 * <pre>
+	 * <b>f</b><sub>1:t+1</sub> = &alpha;<b>O</b><sub>t+1</sub><b>T</b><sup>T</sup><b>f</b><sub>1:t</sub>
+	 * </pre>
+	 *
+	 * @param f1_t
+	 *            <b>f</b><sub>1:t</sub>, a normalized message.
+	 * @param e_tp1
+	 *            the index of the evidence value e<sub>t+1</sub>.
+	 * @param f1_tp1
+	 *            the buffer <b>f</b><sub>1:t+1</sub> is written to, which must
+	 *            not be f1_t.
+	 * @return 1/&alpha;, which is P(e<sub>t+1</sub> | e<sub>1:t</sub>).
+	 */
+	public double forward(double[] f1_t, int e_tp1, double[] f1_tp1) {
+		double[] O = sensorDiagonal[e_tp1];
+		if (null != O) {
+			for (int j = 0; j < S; j++) {
+				f1_tp1[j] = 0;
+			}
+			for (int i = 0; i < S; i++) {
+				double fi = f1_t[i];
+				if (0 == fi) {
+					continue;
+				}
+				int row = i * S;
+				for (int j = 0; j < S; j++) {
+					f1_tp1[j] += T[row + j] * fi;
+				}
+			}
+			for (int j = 0; j < S; j++) {
+				f1_tp1[j] *= O[j];
+			}
+		} else {
+			times(forwardMatrix[e_tp1], f1_t, f1_tp1);
+		}
+		return normalize(f1_tp1);
+	}
+
+	/**
+	 * The backward equation (15.13), rescaled to sum to 1:<br>
+	 *
+	 * <pre>
+	 * <b>b</b><sub>k+1:t</sub> = &alpha;<b>T</b><b>O</b><sub>k+1</sub><b>b</b><sub>k+2:t</sub>
+	 * </pre>
+	 *
+	 * As smoothed estimates are normalized, the scale of the backward message
+	 * does not matter.
+	 *
+	 * @param b_kp2t
+	 *            <b>b</b><sub>k+2:t</sub>
+	 * @param e_kp1
+	 *            the index of the evidence value e<sub>k+1</sub>.
+	 * @param b_kp1t
+	 *            the buffer <b>b</b><sub>k+1:t</sub> is written to, which must
+	 *            not be b_kp2t.
+	 * @return 1/&alpha;.
+	 */
+	public double backward(double[] b_kp2t, int e_kp1, double[] b_kp1t) {
+		double[] O = sensorDiagonal[e_kp1];
+		if (null != O) {
+			for (int i = 0; i < S; i++) {
+				int row = i * S;
+				double sum = 0;
+				for (int j = 0; j < S; j++) {
+					sum += T[row + j] * O[j] * b_kp2t[j];
+				}
+				b_kp1t[i] = sum;
+			}
+		} else {
+			times(backwardMatrix[e_kp1], b_kp2t, b_kp1t);
+		}
+		return normalize(b_kp1t);
+	}
+
+	/**
+	 * Normalize a message in place.
+	 *
+	 * @return the sum of the message before normalization.
+	 * @throws IllegalArgumentException
+	 *             if the message is all zeros, i.e. the evidence is
+	 *             impossible.
+	 */
+	public double normalize(double[] m) {
+		double sum = 0;
+		for (int i = 0; i < S; i++) {
+			sum += m[i];
+		}
+		if (!(sum > 0)) {
+			throw new IllegalArgumentException(
+					"Evidence has zero probability under the model.");
+		}
+		for (int i = 0; i < S; i++) {
+			m[i] /= sum;
+		}
+		return sum;
+	}
+
+	/**
+	 *
+	 * @param m
+	 *            a normalized message.
+	 * @return a copy of the message as a distribution over the state
+	 *         variable.
+	 */
+	public CategoricalDistribution convert(double[] m) {
+		double[] values = new double[S];
+		System.arraycopy(m, 0, values, 0, S);
+		return new ProbabilityTable(values, stateVariable);
+	}
+
+	/**
+	 * Check that the sensor matrix of an evidence value is diagonal, as
+	 * required by algorithms which use the individual sensor probabilities.
+	 */
+	public void checkDiagonal(int e) {
+		if (null == sensorDiagonal[e]) {
+			throw new IllegalArgumentException("Sensor Model Matrix for "
+					+ evidenceValues.get(e) + " is not diagonal.");
+		}
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private static boolean isDiagonal(Matrix m) {
+		for (int i = 0; i < m.getRowDimension(); i++) {
+			for (int j = 0; j < m.getColumnDimension(); j++) {
+				if (i != j && 0 != m.get(i, j)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private void times(double[] M, double[] v, double[] result) {
+		for (int i = 0; i < S; i++) {
+			int row = i * S;
+			double sum = 0;
+			for (int j = 0; j < S; j++) {
+				sum += M[row + j] * v[j];
+			}
+			result[i] = sum;
+		}
+	}
+}
@@ -0,0 +1,272 @@
+package aima.core.probability.hmm.learning;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import aima.core.probability.hmm.HiddenMarkovModel;
+import aima.core.probability.hmm.impl.CompiledHMM;
+import aima.core.probability.hmm.impl.HMM;
+import aima.core.probability.proposition.AssignmentProposition;
+import aima.core.util.math.Matrix;
+
+/**
+ * Artificial Intelligence A Modern Approach (3rd Edition): Section 20.3.3.<br>
+ * <br>
+ * The Baum-Welch algorithm, the EM algorithm for learning the transition
+ * model, the sensor model and the prior of a hidden Markov model from a
+ * sequence of observations. Each iteration computes the expected number of
+ * transitions i &rarr; j, of observations of each evidence value in state i
+ * and of starts in state i, and re-estimates the model from these counts.<br>
+ * <br>
+ * Instead of smoothing, which needs the forward messages of all time steps,
+ * the expected counts are computed in a single forward pass (Elliott et al.,
+ * Hidden Markov Models: Estimation and Control, 1995): for every count the
+ * joint expectation with the current state X<sub>t</sub> is propagated along
+ * with the forward message, so memory does not depend on the length of the
+ * sequence and observations can be streamed. The price is
+ * O(S<sup>4</sup> + |E|S<sup>3</sup>) operations per time step, which
+ * suits models with a small number of states S. Requires a diagonal sensor
+ * model.
+ *
+ * @author agent
+ *
+ */
+public class BaumWelch {
+	private CompiledHMM hmm = null;
+	private int S = 0;
+	private int V = 0;
+	private int t = 0;
+	private double logLikelihood = 0;
+	// <b>f</b><sub>1:t</sub>
+	private double[] f = null;
+	private double[] fNext = null;
+	// P(X<sub>0</sub> = i, X<sub>t</sub> = k | e<sub>1:t</sub>) at [i*S+k]
+	private double[] priorCounts = null;
+	private double[] priorNext = null;
+	// expected number of transitions i -> j up to t, jointly with
+	// X<sub>t</sub> = k, at [(i*S+j)*S+k]
+	private double[] transitionCounts = null;
+	private double[] transitionNext = null;
+	// expected number of observations of evidence value v in state i up to t,
+	// jointly with X<sub>t</sub> = k, at [(v*S+i)*S+k]
+	private double[] sensorCounts = null;
+	private double[] sensorNext = null;
+
+	public BaumWelch(HiddenMarkovModel hmm) {
+		this(new CompiledHMM(hmm));
+	}
+
+	public BaumWelch(CompiledHMM hmm) {
+		for (int e = 0; e < hmm.getNumberOfEvidenceValues(); e++) {
+			hmm.checkDiagonal(e);
+		}
+		this.hmm = hmm;
+		S = hmm.getNumberOfStates();
+		V = hmm.getNumberOfEvidenceValues();
+		f = new double[S];
+		fNext = new double[S];
+		priorCounts = new double[S * S];
+		priorNext = new double[S * S];
+		transitionCounts = new double[S * S * S];
+		transitionNext = new double[S * S * S];
+		sensorCounts = new double[V * S * S];
+		sensorNext = new double[V * S * S];
+		reset();
+	}
+
+	/**
+	 * Learn a model from a sequence of observations.
+	 *
+	 * @param hmm
+	 *            the initial model.
+	 * @param ev
+	 *            the indices of the evidence values e<sub>1:t</sub> in the
+	 *            CompiledHMM of the initial model.
+	 * @param iterations
+	 *            the number of EM iterations.
+	 * @return the re-estimated model.
+	 */
+	public static HiddenMarkovModel learn(HiddenMarkovModel hmm, int[] ev,
+			int iterations) {
+		for (int n = 0; n < iterations; n++) {
+			BaumWelch bw = new BaumWelch(hmm);
+			for (int e : ev) {
+				bw.observe(e);
+			}
+			hmm = bw.reestimate();
+		}
+		return hmm;
+	}
+
+	/**
+	 * Discard the observations processed so far.
+	 */
+	public void reset() {
+		t = 0;
+		logLikelihood = 0;
+		hmm.copyPrior(f);
+		for (int i = 0; i < priorCounts.length; i++) {
+			priorCounts[i] = 0;
+		}
+		for (int i = 0; i < S; i++) {
+			priorCounts[i * S + i] = f[i];
+		}
+		for (int i = 0; i < transitionCounts.length; i++) {
+			transitionCounts[i] = 0;
+		}
+		for (int i = 0; i < sensorCounts.length; i++) {
+			sensorCounts[i] = 0;
+		}
+	}
+
+	/**
+	 * Process the evidence of the next time step.
+	 *
+	 * @param e
+	 *            the index of the evidence value e<sub>t+1</sub>.
+	 */
+	public void observe(int e) {
+		double c = hmm.forward(f, e, fNext);
+		logLikelihood += Math.log(c);
+		for (int i = 0; i < S; i++) {
+			propagate(priorCounts, priorNext, i * S, e, c);
+		}
+		for (int ij = 0; ij < S * S; ij++) {
+			propagate(transitionCounts, transitionNext, ij * S, e, c);
+			// the transition from X<sub>t</sub> = i to X<sub>t+1</sub> = j
+			int i = ij / S, j = ij % S;
+			transitionNext[ij * S + j] += f[i]
+					* hmm.getTransitionProbability(i, j)
+					* hmm.getSensorProbability(e, j) / c;
+		}
+		for (int vi = 0; vi < V * S; vi++) {
+			propagate(sensorCounts, sensorNext, vi * S, e, c);
+		}
+		// the observation of e in X<sub>t+1</sub> = i
+		for (int i = 0; i < S; i++) {
+			sensorNext[(e * S + i) * S + i] += fNext[i];
+		}
+
+		double[] tmp = f;
+		f = fNext;
+		fNext = tmp;
+		tmp = priorCounts;
+		priorCounts = priorNext;
+		priorNext = tmp;
+		tmp = transitionCounts;
+		transitionCounts = transitionNext;
+		transitionNext = tmp;
+		tmp = sensorCounts;
+		sensorCounts = sensorNext;
+		sensorNext = tmp;
+		t++;
+	}
+
+	/**
+	 * Process the evidence of the next time step.
+	 *
+	 * @param e
+	 *            the evidence e<sub>t+1</sub>.
+	 */
+	public void observe(List<AssignmentProposition> e) {
+		observe(hmm.getEvidenceIndex(e));
+	}
+
+	/**
+	 *
+	 * @return t, the number of time steps processed.
+	 */
+	public int getTime() {
+		return t;
+	}
+
+	/**
+	 *
+	 * @return log P(e<sub>1:t</sub>) under the current model.
+	 */
+	public double getLogLikelihood() {
+		return logLikelihood;
+	}
+
+	/**
+	 * Re-estimate the model from the expected counts of the observations
+	 * processed so far. The sensor model of the result has the evidence
+	 * values in the same order, so evidence indices remain valid. Rows of
+	 * states which are never visited are left unchanged.
+	 *
+	 * @return the re-estimated model.
+	 */
+	public HiddenMarkovModel reestimate() {
+		double[] prior = new double[S];
+		double[][] T = new double[S][S];
+		double[][] O = new double[V][S];
+		for (int i = 0; i < S; i++) {
+			prior[i] = sumOverCurrentState(priorCounts, i * S);
+
+			double rowSum = 0;
+			for (int j = 0; j < S; j++) {
+				T[i][j] = sumOverCurrentState(transitionCounts, (i * S + j) * S);
+				rowSum += T[i][j];
+			}
+			for (int j = 0; j < S; j++) {
+				T[i][j] = rowSum > 0 ? T[i][j] / rowSum : hmm
+						.getTransitionProbability(i, j);
+			}
+
+			double visits = 0;
+			for (int v = 0; v < V; v++) {
+				O[v][i] = sumOverCurrentState(sensorCounts, (v * S + i) * S);
+				visits += O[v][i];
+			}
+			for (int v = 0; v < V; v++) {
+				O[v][i] = visits > 0 ? O[v][i] / visits : hmm
+						.getSensorProbability(v, i);
+			}
+		}
+
+		Map<Object, Matrix> sensorModel = new LinkedHashMap<Object, Matrix>();
+		for (int v = 0; v < V; v++) {
+			Matrix Ov = new Matrix(S, S);
+			for (int i = 0; i < S; i++) {
+				Ov.set(i, i, O[v][i]);
+			}
+			sensorModel.put(hmm.getEvidenceValue(v), Ov);
+		}
+		return new HMM(hmm.getStateVariable(), new Matrix(T), sensorModel,
+				new Matrix(prior, S));
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	// Move a joint expectation with X<sub>t</sub>, stored at [offset,
+	// offset+S), forward to one with X<sub>t+1</sub>.
+	private void propagate(double[] from, double[] to, int offset, int e,
+			double c) {
+		for (int m = 0; m < S; m++) {
+			to[offset + m] = 0;
+		}
+		for (int k = 0; k < S; k++) {
+			double g = from[offset + k];
+			if (0 == g) {
+				continue;
+			}
+			for (int m = 0; m < S; m++) {
+				to[offset + m] += g * hmm.getTransitionProbability(k, m);
+			}
+		}
+		for (int m = 0; m < S; m++) {
+			to[offset + m] *= hmm.getSensorProbability(e, m) / c;
+		}
+	}
+
+	private double sumOverCurrentState(double[] counts, int offset) {
+		double sum = 0;
+		for (int k = 0; k < S; k++) {
+			sum += counts[offset + k];
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,32 @@
+package aima.core.probability.mdp;
+
+import java.util.Set;
+
+import aima.core.agent.Action;
+
+/**
+ * An interface for MDP functions which enumerate the states that can be
+ * reached from a state with an action, i.e. the states s' with P(s' | s, a) >
+ * 0. This allows MDPs with sparse transition models to be compiled without
+ * querying the transition model for every pair of states.
+ * 
+ * @param <S>
+ *            the state type.
+ * @param <A>
+ *            the action type.
+ *
+ * @author agent
+ *
+ */
+public interface SuccessorStatesFunction<S, A extends Action> {
+	/**
+	 * Get the states that can be reached from state s using action a.
+	 * 
+	 * @param s
+	 *            the state s being transitioned from.
+	 * @param a
+	 *            the action used to move from state s.
+	 * @return a set containing at least every state s' with P(s' | s, a) > 0.
+	 */
+	Set<S> successors(S s, A a);
+}
@@ -0,0 +1,381 @@
+package aima.core.probability.mdp.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import aima.core.agent.Action;
+import aima.core.probability.mdp.MarkovDecisionProcess;
+import aima.core.probability.mdp.SuccessorStatesFunction;
+
+/**
+ * A MarkovDecisionProcess compiled into arrays, for algorithms which solve
+ * MDPs with a large number of states. States are mapped to the ids 0,...,n-1
+ * and the actions of each state to consecutive action ids. The transition
+ * model is stored in compressed sparse row (CSR) form: the outcomes of each
+ * action id are a contiguous range of successor ids and their probabilities,
+ * so a Bellman backup of a state only touches the transitions with non zero
+ * probability. The reverse graph, the predecessors of each state, is stored
+ * in the same way for prioritized sweeping.<br>
+ * <br>
+ * Utilities are represented by a double[] indexed by state id and policies by
+ * an int[] of action ids (-1 for terminal states, i.e. states without
+ * actions). Instances are not modified after construction and can be shared
+ * between threads.
+ *
+ * @param <S>
+ *            the state type.
+ * @param <A>
+ *            the action type.
+ *
+ * @author agent
+ *
+ */
+public class CompiledMDP<S, A extends Action> {
+	private List<S> states = new ArrayList<S>();
+	private Map<S, Integer> ids = new HashMap<S, Integer>();
+	private int initialState = -1;
+	private double[] rewards = null;
+	// the actions of state s are [actionStart[s], actionStart[s+1])
+	private int[] actionStart = null;
+	private List<A> actions = new ArrayList<A>();
+	// the outcomes of action a are [outcomeStart[a], outcomeStart[a+1])
+	private int[] outcomeStart = null;
+	private int[] outcomeState = new int[16];
+	private double[] outcomeProbability = new double[16];
+	// the predecessors of state s are [predecessorStart[s],
+	// predecessorStart[s+1]), with the maximum probability over their actions
+	// of reaching s
+	private int[] predecessorStart = null;
+	private int[] predecessorState = null;
+	private double[] predecessorProbability = null;
+
+	/**
+	 * Compile an MDP by querying the transition model for every pair of
+	 * states and every action, which takes O(|S|<sup>2</sup>|A|) time once.
+	 *
+	 * @param mdp
+	 *            an MDP with states S, actions A(s), transition model P(s' |
+	 *            s, a), rewards R(s)
+	 */
+	public CompiledMDP(MarkovDecisionProcess<S, A> mdp) {
+		this(mdp, null);
+	}
+
+	/**
+	 * Compile an MDP, querying the transition model only for the successors
+	 * of each state and action, which takes time linear in the number of
+	 * transitions.
+	 *
+	 * @param mdp
+	 *            an MDP with states S, actions A(s), transition model P(s' |
+	 *            s, a), rewards R(s)
+	 * @param successorStatesFunction
+	 *            the states which can be reached from a state with an action,
+	 *            or null to consider all states.
+	 */
+	public CompiledMDP(MarkovDecisionProcess<S, A> mdp,
+			SuccessorStatesFunction<S, A> successorStatesFunction) {
+		for (S s : mdp.states()) {
+			ids.put(s, states.size());
+			states.add(s);
+		}
+		Integer initial = ids.get(mdp.getInitialState());
+		if (null != initial) {
+			initialState = initial;
+		}
+		int n = states.size();
+		rewards = new double[n];
+		actionStart = new int[n + 1];
+		List<Integer> outcomeStarts = new ArrayList<Integer>();
+		int nnz = 0;
+		for (int s = 0; s < n; s++) {
+			S state = states.get(s);
+			rewards[s] = mdp.reward(state);
+			actionStart[s] = actions.size();
+			for (A a : mdp.actions(state)) {
+				actions.add(a);
+				outcomeStarts.add(nnz);
+				Set<S> successors = null == successorStatesFunction ? mdp
+						.states() : successorStatesFunction.successors(state, a);
+				for (S sDelta : successors) {
+					double p = mdp.transitionProbability(sDelta, state, a);
+					if (0 != p) {
+						nnz = addOutcome(nnz, getId(sDelta), p);
+					}
+				}
+			}
+		}
+		actionStart[n] = actions.size();
+		outcomeStart = new int[actions.size() + 1];
+		for (int a = 0; a < actions.size(); a++) {
+			outcomeStart[a] = outcomeStarts.get(a);
+		}
+		outcomeStart[actions.size()] = nnz;
+		outcomeState = Arrays.copyOf(outcomeState, nnz);
+		outcomeProbability = Arrays.copyOf(outcomeProbability, nnz);
+		compilePredecessors();
+	}
+
+	/**
+	 *
+	 * @return n, the number of states.
+	 */
+	public int getNumberOfStates() {
+		return states.size();
+	}
+
+	/**
+	 *
+	 * @return the number of transitions with non zero probability.
+	 */
+	public int getNumberOfTransitions() {
+		return outcomeState.length;
+	}
+
+	/**
+	 *
+	 * @return the id of the initial state s<sub>0</sub>, or -1 if it is not
+	 *         one of the states.
+	 */
+	public int getInitialState() {
+		return initialState;
+	}
+
+	public S getState(int s) {
+		return states.get(s);
+	}
+
+	public int getId(S s) {
+		Integer id = ids.get(s);
+		if (null == id) {
+			throw new IllegalArgumentException("State " + s
+					+ " is not a state of the MDP.");
+		}
+		return id;
+	}
+
+	public double getReward(int s) {
+		return rewards[s];
+	}
+
+	/**
+	 *
+	 * @return the first action id of state s.
+	 */
+	public int getActionsStart(int s) {
+		return actionStart[s];
+	}
+
+	/**
+	 *
+	 * @return one past the last action id of state s.
+	 */
+	public int getActionsEnd(int s) {
+		return actionStart[s + 1];
+	}
+
+	public A getAction(int a) {
+		return actions.get(a);
+	}
+
+	/**
+	 *
+	 * @return the number of transitions of the states before state s, a
+	 *         measure of the work needed to update them.
+	 */
+	public int getTransitionOffset(int s) {
+		return outcomeStart[actionStart[s]];
+	}
+
+	/**
+	 *
+	 * @return the first index of the predecessors of state s.
+	 */
+	public int getPredecessorsStart(int s) {
+		return predecessorStart[s];
+	}
+
+	/**
+	 *
+	 * @return one past the last index of the predecessors of state s.
+	 */
+	public int getPredecessorsEnd(int s) {
+		return predecessorStart[s + 1];
+	}
+
+	public int getPredecessor(int i) {
+		return predecessorState[i];
+	}
+
+	/**
+	 *
+	 * @return the maximum probability over the actions of predecessor i of
+	 *         reaching its state.
+	 */
+	public double getPredecessorProbability(int i) {
+		return predecessorProbability[i];
+	}
+
+	/**
+	 *
+	 * @return &Sigma;<sub>s'</sub>P(s' | s, a) U[s'] for action id a.
+	 */
+	public double expectedUtility(int a, double[] U) {
+		double sum = 0;
+		for (int i = outcomeStart[a]; i < outcomeStart[a + 1]; i++) {
+			sum += outcomeProbability[i] * U[outcomeState[i]];
+		}
+		return sum;
+	}
+
+	/**
+	 * The Bellman update of state s.
+	 *
+	 * @return R(s) + &gamma; max<sub>a &isin; A(s)</sub>
+	 *         &Sigma;<sub>s'</sub>P(s' | s, a) U[s']
+	 */
+	public double bellmanUpdate(int s, double[] U, double gamma) {
+		// Handle terminal states (i.e. no actions).
+		double aMax = 0;
+		if (actionStart[s] < actionStart[s + 1]) {
+			aMax = Double.NEGATIVE_INFINITY;
+		}
+		for (int a = actionStart[s]; a < actionStart[s + 1]; a++) {
+			double aSum = expectedUtility(a, U);
+			if (aSum > aMax) {
+				aMax = aSum;
+			}
+		}
+		return rewards[s] + gamma * aMax;
+	}
+
+	/**
+	 *
+	 * @return argmax<sub>a &isin; A(s)</sub> &Sigma;<sub>s'</sub>P(s' | s, a)
+	 *         U[s'], the first in case of ties, or -1 if s is a terminal
+	 *         state.
+	 */
+	public int bestAction(int s, double[] U) {
+		double aMax = Double.NEGATIVE_INFINITY;
+		int aArgmax = -1;
+		for (int a = actionStart[s]; a < actionStart[s + 1]; a++) {
+			double aSum = expectedUtility(a, U);
+			if (aSum > aMax) {
+				aMax = aSum;
+				aArgmax = a;
+			}
+		}
+		return aArgmax;
+	}
+
+	public Map<S, Double> toUtilityMap(double[] U) {
+		Map<S, Double> result = new LinkedHashMap<S, Double>();
+		for (int s = 0; s < U.length; s++) {
+			result.put(states.get(s), U[s]);
+		}
+		return result;
+	}
+
+	/**
+	 *
+	 * @return the utilities indexed by state id, 0 for states not in U.
+	 */
+	public double[] toUtilityArray(Map<S, Double> U) {
+		double[] result = new double[states.size()];
+		for (int s = 0; s < result.length; s++) {
+			Double u = U.get(states.get(s));
+			if (null != u) {
+				result[s] = u;
+			}
+		}
+		return result;
+	}
+
+	public Map<S, A> toPolicyMap(int[] pi) {
+		Map<S, A> result = new LinkedHashMap<S, A>();
+		for (int s = 0; s < pi.length; s++) {
+			if (pi[s] >= 0) {
+				result.put(states.get(s), actions.get(pi[s]));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 *
+	 * @return the action ids indexed by state id, -1 for states not in pi.
+	 */
+	public int[] toPolicyArray(Map<S, A> pi) {
+		int[] result = new int[states.size()];
+		for (int s = 0; s < result.length; s++) {
+			result[s] = -1;
+			A a = pi.get(states.get(s));
+			for (int ai = actionStart[s]; null != a && ai < actionStart[s + 1]; ai++) {
+				if (a.equals(actions.get(ai))) {
+					result[s] = ai;
+				}
+			}
+		}
+		return result;
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private int addOutcome(int nnz, int sDelta, double p) {
+		if (nnz == outcomeState.length) {
+			outcomeState = Arrays.copyOf(outcomeState, 2 * nnz);
+			outcomeProbability = Arrays.copyOf(outcomeProbability, 2 * nnz);
+		}
+		outcomeState[nnz] = sDelta;
+		outcomeProbability[nnz] = p;
+		return nnz + 1;
+	}
+
+	private void compilePredecessors() {
+		int n = states.size();
+		// As the transitions are ordered by the state transitioned from,
+		// repeated predecessors of a state are adjacent and merged by
+		// remembering the last predecessor seen
+		int[] last = new int[n];
+		Arrays.fill(last, -1);
+		int[] count = new int[n + 1];
+		for (int s = 0; s < n; s++) {
+			for (int i = getTransitionOffset(s); i < getTransitionOffset(s + 1); i++) {
+				int sDelta = outcomeState[i];
+				if (last[sDelta] != s) {
+					last[sDelta] = s;
+					count[sDelta]++;
+				}
+			}
+		}
+		predecessorStart = new int[n + 1];
+		for (int s = 0; s < n; s++) {
+			predecessorStart[s + 1] = predecessorStart[s] + count[s];
+		}
+		predecessorState = new int[predecessorStart[n]];
+		predecessorProbability = new double[predecessorStart[n]];
+		int[] next = Arrays.copyOf(predecessorStart, n);
+		Arrays.fill(last, -1);
+		for (int s = 0; s < n; s++) {
+			for (int i = getTransitionOffset(s); i < getTransitionOffset(s + 1); i++) {
+				int sDelta = outcomeState[i];
+				if (last[sDelta] != s) {
+					last[sDelta] = s;
+					predecessorState[next[sDelta]] = s;
+					predecessorProbability[next[sDelta]] = outcomeProbability[i];
+					next[sDelta]++;
+				} else {
+					int k = next[sDelta] - 1;
+					predecessorProbability[k] = Math.max(
+							predecessorProbability[k], outcomeProbability[i]);
+				}
+			}
+		}
+	}
+}
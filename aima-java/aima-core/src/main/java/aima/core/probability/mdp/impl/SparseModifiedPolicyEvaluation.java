@@ -0,0 +1,134 @@
+package aima.core.probability.mdp.impl;
+
+import java.util.Map;
+
+import aima.core.agent.Action;
+import aima.core.probability.mdp.MarkovDecisionProcess;
+import aima.core.probability.mdp.PolicyEvaluation;
+
+/**
+ * The simplified Bellman update of modified policy iteration (see
+ * {@link ModifiedPolicyEvaluation}), repeated k times, on a CompiledMDP:<br>
+ * <br>
+ *
+ * <pre>
+ * U<sub>i+1</sub>(s) <- R(s) + &gamma;&Sigma;<sub>s'</sub>P(s'|s,&pi;<sub>i</sub>(s))U<sub>i</sub>(s')
+ * </pre>
+ *
+ * Each update only visits the successors of s and the states are updated in
+ * parallel partitions. When used through the PolicyEvaluation interface, the
+ * MDP is compiled on the first call and reused as long as the same MDP is
+ * passed in.
+ *
+ * @param <S>
+ *            the state type.
+ * @param <A>
+ *            the action type.
+ *
+ * @author agent
+ *
+ */
+public class SparseModifiedPolicyEvaluation<S, A extends Action> implements
+		PolicyEvaluation<S, A> {
+	// # iterations to use to produce the next utility estimate
+	private int k;
+	// discount &gamma; to be used.
+	private double gamma;
+	private int threads;
+	private MarkovDecisionProcess<S, A> lastMDP = null;
+	private CompiledMDP<S, A> compiled = null;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param k
+	 *            number iterations to use to produce the next utility estimate
+	 * @param gamma
+	 *            discount &gamma; to be used
+	 */
+	public SparseModifiedPolicyEvaluation(int k, double gamma) {
+		this(k, gamma, 1);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param k
+	 *            number iterations to use to produce the next utility estimate
+	 * @param gamma
+	 *            discount &gamma; to be used
+	 * @param threads
+	 *            the number of partitions updated in parallel, when not
+	 *            called with partitions.
+	 */
+	public SparseModifiedPolicyEvaluation(int k, double gamma, int threads) {
+		if (gamma > 1.0 || gamma <= 0.0) {
+			throw new IllegalArgumentException("Gamma must be > 0 and <= 1.0");
+		}
+		this.k = k;
+		this.gamma = gamma;
+		this.threads = threads;
+	}
+
+	/**
+	 * Evaluate a policy in place.
+	 *
+	 * @param pi_i
+	 *            a policy vector of action ids indexed by state id
+	 * @param U
+	 *            a vector of utilities indexed by state id, replaced by
+	 *            U<sub>i</sub>
+	 * @param mdp
+	 *            the compiled MDP
+	 * @param partitions
+	 *            the partitions of the states of the MDP to update in
+	 *            parallel.
+	 */
+	public void evaluate(final int[] pi_i, double[] U,
+			final CompiledMDP<S, A> mdp, StatePartitions partitions) {
+		double[] U_i = U;
+		double[] U_ip1 = new double[U.length];
+		// repeat k times to produce the next utility estimate
+		for (int i = 0; i < k; i++) {
+			final double[] from = U_i, to = U_ip1;
+			partitions.max(new StatePartitions.Task() {
+				public double run(int first, int end) {
+					for (int s = first; s < end; s++) {
+						// Handle terminal states (i.e. no actions)
+						double aSum = pi_i[s] < 0 ? 0 : mdp.expectedUtility(
+								pi_i[s], from);
+						to[s] = mdp.getReward(s) + gamma * aSum;
+					}
+					return 0;
+				}
+			});
+			U_i = to;
+			U_ip1 = from;
+		}
+		if (U_i != U) {
+			System.arraycopy(U_i, 0, U, 0, U.length);
+		}
+	}
+
+	//
+	// START-PolicyEvaluation
+	@Override
+	public Map<S, Double> evaluate(Map<S, A> pi_i, Map<S, Double> U,
+			MarkovDecisionProcess<S, A> mdp) {
+		if (mdp != lastMDP) {
+			compiled = new CompiledMDP<S, A>(mdp);
+			lastMDP = mdp;
+		}
+		double[] u = compiled.toUtilityArray(U);
+		StatePartitions partitions = new StatePartitions(compiled, threads);
+		try {
+			evaluate(compiled.toPolicyArray(pi_i), u, compiled, partitions);
+		} finally {
+			partitions.shutdown();
+		}
+		return compiled.toUtilityMap(u);
+	}
+
+	// END-PolicyEvaluation
+	//
+}
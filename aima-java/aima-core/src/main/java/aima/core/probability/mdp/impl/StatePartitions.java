@@ -0,0 +1,111 @@
+package aima.core.probability.mdp.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import aima.core.util.ParallelTasks;
+
+/**
+ * Divides the state ids of a CompiledMDP into contiguous partitions with
+ * about the same number of transitions, and runs a task over all partitions
+ * in parallel, e.g. one sweep of value iteration. Tasks may read any state,
+ * but must only write the entries of the states in their own partition. The
+ * threads are daemon threads, released with {@link #shutdown()}.
+ *
+ * @author agent
+ *
+ */
+public class StatePartitions {
+
+	/**
+	 * A task run over the states of a partition.
+	 */
+	public interface Task {
+		/**
+		 *
+		 * @param from
+		 *            the first state id of the partition.
+		 * @param to
+		 *            one past the last state id of the partition.
+		 * @return a value, e.g. the maximum change of a utility in the
+		 *         partition.
+		 */
+		double run(int from, int to);
+	}
+
+	// partition p consists of the states [bounds[p], bounds[p+1])
+	private int[] bounds = null;
+	private ExecutorService pool = null;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param mdp
+	 *            the compiled MDP whose states are partitioned.
+	 * @param partitions
+	 *            the number of partitions, each run on its own thread.
+	 */
+	public StatePartitions(CompiledMDP<?, ?> mdp, int partitions) {
+		int n = mdp.getNumberOfStates();
+		partitions = Math.max(1, Math.min(partitions, n));
+		bounds = new int[partitions + 1];
+		// balance the work, one per state plus one per transition
+		long total = (long) mdp.getTransitionOffset(n) + n;
+		int s = 0;
+		for (int p = 1; p < partitions; p++) {
+			long target = total * p / partitions;
+			while (s < n && (long) mdp.getTransitionOffset(s) + s < target) {
+				s++;
+			}
+			bounds[p] = s;
+		}
+		bounds[partitions] = n;
+		if (partitions > 1) {
+			pool = ParallelTasks.newDaemonPool(partitions, "StatePartitions");
+		}
+	}
+
+	/**
+	 *
+	 * @return the number of partitions.
+	 */
+	public int size() {
+		return bounds.length - 1;
+	}
+
+	/**
+	 * Run a task over all partitions and wait for them to finish.
+	 *
+	 * @return the maximum of the values returned by the partitions.
+	 */
+	public double max(final Task task) {
+		if (null == pool) {
+			return task.run(bounds[0], bounds[1]);
+		}
+		List<Callable<Double>> calls = new ArrayList<Callable<Double>>();
+		for (int p = 0; p < size(); p++) {
+			final int from = bounds[p], to = bounds[p + 1];
+			calls.add(new Callable<Double>() {
+				public Double call() {
+					return task.run(from, to);
+				}
+			});
+		}
+		double result = Double.NEGATIVE_INFINITY;
+		for (double value : ParallelTasks.invokeAll(pool, calls)) {
+			result = Math.max(result, value);
+		}
+		return result;
+	}
+
+	/**
+	 * Release the threads.
+	 */
+	public void shutdown() {
+		if (null != pool) {
+			pool.shutdownNow();
+		}
+	}
+}
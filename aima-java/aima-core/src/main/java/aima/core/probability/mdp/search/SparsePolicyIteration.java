@@ -0,0 +1,135 @@
+package aima.core.probability.mdp.search;
+
+import aima.core.agent.Action;
+import aima.core.probability.mdp.MarkovDecisionProcess;
+import aima.core.probability.mdp.Policy;
+import aima.core.probability.mdp.impl.CompiledMDP;
+import aima.core.probability.mdp.impl.LookupPolicy;
+import aima.core.probability.mdp.impl.SparseModifiedPolicyEvaluation;
+import aima.core.probability.mdp.impl.StatePartitions;
+import aima.core.util.Util;
+
+/**
+ * POLICY-ITERATION (see {@link PolicyIteration}) on a CompiledMDP, for MDPs
+ * with a large number of states and sparse transition models. Policies are
+ * kept as arrays of action ids, the policy is evaluated with
+ * {@link SparseModifiedPolicyEvaluation} and both the evaluation and the
+ * policy improvement step update the states in parallel partitions, each only
+ * visiting the successors of its states.
+ *
+ * @param <S>
+ *            the state type.
+ * @param <A>
+ *            the action type.
+ *
+ * @author agent
+ *
+ */
+public class SparsePolicyIteration<S, A extends Action> {
+
+	private SparseModifiedPolicyEvaluation<S, A> policyEvaluation = null;
+	private int threads = 1;
+	private double[] utilities = null;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param policyEvaluation
+	 *            the policy evaluation function to use.
+	 * @param threads
+	 *            the number of partitions updated in parallel.
+	 */
+	public SparsePolicyIteration(
+			SparseModifiedPolicyEvaluation<S, A> policyEvaluation, int threads) {
+		this.policyEvaluation = policyEvaluation;
+		this.threads = threads;
+	}
+
+	/**
+	 * Compile an MDP and calculate an optimal policy.
+	 *
+	 * @param mdp
+	 *            an MDP with states S, actions A(s), transition model P(s'|s,a)
+	 * @return an optimal policy
+	 */
+	public Policy<S, A> policyIteration(MarkovDecisionProcess<S, A> mdp) {
+		CompiledMDP<S, A> compiled = new CompiledMDP<S, A>(mdp);
+		return new LookupPolicy<S, A>(compiled
+				.toPolicyMap(policyIteration(compiled)));
+	}
+
+	/**
+	 * The policy iteration algorithm for calculating an optimal policy.
+	 *
+	 * @param mdp
+	 *            a compiled MDP
+	 * @return an optimal policy vector of action ids indexed by state id
+	 */
+	public int[] policyIteration(final CompiledMDP<S, A> mdp) {
+		// local variables: U, a vector of utilities for states in S, initially
+		// zero
+		final double[] U = new double[mdp.getNumberOfStates()];
+		// &pi;, a policy vector indexed by state, initially random
+		final int[] pi = initialPolicyVector(mdp);
+		StatePartitions partitions = new StatePartitions(mdp, threads);
+		try {
+			boolean unchanged;
+			// repeat
+			do {
+				// U <- POLICY-EVALUATION(&pi;, U, mdp)
+				policyEvaluation.evaluate(pi, U, mdp, partitions);
+				// unchanged? <- true, unless a partition changes &pi;
+				unchanged = 0 == partitions.max(new StatePartitions.Task() {
+					public double run(int first, int end) {
+						double changed = 0;
+						for (int s = first; s < end; s++) {
+							int aArgmax = mdp.bestAction(s, U);
+							// if max<sub>a &isin; A(s)</sub>
+							// &Sigma;<sub>s'</sub>P(s'|s,a)U[s']
+							// > &Sigma;<sub>s'</sub>P(s'|s,&pi;[s])U[s'] then do
+							if (aArgmax >= 0
+									&& mdp.expectedUtility(aArgmax, U) > mdp
+											.expectedUtility(pi[s], U)) {
+								pi[s] = aArgmax;
+								changed = 1;
+							}
+						}
+						return changed;
+					}
+				});
+				// until unchanged?
+			} while (!unchanged);
+		} finally {
+			partitions.shutdown();
+		}
+		utilities = U;
+		// return &pi;
+		return pi;
+	}
+
+	/**
+	 *
+	 * @return the utilities indexed by state id of the policy last returned.
+	 */
+	public double[] getUtilities() {
+		return utilities;
+	}
+
+	/**
+	 * Create a policy vector indexed by state id, initially random.
+	 *
+	 * @param mdp
+	 *            a compiled MDP
+	 * @return a policy vector of action ids indexed by state id, -1 for
+	 *         terminal states.
+	 */
+	public static int[] initialPolicyVector(CompiledMDP<?, ?> mdp) {
+		int[] pi = new int[mdp.getNumberOfStates()];
+		for (int s = 0; s < pi.length; s++) {
+			int start = mdp.getActionsStart(s), end = mdp.getActionsEnd(s);
+			// Handle terminal states (i.e. no actions).
+			pi[s] = start < end ? Util.randomNumberBetween(start, end - 1) : -1;
+		}
+		return pi;
+	}
+}
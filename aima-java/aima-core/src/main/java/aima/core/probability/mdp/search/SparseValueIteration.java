@@ -0,0 +1,293 @@
+package aima.core.probability.mdp.search;
+
+import java.util.Map;
+
+import aima.core.agent.Action;
+import aima.core.probability.mdp.MarkovDecisionProcess;
+import aima.core.probability.mdp.impl.CompiledMDP;
+import aima.core.probability.mdp.impl.StatePartitions;
+
+/**
+ * VALUE-ITERATION (see {@link ValueIteration}) on a CompiledMDP, for MDPs with
+ * a large number of states and sparse transition models: a Bellman update
+ * only visits the successors of a state, so a sweep takes time linear in the
+ * number of transitions instead of O(|S|<sup>2</sup>|A|), and utilities are
+ * kept in arrays indexed by state id. Three update orders are supported:
+ * <ul>
+ * <li>JACOBI: the update of Figure 17.4, U' is computed from U. The states
+ * are updated in parallel partitions.</li>
+ * <li>GAUSS_SEIDEL: the states are updated in place, so later updates in a
+ * sweep already use the new utilities of earlier ones, which usually
+ * converges in fewer sweeps.</li>
+ * <li>PRIORITIZED_SWEEPING: the state with the largest bound on its Bellman
+ * error is updated next. After an update of s by &Delta;, the bound of each
+ * predecessor s'' is increased by &gamma; max<sub>a</sub> P(s | s'', a)
+ * &Delta;, so only the states affected by a change are revisited.</li>
+ * </ul>
+ * All orders stop once no state would change by more than &epsilon;(1 -
+ * &gamma;)/&gamma;, as in Figure 17.4.
+ *
+ * @param <S>
+ *            the state type.
+ * @param <A>
+ *            the action type.
+ *
+ * @author agent
+ *
+ */
+public class SparseValueIteration<S, A extends Action> {
+
+	/**
+	 * The order in which the states are updated.
+	 */
+	public enum Sweep {
+		JACOBI, GAUSS_SEIDEL, PRIORITIZED_SWEEPING
+	}
+
+	// discount &gamma; to be used.
+	private double gamma = 0;
+	private Sweep sweep = Sweep.JACOBI;
+	private int threads = 1;
+	private int numberOfUpdates = 0;
+
+	/**
+	 * Constructor for parallel Jacobi sweeps, one partition per available
+	 * processor.
+	 *
+	 * @param gamma
+	 *            discount &gamma; to be used.
+	 */
+	public SparseValueIteration(double gamma) {
+		this(gamma, Sweep.JACOBI, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param gamma
+	 *            discount &gamma; to be used.
+	 * @param sweep
+	 *            the order in which the states are updated.
+	 * @param threads
+	 *            the number of partitions updated in parallel, only used for
+	 *            Jacobi sweeps.
+	 */
+	public SparseValueIteration(double gamma, Sweep sweep, int threads) {
+		if (gamma > 1.0 || gamma <= 0.0) {
+			throw new IllegalArgumentException("Gamma must be > 0 and <= 1.0");
+		}
+		this.gamma = gamma;
+		this.sweep = sweep;
+		this.threads = threads;
+	}
+
+	/**
+	 * Compile an MDP and calculate the utility of its states.
+	 *
+	 * @param mdp
+	 *            an MDP with states S, actions A(s), <br>
+	 *            transition model P(s' | s, a), rewards R(s)
+	 * @param epsilon
+	 *            the maximum error allowed in the utility of any state
+	 * @return a vector of utilities for states in S
+	 */
+	public Map<S, Double> valueIteration(MarkovDecisionProcess<S, A> mdp,
+			double epsilon) {
+		CompiledMDP<S, A> compiled = new CompiledMDP<S, A>(mdp);
+		return compiled.toUtilityMap(valueIteration(compiled, epsilon));
+	}
+
+	/**
+	 * The value iteration algorithm for calculating the utility of states.
+	 *
+	 * @param mdp
+	 *            a compiled MDP
+	 * @param epsilon
+	 *            the maximum error allowed in the utility of any state
+	 * @return a vector of utilities indexed by state id
+	 */
+	public double[] valueIteration(CompiledMDP<S, A> mdp, double epsilon) {
+		numberOfUpdates = 0;
+		// Note: Just calculate this once for efficiency purposes:
+		// &epsilon;(1 - &gamma;)/&gamma;
+		double minDelta = epsilon * (1 - gamma) / gamma;
+		switch (sweep) {
+		case GAUSS_SEIDEL:
+			return gaussSeidel(mdp, minDelta);
+		case PRIORITIZED_SWEEPING:
+			return prioritizedSweeping(mdp, minDelta);
+		default:
+			return jacobi(mdp, minDelta);
+		}
+	}
+
+	/**
+	 *
+	 * @return the number of Bellman updates of the last call.
+	 */
+	public int getNumberOfUpdates() {
+		return numberOfUpdates;
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private double[] jacobi(final CompiledMDP<S, A> mdp, double minDelta) {
+		int n = mdp.getNumberOfStates();
+		double[] U = new double[n];
+		double[] Udelta = new double[n];
+		StatePartitions partitions = new StatePartitions(mdp, threads);
+		try {
+			double delta;
+			do {
+				final double[] from = U, to = Udelta;
+				delta = partitions.max(new StatePartitions.Task() {
+					public double run(int first, int end) {
+						double d = 0;
+						for (int s = first; s < end; s++) {
+							to[s] = mdp.bellmanUpdate(s, from, gamma);
+							d = Math.max(d, Math.abs(to[s] - from[s]));
+						}
+						return d;
+					}
+				});
+				numberOfUpdates += n;
+				U = to;
+				Udelta = from;
+			} while (delta > minDelta);
+		} finally {
+			partitions.shutdown();
+		}
+		return U;
+	}
+
+	private double[] gaussSeidel(CompiledMDP<S, A> mdp, double minDelta) {
+		int n = mdp.getNumberOfStates();
+		double[] U = new double[n];
+		double delta;
+		do {
+			delta = 0;
+			for (int s = 0; s < n; s++) {
+				double u = mdp.bellmanUpdate(s, U, gamma);
+				delta = Math.max(delta, Math.abs(u - U[s]));
+				U[s] = u;
+			}
+			numberOfUpdates += n;
+		} while (delta > minDelta);
+		return U;
+	}
+
+	private double[] prioritizedSweeping(CompiledMDP<S, A> mdp,
+			double minDelta) {
+		int n = mdp.getNumberOfStates();
+		double[] U = new double[n];
+		StateHeap heap = new StateHeap(n);
+		// the Bellman errors of the initial utilities
+		for (int s = 0; s < n; s++) {
+			heap.increase(s, Math.abs(mdp.bellmanUpdate(s, U, gamma)));
+		}
+		while (heap.size() > 0 && heap.maxPriority() > minDelta) {
+			int s = heap.removeMax();
+			double u = mdp.bellmanUpdate(s, U, gamma);
+			double diff = Math.abs(u - U[s]);
+			U[s] = u;
+			numberOfUpdates++;
+			if (diff > 0) {
+				for (int i = mdp.getPredecessorsStart(s); i < mdp
+						.getPredecessorsEnd(s); i++) {
+					heap.increase(mdp.getPredecessor(i), gamma
+							* mdp.getPredecessorProbability(i) * diff);
+				}
+			}
+		}
+		return U;
+	}
+
+	/**
+	 * A binary max heap of state ids, ordered by the bounds on their Bellman
+	 * errors.
+	 */
+	private static class StateHeap {
+		private int[] heap = null;
+		// the position of each state in the heap, -1 if not in the heap
+		private int[] position = null;
+		private double[] priority = null;
+		private int size = 0;
+
+		public StateHeap(int n) {
+			heap = new int[n];
+			position = new int[n];
+			priority = new double[n];
+			for (int s = 0; s < n; s++) {
+				position[s] = -1;
+			}
+		}
+
+		public int size() {
+			return size;
+		}
+
+		public double maxPriority() {
+			return priority[heap[0]];
+		}
+
+		public void increase(int s, double by) {
+			if (0 == by) {
+				return;
+			}
+			priority[s] += by;
+			if (position[s] < 0) {
+				position[s] = size;
+				heap[size++] = s;
+			}
+			siftUp(position[s]);
+		}
+
+		public int removeMax() {
+			int s = heap[0];
+			size--;
+			move(heap[size], 0);
+			position[s] = -1;
+			priority[s] = 0;
+			if (size > 0) {
+				siftDown(0);
+			}
+			return s;
+		}
+
+		private void siftUp(int i) {
+			int s = heap[i];
+			while (i > 0) {
+				int parent = (i - 1) / 2;
+				if (priority[heap[parent]] >= priority[s]) {
+					break;
+				}
+				move(heap[parent], i);
+				i = parent;
+			}
+			move(s, i);
+		}
+
+		private void siftDown(int i) {
+			int s = heap[i];
+			while (2 * i + 1 < size) {
+				int child = 2 * i + 1;
+				if (child + 1 < size
+						&& priority[heap[child + 1]] > priority[heap[child]]) {
+					child++;
+				}
+				if (priority[s] >= priority[heap[child]]) {
+					break;
+				}
+				move(heap[child], i);
+				i = child;
+			}
+			move(s, i);
+		}
+
+		private void move(int s, int i) {
+			heap[i] = s;
+			position[s] = i;
+		}
+	}
+}
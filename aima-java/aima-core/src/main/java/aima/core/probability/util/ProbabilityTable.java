@@ -12,13 +12,18 @@ import aima.core.probability.RandomVariable;
 import aima.core.probability.domain.FiniteDomain;
 import aima.core.probability.proposition.AssignmentProposition;
 import aima.core.util.SetOps;
-import aima.core.util.math.MixedRadixNumber;
 
 /**
  * A Utility Class for associating values with a set of finite Random Variables.
  * This is also the default implementation of the CategoricalDistribution and
  * Factor interfaces (as they are essentially dependent on the same underlying
- * data structures).
+ * data structures).<br>
+ * <br>
+ * The values are stored in a flat array, the first variable being the most
+ * significant, so the offset of a value is the sum of the domain offsets of
+ * the variables' values multiplied by their strides. The factor operations
+ * (products, summing out, division and restriction to evidence) walk the
+ * tables with these strides and do not create any objects per value.
  * 
  * @author Ciaran O'Reilly
  */
@@ -26,8 +31,8 @@ public class ProbabilityTable implements CategoricalDistribution, Factor {
 	private double[] values = null;
 	//
 	private Map<RandomVariable, RVInfo> randomVarInfo = new LinkedHashMap<RandomVariable, RVInfo>();
-	private int[] radices = null;
-	private MixedRadixNumber queryMRN = null;
+	private RVInfo[] varInfo = null;
+	private int[] strides = null;
 	//
 	private String toString = null;
 	private double sum = -1;
@@ -69,24 +74,34 @@ public class ProbabilityTable implements CategoricalDistribution, Factor {
 		}
 		if (vals.length != ProbUtil.expectedSizeOfProbabilityTable(vars)) {
 			throw new IllegalArgumentException("ProbabilityTable of length "
-					+ values.length + " is not the correct size, should be "
+					+ vals.length + " is not the correct size, should be "
 					+ ProbUtil.expectedSizeOfProbabilityTable(vars)
 					+ " in order to represent all possible combinations.");
 		}
 		if (null != vars) {
 			for (RandomVariable rv : vars) {
 				// Track index information relevant to each variable.
-				randomVarInfo.put(rv, new RVInfo(rv));
+				randomVarInfo.put(rv, new RVInfo(rv, randomVarInfo.size()));
 			}
 		}
 
 		values = new double[vals.length];
 		System.arraycopy(vals, 0, values, 0, vals.length);
 
-		radices = createRadixs(randomVarInfo);
-
-		if (radices.length > 0) {
-			queryMRN = new MixedRadixNumber(0, radices);
+		varInfo = randomVarInfo.values().toArray(
+				new RVInfo[randomVarInfo.size()]);
+		// The last variable changes fastest, e.g. for two Booleans:
+		// X Y
+		// true true
+		// true false
+		// false true
+		// false false
+		// which corresponds with how displayed in book.
+		strides = new int[varInfo.length];
+		int stride = 1;
+		for (int i = varInfo.length - 1; i >= 0; i--) {
+			strides[i] = stride;
+			stride *= varInfo[i].getDomainSize();
 		}
 	}
 
@@ -117,7 +132,7 @@ public class ProbabilityTable implements CategoricalDistribution, Factor {
 			throw new IllegalArgumentException(
 					"Assignments passed in is not the same size as variables making up probability table.");
 		}
-		int[] radixValues = new int[assignments.length];
+		int offset = 0;
 		for (AssignmentProposition ap : assignments) {
 			RVInfo rvInfo = randomVarInfo.get(ap.getTermVariable());
 			if (null == rvInfo) {
@@ -125,10 +140,10 @@ public class ProbabilityTable implements CategoricalDistribution, Factor {
 						"Assignment passed for a variable that is not part of this probability table:"
 								+ ap.getTermVariable());
 			}
-			radixValues[rvInfo.getRadixIdx()] = rvInfo.getIdxForDomain(ap
-					.getValue());
+			offset += strides[rvInfo.getVarIdx()]
+					* rvInfo.getIdxForDomain(ap.getValue());
 		}
-		return values[(int) queryMRN.getCurrentValueFor(radixValues)];
+		return values[offset];
 	}
 
 	// END-ProbabilityDistribution
@@ -175,15 +190,12 @@ public class ProbabilityTable implements CategoricalDistribution, Factor {
 			throw new IllegalArgumentException(
 					"Assignments passed in is not the same size as variables making up the table.");
 		}
-		int[] radixValues = new int[assignments.length];
-		int i = 0;
-		for (RVInfo rvInfo : randomVarInfo.values()) {
-			radixValues[rvInfo.getRadixIdx()] = rvInfo
-					.getIdxForDomain(assignments[i]);
-			i++;
+		int offset = 0;
+		for (int i = 0; i < varInfo.length; i++) {
+			offset += strides[i] * varInfo[i].getIdxForDomain(assignments[i]);
 		}
 
-		return (int) queryMRN.getCurrentValueFor(radixValues);
+		return offset;
 	}
 
 	@Override
@@ -236,27 +248,20 @@ public class ProbabilityTable implements CategoricalDistribution, Factor {
 		for (RandomVariable rv : vars) {
 			soutVars.remove(rv);
 		}
-		final ProbabilityTable summedOut = new ProbabilityTable(soutVars);
-		if (1 == summedOut.getValues().length) {
-			summedOut.getValues()[0] = getSum();
+		ProbabilityTable summedOut = new ProbabilityTable(soutVars);
+		if (1 == summedOut.values.length) {
+			summedOut.values[0] = getSum();
 		} else {
-			// Otherwise need to iterate through this distribution
-			// to calculate the summed out distribution.
-			final Object[] termValues = new Object[summedOut.randomVarInfo
-					.size()];
-			ProbabilityTable.Iterator di = new ProbabilityTable.Iterator() {
-				public void iterate(Map<RandomVariable, Object> possibleWorld,
-						double probability) {
-
-					int i = 0;
-					for (RandomVariable rv : summedOut.randomVarInfo.keySet()) {
-						termValues[i] = possibleWorld.get(rv);
-						i++;
-					}
-					summedOut.getValues()[summedOut.getIndex(termValues)] += probability;
-				}
-			};
-			iterateOverTable(di);
+			// Walk through this distribution, moving the offset into the
+			// summed out distribution along with it.
+			int[] soutStrides = summedOut.stridesFor(varInfo);
+			double[] soutValues = summedOut.values;
+			int[] counter = new int[varInfo.length];
+			int soutIdx = 0;
+			for (int i = 0; i < values.length; i++) {
+				soutValues[soutIdx] += values[i];
+				soutIdx = increment(counter, soutStrides, soutIdx);
+			}
 		}
 
 		return summedOut;
@@ -296,16 +301,15 @@ public class ProbabilityTable implements CategoricalDistribution, Factor {
 	 */
 	public void iterateOverTable(Iterator pti) {
 		Map<RandomVariable, Object> possibleWorld = new LinkedHashMap<RandomVariable, Object>();
-		MixedRadixNumber mrn = new MixedRadixNumber(0, radices);
+		for (RVInfo rvInfo : varInfo) {
+			possibleWorld.put(rvInfo.getVariable(), rvInfo.getDomainValueAt(0));
+		}
+		int[] counter = new int[varInfo.length];
+		int i = 0;
 		do {
-			for (RVInfo rvInfo : randomVarInfo.values()) {
-				possibleWorld.put(rvInfo.getVariable(), rvInfo
-						.getDomainValueAt(mrn.getCurrentNumeralValue(rvInfo
-								.getRadixIdx())));
-			}
-			pti.iterate(possibleWorld, values[mrn.intValue()]);
-
-		} while (mrn.increment());
+			pti.iterate(possibleWorld, values[i]);
+			i++;
+		} while (i < values.length && advance(counter, possibleWorld));
 	}
 
 	/**
@@ -322,21 +326,24 @@ public class ProbabilityTable implements CategoricalDistribution, Factor {
 	public void iterateOverTable(Iterator pti,
 			AssignmentProposition... fixedValues) {
 		Map<RandomVariable, Object> possibleWorld = new LinkedHashMap<RandomVariable, Object>();
-		MixedRadixNumber tableMRN = new MixedRadixNumber(0, radices);
-		int[] tableRadixValues = new int[radices.length];
+		boolean[] fixed = new boolean[varInfo.length];
+		int offset = 0;
 
 		// Assert that the Random Variables for the fixed values
 		// are part of this probability table and assign
 		// all the fixed values to the possible world.
 		for (AssignmentProposition ap : fixedValues) {
-			if (!randomVarInfo.containsKey(ap.getTermVariable())) {
+			RVInfo fixedRVI = randomVarInfo.get(ap.getTermVariable());
+			if (null == fixedRVI) {
 				throw new IllegalArgumentException("Assignment proposition ["
 						+ ap + "] does not belong to this probability table.");
 			}
 			possibleWorld.put(ap.getTermVariable(), ap.getValue());
-			RVInfo fixedRVI = randomVarInfo.get(ap.getTermVariable());
-			tableRadixValues[fixedRVI.getRadixIdx()] = fixedRVI
-					.getIdxForDomain(ap.getValue());
+			if (!fixed[fixedRVI.getVarIdx()]) {
+				fixed[fixedRVI.getVarIdx()] = true;
+				offset += strides[fixedRVI.getVarIdx()]
+						* fixedRVI.getIdxForDomain(ap.getValue());
+			}
 		}
 		// If have assignments for all the random variables
 		// in this probability table
@@ -345,34 +352,92 @@ public class ProbabilityTable implements CategoricalDistribution, Factor {
 			pti.iterate(possibleWorld, getValue(fixedValues));
 		} else {
 			// Else iterate over the non-fixed values
-			Set<RandomVariable> freeVariables = SetOps.difference(
-					this.randomVarInfo.keySet(), possibleWorld.keySet());
-			Map<RandomVariable, RVInfo> freeVarInfo = new LinkedHashMap<RandomVariable, RVInfo>();
-			// Remove the fixed Variables
-			for (RandomVariable fv : freeVariables) {
-				freeVarInfo.put(fv, new RVInfo(fv));
+			int freeCnt = 0;
+			for (int i = 0; i < fixed.length; i++) {
+				if (!fixed[i]) {
+					freeCnt++;
+				}
 			}
-			int[] freeRadixValues = createRadixs(freeVarInfo);
-			MixedRadixNumber freeMRN = new MixedRadixNumber(0, freeRadixValues);
-			Object fval = null;
-			// Iterate through all combinations of the free variables
-			do {
-				// Put the current assignments for the free variables
-				// into the possible world and update
-				// the current index in the table MRN
-				for (RVInfo freeRVI : freeVarInfo.values()) {
-					fval = freeRVI.getDomainValueAt(freeMRN
-							.getCurrentNumeralValue(freeRVI.getRadixIdx()));
-					possibleWorld.put(freeRVI.getVariable(), fval);
-
-					tableRadixValues[randomVarInfo.get(freeRVI.getVariable())
-							.getRadixIdx()] = freeRVI.getIdxForDomain(fval);
+			RVInfo[] freeVarInfo = new RVInfo[freeCnt];
+			int[] freeStrides = new int[freeCnt];
+			int f = 0;
+			for (int i = 0; i < fixed.length; i++) {
+				if (!fixed[i]) {
+					freeVarInfo[f] = varInfo[i];
+					freeStrides[f] = strides[i];
+					possibleWorld.put(varInfo[i].getVariable(),
+							varInfo[i].getDomainValueAt(0));
+					f++;
 				}
-				pti.iterate(possibleWorld, values[(int) tableMRN
-						.getCurrentValueFor(tableRadixValues)]);
+			}
+			// Iterate through all combinations of the free variables,
+			// updating the possible world with the values that changed
+			// and moving the offset into the table along with them.
+			int[] counter = new int[freeCnt];
+			boolean more = true;
+			while (more) {
+				pti.iterate(possibleWorld, values[offset]);
+				more = false;
+				for (int k = freeCnt - 1; k >= 0; k--) {
+					RVInfo freeRVI = freeVarInfo[k];
+					if (++counter[k] < freeRVI.getDomainSize()) {
+						offset += freeStrides[k];
+						possibleWorld.put(freeRVI.getVariable(),
+								freeRVI.getDomainValueAt(counter[k]));
+						more = true;
+						break;
+					}
+					offset -= freeStrides[k] * (counter[k] - 1);
+					counter[k] = 0;
+					possibleWorld.put(freeRVI.getVariable(),
+							freeRVI.getDomainValueAt(0));
+				}
+			}
+		}
+	}
 
-			} while (freeMRN.increment());
+	/**
+	 * Restrict this ProbabilityTable to the given evidence, i.e. create the
+	 * table over the Random Variables not assigned by the evidence whose values
+	 * are those of this table consistent with the evidence.
+	 * 
+	 * @param evidence
+	 *            assignments for a subset of the Random Variables comprising
+	 *            this Probability Table.
+	 * @return a new ProbabilityTable over the remaining Random Variables (in
+	 *         the same order as in this table).
+	 */
+	public ProbabilityTable restrict(AssignmentProposition... evidence) {
+		boolean[] fixed = new boolean[varInfo.length];
+		int offset = 0;
+		for (AssignmentProposition ap : evidence) {
+			RVInfo rvInfo = randomVarInfo.get(ap.getTermVariable());
+			if (null == rvInfo) {
+				throw new IllegalArgumentException("Assignment proposition ["
+						+ ap + "] does not belong to this probability table.");
+			}
+			if (!fixed[rvInfo.getVarIdx()]) {
+				fixed[rvInfo.getVarIdx()] = true;
+				offset += strides[rvInfo.getVarIdx()]
+						* rvInfo.getIdxForDomain(ap.getValue());
+			}
 		}
+		Set<RandomVariable> restrictedVars = new LinkedHashSet<RandomVariable>();
+		for (int i = 0; i < fixed.length; i++) {
+			if (!fixed[i]) {
+				restrictedVars.add(varInfo[i].getVariable());
+			}
+		}
+		ProbabilityTable restricted = new ProbabilityTable(restrictedVars);
+		int[] restrictedStrides = stridesFor(restricted.varInfo);
+		double[] restrictedValues = restricted.values;
+		int[] counter = new int[restrictedStrides.length];
+		for (int i = 0; i < restrictedValues.length; i++) {
+			restrictedValues[i] = values[offset];
+			offset = restricted.increment(counter, restrictedStrides, offset);
+		}
+
+		return restricted;
 	}
 
 	public ProbabilityTable divideBy(ProbabilityTable divisor) {
@@ -381,76 +446,23 @@ public class ProbabilityTable implements CategoricalDistribution, Factor {
 					"Divisor must be a subset of the dividend.");
 		}
 
-		final ProbabilityTable quotient = new ProbabilityTable(randomVarInfo
+		ProbabilityTable quotient = new ProbabilityTable(randomVarInfo
 				.keySet());
-
-		if (1 == divisor.getValues().length) {
-			double d = divisor.getValues()[0];
-			for (int i = 0; i < quotient.getValues().length; i++) {
-				if (0 == d) {
-					quotient.getValues()[i] = 0;
-				} else {
-					quotient.getValues()[i] = getValues()[i] / d;
-				}
+		// Walk through the dividend, moving the offset into the
+		// divisor along with it.
+		int[] divisorStrides = divisor.stridesFor(varInfo);
+		double[] divisorValues = divisor.values;
+		double[] quotientValues = quotient.values;
+		int[] counter = new int[varInfo.length];
+		int divisorIdx = 0;
+		for (int i = 0; i < quotientValues.length; i++) {
+			double d = divisorValues[divisorIdx];
+			if (0 == d) {
+				quotientValues[i] = 0;
+			} else {
+				quotientValues[i] = values[i] / d;
 			}
-		} else {
-			Set<RandomVariable> dividendDivisorDiff = SetOps
-					.difference(this.randomVarInfo.keySet(),
-							divisor.randomVarInfo.keySet());
-			Map<RandomVariable, RVInfo> tdiff = null;
-			MixedRadixNumber tdMRN = null;
-			if (dividendDivisorDiff.size() > 0) {
-				tdiff = new LinkedHashMap<RandomVariable, RVInfo>();
-				for (RandomVariable rv : dividendDivisorDiff) {
-					tdiff.put(rv, new RVInfo(rv));
-				}
-				tdMRN = new MixedRadixNumber(0, createRadixs(tdiff));
-			}
-			final Map<RandomVariable, RVInfo> diff = tdiff;
-			final MixedRadixNumber dMRN = tdMRN;
-			final int[] qRVs = new int[quotient.radices.length];
-			final MixedRadixNumber qMRN = new MixedRadixNumber(0,
-					quotient.radices);
-			ProbabilityTable.Iterator divisorIterator = new ProbabilityTable.Iterator() {
-				public void iterate(Map<RandomVariable, Object> possibleWorld,
-						double probability) {
-					for (RandomVariable rv : possibleWorld.keySet()) {
-						RVInfo rvInfo = quotient.randomVarInfo.get(rv);
-						qRVs[rvInfo.getRadixIdx()] = rvInfo
-								.getIdxForDomain(possibleWorld.get(rv));
-					}
-					if (null != diff) {
-						// Start from 0 off the diff
-						dMRN.setCurrentValueFor(new int[diff.size()]);
-						do {
-							for (RandomVariable rv : diff.keySet()) {
-								RVInfo drvInfo = diff.get(rv);
-								RVInfo qrvInfo = quotient.randomVarInfo.get(rv);
-								qRVs[qrvInfo.getRadixIdx()] = dMRN
-										.getCurrentNumeralValue(drvInfo
-												.getRadixIdx());
-							}
-							updateQuotient(probability);
-						} while (dMRN.increment());
-					} else {
-						updateQuotient(probability);
-					}
-				}
-
-				//
-				//
-				private void updateQuotient(double probability) {
-					int offset = (int) qMRN.getCurrentValueFor(qRVs);
-					if (0 == probability) {
-						quotient.getValues()[offset] = 0;
-					} else {
-						quotient.getValues()[offset] += getValues()[offset]
-								/ probability;
-					}
-				}
-			};
-
-			divisor.iterateOverTable(divisorIterator);
+			divisorIdx = increment(counter, divisorStrides, divisorIdx);
 		}
 
 		return quotient;
@@ -473,48 +485,28 @@ public class ProbabilityTable implements CategoricalDistribution, Factor {
 					"Specified list deatailing order of mulitplier is inconsistent.");
 		}
 
-		// If no variables in the product
-		if (1 == product.getValues().length) {
-			product.getValues()[0] = getValues()[0] * multiplier.getValues()[0];
-		} else {
-			// Otherwise need to iterate through the product
-			// to calculate its values based on the terms.
-			final Object[] term1Values = new Object[randomVarInfo.size()];
-			final Object[] term2Values = new Object[multiplier.randomVarInfo
-					.size()];
-			ProbabilityTable.Iterator di = new ProbabilityTable.Iterator() {
-				private int idx = 0;
-
-				public void iterate(Map<RandomVariable, Object> possibleWorld,
-						double probability) {
-					int term1Idx = termIdx(term1Values, ProbabilityTable.this,
-							possibleWorld);
-					int term2Idx = termIdx(term2Values, multiplier,
-							possibleWorld);
-
-					product.getValues()[idx] = getValues()[term1Idx]
-							* multiplier.getValues()[term2Idx];
-
-					idx++;
-				}
-
-				private int termIdx(Object[] termValues, ProbabilityTable d,
-						Map<RandomVariable, Object> possibleWorld) {
-					if (0 == termValues.length) {
-						// The term has no variables so always position 0.
-						return 0;
-					}
-
-					int i = 0;
-					for (RandomVariable rv : d.randomVarInfo.keySet()) {
-						termValues[i] = possibleWorld.get(rv);
-						i++;
-					}
-
-					return d.getIndex(termValues);
+		// Walk through the product, moving the offsets into
+		// both terms along with it.
+		int[] term1Strides = stridesFor(product.varInfo);
+		int[] term2Strides = multiplier.stridesFor(product.varInfo);
+		double[] term1Values = values;
+		double[] term2Values = multiplier.values;
+		double[] productValues = product.values;
+		int[] counter = new int[product.varInfo.length];
+		int term1Idx = 0;
+		int term2Idx = 0;
+		for (int i = 0; i < productValues.length; i++) {
+			productValues[i] = term1Values[term1Idx] * term2Values[term2Idx];
+			for (int k = counter.length - 1; k >= 0; k--) {
+				if (++counter[k] < product.varInfo[k].getDomainSize()) {
+					term1Idx += term1Strides[k];
+					term2Idx += term2Strides[k];
+					break;
 				}
-			};
-			product.iterateOverTable(di);
+				term1Idx -= term1Strides[k] * (counter[k] - 1);
+				term2Idx -= term2Strides[k] * (counter[k] - 1);
+				counter[k] = 0;
+			}
 		}
 
 		return product;
@@ -546,34 +538,71 @@ public class ProbabilityTable implements CategoricalDistribution, Factor {
 		toString = null;
 	}
 
-	private int[] createRadixs(Map<RandomVariable, RVInfo> mapRtoInfo) {
-		int[] r = new int[mapRtoInfo.size()];
-		// Read in reverse order so that the enumeration
-		// through the distributions is of the following
-		// order using a MixedRadixNumber, e.g. for two Booleans:
-		// X Y
-		// true true
-		// true false
-		// false true
-		// false false
-		// which corresponds with how displayed in book.
-		int x = mapRtoInfo.size() - 1;
-		for (RVInfo rvInfo : mapRtoInfo.values()) {
-			r[x] = rvInfo.getDomainSize();
-			rvInfo.setRadixIdx(x);
-			x--;
+	/**
+	 * Get the strides of this table for the given variables, 0 for the
+	 * variables this table does not depend on.
+	 */
+	private int[] stridesFor(RVInfo[] vars) {
+		int[] result = new int[vars.length];
+		for (int i = 0; i < vars.length; i++) {
+			RVInfo rvInfo = randomVarInfo.get(vars[i].getVariable());
+			if (null != rvInfo) {
+				result[i] = strides[rvInfo.getVarIdx()];
+			}
 		}
-		return r;
+		return result;
+	}
+
+	/**
+	 * Advance the counter over the values of the variables of this table by
+	 * one (the last variable changing fastest) and move the offset into
+	 * another table with the given strides along with it.
+	 * 
+	 * @return the new offset into the other table.
+	 */
+	private int increment(int[] counter, int[] otherStrides, int otherIdx) {
+		for (int k = counter.length - 1; k >= 0; k--) {
+			if (++counter[k] < varInfo[k].getDomainSize()) {
+				return otherIdx + otherStrides[k];
+			}
+			otherIdx -= otherStrides[k] * (counter[k] - 1);
+			counter[k] = 0;
+		}
+		return otherIdx;
+	}
+
+	/**
+	 * Advance the counter over the values of the variables of this table by
+	 * one and update the values in the possible world that changed.
+	 * 
+	 * @return false if the counter wrapped around.
+	 */
+	private boolean advance(int[] counter,
+			Map<RandomVariable, Object> possibleWorld) {
+		for (int k = counter.length - 1; k >= 0; k--) {
+			RVInfo rvInfo = varInfo[k];
+			if (++counter[k] < rvInfo.getDomainSize()) {
+				possibleWorld.put(rvInfo.getVariable(),
+						rvInfo.getDomainValueAt(counter[k]));
+				return true;
+			}
+			counter[k] = 0;
+			possibleWorld.put(rvInfo.getVariable(), rvInfo.getDomainValueAt(0));
+		}
+		return false;
 	}
 
 	private class RVInfo {
 		private RandomVariable variable;
 		private FiniteDomain varDomain;
-		private int radixIdx = 0;
+		private int domainSize;
+		private int varIdx;
 
-		public RVInfo(RandomVariable rv) {
+		public RVInfo(RandomVariable rv, int varIdx) {
 			variable = rv;
 			varDomain = (FiniteDomain) variable.getDomain();
+			domainSize = varDomain.size();
+			this.varIdx = varIdx;
 		}
 
 		public RandomVariable getVariable() {
@@ -581,7 +610,7 @@ public class ProbabilityTable implements CategoricalDistribution, Factor {
 		}
 
 		public int getDomainSize() {
-			return varDomain.size();
+			return domainSize;
 		}
 
 		public int getIdxForDomain(Object value) {
@@ -592,12 +621,8 @@ public class ProbabilityTable implements CategoricalDistribution, Factor {
 			return varDomain.getValueAt(idx);
 		}
 
-		public void setRadixIdx(int idx) {
-			radixIdx = idx;
-		}
-
-		public int getRadixIdx() {
-			return radixIdx;
+		public int getVarIdx() {
+			return varIdx;
 		}
 	}
 
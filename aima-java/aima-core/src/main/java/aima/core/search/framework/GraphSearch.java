@@ -99,11 +99,11 @@ public class GraphSearch extends QueueSearch {
 				yesAddToFrontier = true;
 				// Want to replace the current frontier node with the child
 				// node therefore mark the child to be added and remove the
-				// current fontierNode
-				removeNodeFromFrontier(frontierNode);
-				// Ensure removed from add to frontier as well
-				// as 1 or more may reach the same state at the same time
-				addToFrontier.remove(frontierNode);
+				// current fontierNode. If it is not in the frontier, it must
+				// have been added during this expansion as 1 or more may
+				// reach the same state at the same time
+				if (!removeNodeFromFrontier(frontierNode))
+					addToFrontier.remove(frontierNode);
 			}
 
 			if (yesAddToFrontier) {
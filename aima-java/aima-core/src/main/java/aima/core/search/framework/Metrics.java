@@ -1,53 +1,236 @@
 package aima.core.search.framework;
 
 import java.util.Hashtable;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Stores key-value pairs for efficiency analysis.
+ * Stores key-value pairs for efficiency analysis. Values are kept in primitive
+ * slots (see {@link Slot}) so that hot code paths can obtain a slot once and
+ * update it repeatedly without parsing, formatting or boxing. The name table
+ * is only consulted when a slot is looked up by name.
+ *
  * @author Ravi Mohan
  * @author Ruediger Lunde
  */
 public class Metrics {
-	private Hashtable<String, String> hash;
+	private final Hashtable<String, Slot> slots;
 
 	public Metrics() {
-		this.hash = new Hashtable<String, String>();
+		this.slots = new Hashtable<String, Slot>();
+	}
+
+	/**
+	 * Returns the slot which stores the value of the specified metric. If no
+	 * such metric exists, a new slot with int value zero is created.
+	 *
+	 * @param name
+	 *            the name of the metric.
+	 * @return the slot which stores the value of the specified metric.
+	 */
+	public Slot getSlot(String name) {
+		synchronized (slots) {
+			Slot slot = slots.get(name);
+			if (slot == null) {
+				slot = new Slot();
+				slots.put(name, slot);
+			}
+			return slot;
+		}
 	}
 
 	public void set(String name, int i) {
-		hash.put(name, Integer.toString(i));
+		getSlot(name).set(i);
 	}
 
 	public void set(String name, double d) {
-		hash.put(name, Double.toString(d));
+		getSlot(name).set(d);
 	}
-	
+
 	public void set(String name, long l) {
-		hash.put(name, Long.toString(l));
+		getSlot(name).set(l);
 	}
 
+	/**
+	 * Returns the value of the specified metric as int.
+	 *
+	 * @throws NumberFormatException
+	 *             if no metric with the specified name exists.
+	 */
 	public int getInt(String name) {
-		return new Integer(hash.get(name)).intValue();
+		return existingSlot(name).intValue();
 	}
 
+	/**
+	 * Returns the value of the specified metric as double.
+	 *
+	 * @throws NumberFormatException
+	 *             if no metric with the specified name exists.
+	 */
 	public double getDouble(String name) {
-		return new Double(hash.get(name)).doubleValue();
+		return existingSlot(name).doubleValue();
 	}
-	
+
+	/**
+	 * Returns the value of the specified metric as long.
+	 *
+	 * @throws NumberFormatException
+	 *             if no metric with the specified name exists.
+	 */
 	public long getLong(String name) {
-		return new Long(hash.get(name)).longValue();
+		return existingSlot(name).longValue();
 	}
 
+	/**
+	 * Returns the value of the specified metric in the format in which it was
+	 * set, or null if no metric with the specified name exists.
+	 */
 	public String get(String name) {
-		return hash.get(name);
+		Slot slot = slots.get(name);
+		return slot != null ? slot.toString() : null;
 	}
 
 	public Set<String> keySet() {
-		return hash.keySet();
+		return slots.keySet();
 	}
-	
+
+	/**
+	 * Returns an independent copy of all metrics. Later updates of this object
+	 * do not affect the snapshot and vice versa.
+	 */
+	public Metrics snapshot() {
+		Metrics result = new Metrics();
+		synchronized (slots) {
+			for (Map.Entry<String, Slot> entry : slots.entrySet())
+				result.slots.put(entry.getKey(), entry.getValue().copy());
+		}
+		return result;
+	}
+
+	/**
+	 * Copies the current values of all metrics into the specified map. Int
+	 * and long values are exported as {@link Long}, double values as
+	 * {@link Double}.
+	 *
+	 * @param result
+	 *            the map to be filled.
+	 * @return the specified map.
+	 */
+	public Map<String, Number> exportTo(Map<String, Number> result) {
+		synchronized (slots) {
+			for (Map.Entry<String, Slot> entry : slots.entrySet())
+				result.put(entry.getKey(), entry.getValue().numberValue());
+		}
+		return result;
+	}
+
 	public String toString() {
-		return hash.toString();
+		return slots.toString();
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private Slot existingSlot(String name) {
+		Slot slot = slots.get(name);
+		if (slot == null)
+			throw new NumberFormatException("No metric named " + name);
+		return slot;
+	}
+
+	/**
+	 * Primitive storage for the value of one metric. Values are stored in one
+	 * atomic long (doubles by their raw bits) together with the type of the
+	 * last assignment, which determines the string representation. Increments
+	 * of int and long values are lock-free. Assignments and reads lock the
+	 * slot, so that a type and the value bits of another type are never seen
+	 * together.
+	 */
+	public static final class Slot {
+		private static final int INT = 0;
+		private static final int LONG = 1;
+		private static final int DOUBLE = 2;
+
+		private final AtomicLong bits = new AtomicLong();
+		private int type = INT;
+
+		public synchronized void set(int i) {
+			type = INT;
+			bits.set(i);
+		}
+
+		public synchronized void set(long l) {
+			type = LONG;
+			bits.set(l);
+		}
+
+		public synchronized void set(double d) {
+			type = DOUBLE;
+			bits.set(Double.doubleToRawLongBits(d));
+		}
+
+		/** Increments an int or long value by one. */
+		public void increment() {
+			bits.incrementAndGet();
+		}
+
+		/** Adds the specified amount to an int or long value. */
+		public void add(long delta) {
+			bits.addAndGet(delta);
+		}
+
+		/**
+		 * Replaces an int or long value by the specified value if the value is
+		 * greater than the current one.
+		 */
+		public void updateMax(long value) {
+			long curr;
+			while (value > (curr = bits.get())) {
+				if (bits.compareAndSet(curr, value))
+					break;
+			}
+		}
+
+		public int intValue() {
+			return (int) longValue();
+		}
+
+		public synchronized long longValue() {
+			return type == DOUBLE ? (long) Double.longBitsToDouble(bits.get())
+					: bits.get();
+		}
+
+		public synchronized double doubleValue() {
+			return type == DOUBLE ? Double.longBitsToDouble(bits.get()) : bits
+					.get();
+		}
+
+		public synchronized String toString() {
+			switch (type) {
+			case INT:
+				return Integer.toString((int) bits.get());
+			case LONG:
+				return Long.toString(bits.get());
+			default:
+				return Double.toString(Double.longBitsToDouble(bits.get()));
+			}
+		}
+
+		//
+		// PRIVATE METHODS
+		//
+		private synchronized Number numberValue() {
+			if (type == DOUBLE)
+				return Double.valueOf(doubleValue());
+			return Long.valueOf(bits.get());
+		}
+
+		private synchronized Slot copy() {
+			Slot result = new Slot();
+			result.type = type;
+			result.bits.set(bits.get());
+			return result;
+		}
 	}
 }
@@ -13,16 +13,18 @@ public class NodeExpander {
 	public static final String METRIC_NODES_EXPANDED = "nodesExpanded";
 
 	protected Metrics metrics;
+	private Metrics.Slot nodesExpanded;
 
 	public NodeExpander() {
 		metrics = new Metrics();
+		nodesExpanded = metrics.getSlot(METRIC_NODES_EXPANDED);
 	}
 
 	/**
 	 * Sets the nodes expanded metric to zero.
 	 */
 	public void clearInstrumentation() {
-		metrics.set(METRIC_NODES_EXPANDED, 0);
+		nodesExpanded.set(0);
 	}
 
 	/**
@@ -31,7 +33,7 @@ public class NodeExpander {
 	 * @return the number of nodes expanded so far.
 	 */
 	public int getNodesExpanded() {
-		return metrics.getInt(METRIC_NODES_EXPANDED);
+		return nodesExpanded.intValue();
 	}
 
 	/**
@@ -70,8 +72,7 @@ public class NodeExpander {
 					successorState);
 			childNodes.add(new Node(successorState, node, action, stepCost));
 		}
-		metrics.set(METRIC_NODES_EXPANDED,
-				metrics.getInt(METRIC_NODES_EXPANDED) + 1);
+		nodesExpanded.increment();
 
 		return childNodes;
 	}
@@ -4,7 +4,9 @@ import java.util.Comparator;
 import java.util.List;
 
 import aima.core.agent.Action;
+import aima.core.util.datastructure.IndexedPriorityQueue;
 import aima.core.util.datastructure.PriorityQueue;
+import aima.core.util.datastructure.Queue;
 
 /**
  * @author Ravi Mohan
@@ -13,6 +15,7 @@ import aima.core.util.datastructure.PriorityQueue;
 public class PrioritySearch implements Search {
 	private final QueueSearch search;
 	private final Comparator<Node> comparator;
+	private boolean useIndexedFrontier = false;
 
 	public PrioritySearch(QueueSearch search, Comparator<Node> comparator) {
 		this.search = search;
@@ -23,8 +26,27 @@ public class PrioritySearch implements Search {
 		}
 	}
 	
+	public boolean isUseIndexedFrontier() {
+		return useIndexedFrontier;
+	}
+
+	/**
+	 * Selects the frontier implementation. An indexed frontier removes
+	 * replaced nodes in logarithmic instead of linear time, which pays off for
+	 * graph search on large state spaces. Nodes with equal priority may be
+	 * expanded in a different order than with the default frontier.
+	 */
+	public void setUseIndexedFrontier(boolean useIndexedFrontier) {
+		this.useIndexedFrontier = useIndexedFrontier;
+	}
+
 	public List<Action> search(Problem p) throws Exception {
-		return search.search(p, new PriorityQueue<Node>(5, comparator));
+		Queue<Node> frontier;
+		if (useIndexedFrontier)
+			frontier = new IndexedPriorityQueue<Node>(comparator);
+		else
+			frontier = new PriorityQueue<Node>(5, comparator);
+		return search.search(p, frontier);
 	}
 
 	public Metrics getMetrics() {
@@ -23,6 +23,9 @@ public abstract class QueueSearch extends NodeExpander {
 	//
 	private Queue<Node> frontier = null;
 	private boolean checkGoalBeforeAddingToFrontier = false;
+	private final Metrics.Slot queueSize = metrics.getSlot(METRIC_QUEUE_SIZE);
+	private final Metrics.Slot maxQueueSize = metrics
+			.getSlot(METRIC_MAX_QUEUE_SIZE);
 
 	public boolean isFailure(List<Action> result) {
 		return 0 == result.size();
@@ -117,26 +120,22 @@ public abstract class QueueSearch extends NodeExpander {
 	@Override
 	public void clearInstrumentation() {
 		super.clearInstrumentation();
-		metrics.set(METRIC_QUEUE_SIZE, 0);
-		metrics.set(METRIC_MAX_QUEUE_SIZE, 0);
+		queueSize.set(0);
+		maxQueueSize.set(0);
 		metrics.set(METRIC_PATH_COST, 0);
 	}
 
 	public int getQueueSize() {
-		return metrics.getInt("queueSize");
+		return queueSize.intValue();
 	}
 
 	public void setQueueSize(int queueSize) {
-
-		metrics.set(METRIC_QUEUE_SIZE, queueSize);
-		int maxQSize = metrics.getInt(METRIC_MAX_QUEUE_SIZE);
-		if (queueSize > maxQSize) {
-			metrics.set(METRIC_MAX_QUEUE_SIZE, queueSize);
-		}
+		this.queueSize.set(queueSize);
+		maxQueueSize.updateMax(queueSize);
 	}
 
 	public int getMaxQueueSize() {
-		return metrics.getInt(METRIC_MAX_QUEUE_SIZE);
+		return maxQueueSize.intValue();
 	}
 
 	public double getPathCost() {
@@ -94,10 +94,7 @@ public class RecursiveBestFirstSearch extends NodeExpander implements Search {
 	 *            the depth of the current path
 	 */
 	public void setMaxRecursiveDepth(int recursiveDepth) {
-		int maxRdepth = metrics.getInt(MAX_RECURSIVE_DEPTH);
-		if (recursiveDepth > maxRdepth) {
-			metrics.set(MAX_RECURSIVE_DEPTH, recursiveDepth);
-		}
+		metrics.getSlot(MAX_RECURSIVE_DEPTH).updateMax(recursiveDepth);
 	}
 
 	/**
@@ -0,0 +1,92 @@
+package aima.core.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Runs independent tasks on pools of daemon threads, so a pool which is not
+ * shut down does not keep the JVM alive. A pool can be created for one call
+ * of {@link #runAll(List, int)}, or created with
+ * {@link #newDaemonPool(int, String)} and kept by its owner across calls of
+ * {@link #invokeAll(ExecutorService, List)}.
+ *
+ * @author agent
+ *
+ */
+public class ParallelTasks {
+
+	/**
+	 * Create a fixed size pool of daemon threads.
+	 *
+	 * @param threads
+	 *            the number of threads.
+	 * @param name
+	 *            the name of the threads.
+	 * @return the pool, to be shut down by its owner.
+	 */
+	public static ExecutorService newDaemonPool(int threads, final String name) {
+		return Executors.newFixedThreadPool(threads, new ThreadFactory() {
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, name);
+				t.setDaemon(true);
+				return t;
+			}
+		});
+	}
+
+	/**
+	 * Run the tasks on a pool and wait for all of them to finish.
+	 *
+	 * @return the results of the tasks, in the order of the tasks.
+	 * @throws RuntimeException
+	 *             if the calling thread was interrupted, or with the cause of
+	 *             the failure of a task.
+	 */
+	public static <T> List<T> invokeAll(ExecutorService pool,
+			List<? extends Callable<T>> tasks) {
+		try {
+			List<T> results = new ArrayList<T>(tasks.size());
+			for (Future<T> f : pool.invokeAll(tasks)) {
+				results.add(f.get());
+			}
+			return results;
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Tasks were interrupted.", ex);
+		} catch (ExecutionException ex) {
+			throw new RuntimeException("Task failed.", ex.getCause());
+		}
+	}
+
+	/**
+	 * Run the tasks on a new pool of at most the given number of threads,
+	 * which is shut down before returning.
+	 *
+	 * @return the results of the tasks, in the order of the tasks.
+	 * @throws RuntimeException
+	 *             if the calling thread was interrupted, or with the cause of
+	 *             the failure of a task.
+	 */
+	public static <T> List<T> runAll(List<? extends Callable<T>> tasks,
+			int threads) {
+		ExecutorService pool = newDaemonPool(Math.max(1, Math.min(threads,
+				tasks.size())), "ParallelTasks");
+		try {
+			return invokeAll(pool, tasks);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private ParallelTasks() {
+	}
+}
@@ -0,0 +1,80 @@
+package aima.core.util;
+
+/**
+ * A fast, non thread safe Randomizer which can be split into independent
+ * Randomizers, e.g. one per thread, using the SplitMix64 algorithm (Steele,
+ * Lea, Flood: Fast Splittable Pseudorandom Number Generators, OOPSLA 2014).
+ * Randomizers created from the same seed in the same way produce the same
+ * sequences.
+ *
+ * @author agent
+ *
+ */
+public class SplittableRandomizer implements Randomizer {
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+	private long seed;
+	private long gamma;
+
+	public SplittableRandomizer() {
+		this(System.nanoTime() ^ Thread.currentThread().getId() * GOLDEN_GAMMA);
+	}
+
+	public SplittableRandomizer(long seed) {
+		this(seed, GOLDEN_GAMMA);
+	}
+
+	private SplittableRandomizer(long seed, long gamma) {
+		this.seed = seed;
+		this.gamma = gamma;
+	}
+
+	/**
+	 * Create a new Randomizer whose sequence is independent of this one's.
+	 * This Randomizer is advanced.
+	 *
+	 * @return a new Randomizer.
+	 */
+	public SplittableRandomizer split() {
+		return new SplittableRandomizer(nextLong(), mixGamma(nextSeed()));
+	}
+
+	/**
+	 *
+	 * @return a uniformly distributed long.
+	 */
+	public long nextLong() {
+		return mix64(nextSeed());
+	}
+
+	//
+	// START-Randomizer
+	@Override
+	public double nextDouble() {
+		return (nextLong() >>> 11) * 0x1.0p-53;
+	}
+
+	// END-Randomizer
+	//
+
+	//
+	// PRIVATE METHODS
+	//
+	private long nextSeed() {
+		return seed += gamma;
+	}
+
+	private static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	private static long mixGamma(long z) {
+		z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+		z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		z = (z ^ (z >>> 33)) | 1L;
+		// Ensure enough bit transitions for a good gamma
+		int n = Long.bitCount(z ^ (z >>> 1));
+		return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+	}
+}
@@ -0,0 +1,249 @@
+package aima.core.util.datastructure;
+
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A priority queue implemented as binary heap which keeps track of the heap
+ * position of each of its elements. In contrast to {@link PriorityQueue},
+ * removing an arbitrary element and changing the priority of an element
+ * (decrease-key) take O(log n) instead of O(n) time. Elements are identified
+ * by reference, not by <code>equals</code>, and must not be contained in the
+ * queue more than once.
+ *
+ * @param <E>
+ *            the type of the queue elements.
+ *
+ * @author agent
+ *
+ */
+public class IndexedPriorityQueue<E> extends AbstractQueue<E> implements
+		Queue<E> {
+	private final Comparator<? super E> comparator;
+	private final IdentityHashMap<E, Entry<E>> entries;
+	private Entry<E>[] heap;
+	private int size;
+	private int modCount;
+
+	public IndexedPriorityQueue(Comparator<? super E> comparator) {
+		this(11, comparator);
+	}
+
+	public IndexedPriorityQueue(int initialCapacity,
+			Comparator<? super E> comparator) {
+		this.comparator = comparator;
+		entries = new IdentityHashMap<E, Entry<E>>(initialCapacity);
+		@SuppressWarnings("unchecked")
+		Entry<E>[] h = (Entry<E>[]) new Entry<?>[Math.max(1, initialCapacity)];
+		heap = h;
+	}
+
+	//
+	// START-Queue
+	public boolean isEmpty() {
+		return 0 == size;
+	}
+
+	public E pop() {
+		return poll();
+	}
+
+	public Queue<E> insert(E element) {
+		if (offer(element)) {
+			return this;
+		}
+		return null;
+	}
+
+	// END-Queue
+	//
+
+	/**
+	 * Inserts the specified element. Returns false if the element is already
+	 * contained in the queue.
+	 */
+	public boolean offer(E element) {
+		if (element == null)
+			throw new NullPointerException();
+		if (entries.containsKey(element))
+			return false;
+		if (size == heap.length)
+			heap = Arrays.copyOf(heap, 2 * size);
+		Entry<E> entry = new Entry<E>(element, size);
+		heap[size++] = entry;
+		entries.put(element, entry);
+		siftUp(entry);
+		modCount++;
+		return true;
+	}
+
+	public E poll() {
+		if (size == 0)
+			return null;
+		Entry<E> first = heap[0];
+		removeAt(0);
+		return first.element;
+	}
+
+	public E peek() {
+		return size > 0 ? heap[0].element : null;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean contains(Object element) {
+		return entries.containsKey(element);
+	}
+
+	public boolean remove(Object element) {
+		Entry<E> entry = entries.get(element);
+		if (entry == null)
+			return false;
+		removeAt(entry.index);
+		return true;
+	}
+
+	/**
+	 * Restores the heap order after the priority of the specified element has
+	 * changed. Decreasing priorities (according to the comparator) move the
+	 * element towards the head of the queue.
+	 *
+	 * @return false if the element is not contained in the queue.
+	 */
+	public boolean update(E element) {
+		Entry<E> entry = entries.get(element);
+		if (entry == null)
+			return false;
+		siftUp(entry);
+		siftDown(entry);
+		modCount++;
+		return true;
+	}
+
+	/**
+	 * Replaces an element of the queue by another element at the same heap
+	 * position and restores the heap order. Typically used to replace a
+	 * frontier node by a cheaper node for the same state (decrease-key).
+	 *
+	 * @return false if the old element is not contained in the queue or the
+	 *         new element is already contained.
+	 */
+	public boolean replace(E oldElement, E newElement) {
+		Entry<E> entry = entries.get(oldElement);
+		if (entry == null || entries.containsKey(newElement))
+			return false;
+		entries.remove(oldElement);
+		entry.element = newElement;
+		entries.put(newElement, entry);
+		return update(newElement);
+	}
+
+	public void clear() {
+		Arrays.fill(heap, 0, size, null);
+		entries.clear();
+		size = 0;
+		modCount++;
+	}
+
+	/**
+	 * Returns an iterator over the elements in heap order (not in priority
+	 * order). Removal via the iterator is not supported.
+	 */
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+			private int next = 0;
+			private final int expectedModCount = modCount;
+
+			public boolean hasNext() {
+				return next < size;
+			}
+
+			public E next() {
+				if (expectedModCount != modCount)
+					throw new ConcurrentModificationException();
+				if (next >= size)
+					throw new NoSuchElementException();
+				return heap[next++].element;
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private void removeAt(int index) {
+		Entry<E> removed = heap[index];
+		entries.remove(removed.element);
+		size--;
+		if (index < size) {
+			Entry<E> last = heap[size];
+			heap[index] = last;
+			last.index = index;
+			heap[size] = null;
+			siftUp(last);
+			siftDown(last);
+		} else {
+			heap[size] = null;
+		}
+		modCount++;
+	}
+
+	private void siftUp(Entry<E> entry) {
+		int index = entry.index;
+		while (index > 0) {
+			int parentIndex = (index - 1) >>> 1;
+			Entry<E> parent = heap[parentIndex];
+			if (comparator.compare(entry.element, parent.element) >= 0)
+				break;
+			heap[index] = parent;
+			parent.index = index;
+			index = parentIndex;
+		}
+		heap[index] = entry;
+		entry.index = index;
+	}
+
+	private void siftDown(Entry<E> entry) {
+		int index = entry.index;
+		int half = size >>> 1;
+		while (index < half) {
+			int childIndex = 2 * index + 1;
+			Entry<E> child = heap[childIndex];
+			int rightIndex = childIndex + 1;
+			if (rightIndex < size
+					&& comparator.compare(heap[rightIndex].element,
+							child.element) < 0) {
+				childIndex = rightIndex;
+				child = heap[childIndex];
+			}
+			if (comparator.compare(entry.element, child.element) <= 0)
+				break;
+			heap[index] = child;
+			child.index = index;
+			index = childIndex;
+		}
+		heap[index] = entry;
+		entry.index = index;
+	}
+
+	private static class Entry<E> {
+		E element;
+		int index;
+
+		Entry(E element, int index) {
+			this.element = element;
+			this.index = index;
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package aima.core.util.datastructure;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns consecutive int ids, starting at 0, to distinct objects, so that
+ * tables keyed by those objects can be kept in primitive arrays indexed by
+ * id. Ids are never reused.
+ * 
+ * @param <T>
+ *            the type of the interned objects.
+ *
+ * @author agent
+ *
+ */
+public class Interner<T> {
+	private Map<T, Integer> ids = new HashMap<T, Integer>();
+	private List<T> objects = new ArrayList<T>();
+
+	/**
+	 * 
+	 * @return the id of an object, assigning the next id if it has none yet.
+	 */
+	public int intern(T object) {
+		Integer id = ids.get(object);
+		if (null == id) {
+			id = objects.size();
+			ids.put(object, id);
+			objects.add(object);
+		}
+		return id;
+	}
+
+	/**
+	 * 
+	 * @return the id of an object, or -1 if it has none.
+	 */
+	public int indexOf(T object) {
+		Integer id = ids.get(object);
+		return null == id ? -1 : id;
+	}
+
+	/**
+	 * 
+	 * @return the object with the specified id.
+	 */
+	public T get(int id) {
+		return objects.get(id);
+	}
+
+	/**
+	 * 
+	 * @return the number of interned objects, i.e. one more than the largest
+	 *         id.
+	 */
+	public int size() {
+		return objects.size();
+	}
+}
@@ -67,8 +67,7 @@ public class LUDecomposition implements java.io.Serializable {
 			piv[i] = i;
 		}
 		pivsign = 1;
-		double[] LUrowi;
-		double[] LUcolj = new double[m];
+		final double[] LUcolj = new double[m];
 
 		// Outer loop.
 
@@ -80,20 +79,20 @@ public class LUDecomposition implements java.io.Serializable {
 				LUcolj[i] = LU[i][j];
 			}
 
-			// Apply previous transformations.
-
-			for (int i = 0; i < m; i++) {
-				LUrowi = LU[i];
-
-				// Most of the time is spent in the following dot product.
-
-				int kmax = Math.min(i, j);
-				double s = 0.0;
-				for (int k = 0; k < kmax; k++) {
-					s += LUrowi[k] * LUcolj[k];
-				}
-
-				LUrowi[j] = LUcolj[i] -= s;
+			// Apply previous transformations. The rows above the diagonal
+			// depend on each other, the rows below it only on those above, so
+			// they are updated in parallel for large matrices.
+
+			applyPreviousTransformations(LUcolj, j, 0, Math.min(j, m));
+			if (j < m) {
+				final int col = j;
+				MatrixKernels.forRows(j, m, (long) (m - j) * j,
+						new MatrixKernels.RowTask() {
+							public void run(int from, int to) {
+								applyPreviousTransformations(LUcolj, col,
+										from, to);
+							}
+						});
 			}
 
 			// Find pivot and exchange if necessary.
@@ -279,27 +278,61 @@ public class LUDecomposition implements java.io.Serializable {
 		// Copy right hand side with pivoting
 		int nx = B.getColumnDimension();
 		Matrix Xmat = B.getMatrix(piv, 0, nx - 1);
-		double[][] X = Xmat.getArray();
+		final double[][] X = Xmat.getArray();
+
+		// The columns of X are independent, so for large systems they are
+		// solved in parallel.
+		MatrixKernels.forRows(0, nx, (long) n * n * nx,
+				new MatrixKernels.RowTask() {
+					public void run(int from, int to) {
+						solveColumns(X, from, to);
+					}
+				});
+		return Xmat;
+	}
 
+	/*
+	 * ------------------------ Private Methods ------------------------
+	 */
+
+	// the dot products of rows [from, to) with the j-th column
+	private void applyPreviousTransformations(double[] LUcolj, int j,
+			int from, int to) {
+		for (int i = from; i < to; i++) {
+			double[] LUrowi = LU[i];
+
+			// Most of the time is spent in the following dot product.
+
+			int kmax = Math.min(i, j);
+			double s = 0.0;
+			for (int k = 0; k < kmax; k++) {
+				s += LUrowi[k] * LUcolj[k];
+			}
+
+			LUrowi[j] = LUcolj[i] -= s;
+		}
+	}
+
+	// solve the columns [from, to) of X
+	private void solveColumns(double[][] X, int from, int to) {
 		// Solve L*Y = B(piv,:)
 		for (int k = 0; k < n; k++) {
 			for (int i = k + 1; i < n; i++) {
-				for (int j = 0; j < nx; j++) {
+				for (int j = from; j < to; j++) {
 					X[i][j] -= X[k][j] * LU[i][k];
 				}
 			}
 		}
 		// Solve U*X = Y;
 		for (int k = n - 1; k >= 0; k--) {
-			for (int j = 0; j < nx; j++) {
+			for (int j = from; j < to; j++) {
 				X[k][j] /= LU[k][k];
 			}
 			for (int i = 0; i < k; i++) {
-				for (int j = 0; j < nx; j++) {
+				for (int j = from; j < to; j++) {
 					X[i][j] -= X[k][j] * LU[i][k];
 				}
 			}
 		}
-		return Xmat;
 	}
 }
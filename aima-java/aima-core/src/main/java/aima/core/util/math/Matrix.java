@@ -200,6 +200,46 @@ public class Matrix implements Cloneable, java.io.Serializable {
 	 * ------------------------ Public Methods ------------------------
 	 */
 
+	/**
+	 * Construct a matrix from a one-dimensional array packed by rows, the
+	 * contiguous storage used by the kernels of {@link MatrixKernels}.
+	 * 
+	 * @param vals
+	 *            One-dimensional array of doubles, packed by rows.
+	 * @param m
+	 *            Number of rows.
+	 * @param n
+	 *            Number of colums.
+	 * @exception IllegalArgumentException
+	 *                Array length must be m * n.
+	 */
+
+	public static Matrix constructFromRowPacked(double[] vals, int m, int n) {
+		if (m * n != vals.length) {
+			throw new IllegalArgumentException("Array length must be m * n.");
+		}
+		Matrix X = new Matrix(m, n);
+		for (int i = 0; i < m; i++) {
+			System.arraycopy(vals, i * n, X.A[i], 0, n);
+		}
+		return X;
+	}
+
+	/**
+	 * Copy the elements into a one-dimensional array packed by rows.
+	 * 
+	 * @param vals
+	 *            an array of at least m * n doubles, overwritten.
+	 * @return vals
+	 */
+
+	public double[] copyRowPackedInto(double[] vals) {
+		for (int i = 0; i < m; i++) {
+			System.arraycopy(A[i], 0, vals, i * n, n);
+		}
+		return vals;
+	}
+
 	/**
 	 * Construct a matrix from a copy of a 2-D array.
 	 * 
@@ -697,6 +737,28 @@ public class Matrix implements Cloneable, java.io.Serializable {
 		return X;
 	}
 
+	/**
+	 * C = A + B, into a given matrix
+	 * 
+	 * @param B
+	 *            another matrix
+	 * @param C
+	 *            the matrix to hold the sum, overwritten. May be A or B.
+	 * @return C
+	 */
+
+	public Matrix plusInto(Matrix B, Matrix C) {
+		checkMatrixDimensions(B);
+		checkMatrixDimensions(C);
+		for (int i = 0; i < m; i++) {
+			double[] Arowi = A[i], Browi = B.A[i], Crowi = C.A[i];
+			for (int j = 0; j < n; j++) {
+				Crowi[j] = Arowi[j] + Browi[j];
+			}
+		}
+		return C;
+	}
+
 	/**
 	 * A = A + B
 	 * 
@@ -914,27 +976,40 @@ public class Matrix implements Cloneable, java.io.Serializable {
 	 */
 
 	public Matrix times(Matrix B) {
+		return timesInto(B, new Matrix(m, B.n));
+	}
+
+	/**
+	 * Linear algebraic matrix multiplication into a given matrix, C = A * B.
+	 * The multiplication is cache-blocked and, for large matrices, split
+	 * across threads (see {@link MatrixKernels}).
+	 * 
+	 * @param B
+	 *            another matrix
+	 * @param C
+	 *            the matrix to hold the product, overwritten. Must not be A or
+	 *            B.
+	 * @return C
+	 * @exception IllegalArgumentException
+	 *                Matrix inner dimensions must agree, C must have the
+	 *                dimensions of the product.
+	 */
+
+	public Matrix timesInto(Matrix B, Matrix C) {
 		if (B.m != n) {
 			throw new IllegalArgumentException(
 					"Matrix inner dimensions must agree.");
 		}
-		Matrix X = new Matrix(m, B.n);
-		double[][] C = X.getArray();
-		double[] Bcolj = new double[n];
-		for (int j = 0; j < B.n; j++) {
-			for (int k = 0; k < n; k++) {
-				Bcolj[k] = B.A[k][j];
-			}
-			for (int i = 0; i < m; i++) {
-				double[] Arowi = A[i];
-				double s = 0;
-				for (int k = 0; k < n; k++) {
-					s += Arowi[k] * Bcolj[k];
-				}
-				C[i][j] = s;
-			}
+		if (C.m != m || C.n != B.n) {
+			throw new IllegalArgumentException(
+					"Matrix dimensions of the product must agree.");
 		}
-		return X;
+		if (C == this || C == B) {
+			throw new IllegalArgumentException(
+					"Product cannot be written to an operand.");
+		}
+		MatrixKernels.multiply(A, B.A, C.A, m, n, B.n);
+		return C;
 	}
 
 	/**
@@ -0,0 +1,250 @@
+package aima.core.util.math;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import aima.core.util.ParallelTasks;
+
+/**
+ * Cache-blocked matrix multiplication kernels, used by {@link Matrix} and
+ * {@link LUDecomposition}, for matrices stored either as arrays of rows (as
+ * Matrix does) or contiguously in a single row-major double[] (for callers
+ * which keep whole blocks of data, e.g. mini-batches of examples, in one
+ * array). Within each tile the kernels sweep rows of the operands
+ * sequentially, and the products of each element are summed in order of the
+ * inner index, so the results are the same as those of the plain triple loop.
+ * <br>
+ * <br>
+ * Work above {@link #PARALLEL_THRESHOLD} multiply-adds is split into ranges of
+ * rows which are run on a shared pool of daemon threads, one per available
+ * processor.
+ *
+ * @author agent
+ *
+ */
+public final class MatrixKernels {
+	/**
+	 * The edge length of the tiles of the blocked loops.
+	 */
+	public static final int BLOCK = 64;
+	/**
+	 * The number of multiply-adds above which work is split across threads.
+	 */
+	public static final long PARALLEL_THRESHOLD = 1L << 18;
+
+	/**
+	 * A task run over a range of rows.
+	 */
+	public interface RowTask {
+		/**
+		 *
+		 * @param from
+		 *            the first row.
+		 * @param to
+		 *            one past the last row.
+		 */
+		void run(int from, int to);
+	}
+
+	private static final int THREADS = Runtime.getRuntime()
+			.availableProcessors();
+	private static ExecutorService pool = null;
+
+	/**
+	 * Run a task over the rows [from, to), split across threads if the total
+	 * work is above the parallel threshold.
+	 *
+	 * @param work
+	 *            the (estimated) number of multiply-adds of all rows.
+	 */
+	public static void forRows(int from, int to, long work, final RowTask task) {
+		int parts = (int) Math.min(THREADS, Math.min(to - from, work
+				/ PARALLEL_THRESHOLD));
+		if (parts < 2) {
+			task.run(from, to);
+			return;
+		}
+		List<Callable<Object>> calls = new ArrayList<Callable<Object>>();
+		for (int p = 0; p < parts; p++) {
+			final int first = from + (int) ((long) (to - from) * p / parts);
+			final int end = from + (int) ((long) (to - from) * (p + 1) / parts);
+			calls.add(new Callable<Object>() {
+				public Object call() {
+					task.run(first, end);
+					return null;
+				}
+			});
+		}
+		ParallelTasks.invokeAll(getPool(), calls);
+	}
+
+	/**
+	 * C = A * B, for matrices stored as arrays of rows.
+	 *
+	 * @param A
+	 *            an m-by-k matrix
+	 * @param B
+	 *            a k-by-n matrix
+	 * @param C
+	 *            an m-by-n matrix, overwritten. Must not be A or B.
+	 */
+	public static void multiply(final double[][] A, final double[][] B,
+			final double[][] C, int m, final int k, final int n) {
+		forRows(0, m, (long) m * k * n, new RowTask() {
+			public void run(int from, int to) {
+				for (int i = from; i < to; i++) {
+					double[] Crowi = C[i];
+					for (int j = 0; j < n; j++) {
+						Crowi[j] = 0;
+					}
+				}
+				for (int i0 = from; i0 < to; i0 += BLOCK) {
+					int i1 = Math.min(to, i0 + BLOCK);
+					for (int p0 = 0; p0 < k; p0 += BLOCK) {
+						int p1 = Math.min(k, p0 + BLOCK);
+						for (int j0 = 0; j0 < n; j0 += BLOCK) {
+							int j1 = Math.min(n, j0 + BLOCK);
+							for (int i = i0; i < i1; i++) {
+								double[] Arowi = A[i];
+								double[] Crowi = C[i];
+								for (int p = p0; p < p1; p++) {
+									double aip = Arowi[p];
+									double[] Browp = B[p];
+									for (int j = j0; j < j1; j++) {
+										Crowi[j] += aip * Browp[j];
+									}
+								}
+							}
+						}
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * C = A * B, for matrices stored contiguously in row-major order.
+	 *
+	 * @param A
+	 *            an m-by-k matrix
+	 * @param B
+	 *            a k-by-n matrix
+	 * @param C
+	 *            an m-by-n matrix, overwritten. Must not be A or B.
+	 */
+	public static void multiply(final double[] A, int m, final int k,
+			final double[] B, final int n, final double[] C) {
+		forRows(0, m, (long) m * k * n, new RowTask() {
+			public void run(int from, int to) {
+				for (int c = from * n; c < to * n; c++) {
+					C[c] = 0;
+				}
+				for (int i0 = from; i0 < to; i0 += BLOCK) {
+					int i1 = Math.min(to, i0 + BLOCK);
+					for (int p0 = 0; p0 < k; p0 += BLOCK) {
+						int p1 = Math.min(k, p0 + BLOCK);
+						for (int j0 = 0; j0 < n; j0 += BLOCK) {
+							int j1 = Math.min(n, j0 + BLOCK);
+							for (int i = i0; i < i1; i++) {
+								for (int p = p0; p < p1; p++) {
+									double aip = A[i * k + p];
+									int b = p * n, c = i * n;
+									for (int j = j0; j < j1; j++) {
+										C[c + j] += aip * B[b + j];
+									}
+								}
+							}
+						}
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * C = A * B<sup>T</sup>, for matrices stored contiguously in row-major
+	 * order.
+	 *
+	 * @param A
+	 *            an m-by-k matrix
+	 * @param B
+	 *            an n-by-k matrix
+	 * @param C
+	 *            an m-by-n matrix, overwritten. Must not be A or B.
+	 */
+	public static void multiplyTransposedB(final double[] A, int m,
+			final int k, final double[] B, final int n, final double[] C) {
+		forRows(0, m, (long) m * k * n, new RowTask() {
+			public void run(int from, int to) {
+				for (int i0 = from; i0 < to; i0 += BLOCK) {
+					int i1 = Math.min(to, i0 + BLOCK);
+					for (int j0 = 0; j0 < n; j0 += BLOCK) {
+						int j1 = Math.min(n, j0 + BLOCK);
+						for (int i = i0; i < i1; i++) {
+							for (int j = j0; j < j1; j++) {
+								double s = 0;
+								int a = i * k, b = j * k;
+								for (int p = 0; p < k; p++) {
+									s += A[a + p] * B[b + p];
+								}
+								C[i * n + j] = s;
+							}
+						}
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * C = C + A<sup>T</sup> * B, for matrices stored contiguously in row-major
+	 * order.
+	 *
+	 * @param A
+	 *            an m-by-k matrix
+	 * @param B
+	 *            an m-by-n matrix
+	 * @param C
+	 *            a k-by-n matrix, added to. Must not be A or B.
+	 */
+	public static void multiplyTransposedAAdd(final double[] A, final int m,
+			final int k, final double[] B, final int n, final double[] C) {
+		// split by rows of C, i.e. by columns of A
+		forRows(0, k, (long) m * k * n, new RowTask() {
+			public void run(int from, int to) {
+				for (int i0 = 0; i0 < m; i0 += BLOCK) {
+					int i1 = Math.min(m, i0 + BLOCK);
+					for (int p0 = from; p0 < to; p0 += BLOCK) {
+						int p1 = Math.min(to, p0 + BLOCK);
+						for (int i = i0; i < i1; i++) {
+							for (int p = p0; p < p1; p++) {
+								double aip = A[i * k + p];
+								if (0 != aip) {
+									int b = i * n, c = p * n;
+									for (int j = 0; j < n; j++) {
+										C[c + j] += aip * B[b + j];
+									}
+								}
+							}
+						}
+					}
+				}
+			}
+		});
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private MatrixKernels() {
+	}
+
+	private static synchronized ExecutorService getPool() {
+		if (null == pool) {
+			pool = ParallelTasks.newDaemonPool(THREADS, "MatrixKernels");
+		}
+		return pool;
+	}
+}
@@ -3,6 +3,7 @@ package aima.test.core.unit.learning;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
+import aima.test.core.unit.learning.framework.ColumnarDataSetTest;
 import aima.test.core.unit.learning.framework.DataSetTest;
 import aima.test.core.unit.learning.framework.InformationAndGainTest;
 import aima.test.core.unit.learning.inductive.DLTestTest;
@@ -12,15 +13,18 @@ import aima.test.core.unit.learning.learners.EnsembleLearningTest;
 import aima.test.core.unit.learning.learners.LearnerTest;
 import aima.test.core.unit.learning.neural.BackPropagationTest;
 import aima.test.core.unit.learning.neural.LayerTest;
+import aima.test.core.unit.learning.neural.MiniBatchBackPropLearningTest;
 import aima.test.core.unit.learning.reinforcement.agent.PassiveADPAgentTest;
 import aima.test.core.unit.learning.reinforcement.agent.PassiveTDAgentTest;
 import aima.test.core.unit.learning.reinforcement.agent.QLearningAgentTest;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({ DataSetTest.class, InformationAndGainTest.class,
+		ColumnarDataSetTest.class,
 		DecisionListTest.class, DLTestTest.class, DecisionTreeTest.class,
 		EnsembleLearningTest.class, LearnerTest.class,
 		BackPropagationTest.class, LayerTest.class,
+		MiniBatchBackPropLearningTest.class,
 		PassiveADPAgentTest.class, PassiveTDAgentTest.class,
 		QLearningAgentTest.class })
 public class LearningTestSuite {
@@ -0,0 +1,102 @@
+package aima.test.core.unit.learning.framework;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import aima.core.learning.framework.ColumnarDataSet;
+import aima.core.learning.framework.DataSet;
+import aima.core.learning.framework.DataSetFactory;
+import aima.core.learning.learners.DecisionTreeLearner;
+
+/**
+ * @author agent
+ *
+ */
+public class ColumnarDataSetTest {
+	private DataSet ds;
+	private ColumnarDataSet cds;
+
+	@Before
+	public void setUp() throws Exception {
+		ds = DataSetFactory.getRestaurantDataSet();
+		cds = new ColumnarDataSet(ds);
+	}
+
+	@Test
+	public void testCodesFollowPossibleValues() {
+		int patrons = cds.getAttributeIndex("patrons");
+		Assert.assertEquals(3, cds.getNumberOfValues(patrons));
+		Assert.assertEquals(0, cds.getCode(patrons, "None"));
+		Assert.assertEquals(1, cds.getCode(patrons, "Some"));
+		Assert.assertEquals(2, cds.getCode(patrons, "Full"));
+		Assert.assertEquals(-1, cds.getCode(patrons, "Crowded"));
+		for (int row = 0; row < cds.size(); row++) {
+			Assert.assertEquals(ds.getExample(row).getAttributeValueAsString(
+					"patrons"), cds.getValue(patrons, cds.getCode(patrons, row)));
+		}
+	}
+
+	@Test
+	public void testInformationAndGain() {
+		int[] rows = cds.allRows();
+		Assert.assertEquals(ds.getInformationFor(), cds.getInformationFor(
+				rows, 0, rows.length), 0.000000001);
+		for (String attribute : ds.getNonTargetAttributes()) {
+			Assert.assertEquals(ds.calculateGainFor(attribute), cds
+					.calculateGainFor(cds.getAttributeIndex(attribute), rows, 0,
+							rows.length), 0.000000001);
+		}
+		Assert.assertEquals(0.541, cds.calculateGainFor(cds
+				.getAttributeIndex("patrons"), rows, 0, rows.length), 0.001);
+	}
+
+	@Test
+	public void testContingencyCounts() {
+		int[] rows = cds.allRows();
+		int patrons = cds.getAttributeIndex("patrons");
+		int yes = cds.getCode(cds.getTargetIndex(), "Yes");
+		int no = cds.getCode(cds.getTargetIndex(), "No");
+		int[][] counts = cds.contingencyCounts(patrons, rows, 0, rows.length);
+		Assert.assertEquals(0, counts[cds.getCode(patrons, "None")][yes]);
+		Assert.assertEquals(2, counts[cds.getCode(patrons, "None")][no]);
+		Assert.assertEquals(4, counts[cds.getCode(patrons, "Some")][yes]);
+		Assert.assertEquals(0, counts[cds.getCode(patrons, "Some")][no]);
+		Assert.assertEquals(2, counts[cds.getCode(patrons, "Full")][yes]);
+		Assert.assertEquals(4, counts[cds.getCode(patrons, "Full")][no]);
+	}
+
+	@Test
+	public void testPartition() {
+		int[] rows = cds.allRows();
+		int patrons = cds.getAttributeIndex("patrons");
+		// partition all but the first and last example
+		int[] bounds = cds.partition(rows, 1, rows.length - 1, patrons,
+				new int[rows.length]);
+		Assert.assertEquals(0, rows[0]);
+		Assert.assertEquals(rows.length - 1, rows[rows.length - 1]);
+		Assert.assertEquals(1, bounds[0]);
+		Assert.assertEquals(rows.length - 1, bounds[3]);
+		for (int code = 0; code < 3; code++) {
+			for (int i = bounds[code]; i < bounds[code + 1]; i++) {
+				Assert.assertEquals(code, cds.getCode(patrons, rows[i]));
+				if (i > bounds[code]) {
+					// the order within a group is kept
+					Assert.assertTrue(rows[i - 1] < rows[i]);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testTrainingOnRowsEqualsTrainingOnSubset() {
+		int[] rows = new int[] { 1, 3, 4, 6, 7, 9, 10 };
+		DecisionTreeLearner onRows = new DecisionTreeLearner();
+		onRows.train(cds, rows);
+		DecisionTreeLearner onSubset = new DecisionTreeLearner();
+		onSubset.train(cds.getDataSet(rows));
+		Assert.assertEquals(onSubset.getDecisionTree().toString(), onRows
+				.getDecisionTree().toString());
+		Assert.assertArrayEquals(new int[] { 1, 3, 4, 6, 7, 9, 10 }, rows);
+	}
+}
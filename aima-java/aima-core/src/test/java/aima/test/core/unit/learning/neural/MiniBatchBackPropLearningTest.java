@@ -0,0 +1,190 @@
+package aima.test.core.unit.learning.neural;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import aima.core.learning.framework.DataSetFactory;
+import aima.core.learning.neural.BackPropLearning;
+import aima.core.learning.neural.FeedForwardNeuralNetwork;
+import aima.core.learning.neural.IrisDataSetNumerizer;
+import aima.core.learning.neural.IrisNNDataSet;
+import aima.core.learning.neural.Layer;
+import aima.core.learning.neural.LogSigActivationFunction;
+import aima.core.learning.neural.MiniBatchBackPropLearning;
+import aima.core.learning.neural.NNDataSet;
+import aima.core.learning.neural.NNExample;
+import aima.core.learning.neural.PureLinearActivationFunction;
+import aima.core.util.math.Matrix;
+import aima.core.util.math.Vector;
+
+/**
+ * @author agent
+ *
+ */
+public class MiniBatchBackPropLearningTest {
+
+	@Test
+	public void testSingleExampleBatchEqualsBackPropLearning() throws Exception {
+		NNDataSet innds = createIrisDataSet();
+		FeedForwardNeuralNetwork perExample = createNetwork();
+		FeedForwardNeuralNetwork batched = copyOf(perExample);
+		perExample.setTrainingScheme(new BackPropLearning(0.1, 0.5));
+		MiniBatchBackPropLearning trainer = new MiniBatchBackPropLearning(
+				batched, 0.1, 0.5, 1, 1);
+
+		for (int i = 0; i < 3; i++) {
+			NNExample nne = innds.getExamples().get(i * 50);
+			perExample.processInput(nne.getInput());
+			perExample.processError(perExample.getOutputLayer()
+					.errorVectorFrom(nne.getTarget()));
+			List<NNExample> batch = new ArrayList<NNExample>();
+			batch.add(nne);
+			trainer.trainOn(batch);
+		}
+
+		assertEquals(perExample.getHiddenLayerWeights(), batched
+				.getHiddenLayerWeights());
+		assertEquals(perExample.getHiddenLayerBias(), batched
+				.getHiddenLayerBias());
+		assertEquals(perExample.getOutputLayerWeights(), batched
+				.getOutputLayerWeights());
+		assertEquals(perExample.getOutputLayerBias(), batched
+				.getOutputLayerBias());
+		Vector input = innds.getExamples().get(7).getInput();
+		assertEquals(perExample.processInput(input), trainer
+				.processInput(input));
+	}
+
+	@Test
+	public void testThreadsComputeTheSameUpdates() throws Exception {
+		NNDataSet innds = createIrisDataSet();
+		FeedForwardNeuralNetwork single = createNetwork();
+		FeedForwardNeuralNetwork parallel = copyOf(single);
+		MiniBatchBackPropLearning singleTrainer = new MiniBatchBackPropLearning(
+				single, 0.1, 0.9, 32, 1);
+		MiniBatchBackPropLearning parallelTrainer = new MiniBatchBackPropLearning(
+				parallel, 0.1, 0.9, 32, 4);
+		try {
+			List<NNExample> batch = innds.getExamples().subList(40, 72);
+			for (int i = 0; i < 5; i++) {
+				singleTrainer.trainOn(batch);
+				parallelTrainer.trainOn(batch);
+			}
+		} finally {
+			parallelTrainer.shutdown();
+		}
+		assertEquals(single.getHiddenLayerWeights(), parallel
+				.getHiddenLayerWeights());
+		assertEquals(single.getOutputLayerWeights(), parallel
+				.getOutputLayerWeights());
+		assertEquals(single.getOutputLayerBias(), parallel
+				.getOutputLayerBias());
+	}
+
+	@Test
+	public void testDeeperNetworkReducesError() throws Exception {
+		NNDataSet innds = createIrisDataSet();
+		List<Layer> layers = new ArrayList<Layer>();
+		layers.add(new Layer(8, 4, -0.5, 0.5, new LogSigActivationFunction()));
+		layers.add(new Layer(6, 8, -0.5, 0.5, new LogSigActivationFunction()));
+		layers.add(new Layer(3, 6, -0.5, 0.5,
+				new PureLinearActivationFunction()));
+		MiniBatchBackPropLearning trainer = new MiniBatchBackPropLearning(
+				layers, 0.05, 0.5, 10, 2);
+		try {
+			double before = squaredError(trainer, innds);
+			trainer.trainOn(innds, 50);
+			double after = squaredError(trainer, innds);
+			Assert.assertTrue(after < before);
+			int[] result = trainer.testOnDataSet(innds);
+			Assert.assertEquals(innds.getExamples().size(), result[0]
+					+ result[1]);
+			// the same outputs as those of processInput
+			int correct = 0;
+			for (NNExample nne : innds.getExamples()) {
+				if (nne.isCorrect(trainer.processInput(nne.getInput()))) {
+					correct++;
+				}
+			}
+			Assert.assertEquals(correct, result[0]);
+		} finally {
+			trainer.shutdown();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testLayersMustConnect() {
+		List<Layer> layers = new ArrayList<Layer>();
+		layers.add(new Layer(8, 4, -0.5, 0.5, new LogSigActivationFunction()));
+		layers.add(new Layer(3, 6, -0.5, 0.5,
+				new PureLinearActivationFunction()));
+		new MiniBatchBackPropLearning(layers, 0.1, 0.0, 1, 1);
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private NNDataSet createIrisDataSet() throws Exception {
+		NNDataSet innds = new IrisNNDataSet();
+		innds.createExamplesFromDataSet(DataSetFactory.getIrisDataSet(),
+				new IrisDataSetNumerizer());
+		return innds;
+	}
+
+	private FeedForwardNeuralNetwork createNetwork() {
+		Matrix hiddenWeights = new Matrix(6, 4);
+		Vector hiddenBias = new Vector(6);
+		Matrix outputWeights = new Matrix(3, 6);
+		Vector outputBias = new Vector(3);
+		for (int i = 0; i < 6; i++) {
+			for (int j = 0; j < 4; j++) {
+				hiddenWeights.set(i, j, Math.sin(i * 4 + j));
+			}
+			hiddenBias.setValue(i, Math.cos(i));
+			for (int j = 0; j < 3; j++) {
+				outputWeights.set(j, i, Math.sin(j * 6 + i + 0.5));
+			}
+		}
+		for (int j = 0; j < 3; j++) {
+			outputBias.setValue(j, Math.cos(j + 0.5));
+		}
+		return new FeedForwardNeuralNetwork(hiddenWeights, hiddenBias,
+				outputWeights, outputBias);
+	}
+
+	private FeedForwardNeuralNetwork copyOf(FeedForwardNeuralNetwork ffnn) {
+		return new FeedForwardNeuralNetwork(ffnn.getHiddenLayerWeights()
+				.copy(), ffnn.getHiddenLayerBias().copyVector(), ffnn
+				.getOutputLayerWeights().copy(), ffnn.getOutputLayerBias()
+				.copyVector());
+	}
+
+	private double squaredError(MiniBatchBackPropLearning trainer,
+			NNDataSet innds) {
+		double error = 0;
+		for (NNExample nne : innds.getExamples()) {
+			Vector e = nne.getTarget().minus(
+					trainer.processInput(nne.getInput()));
+			for (int i = 0; i < e.size(); i++) {
+				error += e.getValue(i) * e.getValue(i);
+			}
+		}
+		return error;
+	}
+
+	private void assertEquals(Matrix expected, Matrix actual) {
+		Assert.assertEquals(expected.getRowDimension(), actual
+				.getRowDimension());
+		Assert.assertEquals(expected.getColumnDimension(), actual
+				.getColumnDimension());
+		for (int i = 0; i < expected.getRowDimension(); i++) {
+			for (int j = 0; j < expected.getColumnDimension(); j++) {
+				Assert.assertEquals(expected.get(i, j), actual.get(i, j),
+						0.000000001);
+			}
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package aima.test.core.unit.learning.reinforcement.agent;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.Assert;
@@ -12,7 +14,9 @@ import aima.core.environment.cellworld.CellWorld;
 import aima.core.environment.cellworld.CellWorldAction;
 import aima.core.environment.cellworld.CellWorldFactory;
 import aima.core.learning.reinforcement.agent.QLearningAgent;
+import aima.core.learning.reinforcement.agent.TransitionBuffer;
 import aima.core.learning.reinforcement.example.CellWorldEnvironment;
+import aima.core.learning.reinforcement.example.ParallelCellWorldTrials;
 import aima.core.probability.example.MDPFactory;
 import aima.core.util.JavaRandomizer;
 
@@ -63,6 +67,51 @@ public class QLearningAgentTest extends ReinforcementLearningAgentTest {
 		test_RMSeiu_for_1_1(qla, 20, 10000, 0.2);
 	}
 
+	@Test
+	public void test_replay() {
+		TransitionBuffer buffer = new TransitionBuffer();
+		qla.reset();
+		qla.setRecording(buffer);
+		cwe.executeTrials(1000);
+		qla.setRecording(null);
+		Assert.assertTrue(buffer.size() > 1000);
+		Map<Cell<Double>, Double> U = qla.getUtility();
+		// cached until Q changes
+		Assert.assertSame(U, qla.getUtility());
+
+		// replaying everything learned from scratch gives the same Q
+		qla.reset();
+		Assert.assertEquals(0, qla.getUtility().size());
+		qla.replay(buffer);
+		Map<Cell<Double>, Double> replayed = qla.getUtility();
+		Assert.assertNotSame(U, replayed);
+		Assert.assertEquals(U.keySet(), replayed.keySet());
+		for (Cell<Double> c : U.keySet()) {
+			Assert.assertEquals(U.get(c), replayed.get(c), 0.000000001);
+		}
+	}
+
+	@Test
+	public void test_parallel_sweep() {
+		List<QLearningAgent<Cell<Double>, CellWorldAction>> agents = new ArrayList<QLearningAgent<Cell<Double>, CellWorldAction>>();
+		for (double alpha : new double[] { 0.05, 0.1, 0.2 }) {
+			agents.add(new QLearningAgent<Cell<Double>, CellWorldAction>(
+					MDPFactory.createActionsFunctionForFigure17_1(cw),
+					CellWorldAction.None, alpha, 1.0, 5, 2.0));
+		}
+		ParallelCellWorldTrials trials = new ParallelCellWorldTrials(cw
+				.getCellAt(1, 1), cw, MDPFactory
+				.createTransitionProbabilityFunctionForFigure17_1(cw), 3);
+		List<Map<Cell<Double>, Double>> utilities = trials.executeTrials(
+				agents, 2000, 42L);
+		Assert.assertEquals(3, utilities.size());
+		for (Map<Cell<Double>, Double> U : utilities) {
+			Assert.assertEquals(11, U.size());
+		}
+		// The same base seed repeats the sweep
+		Assert.assertEquals(utilities, trials.executeTrials(agents, 2000, 42L));
+	}
+
 	// Note: Enable this test if you wish to generate tables for
 	// creating figures, in a spreadsheet, of the learning
 	// rate of the agent.
@@ -12,7 +12,10 @@ import aima.test.core.unit.logic.fol.inference.FOLTFMResolutionTest;
 import aima.test.core.unit.logic.fol.inference.ParamodulationTest;
 import aima.test.core.unit.logic.fol.kb.FOLKnowledgeBaseTest;
 import aima.test.core.unit.logic.fol.kb.data.ChainTest;
+import aima.test.core.unit.logic.fol.kb.data.ClauseInternerTest;
 import aima.test.core.unit.logic.fol.kb.data.ClauseTest;
+import aima.test.core.unit.logic.fol.kb.data.DiscriminationTreeTest;
+import aima.test.core.unit.logic.fol.kb.data.FeatureVectorIndexTest;
 import aima.test.core.unit.logic.fol.parsing.FOLLexerTest;
 import aima.test.core.unit.logic.fol.parsing.FOLParserTest;
 
@@ -20,10 +23,12 @@ import aima.test.core.unit.logic.fol.parsing.FOLParserTest;
 @Suite.SuiteClasses({ DemodulationTest.class, FOLBCAskTest.class,
 		FOLFCAskTest.class, FOLModelEliminationTest.class,
 		FOLOTTERLikeTheoremProverTest.class, FOLTFMResolutionTest.class,
-		ParamodulationTest.class, ChainTest.class, ClauseTest.class,
-		FOLKnowledgeBaseTest.class, FOLLexerTest.class, FOLParserTest.class,
-		CNFConverterTest.class, PredicateCollectorTest.class,
-		SubstVisitorTest.class, SubsumptionEliminationTest.class,
+		ParamodulationTest.class, ChainTest.class, ClauseInternerTest.class,
+		ClauseTest.class, DiscriminationTreeTest.class,
+		FeatureVectorIndexTest.class, FOLKnowledgeBaseTest.class,
+		FOLLexerTest.class, FOLParserTest.class, CNFConverterTest.class,
+		PredicateCollectorTest.class, SubstVisitorTest.class,
+		SubsumptionEliminationTest.class, TrailUnifierTest.class,
 		UnifierTest.class, VariableCollectorTest.class })
 public class FOLTestSuite {
 
@@ -0,0 +1,113 @@
+package aima.test.core.unit.logic.fol;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import aima.core.logic.fol.TrailUnifier;
+import aima.core.logic.fol.TrailUnifierAdapter;
+import aima.core.logic.fol.Unifier;
+import aima.core.logic.fol.domain.DomainFactory;
+import aima.core.logic.fol.parsing.FOLParser;
+import aima.core.logic.fol.parsing.ast.AtomicSentence;
+import aima.core.logic.fol.parsing.ast.Sentence;
+import aima.core.logic.fol.parsing.ast.Term;
+import aima.core.logic.fol.parsing.ast.Variable;
+
+/**
+ * Runs the tests of UnifierTest against TrailUnifierAdapter, along with tests
+ * of the trail itself.
+ *
+ * @author agent
+ *
+ */
+public class TrailUnifierTest extends UnifierTest {
+
+	@Override
+	protected Unifier newUnifier() {
+		return new TrailUnifierAdapter();
+	}
+
+	@Test
+	public void testUndo() {
+		FOLParser parser = new FOLParser(DomainFactory.knowsDomain());
+		Sentence query = parser.parse("Knows(John,x)");
+		TrailUnifier trail = new TrailUnifier();
+
+		int mark = trail.mark();
+		Assert.assertTrue(trail.unify(parser.parse("Knows(x,John)"), parser
+				.parse("Knows(Jane,y)")));
+		Assert.assertEquals(2, trail.getNumberOfBindings());
+		trail.undo(mark);
+		Assert.assertEquals(0, trail.getNumberOfBindings());
+
+		Assert.assertTrue(trail.unify(query, parser.parse("Knows(John,Jane)")));
+		Assert.assertTrue(trail.isBound(new Variable("x")));
+		Assert.assertEquals("{x=Jane}", trail.getSubstitution(
+				new LinkedHashMap<Variable, Term>()).toString());
+		// x is bound to Jane, so can no longer unify with Bill
+		int afterJane = trail.mark();
+		Assert.assertFalse(trail.unify(query, parser.parse("Knows(John,Bill)")));
+		trail.undo(afterJane);
+		Assert.assertEquals(1, trail.getNumberOfBindings());
+		// Backtrack to before the binding of x
+		trail.undo(mark);
+		Assert.assertFalse(trail.isBound(new Variable("x")));
+		Assert.assertTrue(trail.unify(query, parser.parse("Knows(John,Bill)")));
+		Assert.assertEquals("{x=Bill}", trail.getSubstitution(
+				new LinkedHashMap<Variable, Term>()).toString());
+	}
+
+	@Test
+	public void testResolveSharesStructure() {
+		FOLParser parser = new FOLParser(DomainFactory.knowsDomain());
+		AtomicSentence s1 = (AtomicSentence) parser
+				.parse("Knows(Mother(x),Mother(y))");
+		Sentence s2 = parser.parse("Knows(Mother(John),z)");
+		TrailUnifier trail = new TrailUnifier();
+
+		Assert.assertTrue(trail.unify(s1, s2));
+		Map<Variable, Term> theta = trail
+				.getSubstitution(new LinkedHashMap<Variable, Term>());
+		Assert.assertEquals("{x=John, z=Mother(y)}", theta.toString());
+		// The unbound argument is shared, the bound one is replaced
+		Term unbound = s1.getArgs().get(1);
+		Assert.assertSame(unbound, trail.resolve(unbound));
+		Assert.assertEquals("Mother(John)", trail.resolve(s1.getArgs().get(0))
+				.toString());
+	}
+
+	@Test
+	public void testOccurCheckToggle() {
+		FOLParser parser = new FOLParser(DomainFactory.knowsDomain());
+		Sentence s1 = parser.parse("Knows(x,x)");
+		Sentence s2 = parser.parse("Knows(y,Mother(y))");
+
+		Assert.assertFalse(new TrailUnifier().unify(s1, s2));
+		Assert.assertNull(new TrailUnifierAdapter().unify(s1, s2));
+
+		TrailUnifier trail = new TrailUnifier(false);
+		Assert.assertFalse(trail.isOccurCheck());
+		Assert.assertTrue(trail.unify(s1, s2));
+		Assert.assertEquals(2, trail.getNumberOfBindings());
+		Assert.assertTrue(trail.isCyclic(0));
+	}
+
+	@Test
+	public void testAdapterWithoutOccurCheckFailsOnCycle() {
+		FOLParser parser = new FOLParser(DomainFactory.knowsDomain());
+		Unifier unifier = new TrailUnifierAdapter(false);
+
+		Assert.assertNull(unifier.unify(parser.parse("Knows(x,x)"), parser
+				.parse("Knows(y,Mother(y))")));
+		Assert.assertNull(unifier.unify(parser.parse("Knows(x,Mother(x))"),
+				parser.parse("Knows(Mother(y),y)"),
+				new LinkedHashMap<Variable, Term>()));
+		// Bindings without cycles are unaffected
+		Assert.assertEquals("{x=Mother(John), y=John}", unifier.unify(
+				parser.parse("Knows(x,y)"),
+				parser.parse("Knows(Mother(y),John)")).toString());
+	}
+}
@@ -34,10 +34,15 @@ public class UnifierTest {
 	@Before
 	public void setUp() {
 		parser = new FOLParser(DomainFactory.knowsDomain());
-		unifier = new Unifier();
+		unifier = newUnifier();
 		theta = new Hashtable<Variable, Term>();
 	}
 
+	// Override to test other implementations of Unifier
+	protected Unifier newUnifier() {
+		return new Unifier();
+	}
+
 	@Test
 	public void testFailureIfThetaisNull() {
 		Variable var = new Variable("x");
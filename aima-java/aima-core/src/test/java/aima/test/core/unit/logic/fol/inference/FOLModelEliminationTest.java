@@ -2,6 +2,7 @@ package aima.test.core.unit.logic.fol.inference;
 
 import org.junit.Test;
 
+import aima.core.logic.fol.TrailUnifierAdapter;
 import aima.core.logic.fol.inference.FOLModelElimination;
 import aima.test.core.unit.logic.fol.CommonFOLInferenceProcedureTests;
 
@@ -41,6 +42,13 @@ public class FOLModelEliminationTest extends CommonFOLInferenceProcedureTests {
 		testDefiniteClauseKBWeaponsQueryCriminalXReturnsWestSucceeds(new FOLModelElimination());
 	}
 
+	@Test
+	public void testDefiniteClauseKBWeaponsQueryCriminalXReturnsWestSucceedsWithTrailUnifier() {
+		FOLModelElimination me = new FOLModelElimination();
+		me.setUnifier(new TrailUnifierAdapter());
+		testDefiniteClauseKBWeaponsQueryCriminalXReturnsWestSucceeds(me);
+	}
+
 	@Test
 	public void testHornClauseKBRingOfThievesQuerySkisXReturnsNancyRedBertDrew() {
 		// This KB ends up being infinite when resolving, however 2
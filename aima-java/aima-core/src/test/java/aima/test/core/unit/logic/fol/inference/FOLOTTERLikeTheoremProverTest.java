@@ -7,11 +7,13 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import aima.core.logic.fol.CNFConverter;
+import aima.core.logic.fol.TrailUnifierAdapter;
 import aima.core.logic.fol.domain.FOLDomain;
 import aima.core.logic.fol.inference.FOLOTTERLikeTheoremProver;
 import aima.core.logic.fol.inference.InferenceResult;
 import aima.core.logic.fol.inference.otter.defaultimpl.DefaultClauseSimplifier;
 import aima.core.logic.fol.kb.FOLKnowledgeBase;
+import aima.core.logic.fol.kb.FOLKnowledgeBaseFactory;
 import aima.core.logic.fol.kb.data.CNF;
 import aima.core.logic.fol.kb.data.Clause;
 import aima.core.logic.fol.parsing.FOLParser;
@@ -153,6 +155,27 @@ public class FOLOTTERLikeTheoremProverTest extends
 				false));
 	}
 
+	@Test
+	public void testDefiniteClauseKBWeaponsQueryCriminalXReturnsWestSucceedsWithTrailUnifier() {
+		FOLOTTERLikeTheoremProver otter = new FOLOTTERLikeTheoremProver(false);
+		otter.setUnifier(new TrailUnifierAdapter());
+		testDefiniteClauseKBWeaponsQueryCriminalXReturnsWestSucceeds(otter);
+	}
+
+	@Test
+	public void testNumberOfClausesGeneratedIsPerQuery() {
+		FOLOTTERLikeTheoremProver otter = new FOLOTTERLikeTheoremProver(false);
+		FOLKnowledgeBase kb = FOLKnowledgeBaseFactory
+				.createKingsKnowledgeBase(otter);
+		InferenceResult first = kb.ask("Evil(x)");
+		InferenceResult second = kb.ask("Evil(x)");
+
+		long generated = otter.getNumberOfClausesGenerated(first);
+		Assert.assertTrue(generated > 0);
+		Assert.assertEquals(generated,
+				otter.getNumberOfClausesGenerated(second));
+	}
+
 	@Test
 	public void testHornClauseKBRingOfThievesQuerySkisXReturnsNancyRedBertDrew() {
 		// This KB ends up being infinite when resolving, however 2
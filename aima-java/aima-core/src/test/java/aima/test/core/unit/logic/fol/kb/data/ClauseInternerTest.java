@@ -0,0 +1,117 @@
+package aima.test.core.unit.logic.fol.kb.data;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import aima.core.logic.fol.CNFConverter;
+import aima.core.logic.fol.domain.DomainFactory;
+import aima.core.logic.fol.kb.data.Clause;
+import aima.core.logic.fol.kb.data.ClauseInterner;
+import aima.core.logic.fol.kb.data.Literal;
+import aima.core.logic.fol.parsing.FOLParser;
+import aima.core.logic.fol.parsing.ast.AtomicSentence;
+import aima.core.logic.fol.parsing.ast.Term;
+
+/**
+ * @author agent
+ *
+ */
+public class ClauseInternerTest {
+
+	private FOLParser parser;
+	private CNFConverter cnfConverter;
+	private ClauseInterner interner;
+
+	@Before
+	public void setUp() {
+		parser = new FOLParser(DomainFactory.knowsDomain());
+		cnfConverter = new CNFConverter(parser);
+		interner = new ClauseInterner();
+	}
+
+	@Test
+	public void testInternTerms() {
+		AtomicSentence s1 = (AtomicSentence) parser
+				.parse("Knows(Mother(John), Mother(John))");
+		AtomicSentence s2 = (AtomicSentence) parser
+				.parse("Knows(Mother(John), Mother(John))");
+		Assert.assertNotSame(s1, s2);
+
+		AtomicSentence i1 = interner.intern(s1);
+		Assert.assertSame(i1, interner.intern(s2));
+		Assert.assertEquals(s1, i1);
+		// Equal subterms are shared
+		Assert.assertSame(i1.getArgs().get(0), i1.getArgs().get(1));
+		Term mother = interner.intern(((AtomicSentence) parser
+				.parse("Knows(John, Mother(John))")).getArgs().get(1));
+		Assert.assertSame(i1.getArgs().get(0), mother);
+
+		Literal l1 = interner.intern(new Literal(s1, true));
+		Assert.assertSame(l1, interner.intern(new Literal(s2, true)));
+		Assert.assertSame(i1, l1.getAtomicSentence());
+		Assert.assertNotSame(l1, interner.intern(new Literal(s2)));
+	}
+
+	@Test
+	public void testInternClauses() {
+		Clause c1 = clause("(Knows(x, Mother(y)) OR NOT(Knows(John, y)))");
+		Clause c2 = clause("(NOT(Knows(John, b)) OR Knows(a, Mother(b)))");
+		Clause c3 = clause("(Knows(x, Mother(y)) OR NOT(Knows(John, x)))");
+		Assert.assertEquals(c1, c2);
+		Assert.assertFalse(c1.equals(c3));
+
+		Clause i1 = interner.intern(c1);
+		Assert.assertSame(c1, i1);
+		Assert.assertTrue(interner.isInterned(c1));
+		Assert.assertTrue(c1.isImmutable());
+		// Equal up to the renaming of variables
+		Assert.assertSame(c1, interner.intern(c2));
+		Assert.assertFalse(interner.isInterned(c2));
+		Clause i3 = interner.intern(c3);
+		Assert.assertSame(c3, i3);
+		Assert.assertEquals(2, interner.size());
+		Assert.assertFalse(i1.equals(i3));
+		// Non interned instances are still compared by identity
+		Assert.assertEquals(c2, i1);
+		Assert.assertEquals(i1, c2);
+		Assert.assertEquals(i1.hashCode(), c2.hashCode());
+		// The literals are shared with those of other interned clauses
+		Literal mother = null;
+		for (Literal l : i3.getLiterals()) {
+			if (l.isPositiveLiteral()) {
+				mother = l;
+			}
+		}
+		Assert.assertTrue(i1.getLiterals().contains(mother));
+		Assert.assertSame(interner.intern(mother), mother);
+	}
+
+	@Test
+	public void testCachedVariablesAndFactors() {
+		Clause c = interner.intern(clause("(Knows(x, John) OR Knows(Bill, y))"));
+		Assert.assertEquals("[x, y]", c.getVariables().toString());
+		Assert.assertSame(c.getVariables(), c.getVariables());
+		Assert.assertEquals(2, c.getFactors().size());
+		// A clause generated again shares the factors already calculated
+		Assert.assertSame(c, interner
+				.intern(clause("(Knows(Bill, b) OR Knows(a, John))")));
+		for (Clause f : c.getFactors()) {
+			Assert.assertTrue(c.getFactors().contains(interner.intern(f)));
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testInternedClauseIsImmutable() {
+		Clause c = interner.intern(clause("Knows(x, John)"));
+		c.addPositiveLiteral((AtomicSentence) parser.parse("Knows(John, x)"));
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private Clause clause(String s) {
+		return cnfConverter.convertToCNF(parser.parse(s))
+				.getConjunctionOfClauses().get(0);
+	}
+}
@@ -0,0 +1,91 @@
+package aima.test.core.unit.logic.fol.kb.data;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import aima.core.logic.fol.domain.DomainFactory;
+import aima.core.logic.fol.kb.data.DiscriminationTree;
+import aima.core.logic.fol.parsing.FOLParser;
+import aima.core.logic.fol.parsing.ast.AtomicSentence;
+
+/**
+ * @author agent
+ *
+ */
+public class DiscriminationTreeTest {
+
+	private FOLParser parser;
+	private DiscriminationTree<String> tree;
+
+	@Before
+	public void setUp() {
+		parser = new FOLParser(DomainFactory.knowsDomain());
+		tree = new DiscriminationTree<String>();
+		for (String s : new String[] { "Knows(John, Jane)",
+				"Knows(John, Mother(Bill))", "Knows(x, Elizabeth)",
+				"Knows(Bill, Mother(y))", "Knows(Jane, Bill)" }) {
+			tree.add(atom(s), s);
+		}
+	}
+
+	@Test
+	public void testUnifiableCandidates() {
+		// entries are returned in the order they were added
+		Assert.assertEquals(
+				"[Knows(John, Jane), Knows(John, Mother(Bill)), Knows(x, Elizabeth)]",
+				candidates("Knows(John, z)"));
+		Assert.assertEquals("[Knows(John, Mother(Bill)), Knows(Bill, Mother(y))]",
+				candidates("Knows(w, Mother(z))"));
+		Assert.assertEquals("[Knows(x, Elizabeth)]",
+				candidates("Knows(Bill, Elizabeth)"));
+		Assert.assertEquals("[]", candidates("Knows(Jane, Jane)"));
+		Assert.assertEquals(5, tree.getUnifiableCandidates(atom("Knows(v, w)"))
+				.size());
+	}
+
+	@Test
+	public void testGeneralizationAndInstanceCandidates() {
+		Assert.assertEquals("[Knows(Bill, Mother(y))]", tree
+				.getGeneralizationCandidates(atom("Knows(Bill, Mother(John))"))
+				.toString());
+		Assert.assertEquals("[]", tree.getGeneralizationCandidates(
+				atom("Knows(Bill, z)")).toString());
+		Assert.assertEquals(
+				"[Knows(John, Mother(Bill)), Knows(Bill, Mother(y))]", tree
+						.getInstanceCandidates(atom("Knows(v, Mother(w))"))
+						.toString());
+		Assert.assertEquals("[Knows(John, Jane), Knows(John, Mother(Bill))]",
+				tree.getInstanceCandidates(atom("Knows(John, w)")).toString());
+	}
+
+	@Test
+	public void testRemove() {
+		Assert.assertTrue(tree.remove(atom("Knows(x, Elizabeth)"),
+				"Knows(x, Elizabeth)"));
+		Assert.assertFalse(tree.remove(atom("Knows(x, Elizabeth)"),
+				"Knows(x, Elizabeth)"));
+		Assert.assertFalse(tree.remove(atom("Knows(Jane, Jane)"),
+				"Knows(Jane, Jane)"));
+		Assert.assertEquals(4, tree.size());
+		Assert.assertEquals("[Knows(John, Jane), Knows(John, Mother(Bill))]",
+				candidates("Knows(John, z)"));
+		tree.clear();
+		Assert.assertEquals(0, tree.size());
+		Assert.assertEquals("[]", candidates("Knows(John, z)"));
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private AtomicSentence atom(String s) {
+		return (AtomicSentence) parser.parse(s);
+	}
+
+	private String candidates(String query) {
+		List<String> result = tree.getUnifiableCandidates(atom(query));
+		return result.toString();
+	}
+}
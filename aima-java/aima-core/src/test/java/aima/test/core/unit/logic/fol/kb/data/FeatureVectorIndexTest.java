@@ -0,0 +1,80 @@
+package aima.test.core.unit.logic.fol.kb.data;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import aima.core.logic.fol.CNFConverter;
+import aima.core.logic.fol.domain.DomainFactory;
+import aima.core.logic.fol.kb.data.Clause;
+import aima.core.logic.fol.kb.data.FeatureVectorIndex;
+import aima.core.logic.fol.parsing.FOLParser;
+
+/**
+ * @author agent
+ *
+ */
+public class FeatureVectorIndexTest {
+
+	private FOLParser parser;
+	private CNFConverter cnfConverter;
+	private FeatureVectorIndex index;
+	private Clause c1, c2, c3, c4;
+
+	@Before
+	public void setUp() {
+		parser = new FOLParser(DomainFactory.knowsDomain());
+		cnfConverter = new CNFConverter(parser);
+		index = new FeatureVectorIndex();
+		c1 = clause("Knows(x, John)");
+		c2 = clause("(Knows(Jane, John) OR Knows(Bill, y))");
+		c3 = clause("(NOT(Knows(Jane, John)) OR Knows(Bill, Mother(y)))");
+		c4 = clause("(Knows(x, Mother(John)) OR NOT(Knows(Bill, Jane)))");
+		Assert.assertTrue(index.add(c1));
+		Assert.assertTrue(index.add(c2));
+		Assert.assertTrue(index.add(c3));
+		Assert.assertTrue(index.add(c4));
+	}
+
+	@Test
+	public void testForwardSubsumption() {
+		Assert.assertSame(c1, index.findSubsumingClause(c2));
+		Assert.assertNull(index.findSubsumingClause(c1));
+		Assert.assertNull(index.findSubsumingClause(c3));
+		Assert.assertSame(c1, index
+				.findSubsumingClause(clause("(Knows(Jane, John) OR Knows(John, Mother(Bill)))")));
+		// A clause with fewer positive literals cannot be subsumed
+		Assert.assertFalse(index.getSubsumedCandidates(c2).contains(c1));
+	}
+
+	@Test
+	public void testBackwardSubsumption() {
+		Assert.assertEquals(1, index.findSubsumedClauses(c1).size());
+		Assert.assertSame(c2, index.findSubsumedClauses(c1).get(0));
+		Assert.assertEquals(0, index.findSubsumedClauses(c3).size());
+		Clause mother = clause("Knows(x, Mother(y))");
+		Assert.assertEquals(2, index.findSubsumedClauses(mother).size());
+		Assert.assertTrue(index.findSubsumedClauses(mother).contains(c3));
+		Assert.assertTrue(index.findSubsumedClauses(mother).contains(c4));
+	}
+
+	@Test
+	public void testAddRemove() {
+		Assert.assertEquals(4, index.size());
+		Assert.assertFalse(index.add(c1));
+		Assert.assertTrue(index.remove(c1));
+		Assert.assertFalse(index.remove(c1));
+		Assert.assertEquals(3, index.size());
+		Assert.assertNull(index.findSubsumingClause(c2));
+		index.clear();
+		Assert.assertEquals(0, index.size());
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private Clause clause(String s) {
+		return cnfConverter.convertToCNF(parser.parse(s))
+				.getConjunctionOfClauses().get(0);
+	}
+}
@@ -3,6 +3,7 @@ package aima.test.core.unit.logic.propositional;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
+import aima.test.core.unit.logic.propositional.algorithms.CDCLTest;
 import aima.test.core.unit.logic.propositional.algorithms.DPLLTest;
 import aima.test.core.unit.logic.propositional.algorithms.KnowledgeBaseTest;
 import aima.test.core.unit.logic.propositional.algorithms.ModelTest;
@@ -18,11 +19,12 @@ import aima.test.core.unit.logic.propositional.visitors.SymbolClassifierTest;
 import aima.test.core.unit.logic.propositional.visitors.SymbolCollectorTest;
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ DPLLTest.class, KnowledgeBaseTest.class, ModelTest.class,
-		PLFCEntailsTest.class, PLResolutionTest.class, TTEntailsTest.class,
-		ListTest.class, PELexerTest.class, PEParserTest.class,
-		CNFClauseGathererTest.class, CNFTransformerTest.class,
-		SymbolClassifierTest.class, SymbolCollectorTest.class })
+@Suite.SuiteClasses({ CDCLTest.class, DPLLTest.class, KnowledgeBaseTest.class,
+		ModelTest.class, PLFCEntailsTest.class, PLResolutionTest.class,
+		TTEntailsTest.class, ListTest.class, PELexerTest.class,
+		PEParserTest.class, CNFClauseGathererTest.class,
+		CNFTransformerTest.class, SymbolClassifierTest.class,
+		SymbolCollectorTest.class })
 public class PropositionalTestSuite {
 
 }
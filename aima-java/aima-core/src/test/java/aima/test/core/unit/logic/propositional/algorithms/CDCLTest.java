@@ -0,0 +1,172 @@
+package aima.test.core.unit.logic.propositional.algorithms;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import aima.core.logic.propositional.algorithms.CDCL;
+import aima.core.logic.propositional.algorithms.Model;
+import aima.core.logic.propositional.parsing.PEParser;
+import aima.core.logic.propositional.parsing.ast.BinarySentence;
+import aima.core.logic.propositional.parsing.ast.Sentence;
+import aima.core.logic.propositional.parsing.ast.Symbol;
+import aima.core.logic.propositional.parsing.ast.UnarySentence;
+
+/**
+ * @author agent
+ *
+ */
+public class CDCLTest {
+
+	private CDCL cdcl;
+
+	private PEParser parser;
+
+	@Before
+	public void setUp() {
+		parser = new PEParser();
+		cdcl = new CDCL();
+	}
+
+	@Test
+	public void testCDCLReturnsTrueWhenAllClausesTrueInModel() {
+		Model model = new Model();
+		model = model.extend(new Symbol("A"), true).extend(new Symbol("B"),
+				true);
+		Sentence sentence = (Sentence) parser.parse("((A AND B) AND (A OR B))");
+		Assert.assertTrue(cdcl.dpllSatisfiable(sentence, model));
+	}
+
+	@Test
+	public void testCDCLReturnsFalseWhenOneClauseFalseInModel() {
+		Model model = new Model();
+		model = model.extend(new Symbol("A"), true).extend(new Symbol("B"),
+				false);
+		Sentence sentence = (Sentence) parser.parse("((A OR B) AND (A => B))");
+		Assert.assertFalse(cdcl.dpllSatisfiable(sentence, model));
+	}
+
+	@Test
+	public void testCDCLSucceedsWithAandNotA() {
+		Assert.assertFalse(cdcl.dpllSatisfiable("(A AND (NOT A))"));
+		Assert.assertTrue(cdcl.dpllSatisfiable("((A OR (NOT A)) AND (A OR B))"));
+	}
+
+	@Test
+	public void testIssue66() {
+		Model model = new Model();
+		model = model.extend(new Symbol("A"), false)
+				.extend(new Symbol("B"), false).extend(new Symbol("C"), true);
+		Sentence sentence = (Sentence) parser.parse("((A OR B) OR C)");
+		Assert.assertTrue(cdcl.dpllSatisfiable(sentence, model));
+	}
+
+	@Test
+	public void testModel() {
+		cdcl.tell("((A OR B) AND ((NOT A) OR C))");
+		cdcl.tell("((NOT B) AND (D => B))");
+		Assert.assertTrue(cdcl.isSatisfiable());
+		Model model = cdcl.getModel();
+		Assert.assertEquals(4, model.getAssignedSymbols().size());
+		Assert.assertTrue(model.isTrue(new Symbol("A")));
+		Assert.assertTrue(model.isFalse(new Symbol("B")));
+		Assert.assertTrue(model.isTrue(new Symbol("C")));
+		Assert.assertTrue(model.isFalse(new Symbol("D")));
+
+		cdcl.tell("(NOT C)");
+		Assert.assertFalse(cdcl.isSatisfiable());
+		Assert.assertNull(cdcl.getModel());
+		Assert.assertEquals(0, cdcl.getFailedAssumptions()
+				.getAssignedSymbols().size());
+	}
+
+	@Test
+	public void testIncrementalWithAssumptions() {
+		// Chad Carff's bug report, see DPLLTest
+		cdcl.tell("(B12 <=> (P11 OR (P13 OR (P22 OR P02))))");
+		cdcl.tell("(B21 <=> (P20 OR (P22 OR (P31 OR P11))))");
+		cdcl.tell("(B01 <=> (P00 OR (P02 OR P11)))");
+		cdcl.tell("(B10 <=> (P11 OR (P20 OR P00)))");
+		cdcl.tell("(NOT B21)");
+		cdcl.tell("(NOT B12)");
+		cdcl.tell("(B10)");
+		cdcl.tell("(B01)");
+		Symbol p00 = new Symbol("P00");
+		Symbol p11 = new Symbol("P11");
+		Assert.assertTrue(cdcl.isSatisfiable());
+		// The knowledge base entails P00
+		Assert.assertFalse(cdcl.isSatisfiable(new Model().extend(p00, false)));
+		Assert.assertTrue(cdcl.getFailedAssumptions().isFalse(p00));
+		Assert.assertTrue(cdcl.isSatisfiable(new Model().extend(p00, true)));
+		Assert.assertTrue(cdcl.getModel().isTrue(p00));
+		// Only P00 is responsible
+		Model assumptions = new Model().extend(new Symbol("P13"), true)
+				.extend(p00, false);
+		Assert.assertFalse(cdcl.isSatisfiable(assumptions));
+		Model failed = cdcl.getFailedAssumptions();
+		Assert.assertEquals(1, failed.getAssignedSymbols().size());
+		Assert.assertTrue(failed.isFalse(p00));
+		// Assumptions only hold for one call
+		Assert.assertTrue(cdcl.isSatisfiable());
+		// Neither entailed nor contradicted
+		Symbol b = new Symbol("B");
+		Assert.assertTrue(cdcl.isSatisfiable(new Model().extend(b, true)));
+		Assert.assertTrue(cdcl.isSatisfiable(new Model().extend(b, false)));
+		cdcl.tell("(B => P11)");
+		Assert.assertFalse(cdcl.isSatisfiable(new Model().extend(b, true)));
+		Assert.assertTrue(cdcl.isSatisfiable(new Model().extend(p11, false)));
+	}
+
+	@Test
+	public void testPigeonHole() {
+		// 7 pigeons do not fit in 6 holes, one per hole, but 6 do. Pigeon 0
+		// only needs a hole if S is true.
+		int holes = 6;
+		Symbol s = new Symbol("S");
+		for (int p = 0; p <= holes; p++) {
+			Sentence clause = symbol(p, 0);
+			if (0 == p) {
+				clause = new BinarySentence("OR", new UnarySentence(s), clause);
+			}
+			for (int h = 1; h < holes; h++) {
+				clause = new BinarySentence("OR", clause, symbol(p, h));
+			}
+			cdcl.addClause(clause);
+		}
+		for (int h = 0; h < holes; h++) {
+			for (int p1 = 0; p1 <= holes; p1++) {
+				for (int p2 = p1 + 1; p2 <= holes; p2++) {
+					cdcl.addClause(new BinarySentence("OR", new UnarySentence(
+							symbol(p1, h)), new UnarySentence(symbol(p2, h))));
+				}
+			}
+		}
+		Assert.assertEquals(43, cdcl.getNumberOfSymbols());
+
+		Assert.assertFalse(cdcl.isSatisfiable(new Model().extend(s, true)));
+		Assert.assertTrue(cdcl.getNumberOfConflicts() > 0);
+		Model failed = cdcl.getFailedAssumptions();
+		Assert.assertEquals(1, failed.getAssignedSymbols().size());
+		Assert.assertTrue(failed.isTrue(s));
+
+		Assert.assertTrue(cdcl.isSatisfiable(new Model().extend(s, false)));
+		Model model = cdcl.getModel();
+		for (int p = 1; p <= holes; p++) {
+			int inHoles = 0;
+			for (int h = 0; h < holes; h++) {
+				if (model.isTrue(symbol(p, h))) {
+					inHoles++;
+				}
+			}
+			Assert.assertTrue(inHoles > 0);
+		}
+		Assert.assertTrue(cdcl.isSatisfiable());
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private Symbol symbol(int pigeon, int hole) {
+		return new Symbol("P" + pigeon + "_" + hole);
+	}
+}
@@ -0,0 +1,56 @@
+package aima.test.core.unit.probability.bayes.approx;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import aima.core.probability.RandomVariable;
+import aima.core.probability.bayes.BayesianNetwork;
+import aima.core.probability.bayes.approx.ParallelGibbsAsk;
+import aima.core.probability.bayes.approx.SampleEstimate;
+import aima.core.probability.example.BayesNetExampleFactory;
+import aima.core.probability.example.ExampleRV;
+import aima.core.probability.proposition.AssignmentProposition;
+import aima.core.util.SplittableRandomizer;
+
+/**
+ * @author agent
+ *
+ */
+public class ParallelGibbsAskTest {
+
+	@Test
+	public void testEstimate() {
+		BayesianNetwork bn = BayesNetExampleFactory
+				.constructCloudySprinklerRainWetGrassNetwork();
+		AssignmentProposition[] e = new AssignmentProposition[] { new AssignmentProposition(
+				ExampleRV.SPRINKLER_RV, Boolean.TRUE) };
+		ParallelGibbsAsk pga = new ParallelGibbsAsk(4, 2,
+				new SplittableRandomizer(42));
+		pga.setBurnIn(100);
+
+		SampleEstimate estimate = pga.estimate(
+				new RandomVariable[] { ExampleRV.RAIN_RV }, e, bn, 100000);
+
+		// P(Rain | sprinkler) = <0.3, 0.7>
+		Assert.assertArrayEquals(new double[] { 0.3, 0.7 }, estimate
+				.getDistribution().getValues(), 0.01);
+		Assert.assertEquals(100000, estimate.getNumberOfSamples());
+		Assert.assertTrue(estimate.getEffectiveSampleSize() > 1000);
+		Assert.assertTrue(estimate.getEffectiveSampleSize() <= 100000);
+		Assert.assertEquals(1.0, estimate.getRHat(), 0.01);
+	}
+
+	@Test
+	public void testSameSeedSameEstimate() {
+		BayesianNetwork bn = BayesNetExampleFactory
+				.constructBurglaryAlarmNetwork();
+		AssignmentProposition[] e = new AssignmentProposition[] { new AssignmentProposition(
+				ExampleRV.JOHN_CALLS_RV, Boolean.TRUE) };
+		RandomVariable[] X = new RandomVariable[] { ExampleRV.ALARM_RV };
+
+		Assert.assertArrayEquals(new ParallelGibbsAsk(3, 3,
+				new SplittableRandomizer(7)).ask(X, e, bn, 1000).getValues(),
+				new ParallelGibbsAsk(3, 1, new SplittableRandomizer(7)).ask(X,
+						e, bn, 1000).getValues(), 0.0);
+	}
+}
@@ -0,0 +1,42 @@
+package aima.test.core.unit.probability.bayes.approx;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import aima.core.probability.RandomVariable;
+import aima.core.probability.bayes.BayesianNetwork;
+import aima.core.probability.bayes.approx.ParallelLikelihoodWeighting;
+import aima.core.probability.bayes.approx.SampleEstimate;
+import aima.core.probability.example.BayesNetExampleFactory;
+import aima.core.probability.example.ExampleRV;
+import aima.core.probability.proposition.AssignmentProposition;
+import aima.core.util.SplittableRandomizer;
+
+/**
+ * @author agent
+ *
+ */
+public class ParallelLikelihoodWeightingTest {
+
+	@Test
+	public void testEstimate() {
+		BayesianNetwork bn = BayesNetExampleFactory
+				.constructCloudySprinklerRainWetGrassNetwork();
+		AssignmentProposition[] e = new AssignmentProposition[] { new AssignmentProposition(
+				ExampleRV.SPRINKLER_RV, Boolean.TRUE) };
+		ParallelLikelihoodWeighting plw = new ParallelLikelihoodWeighting(4,
+				2, new SplittableRandomizer(42));
+
+		SampleEstimate estimate = plw.estimate(
+				new RandomVariable[] { ExampleRV.RAIN_RV }, e, bn, 100000);
+
+		// P(Rain | sprinkler) = <0.3, 0.7>
+		Assert.assertArrayEquals(new double[] { 0.3, 0.7 }, estimate
+				.getDistribution().getValues(), 0.01);
+		Assert.assertEquals(100000, estimate.getNumberOfSamples());
+		// The weights are 0.1 (cloudy) or 0.5 (not cloudy)
+		Assert.assertEquals(100000 * 0.09 / 0.13, estimate
+				.getEffectiveSampleSize(), 1000);
+		Assert.assertTrue(Double.isNaN(estimate.getRHat()));
+	}
+}
@@ -0,0 +1,18 @@
+package aima.test.core.unit.probability.bayes.exact;
+
+import org.junit.Before;
+
+import aima.core.probability.bayes.exact.EliminationAsk;
+import aima.core.probability.bayes.exact.GreedyEliminationHeuristic;
+
+/**
+ * @author agent
+ *
+ */
+public class EliminationAskMinFillTest extends BayesianInferenceTest {
+
+	@Before
+	public void setUp() {
+		bayesInference = new EliminationAsk(GreedyEliminationHeuristic.MIN_FILL);
+	}
+}
@@ -0,0 +1,88 @@
+package aima.test.core.unit.probability.bayes.exact;
+
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import aima.core.probability.CategoricalDistribution;
+import aima.core.probability.ProbabilityModel;
+import aima.core.probability.RandomVariable;
+import aima.core.probability.bayes.BayesianNetwork;
+import aima.core.probability.bayes.exact.EliminationAsk;
+import aima.core.probability.bayes.exact.JunctionTree;
+import aima.core.probability.bayes.exact.JunctionTreeAsk;
+import aima.core.probability.example.BayesNetExampleFactory;
+import aima.core.probability.example.ExampleRV;
+import aima.core.probability.proposition.AssignmentProposition;
+
+/**
+ * @author agent
+ *
+ */
+public class JunctionTreeAskTest extends BayesianInferenceTest {
+
+	@Before
+	public void setUp() {
+		bayesInference = new JunctionTreeAsk();
+	}
+
+	@Test
+	public void testMarginalsWithIncrementalEvidence() {
+		BayesianNetwork bn = BayesNetExampleFactory
+				.constructCloudySprinklerRainWetGrassNetwork();
+		JunctionTree jt = new JunctionTree(bn);
+		EliminationAsk eliminationAsk = new EliminationAsk();
+
+		AssignmentProposition wetGrass = new AssignmentProposition(
+				ExampleRV.WET_GRASS_RV, true);
+		AssignmentProposition sprinkler = new AssignmentProposition(
+				ExampleRV.SPRINKLER_RV, false);
+		AssignmentProposition[][] evidence = new AssignmentProposition[][] {
+				{}, { wetGrass }, { wetGrass, sprinkler }, { sprinkler },
+				{ new AssignmentProposition(ExampleRV.SPRINKLER_RV, true) } };
+		for (AssignmentProposition[] e : evidence) {
+			jt.setEvidence(e);
+			Map<RandomVariable, CategoricalDistribution> marginals = jt
+					.getMarginals();
+			Assert.assertEquals(4, marginals.size());
+			for (RandomVariable var : marginals.keySet()) {
+				if (isObserved(var, e)) {
+					// Elimination-Ask can't be asked about evidence
+					continue;
+				}
+				Assert.assertArrayEquals(eliminationAsk.ask(
+						new RandomVariable[] { var }, e, bn).getValues(),
+						marginals.get(var).getValues(),
+						ProbabilityModel.DEFAULT_ROUNDING_THRESHOLD);
+			}
+		}
+	}
+
+	@Test
+	public void testQueryNotInOneClique() {
+		BayesianNetwork bn = BayesNetExampleFactory
+				.constructBurglaryAlarmNetwork();
+		RandomVariable[] X = new RandomVariable[] { ExampleRV.BURGLARY_RV,
+				ExampleRV.JOHN_CALLS_RV };
+		AssignmentProposition[] e = new AssignmentProposition[] { new AssignmentProposition(
+				ExampleRV.MARY_CALLS_RV, true) };
+
+		Assert.assertArrayEquals(new EliminationAsk().ask(X, e, bn)
+				.getValues(), bayesInference.ask(X, e, bn).getValues(),
+				ProbabilityModel.DEFAULT_ROUNDING_THRESHOLD);
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private boolean isObserved(RandomVariable var, AssignmentProposition[] e) {
+		for (AssignmentProposition ap : e) {
+			if (var.equals(ap.getTermVariable())) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
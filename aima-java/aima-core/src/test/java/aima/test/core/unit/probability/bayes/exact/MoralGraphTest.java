@@ -0,0 +1,90 @@
+package aima.test.core.unit.probability.bayes.exact;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import aima.core.probability.RandomVariable;
+import aima.core.probability.bayes.BayesianNetwork;
+import aima.core.probability.bayes.exact.GreedyEliminationHeuristic;
+import aima.core.probability.bayes.exact.MoralGraph;
+import aima.core.probability.example.BayesNetExampleFactory;
+import aima.core.probability.example.ExampleRV;
+
+/**
+ * @author agent
+ *
+ */
+public class MoralGraphTest {
+	private BayesianNetwork bn;
+
+	@Before
+	public void setUp() {
+		bn = BayesNetExampleFactory.constructBurglaryAlarmNetwork();
+	}
+
+	@Test
+	public void testMoralGraph() {
+		MoralGraph graph = new MoralGraph(bn);
+
+		Assert.assertEquals(5, graph.getVariables().size());
+		// Parents of Alarm are married
+		Assert.assertTrue(graph.isAdjacent(ExampleRV.BURGLARY_RV,
+				ExampleRV.EARTHQUAKE_RV));
+		Assert.assertTrue(graph.isAdjacent(ExampleRV.EARTHQUAKE_RV,
+				ExampleRV.BURGLARY_RV));
+		Assert.assertFalse(graph.isAdjacent(ExampleRV.JOHN_CALLS_RV,
+				ExampleRV.MARY_CALLS_RV));
+		Assert.assertEquals(4, graph.getNeighbors(ExampleRV.ALARM_RV).size());
+
+		Assert.assertEquals(0, graph.countFillIns(ExampleRV.BURGLARY_RV));
+		Assert.assertEquals(5, graph.countFillIns(ExampleRV.ALARM_RV));
+		Assert.assertEquals(20.0, graph.weightOfFillIns(ExampleRV.ALARM_RV),
+				0.0);
+		Assert.assertEquals(32.0, graph.sizeOfFactor(ExampleRV.ALARM_RV), 0.0);
+
+		graph.eliminate(ExampleRV.ALARM_RV);
+		Assert.assertEquals(4, graph.getVariables().size());
+		Assert.assertTrue(graph.isAdjacent(ExampleRV.JOHN_CALLS_RV,
+				ExampleRV.MARY_CALLS_RV));
+		Assert.assertEquals(0, graph.countFillIns(ExampleRV.BURGLARY_RV));
+	}
+
+	@Test
+	public void testExcludedVariables() {
+		List<RandomVariable> excluded = new ArrayList<RandomVariable>();
+		excluded.add(ExampleRV.ALARM_RV);
+		MoralGraph graph = new MoralGraph(bn, bn
+				.getVariablesInTopologicalOrder(), excluded);
+
+		Assert.assertEquals(4, graph.getVariables().size());
+		Assert.assertEquals(1, graph.getNeighbors(ExampleRV.BURGLARY_RV)
+				.size());
+		Assert.assertEquals(0, graph.getNeighbors(ExampleRV.JOHN_CALLS_RV)
+				.size());
+	}
+
+	@Test
+	public void testEliminationOrder() {
+		MoralGraph graph = new MoralGraph(bn);
+
+		Assert.assertEquals(Arrays.asList(ExampleRV.JOHN_CALLS_RV,
+				ExampleRV.ALARM_RV), graph.eliminationOrder(Arrays
+				.asList((RandomVariable) ExampleRV.ALARM_RV,
+						ExampleRV.JOHN_CALLS_RV),
+				GreedyEliminationHeuristic.MIN_DEGREE));
+		// Eliminating Alarm first would add 5 edges
+		Assert.assertEquals(Arrays.asList(ExampleRV.BURGLARY_RV,
+				ExampleRV.EARTHQUAKE_RV, ExampleRV.ALARM_RV), graph
+				.eliminationOrder(Arrays.asList(
+						(RandomVariable) ExampleRV.ALARM_RV,
+						ExampleRV.BURGLARY_RV, ExampleRV.EARTHQUAKE_RV),
+						GreedyEliminationHeuristic.MIN_FILL));
+		// The graph is not changed
+		Assert.assertEquals(5, graph.getVariables().size());
+	}
+}
@@ -0,0 +1,61 @@
+package aima.test.core.unit.probability.hmm.exact;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import aima.core.probability.CategoricalDistribution;
+import aima.core.probability.example.ExampleRV;
+import aima.core.probability.example.HMMExampleFactory;
+import aima.core.probability.hmm.exact.StreamingFiltering;
+import aima.core.probability.hmm.impl.CompiledHMM;
+import aima.core.probability.proposition.AssignmentProposition;
+
+/**
+ * @author agent
+ *
+ */
+public class StreamingFilteringTest {
+	public static final double DELTA_THRESHOLD = 1e-3;
+
+	@Test
+	public void testFilter_UmbrellaWorld() {
+		StreamingFiltering uw = new StreamingFiltering(HMMExampleFactory
+				.getUmbrellaWorldModel());
+
+		// AIMA3e pg. 572
+		List<AssignmentProposition> e1 = new ArrayList<AssignmentProposition>();
+		e1.add(new AssignmentProposition(ExampleRV.UMBREALLA_t_RV,
+				Boolean.TRUE));
+		CategoricalDistribution f1 = uw.filter(e1);
+		Assert.assertArrayEquals(new double[] { 0.818, 0.182 }, f1.getValues(),
+				DELTA_THRESHOLD);
+		CategoricalDistribution f2 = uw.filter(e1);
+		Assert.assertArrayEquals(new double[] { 0.883, 0.117 }, f2.getValues(),
+				DELTA_THRESHOLD);
+		Assert.assertEquals(2, uw.getTime());
+		// P(u1, u2) = 0.55 * 0.7175...
+		Assert.assertEquals(Math.log(0.55 * (0.9 * (0.7 * 0.818 + 0.3 * 0.182)
+				+ 0.2 * (0.3 * 0.818 + 0.7 * 0.182))), uw.getLogLikelihood(),
+				DELTA_THRESHOLD);
+	}
+
+	@Test
+	public void testLongStreamDoesNotUnderflow() {
+		CompiledHMM hmm = new CompiledHMM(HMMExampleFactory
+				.getUmbrellaWorldModel());
+		StreamingFiltering uw = new StreamingFiltering(hmm);
+		int umbrella = hmm.getEvidenceIndex(Boolean.TRUE);
+		int noUmbrella = hmm.getEvidenceIndex(Boolean.FALSE);
+		double[] f = null;
+		for (int t = 0; t < 100000; t++) {
+			f = uw.filter(t % 3 == 0 ? noUmbrella : umbrella);
+		}
+		Assert.assertEquals(1.0, f[0] + f[1], 1e-9);
+		Assert.assertTrue(f[0] > 0 && f[1] > 0);
+		Assert.assertTrue(uw.getLogLikelihood() < -10000);
+		Assert.assertFalse(Double.isInfinite(uw.getLogLikelihood()));
+	}
+}
@@ -0,0 +1,78 @@
+package aima.test.core.unit.probability.hmm.exact;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import aima.core.probability.CategoricalDistribution;
+import aima.core.probability.example.ExampleRV;
+import aima.core.probability.example.HMMExampleFactory;
+import aima.core.probability.hmm.HiddenMarkovModel;
+import aima.core.probability.hmm.exact.HMMForwardBackward;
+import aima.core.probability.hmm.exact.StreamingFixedLagSmoothing;
+import aima.core.probability.proposition.AssignmentProposition;
+
+/**
+ * @author agent
+ *
+ */
+public class StreamingFixedLagSmoothingTest {
+	public static final double DELTA_THRESHOLD = 1e-3;
+
+	@Test
+	public void testFixedLagSmoothing_lag_1_UmbrellaWorld() {
+		StreamingFixedLagSmoothing uw = new StreamingFixedLagSmoothing(
+				HMMExampleFactory.getUmbrellaWorldModel(), 1);
+
+		Assert.assertNull(uw.fixedLagSmoothing(umbrella(true)));
+
+		// Day 1 smoothed probabilities based on 2 days of evidence
+		CategoricalDistribution smoothed = uw
+				.fixedLagSmoothing(umbrella(true));
+		Assert.assertNotNull(smoothed);
+		Assert.assertArrayEquals(new double[] { 0.883, 0.117 }, smoothed
+				.getValues(), DELTA_THRESHOLD);
+
+		// Day 2 smoothed probabilities based on 3 days of evidence
+		smoothed = uw.fixedLagSmoothing(umbrella(false));
+		Assert.assertNotNull(smoothed);
+		Assert.assertArrayEquals(new double[] { 0.799, 0.201 }, smoothed
+				.getValues(), DELTA_THRESHOLD);
+	}
+
+	@Test
+	public void testAgreesWithForwardBackward() {
+		HiddenMarkovModel hmm = HMMExampleFactory.getUmbrellaWorldModel();
+		HMMForwardBackward fb = new HMMForwardBackward(hmm);
+		for (int d = 0; d <= 3; d++) {
+			StreamingFixedLagSmoothing uw = new StreamingFixedLagSmoothing(
+					hmm, d);
+			List<List<AssignmentProposition>> ev = new ArrayList<List<AssignmentProposition>>();
+			for (int t = 1; t <= 20; t++) {
+				List<AssignmentProposition> e = umbrella(t % 3 != 1);
+				ev.add(e);
+				CategoricalDistribution smoothed = uw.fixedLagSmoothing(e);
+				if (t <= d) {
+					Assert.assertNull(smoothed);
+				} else {
+					// <b>P</b>(X<sub>t-d</sub> | e<sub>1:t</sub>)
+					CategoricalDistribution expected = fb.forwardBackward(ev,
+							hmm.convert(hmm.getPrior())).get(t - d - 1);
+					Assert.assertArrayEquals(expected.getValues(), smoothed
+							.getValues(), 1e-9);
+				}
+			}
+		}
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private List<AssignmentProposition> umbrella(boolean value) {
+		List<AssignmentProposition> e = new ArrayList<AssignmentProposition>();
+		e.add(new AssignmentProposition(ExampleRV.UMBREALLA_t_RV, value));
+		return e;
+	}
+}
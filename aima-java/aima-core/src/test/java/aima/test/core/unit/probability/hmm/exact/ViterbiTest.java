@@ -0,0 +1,58 @@
+package aima.test.core.unit.probability.hmm.exact;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import aima.core.probability.example.HMMExampleFactory;
+import aima.core.probability.hmm.exact.Viterbi;
+import aima.core.probability.hmm.impl.CompiledHMM;
+
+/**
+ * @author agent
+ *
+ */
+public class ViterbiTest {
+	public static final double DELTA_THRESHOLD = 1e-3;
+
+	@Test
+	public void testMostLikelyPath_UmbrellaWorld() {
+		CompiledHMM hmm = new CompiledHMM(HMMExampleFactory
+				.getUmbrellaWorldModel());
+		int u = hmm.getEvidenceIndex(Boolean.TRUE);
+		int notU = hmm.getEvidenceIndex(Boolean.FALSE);
+		Viterbi viterbi = new Viterbi(hmm);
+
+		// AIMA3e pg. 577, Figure 15.5
+		int[] path = viterbi.decode(new int[] { u, u, notU, u, u });
+		Object[] expected = { true, true, false, true, true };
+		Assert.assertEquals(expected.length, path.length);
+		for (int k = 0; k < path.length; k++) {
+			Assert.assertEquals(expected[k], hmm.getStateValue(path[k]));
+		}
+		// m<sub>1:5</sub> = <0.0210, 0.0005> before normalization, the
+		// message for rain = true
+		Assert.assertEquals(Math.log(0.5 * 0.9 * 0.7 * 0.9 * 0.3 * 0.8 * 0.3
+				* 0.9 * 0.7 * 0.9), viterbi.getLogProbability(),
+				DELTA_THRESHOLD);
+	}
+
+	@Test
+	public void testLongSequence() {
+		CompiledHMM hmm = new CompiledHMM(HMMExampleFactory
+				.getUmbrellaWorldModel());
+		int u = hmm.getEvidenceIndex(Boolean.TRUE);
+		int notU = hmm.getEvidenceIndex(Boolean.FALSE);
+		Viterbi viterbi = new Viterbi(hmm);
+		int[] ev = new int[100000];
+		for (int t = 0; t < ev.length; t++) {
+			// Runs of 10 days with an umbrella and 10 without
+			ev[t] = (t / 10) % 2 == 0 ? u : notU;
+		}
+		int[] path = viterbi.decode(ev);
+		Assert.assertEquals(ev.length, path.length);
+		Assert.assertFalse(Double.isInfinite(viterbi.getLogProbability()));
+		for (int t = 0; t < ev.length; t++) {
+			Assert.assertEquals(ev[t] == u, hmm.getStateValue(path[t]));
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package aima.test.core.unit.probability.hmm.learning;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import aima.core.probability.CategoricalDistribution;
+import aima.core.probability.example.ExampleRV;
+import aima.core.probability.example.HMMExampleFactory;
+import aima.core.probability.hmm.HiddenMarkovModel;
+import aima.core.probability.hmm.exact.HMMForwardBackward;
+import aima.core.probability.hmm.impl.CompiledHMM;
+import aima.core.probability.hmm.learning.BaumWelch;
+import aima.core.probability.proposition.AssignmentProposition;
+
+/**
+ * @author agent
+ *
+ */
+public class BaumWelchTest {
+
+	@Test
+	public void testSensorModelMatchesSmoothing() {
+		HiddenMarkovModel hmm = HMMExampleFactory.getUmbrellaWorldModel();
+		boolean[] umbrella = { true, true, false, true, true, false, false };
+		List<List<AssignmentProposition>> ev = new ArrayList<List<AssignmentProposition>>();
+		BaumWelch bw = new BaumWelch(hmm);
+		for (boolean u : umbrella) {
+			List<AssignmentProposition> e = new ArrayList<AssignmentProposition>();
+			e.add(new AssignmentProposition(ExampleRV.UMBREALLA_t_RV, u));
+			ev.add(e);
+			bw.observe(e);
+		}
+		CompiledHMM learned = new CompiledHMM(bw.reestimate());
+
+		// P(u | X = i) = sum of P(X<sub>k</sub> = i | e<sub>1:t</sub>) over
+		// the days k with an umbrella / sum over all days
+		List<CategoricalDistribution> smoothed = new HMMForwardBackward(hmm)
+				.forwardBackward(ev, hmm.convert(hmm.getPrior()));
+		int u = learned.getEvidenceIndex(Boolean.TRUE);
+		for (int i = 0; i < 2; i++) {
+			double withUmbrella = 0, total = 0;
+			for (int k = 0; k < umbrella.length; k++) {
+				double p = smoothed.get(k).getValues()[i];
+				total += p;
+				if (umbrella[k]) {
+					withUmbrella += p;
+				}
+			}
+			Assert.assertEquals(withUmbrella / total, learned
+					.getSensorProbability(u, i), 1e-9);
+		}
+	}
+
+	@Test
+	public void testLikelihoodIncreases() {
+		HiddenMarkovModel hmm = HMMExampleFactory.getUmbrellaWorldModel();
+		CompiledHMM compiled = new CompiledHMM(hmm);
+		int[] ev = new int[1000];
+		for (int t = 0; t < ev.length; t++) {
+			ev[t] = compiled.getEvidenceIndex((t / 7) % 3 != 0);
+		}
+		double previous = Double.NEGATIVE_INFINITY;
+		for (int n = 0; n < 5; n++) {
+			BaumWelch bw = new BaumWelch(hmm);
+			for (int e : ev) {
+				bw.observe(e);
+			}
+			Assert.assertTrue(bw.getLogLikelihood() >= previous - 1e-9);
+			previous = bw.getLogLikelihood();
+			hmm = bw.reestimate();
+
+			compiled = new CompiledHMM(hmm);
+			for (int i = 0; i < 2; i++) {
+				Assert.assertEquals(1.0, compiled.getTransitionProbability(i, 0)
+						+ compiled.getTransitionProbability(i, 1), 1e-9);
+				Assert.assertEquals(1.0, compiled.getSensorProbability(0, i)
+						+ compiled.getSensorProbability(1, i), 1e-9);
+			}
+			Assert.assertEquals(1.0, compiled.getPrior(0)
+					+ compiled.getPrior(1), 1e-9);
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package aima.test.core.unit.probability.mdp;
+
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import aima.core.environment.cellworld.Cell;
+import aima.core.environment.cellworld.CellWorld;
+import aima.core.environment.cellworld.CellWorldAction;
+import aima.core.environment.cellworld.CellWorldFactory;
+import aima.core.probability.example.MDPFactory;
+import aima.core.probability.mdp.MarkovDecisionProcess;
+import aima.core.probability.mdp.Policy;
+import aima.core.probability.mdp.impl.ModifiedPolicyEvaluation;
+import aima.core.probability.mdp.impl.SparseModifiedPolicyEvaluation;
+import aima.core.probability.mdp.search.PolicyIteration;
+import aima.core.probability.mdp.search.SparsePolicyIteration;
+import aima.core.util.Util;
+
+/**
+ * @author agent
+ *
+ */
+public class SparsePolicyIterationTest {
+	private CellWorld<Double> cw = null;
+	private MarkovDecisionProcess<Cell<Double>, CellWorldAction> mdp = null;
+
+	@Before
+	public void setUp() {
+		cw = CellWorldFactory.createCellWorldForFig17_1();
+		mdp = MDPFactory.createMDPForFigure17_3(cw);
+	}
+
+	@Test
+	public void testPolicyIterationForFig17_2() {
+		SparsePolicyIteration<Cell<Double>, CellWorldAction> pi = new SparsePolicyIteration<Cell<Double>, CellWorldAction>(
+				new SparseModifiedPolicyEvaluation<Cell<Double>, CellWorldAction>(
+						50, 1.0), 2);
+		assertPolicyForFig17_2(pi.policyIteration(mdp));
+	}
+
+	@Test
+	public void testAsPolicyEvaluation() {
+		PolicyIteration<Cell<Double>, CellWorldAction> pi = new PolicyIteration<Cell<Double>, CellWorldAction>(
+				new SparseModifiedPolicyEvaluation<Cell<Double>, CellWorldAction>(
+						50, 1.0, 2));
+		assertPolicyForFig17_2(pi.policyIteration(mdp));
+	}
+
+	@Test
+	public void testEvaluationMatchesModifiedPolicyEvaluation() {
+		Map<Cell<Double>, CellWorldAction> policy = PolicyIteration
+				.initialPolicyVector(mdp);
+		Map<Cell<Double>, Double> U = new ModifiedPolicyEvaluation<Cell<Double>, CellWorldAction>(
+				10, 0.9).evaluate(policy, Util.create(mdp.states(), new Double(0)), mdp);
+		Map<Cell<Double>, Double> sparseU = new SparseModifiedPolicyEvaluation<Cell<Double>, CellWorldAction>(
+				10, 0.9).evaluate(policy, Util.create(mdp.states(), new Double(0)), mdp);
+		for (Cell<Double> s : mdp.states()) {
+			Assert.assertEquals(U.get(s), sparseU.get(s), 1e-12);
+		}
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private void assertPolicyForFig17_2(
+			Policy<Cell<Double>, CellWorldAction> policy) {
+		// AIMA3e check with Figure 17.2 (a)
+		Assert.assertEquals(CellWorldAction.Up,
+				policy.action(cw.getCellAt(1, 1)));
+		Assert.assertEquals(CellWorldAction.Up,
+				policy.action(cw.getCellAt(1, 2)));
+		Assert.assertEquals(CellWorldAction.Right,
+				policy.action(cw.getCellAt(1, 3)));
+
+		Assert.assertEquals(CellWorldAction.Left,
+				policy.action(cw.getCellAt(2, 1)));
+		Assert.assertEquals(CellWorldAction.Right,
+				policy.action(cw.getCellAt(2, 3)));
+
+		Assert.assertEquals(CellWorldAction.Left,
+				policy.action(cw.getCellAt(3, 1)));
+		Assert.assertEquals(CellWorldAction.Up,
+				policy.action(cw.getCellAt(3, 2)));
+		Assert.assertEquals(CellWorldAction.Right,
+				policy.action(cw.getCellAt(3, 3)));
+
+		Assert.assertEquals(CellWorldAction.Left,
+				policy.action(cw.getCellAt(4, 1)));
+		Assert.assertNull(policy.action(cw.getCellAt(4, 2)));
+		Assert.assertNull(policy.action(cw.getCellAt(4, 3)));
+	}
+}
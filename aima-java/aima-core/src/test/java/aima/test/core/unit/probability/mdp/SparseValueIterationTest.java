@@ -0,0 +1,183 @@
+package aima.test.core.unit.probability.mdp;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import aima.core.environment.cellworld.Cell;
+import aima.core.environment.cellworld.CellWorld;
+import aima.core.environment.cellworld.CellWorldAction;
+import aima.core.environment.cellworld.CellWorldFactory;
+import aima.core.probability.example.MDPFactory;
+import aima.core.probability.mdp.ActionsFunction;
+import aima.core.probability.mdp.MarkovDecisionProcess;
+import aima.core.probability.mdp.RewardFunction;
+import aima.core.probability.mdp.SuccessorStatesFunction;
+import aima.core.probability.mdp.TransitionProbabilityFunction;
+import aima.core.probability.mdp.impl.CompiledMDP;
+import aima.core.probability.mdp.impl.MDP;
+import aima.core.probability.mdp.search.SparseValueIteration;
+import aima.core.probability.mdp.search.SparseValueIteration.Sweep;
+
+/**
+ * @author agent
+ *
+ */
+public class SparseValueIterationTest {
+	public static final double DELTA_THRESHOLD = 1e-3;
+
+	private CellWorld<Double> cw = null;
+	private MarkovDecisionProcess<Cell<Double>, CellWorldAction> mdp = null;
+
+	@Before
+	public void setUp() {
+		cw = CellWorldFactory.createCellWorldForFig17_1();
+		mdp = MDPFactory.createMDPForFigure17_3(cw);
+	}
+
+	@Test
+	public void testCompiledMDP() {
+		CompiledMDP<Cell<Double>, CellWorldAction> compiled = new CompiledMDP<Cell<Double>, CellWorldAction>(
+				mdp, MDPFactory.createSuccessorStatesFunctionForFigure17_1(cw));
+		Assert.assertEquals(11, compiled.getNumberOfStates());
+		Assert.assertEquals(cw.getCellAt(1, 1), compiled.getState(compiled
+				.getInitialState()));
+		// Terminal states have no actions
+		int s42 = compiled.getId(cw.getCellAt(4, 2));
+		Assert.assertEquals(compiled.getActionsStart(s42), compiled
+				.getActionsEnd(s42));
+		// Compiling with all pairs of states gives the same transitions
+		CompiledMDP<Cell<Double>, CellWorldAction> dense = new CompiledMDP<Cell<Double>, CellWorldAction>(
+				mdp);
+		Assert.assertEquals(dense.getNumberOfTransitions(), compiled
+				.getNumberOfTransitions());
+		double[] U = new double[compiled.getNumberOfStates()];
+		for (int s = 0; s < U.length; s++) {
+			U[s] = s;
+		}
+		for (int s = 0; s < U.length; s++) {
+			for (int a = compiled.getActionsStart(s); a < compiled
+					.getActionsEnd(s); a++) {
+				Assert.assertEquals(dense.expectedUtility(a, U), compiled
+						.expectedUtility(a, U), 1e-12);
+			}
+		}
+		// (1,1) can be reached from (1,1), (1,2) and (2,1)
+		int s11 = compiled.getId(cw.getCellAt(1, 1));
+		Assert.assertEquals(3, compiled.getPredecessorsEnd(s11)
+				- compiled.getPredecessorsStart(s11));
+	}
+
+	@Test
+	public void testValueIterationForFig17_3() {
+		for (Sweep sweep : Sweep.values()) {
+			SparseValueIteration<Cell<Double>, CellWorldAction> vi = new SparseValueIteration<Cell<Double>, CellWorldAction>(
+					1.0, sweep, 2);
+			Map<Cell<Double>, Double> U = vi.valueIteration(mdp, 0.0001);
+
+			Assert.assertEquals(0.705, U.get(cw.getCellAt(1, 1)),
+					DELTA_THRESHOLD);
+			Assert.assertEquals(0.762, U.get(cw.getCellAt(1, 2)),
+					DELTA_THRESHOLD);
+			Assert.assertEquals(0.812, U.get(cw.getCellAt(1, 3)),
+					DELTA_THRESHOLD);
+
+			Assert.assertEquals(0.655, U.get(cw.getCellAt(2, 1)),
+					DELTA_THRESHOLD);
+			Assert.assertEquals(0.868, U.get(cw.getCellAt(2, 3)),
+					DELTA_THRESHOLD);
+
+			Assert.assertEquals(0.611, U.get(cw.getCellAt(3, 1)),
+					DELTA_THRESHOLD);
+			Assert.assertEquals(0.660, U.get(cw.getCellAt(3, 2)),
+					DELTA_THRESHOLD);
+			Assert.assertEquals(0.918, U.get(cw.getCellAt(3, 3)),
+					DELTA_THRESHOLD);
+
+			Assert.assertEquals(0.388, U.get(cw.getCellAt(4, 1)),
+					DELTA_THRESHOLD);
+			Assert.assertEquals(-1.0, U.get(cw.getCellAt(4, 2)),
+					DELTA_THRESHOLD);
+			Assert.assertEquals(1.0, U.get(cw.getCellAt(4, 3)),
+					DELTA_THRESHOLD);
+		}
+	}
+
+	@Test
+	public void testSweepsAgreeOnLargeMDP() {
+		final int n = 5000;
+		final Set<Integer> states = new LinkedHashSet<Integer>();
+		for (int s = 0; s < n; s++) {
+			states.add(s);
+		}
+		// A ring of states where Left and Right move 1 or 7 states with
+		// probability 0.8 and stay otherwise, state 0 is a terminal state
+		final Set<CellWorldAction> moves = new HashSet<CellWorldAction>();
+		moves.add(CellWorldAction.Left);
+		moves.add(CellWorldAction.Right);
+		final SuccessorStatesFunction<Integer, CellWorldAction> sf = new SuccessorStatesFunction<Integer, CellWorldAction>() {
+			@Override
+			public Set<Integer> successors(Integer s, CellWorldAction a) {
+				Set<Integer> result = new HashSet<Integer>();
+				result.add(s);
+				int step = s % 2 == 0 ? 1 : 7;
+				result.add((s + (CellWorldAction.Left == a ? n - step : step))
+						% n);
+				return result;
+			}
+		};
+		MarkovDecisionProcess<Integer, CellWorldAction> ring = new MDP<Integer, CellWorldAction>(
+				states, 1, new ActionsFunction<Integer, CellWorldAction>() {
+					@Override
+					public Set<CellWorldAction> actions(Integer s) {
+						if (0 == s) {
+							return Collections.emptySet();
+						}
+						return moves;
+					}
+				}, new TransitionProbabilityFunction<Integer, CellWorldAction>() {
+					@Override
+					public double probability(Integer sDelta, Integer s,
+							CellWorldAction a) {
+						if (sDelta.equals(s)) {
+							return 0.2;
+						}
+						return sf.successors(s, a).contains(sDelta) ? 0.8 : 0;
+					}
+				}, new RewardFunction<Integer>() {
+					@Override
+					public double reward(Integer s) {
+						return 0 == s ? 1.0 : -0.04;
+					}
+				});
+		CompiledMDP<Integer, CellWorldAction> compiled = new CompiledMDP<Integer, CellWorldAction>(
+				ring, sf);
+		Assert.assertEquals(n, compiled.getNumberOfStates());
+		Assert.assertEquals(4 * (n - 1), compiled.getNumberOfTransitions());
+
+		double epsilon = 1e-6;
+		double[] expected = new SparseValueIteration<Integer, CellWorldAction>(
+				0.99, Sweep.JACOBI, 1).valueIteration(compiled, epsilon);
+		SparseValueIteration<Integer, CellWorldAction> parallel = new SparseValueIteration<Integer, CellWorldAction>(
+				0.99, Sweep.JACOBI, 4);
+		Assert.assertArrayEquals(expected, parallel.valueIteration(compiled,
+				epsilon), 0);
+		for (Sweep sweep : new Sweep[] { Sweep.GAUSS_SEIDEL,
+				Sweep.PRIORITIZED_SWEEPING }) {
+			SparseValueIteration<Integer, CellWorldAction> vi = new SparseValueIteration<Integer, CellWorldAction>(
+					0.99, sweep, 1);
+			Assert.assertArrayEquals(expected, vi.valueIteration(compiled,
+					epsilon), 3 * epsilon);
+			if (Sweep.PRIORITIZED_SWEEPING == sweep) {
+				Assert.assertTrue(vi.getNumberOfUpdates() < parallel
+						.getNumberOfUpdates());
+			}
+		}
+	}
+}
@@ -202,6 +202,56 @@ public class ProbabilityTableTest {
 		Assert.assertEquals(10001.0, sumOf(answer), DELTA_THRESHOLD);
 	}
 
+	@Test
+	public void test_sumOut() {
+		RandomVariable xRV = new RandVar("X", new BooleanDomain());
+		RandomVariable yRV = new RandVar("Y", new BooleanDomain());
+		RandomVariable zRV = new RandVar("Z", new BooleanDomain());
+
+		ProbabilityTable xyzD = new ProbabilityTable(new double[] { 1.0, 2.0,
+				3.0, 4.0, 5.0, 6.0, 7.0, 8.0 }, xRV, yRV, zRV);
+
+		Assert.assertArrayEquals(new double[] { 10.0, 26.0 }, xyzD.sumOut(yRV,
+				zRV).getValues(), DELTA_THRESHOLD);
+		Assert.assertArrayEquals(new double[] { 14.0, 22.0 }, xyzD.sumOut(xRV,
+				zRV).getValues(), DELTA_THRESHOLD);
+		Assert.assertArrayEquals(new double[] { 16.0, 20.0 }, xyzD.sumOut(xRV,
+				yRV).getValues(), DELTA_THRESHOLD);
+		Assert.assertArrayEquals(new double[] { 4.0, 6.0, 12.0, 14.0 }, xyzD
+				.sumOut(yRV).getValues(), DELTA_THRESHOLD);
+		Assert.assertArrayEquals(new double[] { 36.0 }, xyzD.sumOut(xRV, yRV,
+				zRV).getValues(), DELTA_THRESHOLD);
+	}
+
+	@Test
+	public void test_restrict() {
+		RandomVariable xRV = new RandVar("X", new BooleanDomain());
+		RandomVariable yRV = new RandVar("Y", new BooleanDomain());
+		RandomVariable zRV = new RandVar("Z", new BooleanDomain());
+
+		ProbabilityTable xyzD = new ProbabilityTable(new double[] { 1.0, 2.0,
+				3.0, 4.0, 5.0, 6.0, 7.0, 8.0 }, xRV, yRV, zRV);
+
+		ProbabilityTable xzD = xyzD.restrict(new AssignmentProposition(yRV,
+				false));
+		Assert.assertArrayEquals(new RandomVariable[] { xRV, zRV }, xzD
+				.getFor().toArray());
+		Assert.assertArrayEquals(new double[] { 3.0, 4.0, 7.0, 8.0 }, xzD
+				.getValues(), DELTA_THRESHOLD);
+
+		Assert.assertArrayEquals(new double[] { 5.0, 7.0 }, xyzD.restrict(
+				new AssignmentProposition(zRV, true),
+				new AssignmentProposition(xRV, false)).getValues(),
+				DELTA_THRESHOLD);
+		Assert.assertArrayEquals(new double[] { 6.0 }, xyzD.restrict(
+				new AssignmentProposition(xRV, false),
+				new AssignmentProposition(yRV, true),
+				new AssignmentProposition(zRV, false)).getValues(),
+				DELTA_THRESHOLD);
+		Assert.assertArrayEquals(xyzD.getValues(), xyzD.restrict().getValues(),
+				DELTA_THRESHOLD);
+	}
+
 	//
 	// PRIVATE METHOD
 	//
@@ -3,6 +3,7 @@ package aima.test.core.unit.search;
 import aima.test.core.unit.search.csp.AssignmentTest;
 import aima.test.core.unit.search.csp.CSPTest;
 import aima.test.core.unit.search.csp.MapCSPTest;
+import aima.test.core.unit.search.framework.MetricsTest;
 import aima.test.core.unit.search.framework.NodeTest;
 import aima.test.core.unit.search.framework.SolutionCheckerTest;
 import aima.test.core.unit.search.informed.AStarSearchTest;
@@ -25,6 +26,6 @@ import org.junit.runners.Suite;
 		BidirectionalSearchTest.class, BreadthFirstSearchTest.class,
 		DepthFirstSearchTest.class, DepthLimitedSearchTest.class,
 		IterativeDeepeningSearchTest.class, UniformCostSearchTest.class,
-		NodeTest.class, SolutionCheckerTest.class })
+		MetricsTest.class, NodeTest.class, SolutionCheckerTest.class })
 public class SearchTestSuite {
 }
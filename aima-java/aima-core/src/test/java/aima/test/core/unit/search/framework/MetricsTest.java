@@ -0,0 +1,65 @@
+package aima.test.core.unit.search.framework;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import aima.core.search.framework.Metrics;
+
+/**
+ * @author agent
+ *
+ */
+public class MetricsTest {
+
+	@Test
+	public void testStringRepresentationFollowsType() {
+		Metrics metrics = new Metrics();
+		metrics.set("i", 3);
+		metrics.set("l", 4L);
+		metrics.set("d", 8.0);
+		Assert.assertEquals("3", metrics.get("i"));
+		Assert.assertEquals("4", metrics.get("l"));
+		Assert.assertEquals("8.0", metrics.get("d"));
+		Assert.assertNull(metrics.get("unknown"));
+		Assert.assertEquals(8, metrics.getInt("d"));
+		Assert.assertEquals(3.0, metrics.getDouble("i"), 0.0);
+	}
+
+	@Test
+	public void testSlotUpdates() {
+		Metrics metrics = new Metrics();
+		Metrics.Slot slot = metrics.getSlot("count");
+		slot.increment();
+		slot.add(4);
+		Assert.assertEquals(5, metrics.getInt("count"));
+		slot.updateMax(3);
+		Assert.assertEquals(5, metrics.getInt("count"));
+		slot.updateMax(7);
+		Assert.assertEquals(7, metrics.getInt("count"));
+		Assert.assertSame(slot, metrics.getSlot("count"));
+	}
+
+	@Test
+	public void testSnapshotAndExport() {
+		Metrics metrics = new Metrics();
+		metrics.set("count", 1);
+		metrics.set("cost", 2.5);
+		Metrics snapshot = metrics.snapshot();
+		metrics.getSlot("count").increment();
+		Assert.assertEquals(1, snapshot.getInt("count"));
+		Assert.assertEquals(2, metrics.getInt("count"));
+
+		Map<String, Number> export = metrics
+				.exportTo(new HashMap<String, Number>());
+		Assert.assertEquals(Long.valueOf(2), export.get("count"));
+		Assert.assertEquals(Double.valueOf(2.5), export.get("cost"));
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void testGetIntOfUnknownMetric() {
+		new Metrics().getInt("unknown");
+	}
+}
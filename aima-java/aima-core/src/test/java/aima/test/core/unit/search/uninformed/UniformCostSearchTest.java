@@ -115,4 +115,26 @@ public class UniformCostSearchTest {
 		Assert.assertEquals("5.5",
 				search.getMetrics().get(QueueSearch.METRIC_PATH_COST));
 	}
+
+	@Test
+	public void testAIMA3eFigure3_15WithIndexedFrontier() throws Exception {
+		Map romaniaMap = new SimplifiedRoadMapOfPartOfRomania();
+		Problem problem = new Problem(SimplifiedRoadMapOfPartOfRomania.SIBIU,
+				MapFunctionFactory.getActionsFunction(romaniaMap),
+				MapFunctionFactory.getResultFunction(), new DefaultGoalTest(
+						SimplifiedRoadMapOfPartOfRomania.BUCHAREST),
+				new MapStepCostFunction(romaniaMap));
+
+		UniformCostSearch search = new UniformCostSearch();
+		search.setUseIndexedFrontier(true);
+		SearchAgent agent = new SearchAgent(problem, search);
+
+		List<Action> actions = agent.getActions();
+
+		Assert.assertEquals(
+				"[Action[name==moveTo, location==RimnicuVilcea], Action[name==moveTo, location==Pitesti], Action[name==moveTo, location==Bucharest]]",
+				actions.toString());
+		Assert.assertEquals("278.0",
+				search.getMetrics().get(QueueSearch.METRIC_PATH_COST));
+	}
 }
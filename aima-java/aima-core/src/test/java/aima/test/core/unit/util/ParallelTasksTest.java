@@ -0,0 +1,68 @@
+package aima.test.core.unit.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import aima.core.util.ParallelTasks;
+
+/**
+ * @author agent
+ *
+ */
+public class ParallelTasksTest {
+
+	@Test
+	public void testResultsInOrderOfTasks() {
+		List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+		for (int i = 0; i < 20; i++) {
+			final int n = i;
+			tasks.add(new Callable<Integer>() {
+				public Integer call() {
+					return n * n;
+				}
+			});
+		}
+		List<Integer> results = ParallelTasks.runAll(tasks, 4);
+		Assert.assertEquals(20, results.size());
+		for (int i = 0; i < 20; i++) {
+			Assert.assertEquals(i * i, results.get(i).intValue());
+		}
+	}
+
+	@Test
+	public void testDaemonPool() {
+		ExecutorService pool = ParallelTasks.newDaemonPool(2, "test");
+		try {
+			List<Callable<Boolean>> tasks = new ArrayList<Callable<Boolean>>();
+			tasks.add(new Callable<Boolean>() {
+				public Boolean call() {
+					return Thread.currentThread().isDaemon();
+				}
+			});
+			Assert.assertTrue(ParallelTasks.invokeAll(pool, tasks).get(0));
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testFailureRethrowsCause() {
+		List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+		tasks.add(new Callable<Object>() {
+			public Object call() {
+				throw new IllegalStateException("failed");
+			}
+		});
+		try {
+			ParallelTasks.runAll(tasks, 2);
+			Assert.fail("RuntimeException expected.");
+		} catch (RuntimeException ex) {
+			Assert.assertTrue(ex.getCause() instanceof IllegalStateException);
+		}
+	}
+}
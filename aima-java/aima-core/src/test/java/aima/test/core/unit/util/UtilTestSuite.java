@@ -4,15 +4,19 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 import aima.test.core.unit.util.datastructure.FIFOQueueTest;
+import aima.test.core.unit.util.datastructure.IndexedPriorityQueueTest;
 import aima.test.core.unit.util.datastructure.LIFOQueueTest;
 import aima.test.core.unit.util.datastructure.TableTest;
 import aima.test.core.unit.util.datastructure.XYLocationTest;
+import aima.test.core.unit.util.math.MatrixTest;
 import aima.test.core.unit.util.math.MixedRadixNumberTest;
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ FIFOQueueTest.class, LIFOQueueTest.class,
+@Suite.SuiteClasses({ FIFOQueueTest.class, IndexedPriorityQueueTest.class,
+		LIFOQueueTest.class,
 		TableTest.class, XYLocationTest.class, MixedRadixNumberTest.class,
-		SetOpsTest.class, UtilTest.class })
+		MatrixTest.class,
+		ParallelTasksTest.class, SetOpsTest.class, UtilTest.class })
 public class UtilTestSuite {
 
 }
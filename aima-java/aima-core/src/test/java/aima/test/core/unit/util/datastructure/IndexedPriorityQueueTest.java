@@ -0,0 +1,89 @@
+package aima.test.core.unit.util.datastructure;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import aima.core.util.datastructure.IndexedPriorityQueue;
+
+/**
+ * @author agent
+ *
+ */
+public class IndexedPriorityQueueTest {
+
+	@Test
+	public void testPopOrder() {
+		IndexedPriorityQueue<Item> queue = new IndexedPriorityQueue<Item>(2,
+				new ItemComparator());
+		Random r = new Random(42);
+		List<Item> items = new ArrayList<Item>();
+		for (int i = 0; i < 100; i++) {
+			Item item = new Item(r.nextInt(50));
+			items.add(item);
+			queue.insert(item);
+		}
+		Assert.assertEquals(100, queue.size());
+		// removal of arbitrary elements
+		for (int i = 0; i < 100; i += 3)
+			Assert.assertTrue(queue.remove(items.get(i)));
+		Assert.assertFalse(queue.remove(items.get(0)));
+		Assert.assertFalse(queue.contains(items.get(0)));
+		Assert.assertTrue(queue.contains(items.get(1)));
+
+		int last = -1;
+		int count = 0;
+		while (!queue.isEmpty()) {
+			Item item = queue.pop();
+			Assert.assertTrue(item.priority >= last);
+			last = item.priority;
+			count++;
+		}
+		Assert.assertEquals(66, count);
+	}
+
+	@Test
+	public void testDecreaseKey() {
+		IndexedPriorityQueue<Item> queue = new IndexedPriorityQueue<Item>(
+				new ItemComparator());
+		Item a = new Item(5);
+		Item b = new Item(3);
+		Item c = new Item(7);
+		queue.insert(a);
+		queue.insert(b);
+		queue.insert(c);
+		Assert.assertSame(b, queue.peek());
+
+		c.priority = 1;
+		Assert.assertTrue(queue.update(c));
+		Assert.assertSame(c, queue.peek());
+
+		Item d = new Item(0);
+		Assert.assertTrue(queue.replace(a, d));
+		Assert.assertFalse(queue.contains(a));
+		Assert.assertEquals(3, queue.size());
+		Assert.assertSame(d, queue.pop());
+		Assert.assertSame(c, queue.pop());
+		Assert.assertSame(b, queue.pop());
+		Assert.assertNull(queue.pop());
+	}
+
+	private static class Item {
+		int priority;
+
+		Item(int priority) {
+			this.priority = priority;
+		}
+	}
+
+	private static class ItemComparator implements Comparator<Item> {
+		public int compare(Item i1, Item i2) {
+			return i1.priority < i2.priority ? -1
+					: (i1.priority > i2.priority ? 1 : 0);
+		}
+	}
+}
@@ -0,0 +1,141 @@
+package aima.test.core.unit.util.math;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import aima.core.util.math.Matrix;
+import aima.core.util.math.MatrixKernels;
+
+/**
+ * @author agent
+ *
+ */
+public class MatrixTest {
+
+	@Test
+	public void testTimesEqualsTripleLoop() {
+		Random r = new Random(1);
+		// small, irregular and large enough to be split across threads
+		int[][] dimensions = { { 1, 1, 1 }, { 3, 5, 2 }, { 70, 130, 65 },
+				{ 160, 140, 150 } };
+		for (int[] d : dimensions) {
+			Matrix A = random(r, d[0], d[1]);
+			Matrix B = random(r, d[1], d[2]);
+			Matrix C = A.times(B);
+			for (int i = 0; i < d[0]; i++) {
+				for (int j = 0; j < d[2]; j++) {
+					double s = 0;
+					for (int k = 0; k < d[1]; k++) {
+						s += A.get(i, k) * B.get(k, j);
+					}
+					// the products are summed in the same order
+					Assert.assertEquals(s, C.get(i, j), 0.0);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testTimesIntoAndPlusInto() {
+		Random r = new Random(2);
+		Matrix A = random(r, 4, 3);
+		Matrix B = random(r, 3, 2);
+		Matrix C = new Matrix(4, 2, 7.0);
+		Assert.assertSame(C, A.timesInto(B, C));
+		assertEquals(A.times(B), C);
+
+		Matrix D = random(r, 4, 2);
+		Matrix sum = C.plus(D);
+		Assert.assertSame(C, C.plusInto(D, C));
+		assertEquals(sum, C);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testTimesIntoOperand() {
+		Matrix A = Matrix.identity(3, 3);
+		A.timesInto(A, A);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testTimesIntoWrongDimensions() {
+		Matrix.identity(3, 2).timesInto(Matrix.identity(2, 4),
+				new Matrix(3, 3));
+	}
+
+	@Test
+	public void testPackedKernels() {
+		Random r = new Random(3);
+		int m = 70, k = 90, n = 80;
+		Matrix A = random(r, m, k);
+		Matrix B = random(r, k, n);
+		Matrix Bt = B.transpose();
+		Matrix expected = A.times(B);
+
+		double[] C = new double[m * n];
+		MatrixKernels.multiply(A.copyRowPackedInto(new double[m * k]), m, k,
+				B.getRowPackedCopy(), n, C);
+		assertEquals(expected, Matrix.constructFromRowPacked(C, m, n));
+
+		MatrixKernels.multiplyTransposedB(A.getRowPackedCopy(), m, k, Bt
+				.getRowPackedCopy(), n, C);
+		assertEquals(expected, Matrix.constructFromRowPacked(C, m, n));
+
+		// A^T B, added to 1
+		Matrix At = A.transpose();
+		Arrays.fill(C, 1.0);
+		MatrixKernels.multiplyTransposedAAdd(At.getRowPackedCopy(), k, m, B
+				.getRowPackedCopy(), n, C);
+		assertEquals(expected.plus(new Matrix(m, n, 1.0)), Matrix
+				.constructFromRowPacked(C, m, n));
+	}
+
+	@Test
+	public void testLargeSolveAndInverse() {
+		Random r = new Random(4);
+		int n = 600;
+		Matrix A = random(r, n, n);
+		for (int i = 0; i < n; i++) {
+			// diagonally dominant, hence well conditioned
+			A.set(i, i, A.get(i, i) + n);
+		}
+		Matrix x = random(r, n, 3);
+		Matrix b = A.times(x);
+		assertEquals(x, A.solve(b), 0.000000001);
+		assertEquals(Matrix.identity(n, n), A.times(A.inverse()),
+				0.000000001);
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private static Matrix random(Random r, int m, int n) {
+		Matrix M = new Matrix(m, n);
+		for (int i = 0; i < m; i++) {
+			for (int j = 0; j < n; j++) {
+				M.set(i, j, r.nextDouble() - 0.5);
+			}
+		}
+		return M;
+	}
+
+	private static void assertEquals(Matrix expected, Matrix actual) {
+		assertEquals(expected, actual, 0.000000000001);
+	}
+
+	private static void assertEquals(Matrix expected, Matrix actual,
+			double delta) {
+		Assert.assertEquals(expected.getRowDimension(), actual
+				.getRowDimension());
+		Assert.assertEquals(expected.getColumnDimension(), actual
+				.getColumnDimension());
+		for (int i = 0; i < expected.getRowDimension(); i++) {
+			for (int j = 0; j < expected.getColumnDimension(); j++) {
+				Assert.assertEquals(expected.get(i, j), actual.get(i, j),
+						delta);
+			}
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package aima.gui.demo.learning;
+
+import aima.core.learning.framework.DataSetFactory;
+import aima.core.learning.neural.BackPropLearning;
+import aima.core.learning.neural.FeedForwardNeuralNetwork;
+import aima.core.learning.neural.IrisDataSetNumerizer;
+import aima.core.learning.neural.IrisNNDataSet;
+import aima.core.learning.neural.MiniBatchBackPropLearning;
+import aima.core.learning.neural.NNConfig;
+import aima.core.learning.neural.NNDataSet;
+
+/**
+ * Compares the run times of training a feed-forward network on the Iris data
+ * set one example at a time with {@link BackPropLearning} against mini-batch
+ * training with {@link MiniBatchBackPropLearning}, single and multi-threaded,
+ * and reports the accuracy reached by each.
+ *
+ * @author agent
+ *
+ */
+public class NeuralNetworkTrainingBenchmark {
+	public static final int EPOCHS = 200;
+	public static final int HIDDEN_NEURONS = 64;
+	public static final int BATCH_SIZE = 32;
+
+	public static void main(String[] args) throws Exception {
+		NNDataSet innds = new IrisNNDataSet();
+		innds.createExamplesFromDataSet(DataSetFactory.getIrisDataSet(),
+				new IrisDataSetNumerizer());
+		int threads = Runtime.getRuntime().availableProcessors();
+
+		System.out.println("BENCHMARK: Iris, " + HIDDEN_NEURONS
+				+ " hidden neurons x " + EPOCHS + " epochs");
+		System.out.println("=========================================");
+		// Warm up
+		trainPerExample(innds, EPOCHS / 10);
+		trainMiniBatch(innds, EPOCHS / 10, 1);
+		trainMiniBatch(innds, EPOCHS / 10, threads);
+
+		long start = System.currentTimeMillis();
+		int[] result = trainPerExample(innds, EPOCHS);
+		report("BackPropLearning (per example)        ", start, result);
+		start = System.currentTimeMillis();
+		result = trainMiniBatch(innds, EPOCHS, 1);
+		report("MiniBatchBackPropLearning (1 thread)  ", start, result);
+		start = System.currentTimeMillis();
+		result = trainMiniBatch(innds, EPOCHS, threads);
+		report("MiniBatchBackPropLearning (" + threads + " threads)", start,
+				result);
+		System.out.println("=========================================");
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private static int[] trainPerExample(NNDataSet innds, int epochs) {
+		FeedForwardNeuralNetwork ffnn = createNetwork();
+		ffnn.setTrainingScheme(new BackPropLearning(0.1, 0.9));
+		ffnn.trainOn(innds, epochs);
+		return ffnn.testOnDataSet(innds);
+	}
+
+	private static int[] trainMiniBatch(NNDataSet innds, int epochs,
+			int threads) {
+		MiniBatchBackPropLearning trainer = new MiniBatchBackPropLearning(
+				createNetwork(), 0.1, 0.9, BATCH_SIZE, threads);
+		try {
+			trainer.trainOn(innds, epochs);
+			return trainer.testOnDataSet(innds);
+		} finally {
+			trainer.shutdown();
+		}
+	}
+
+	private static FeedForwardNeuralNetwork createNetwork() {
+		NNConfig config = new NNConfig();
+		config.setConfig(FeedForwardNeuralNetwork.NUMBER_OF_INPUTS, 4);
+		config.setConfig(FeedForwardNeuralNetwork.NUMBER_OF_OUTPUTS, 3);
+		config.setConfig(FeedForwardNeuralNetwork.NUMBER_OF_HIDDEN_NEURONS,
+				HIDDEN_NEURONS);
+		config.setConfig(FeedForwardNeuralNetwork.LOWER_LIMIT_WEIGHTS, -0.5);
+		config.setConfig(FeedForwardNeuralNetwork.UPPER_LIMIT_WEIGHTS, 0.5);
+		return new FeedForwardNeuralNetwork(config);
+	}
+
+	private static void report(String label, long start, int[] result) {
+		System.out.println(label + " = "
+				+ (System.currentTimeMillis() - start) + "ms, " + result[0]
+				+ " of " + (result[0] + result[1]) + " correct");
+	}
+}
@@ -0,0 +1,142 @@
+package aima.gui.demo.logic;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+import aima.core.logic.fol.StandardizeApartIndexicalFactory;
+import aima.core.logic.fol.inference.FOLOTTERLikeTheoremProver;
+import aima.core.logic.fol.inference.InferenceResult;
+import aima.core.logic.fol.kb.FOLKnowledgeBase;
+import aima.core.logic.fol.kb.FOLKnowledgeBaseFactory;
+
+/**
+ * Runs the OTTER like theorem prover on the knowledge bases and queries of the
+ * common FOL inference procedure tests, and reports the number of clauses
+ * generated per second on each, along with the peak heap used while answering
+ * the query (above what was in use before it was asked).
+ *
+ * @author agent
+ *
+ */
+public class OTTERBenchmark {
+	public static final long MAX_QUERY_TIME = 2 * 1000;
+	public static final int RUNS = 5;
+
+	public static void main(String[] args) {
+		System.out.println("BENCHMARK: OTTER, best of " + RUNS + " runs");
+		System.out.println("=========================================");
+		for (int run = 0; run < 2; run++) {
+			// First run is a warm up
+			boolean report = run > 0;
+			benchmark("Kings: Evil(John)", 0, "Evil(John)", false, report);
+			benchmark("Kings: King(x)", 0, "King(x)", false, report);
+			benchmark("Weapons: Criminal(x)", 1, "Criminal(x)", false, report);
+			benchmark("Ring of Thieves: Skis(x)", 2, "Skis(x)", false, report);
+			benchmark("Loves Animal: Kills(Curiosity, Tuna)", 3,
+					"Kills(Curiosity, Tuna)", false, report);
+			benchmark("Loves Animal: NOT(Kills(Jack, Tuna))", 3,
+					"NOT(Kills(Jack, Tuna))", false, report);
+			benchmark("ABC Equality Axioms: A = C", 4, "A = C", false, report);
+			benchmark("ABC Equality: A = C", 5, "A = C", true, report);
+			benchmark("ABCD Equality Axioms: P(D)", 6, "P(D)", false, report);
+			benchmark("ABCD Equality: F(F(A)) = A", 7, "F(F(A)) = A", true,
+					report);
+			benchmark("ABCD Equality: P(F(F(A)))", 7, "P(F(F(A)))", true,
+					report);
+		}
+		System.out.println("=========================================");
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private static void benchmark(String name, int kb, String query,
+			boolean useParamodulation, boolean report) {
+		long bestTime = Long.MAX_VALUE;
+		long generated = 0L;
+		long bestHeap = Long.MAX_VALUE;
+		InferenceResult result = null;
+		for (int i = 0; i < RUNS; i++) {
+			StandardizeApartIndexicalFactory.flush();
+			FOLOTTERLikeTheoremProver otter = new FOLOTTERLikeTheoremProver(
+					MAX_QUERY_TIME, useParamodulation);
+			FOLKnowledgeBase fkb = createKnowledgeBase(kb, otter);
+			System.gc();
+			long heap = resetPeakHeapUsed();
+			long start = System.nanoTime();
+			result = fkb.ask(query);
+			long time = System.nanoTime() - start;
+			heap = getPeakHeapUsed() - heap;
+			if (heap < bestHeap) {
+				bestHeap = heap;
+			}
+			if (time < bestTime) {
+				bestTime = time;
+				generated = otter.getNumberOfClausesGenerated(result);
+			}
+		}
+		if (report) {
+			double seconds = bestTime / 1e9;
+			System.out.println(name + ": proofs=" + result.getProofs().size()
+					+ (result.isUnknownDueToTimeout()
+							|| result.isPartialResultDueToTimeout() ? " (timed out)"
+							: "") + ", clauses generated=" + generated
+					+ ", time=" + (bestTime / 1000000) + "ms, clauses/sec="
+					+ (long) (generated / seconds) + ", peak heap="
+					+ (bestHeap / 1024) + "KB");
+		}
+	}
+
+	// Resets the peak usage of the heap memory pools and returns the heap
+	// currently used.
+	private static long resetPeakHeapUsed() {
+		long used = 0L;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+				pool.resetPeakUsage();
+				used += pool.getUsage().getUsed();
+			}
+		}
+		return used;
+	}
+
+	private static long getPeakHeapUsed() {
+		long used = 0L;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+				used += pool.getPeakUsage().getUsed();
+			}
+		}
+		return used;
+	}
+
+	private static FOLKnowledgeBase createKnowledgeBase(int kb,
+			FOLOTTERLikeTheoremProver otter) {
+		switch (kb) {
+		case 0:
+			return FOLKnowledgeBaseFactory.createKingsKnowledgeBase(otter);
+		case 1:
+			return FOLKnowledgeBaseFactory.createWeaponsKnowledgeBase(otter);
+		case 2:
+			return FOLKnowledgeBaseFactory
+					.createRingOfThievesKnowledgeBase(otter);
+		case 3:
+			return FOLKnowledgeBaseFactory
+					.createLovesAnimalKnowledgeBase(otter);
+		case 4:
+			return FOLKnowledgeBaseFactory.createABCEqualityKnowledgeBase(
+					otter, true);
+		case 5:
+			return FOLKnowledgeBaseFactory.createABCEqualityKnowledgeBase(
+					otter, false);
+		case 6:
+			return FOLKnowledgeBaseFactory
+					.createABCDEqualityAndSubstitutionKnowledgeBase(otter, true);
+		default:
+			return FOLKnowledgeBaseFactory
+					.createABCDEqualityAndSubstitutionKnowledgeBase(otter,
+							false);
+		}
+	}
+}
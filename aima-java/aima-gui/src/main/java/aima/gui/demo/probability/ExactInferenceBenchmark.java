@@ -0,0 +1,110 @@
+package aima.gui.demo.probability;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import aima.core.probability.RandomVariable;
+import aima.core.probability.bayes.BayesInference;
+import aima.core.probability.bayes.BayesianNetwork;
+import aima.core.probability.bayes.exact.EliminationAsk;
+import aima.core.probability.bayes.exact.GreedyEliminationHeuristic;
+import aima.core.probability.bayes.exact.JunctionTreeAsk;
+import aima.core.probability.domain.FiniteDomain;
+import aima.core.probability.example.BayesNetExampleFactory;
+import aima.core.probability.proposition.AssignmentProposition;
+
+/**
+ * Compares the run times of the exact inference algorithms for the workload
+ * the junction tree is designed for: the posterior distributions of all
+ * unobserved variables of a network for a number of evidence sets (each
+ * variable observed with its first value, alone and together with the
+ * previous one).
+ *
+ * @author agent
+ *
+ */
+public class ExactInferenceBenchmark {
+	public static final int ROUNDS = 2000;
+
+	public static void main(String[] args) {
+		System.out.println("BENCHMARK: Exact Inference, all posteriors x "
+				+ ROUNDS);
+		System.out.println("=========================================");
+		benchmark("Toothache/Cavity/Catch", BayesNetExampleFactory
+				.constructToothacheCavityCatchNetwork());
+		benchmark("Toothache/Cavity/Catch/Weather", BayesNetExampleFactory
+				.constructToothacheCavityCatchWeatherNetwork());
+		benchmark("Meningitis/StiffNeck", BayesNetExampleFactory
+				.constructMeningitisStiffNeckNetwork());
+		benchmark("Burglary/Alarm", BayesNetExampleFactory
+				.constructBurglaryAlarmNetwork());
+		benchmark("Cloudy/Sprinkler/Rain/WetGrass", BayesNetExampleFactory
+				.constructCloudySprinklerRainWetGrassNetwork());
+		benchmark("2 Fair Dice", BayesNetExampleFactory
+				.construct2FairDiceNetwor());
+		System.out.println("=========================================");
+	}
+
+	public static void benchmark(String name, BayesianNetwork bn) {
+		System.out.println(name + ":");
+		List<AssignmentProposition[]> evidence = createEvidence(bn);
+		run("  EliminationAsk           ", new EliminationAsk(), bn, evidence);
+		run("  EliminationAsk (min-fill)", new EliminationAsk(
+				GreedyEliminationHeuristic.MIN_FILL), bn, evidence);
+		run("  JunctionTreeAsk          ", new JunctionTreeAsk(), bn,
+				evidence);
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+	private static void run(String label, BayesInference inference,
+			BayesianNetwork bn, List<AssignmentProposition[]> evidence) {
+		// Warm up
+		askAll(inference, bn, evidence, ROUNDS / 10);
+		long start = System.currentTimeMillis();
+		askAll(inference, bn, evidence, ROUNDS);
+		System.out.println(label + " = "
+				+ (System.currentTimeMillis() - start) + "ms");
+	}
+
+	private static void askAll(BayesInference inference, BayesianNetwork bn,
+			List<AssignmentProposition[]> evidence, int rounds) {
+		for (int i = 0; i < rounds; i++) {
+			for (AssignmentProposition[] e : evidence) {
+				for (RandomVariable var : bn.getVariablesInTopologicalOrder()) {
+					if (!isObserved(var, e)) {
+						inference.ask(new RandomVariable[] { var }, e, bn);
+					}
+				}
+			}
+		}
+	}
+
+	private static List<AssignmentProposition[]> createEvidence(
+			BayesianNetwork bn) {
+		List<AssignmentProposition[]> result = new ArrayList<AssignmentProposition[]>();
+		result.add(new AssignmentProposition[0]);
+		AssignmentProposition previous = null;
+		for (RandomVariable var : bn.getVariablesInTopologicalOrder()) {
+			AssignmentProposition ap = new AssignmentProposition(var,
+					((FiniteDomain) var.getDomain()).getValueAt(0));
+			result.add(new AssignmentProposition[] { ap });
+			if (null != previous) {
+				result.add(new AssignmentProposition[] { previous, ap });
+			}
+			previous = ap;
+		}
+		return result;
+	}
+
+	private static boolean isObserved(RandomVariable var,
+			AssignmentProposition[] e) {
+		for (AssignmentProposition ap : e) {
+			if (var.equals(ap.getTermVariable())) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
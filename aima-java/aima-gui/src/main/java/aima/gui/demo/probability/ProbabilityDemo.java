@@ -17,6 +17,7 @@ import aima.core.probability.bayes.approx.ParticleFiltering;
 import aima.core.probability.bayes.approx.RejectionSampling;
 import aima.core.probability.bayes.exact.EliminationAsk;
 import aima.core.probability.bayes.exact.EnumerationAsk;
+import aima.core.probability.bayes.exact.JunctionTreeAsk;
 import aima.core.probability.bayes.model.FiniteBayesModel;
 import aima.core.probability.example.BayesNetExampleFactory;
 import aima.core.probability.example.DynamicBayesNetExampleFactory;
@@ -57,6 +58,7 @@ public class ProbabilityDemo {
 		// Chapter 14 - Exact
 		bayesEnumerationAskDemo();
 		bayesEliminationAskDemo();
+		bayesJunctionTreeAskDemo();
 		// Chapter 14 - Approx
 		bayesRejectionSamplingDemo();
 		bayesLikelihoodWeightingDemo();
@@ -104,6 +106,18 @@ public class ProbabilityDemo {
 		System.out.println("===========================");
 	}
 
+	public static void bayesJunctionTreeAskDemo() {
+		System.out.println("DEMO: Bayes Junction Tree Ask");
+		System.out.println("=============================");
+		demoToothacheCavityCatchModel(new FiniteBayesModel(
+				BayesNetExampleFactory.constructToothacheCavityCatchNetwork(),
+				new JunctionTreeAsk()));
+		demoBurglaryAlarmModel(new FiniteBayesModel(
+				BayesNetExampleFactory.constructBurglaryAlarmNetwork(),
+				new JunctionTreeAsk()));
+		System.out.println("=============================");
+	}
+
 	public static void bayesRejectionSamplingDemo() {
 		System.out.println("DEMO: Bayes Rejection Sampling N = " + NUM_SAMPLES);
 		System.out.println("==============================");
@@ -18,11 +18,11 @@ import aima.core.util.CancelableThread;
 import aimax.osm.data.DataResource;
 import aimax.osm.data.EntityClassifier;
 import aimax.osm.data.OsmMap;
+import aimax.osm.data.compact.CompactMap;
 import aimax.osm.data.Position;
 import aimax.osm.data.entities.EntityViewInfo;
 import aimax.osm.data.entities.MapNode;
 import aimax.osm.data.entities.Track;
-import aimax.osm.data.impl.DefaultMap;
 import aimax.osm.gps.GpsFix;
 import aimax.osm.gps.GpsLocator;
 import aimax.osm.gps.GpsPositionListener;
@@ -279,7 +279,7 @@ public class MiniNaviApp implements ActionListener {
 			OsmMap map = (OsmMap) createComponent(MAP_CLASS_PROPERTY,
 					OsmMap.class);
 			if (map == null)
-				map = new DefaultMap();
+				map = new CompactMap();
 			view.setMap(map);
 			viewInfo = (EntityClassifier<EntityViewInfo>) createComponent(
 					CLASSIFIER_CLASS_PROPERTY, EntityClassifier.class);
@@ -11,9 +11,11 @@ import aima.gui.framework.AgentAppFrame;
 import aima.gui.framework.SimpleAgentApp;
 import aimax.osm.data.DataResource;
 import aimax.osm.data.MapBuilder;
-import aimax.osm.data.impl.DefaultMapBuilder;
+import aimax.osm.data.compact.CompactMapBuilder;
+import aimax.osm.reader.BinaryMapReader;
 import aimax.osm.reader.Bz2OsmReader;
 import aimax.osm.reader.MapReader;
+import aimax.osm.reader.MultiFormatMapReader;
 import aimax.osm.routing.agent.OsmAgentController;
 import aimax.osm.routing.agent.OsmAgentFrame;
 import aimax.osm.routing.agent.OsmAgentView;
@@ -39,7 +41,7 @@ public class OsmAgentApp extends SimpleAgentApp {
 	public void readMap(InputStream stream) {
 		if (stream != null) {
 			MapReader mapReader = new Bz2OsmReader();
-			MapBuilder mapBuilder = new DefaultMapBuilder();
+			MapBuilder mapBuilder = new CompactMapBuilder();
 			mapReader.readMap(stream, mapBuilder);
 			map = new MapAdapter(mapBuilder.buildMap());
 		}
@@ -47,10 +49,14 @@ public class OsmAgentApp extends SimpleAgentApp {
 			LOG.warning("Map reading failed because input stream does not exist.");
 	}
 	
-	/** Reads a map from the specified file and stores it in {@link #map}. */
+	/**
+	 * Reads a map from the specified file and stores it in {@link #map}.
+	 * Preprocessed maps are used directly from the memory-mapped file.
+	 */
 	public void readMap(File file) {
-		MapReader mapReader = new Bz2OsmReader();
-		MapBuilder mapBuilder = new DefaultMapBuilder();
+		MapReader mapReader = new MultiFormatMapReader(new Bz2OsmReader(),
+				new BinaryMapReader());
+		MapBuilder mapBuilder = new CompactMapBuilder();
 		mapReader.readMap(file, mapBuilder);
 		map = new MapAdapter(mapBuilder.buildMap());
 	}
@@ -41,6 +41,16 @@ public class RoutePlannerApp implements ActionListener {
 		frame = new MapViewFrame(args);
 		frame.setTitle("OSM Route Planner");
 		routeCalculator = createRouteCalculator();
+		for (String arg : args) {
+			if (arg.startsWith("-landmarks=")) {
+				try {
+					routeCalculator.setLandmarkCount(Integer.parseInt(arg
+							.substring(11)));
+				} catch (NumberFormatException e) {
+					// ignore the argument...
+				}
+			}
+		}
 		JToolBar toolbar = frame.getToolbar();
 		toolbar.addSeparator();
 		waySelection = new JComboBox<String>(
@@ -107,7 +117,9 @@ public class RoutePlannerApp implements ActionListener {
 	/**
 	 * Start application with program arg <code>-screenwidth=xx</code> (with xx
 	 * the width in cm) or <code>-screensize=yy</code> (with yy measured
-	 * diagonally in inch).
+	 * diagonally in inch). Program arg <code>-landmarks=nn</code> enables the
+	 * ALT heuristic with nn landmarks (e.g. 16), which speeds up the route
+	 * calculation after a one-time preprocessing of the map.
 	 */
 	public static void main(String[] args) {
 		// indicates progress when reading large maps (for testing only)
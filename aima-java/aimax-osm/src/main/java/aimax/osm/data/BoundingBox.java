@@ -88,6 +88,26 @@ public class BoundingBox {
 		}
 	}
 
+	/**
+	 * Makes sure, that the given position is within the box and extends the
+	 * bounds if necessary.
+	 */
+	public void adjust(float lat, float lon) {
+		if (Float.isNaN(latMin)) {
+			latMin = latMax = lat;
+			lonMin = lonMax = lon;
+		} else {
+			if (lat < latMin)
+				latMin = lat;
+			else if (lat > latMax)
+				latMax = lat;
+			if (lon < lonMin)
+				lonMin = lon;
+			else if (lon > lonMax)
+				lonMax = lon;
+		}
+	}
+
 	/** Returns the distance between <code>latMax</code> and <code>latMin</code> in Kilometers. */
 	public float getNorthSouthDistKM() {
 		return (float) Position.getDistKM(latMax, lonMin, latMin, lonMin);
@@ -0,0 +1,382 @@
+package aimax.osm.data.compact;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import aimax.osm.data.BoundingBox;
+import aimax.osm.data.MapBuilder;
+import aimax.osm.data.entities.EntityAttribute;
+import aimax.osm.data.entities.MapEntity;
+import aimax.osm.reader.OsmRuntimeException;
+
+/**
+ * Versioned binary file format for preprocessed maps. The file contains the
+ * primitive buffers of a {@link CompactMap} in exactly the layout which is
+ * used at runtime. When read into a {@link CompactMapBuilder}, the buffers are
+ * used as views on the (typically memory-mapped) file content without
+ * deserialization. Only names and attributes of ways and points of interest
+ * are decoded, and the way node index is restored from its stored layout.
+ *
+ * <p>
+ * Layout (big-endian, all sections 8-byte aligned):
+ * </p>
+ * <ol>
+ * <li>Header (64 bytes): magic number, version, node count, way count, way
+ * reference count, way node count, POI count, string count, map bounding box
+ * and bounding box of all nodes (4 floats each, NaN if undefined).</li>
+ * <li>Node IDs and way IDs (long), node latitudes and longitudes (int, fixed
+ * point), way reference starts, way reference ways, way node starts, way
+ * nodes (int), way reference node indices (short).</li>
+ * <li>Way node index layout and POI indices (int).</li>
+ * <li>String table: length in bytes and UTF-8 encoded characters for each
+ * distinct name, attribute key, and attribute value.</li>
+ * <li>Entities: name (-1 for null) and attributes of each way and each POI as
+ * indices into the string table.</li>
+ * </ol>
+ *
+ * @author agent
+ *
+ */
+public final class BinaryMapFormat {
+	/** "AIMX" in ASCII. */
+	public static final int MAGIC = 0x41494D58;
+	/** Incremented with each incompatible change of the layout. */
+	public static final int VERSION = 1;
+
+	private static final int HEADER_SIZE = 64;
+
+	private BinaryMapFormat() {
+	}
+
+	/**
+	 * Writes the data of a compact map to an output stream. The stream is not
+	 * closed.
+	 */
+	public static void write(CompactMap map, OutputStream os)
+			throws IOException {
+		DataOutputStream out = new DataOutputStream(os);
+		int nodeCount = map.getNodeCount();
+		int wayCount = map.getWayCount();
+		int refCount = map.getNodeRefWays().limit();
+		int wayNodeCount = map.getWayNodes().limit();
+		CompactMapWay[] ways = map.getWayArray();
+		CompactMapNode[] pois = map.getPoiArray();
+		int[] wayNodeLayout = map.getWayNodeLayout();
+
+		// collect strings
+		List<String> strings = new ArrayList<String>();
+		HashMap<String, Integer> stringIndices = new HashMap<String, Integer>();
+		for (MapEntity entity : ways)
+			addStrings(entity, strings, stringIndices);
+		for (MapEntity entity : pois)
+			addStrings(entity, strings, stringIndices);
+
+		// header
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(nodeCount);
+		out.writeInt(wayCount);
+		out.writeInt(refCount);
+		out.writeInt(wayNodeCount);
+		out.writeInt(pois.length);
+		out.writeInt(strings.size());
+		writeBoundingBox(out, map.getBoundingBox());
+		BoundingBox nodeBB = new BoundingBox();
+		for (int i = 0; i < nodeCount; i++)
+			nodeBB.adjust(map.getNodeLat(i), map.getNodeLon(i));
+		writeBoundingBox(out, nodeBB);
+
+		// primitive buffers
+		writeLongs(out, map.getNodeIds());
+		writeLongs(out, map.getWayIds());
+		writeInts(out, map.getNodeLats());
+		writeInts(out, map.getNodeLons());
+		writeInts(out, map.getNodeRefStart());
+		writeInts(out, map.getNodeRefWays());
+		writeInts(out, map.getWayNodeStarts());
+		writeInts(out, map.getWayNodes());
+		ShortBuffer refIdx = map.getNodeRefIdx();
+		for (int i = 0; i < refIdx.limit(); i++)
+			out.writeShort(refIdx.get(i));
+		pad(out);
+		writeInts(out, IntBuffer.wrap(wayNodeLayout));
+		writeInts(out, IntBuffer.wrap(map.getPoiIndices()));
+		pad(out);
+
+		// strings and entities
+		for (String s : strings) {
+			byte[] bytes = s.getBytes("UTF-8");
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+		for (MapEntity entity : ways)
+			writeEntity(out, entity, stringIndices);
+		for (MapEntity entity : pois)
+			writeEntity(out, entity, stringIndices);
+		out.flush();
+	}
+
+	/**
+	 * Reads preprocessed map data from a buffer and passes it to the builder.
+	 * If the builder is a {@link CompactMapBuilder}, the map will use views on
+	 * the buffer, so a memory-mapped buffer must remain valid as long as the
+	 * map is in use. Otherwise, all entities are added to the builder one by
+	 * one.
+	 *
+	 * @throws OsmRuntimeException
+	 *             if the buffer does not contain data in this format.
+	 */
+	public static void read(ByteBuffer buffer, MapBuilder builder) {
+		if (builder instanceof CompactMapBuilder)
+			((CompactMapBuilder) builder).setPreprocessedData(buffer);
+		else
+			replay(buffer, builder);
+	}
+
+	/**
+	 * Compiles the map from preprocessed data. Called by the builder after the
+	 * entity classifier and the bounding box have been set.
+	 */
+	static void compile(ByteBuffer buffer, CompactMap map) {
+		Content c = new Content(buffer);
+		CompactMapWay[] ways = new CompactMapWay[c.wayCount];
+		for (int i = 0; i < ways.length; i++) {
+			ways[i] = new CompactMapWay(c.wayIds.get(i));
+			c.readEntity(ways[i]);
+		}
+		CompactMapNode[] pois = new CompactMapNode[c.poiCount];
+		for (int i = 0; i < pois.length; i++) {
+			int idx = c.poiIndices[i];
+			pois[i] = new CompactMapNode(map, idx, c.nodeIds.get(idx));
+			c.readEntity(pois[i]);
+		}
+		if (map.getBoundingBox() == null && c.mapBB != null)
+			map.setBoundingBox(c.mapBB);
+		map.compile(c.nodeIds, c.nodeLats, c.nodeLons, c.nodeRefStart,
+				c.nodeRefWays, c.nodeRefIdx, c.wayIds, c.wayNodeStart,
+				c.wayNodes, ways, c.poiIndices, pois, c.nodeBB,
+				c.wayNodeLayout);
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	/** Adds all entities to a builder which is not a compact map builder. */
+	private static void replay(ByteBuffer buffer, MapBuilder builder) {
+		Content c = new Content(buffer);
+		if (c.mapBB != null)
+			builder.setBoundingBox(c.mapBB);
+		List<String> wayNames = new ArrayList<String>(c.wayCount);
+		List<List<EntityAttribute>> wayAtts = new ArrayList<List<EntityAttribute>>(
+				c.wayCount);
+		// holds name and attributes while reading
+		CompactMapWay tmp = new CompactMapWay(0);
+		for (int i = 0; i < c.wayCount; i++) {
+			c.readEntity(tmp);
+			wayNames.add(tmp.getName());
+			wayAtts.add(Arrays.asList(tmp.getAttributes()));
+		}
+		int poi = 0;
+		List<EntityAttribute> noAtts = new ArrayList<EntityAttribute>(0);
+		for (int i = 0; i < c.nodeCount; i++) {
+			float lat = (float) (c.nodeLats.get(i) / CompactMap.COORD_SCALE);
+			float lon = (float) (c.nodeLons.get(i) / CompactMap.COORD_SCALE);
+			if (poi < c.poiCount && c.poiIndices[poi] == i) {
+				c.readEntity(tmp);
+				builder.addNode(c.nodeIds.get(i), tmp.getName(), Arrays
+						.asList(tmp.getAttributes()), lat, lon);
+				poi++;
+			} else {
+				builder.addNode(c.nodeIds.get(i), null, noAtts, lat, lon);
+			}
+		}
+		for (int w = 0; w < c.wayCount; w++) {
+			int from = c.wayNodeStart.get(w);
+			int to = c.wayNodeStart.get(w + 1);
+			List<Long> wayNodeIds = new ArrayList<Long>(to - from);
+			for (int i = from; i < to; i++)
+				wayNodeIds.add(c.nodeIds.get(c.wayNodes.get(i)));
+			builder.addWay(c.wayIds.get(w), wayNames.get(w), wayAtts.get(w),
+					wayNodeIds);
+		}
+	}
+
+	private static void addStrings(MapEntity entity, List<String> strings,
+			HashMap<String, Integer> stringIndices) {
+		addString(entity.getName(), strings, stringIndices);
+		for (EntityAttribute att : entity.getAttributes()) {
+			addString(att.getKey(), strings, stringIndices);
+			addString(att.getValue(), strings, stringIndices);
+		}
+	}
+
+	private static void addString(String s, List<String> strings,
+			HashMap<String, Integer> stringIndices) {
+		if (s != null && !stringIndices.containsKey(s)) {
+			stringIndices.put(s, strings.size());
+			strings.add(s);
+		}
+	}
+
+	private static void writeEntity(DataOutputStream out, MapEntity entity,
+			HashMap<String, Integer> stringIndices) throws IOException {
+		String name = entity.getName();
+		out.writeInt(name != null ? stringIndices.get(name) : -1);
+		EntityAttribute[] atts = entity.getAttributes();
+		out.writeInt(atts.length);
+		for (EntityAttribute att : atts) {
+			out.writeInt(stringIndices.get(att.getKey()));
+			out.writeInt(stringIndices.get(att.getValue()));
+		}
+	}
+
+	private static void writeBoundingBox(DataOutputStream out, BoundingBox bb)
+			throws IOException {
+		out.writeFloat(bb != null ? bb.getLatMin() : Float.NaN);
+		out.writeFloat(bb != null ? bb.getLonMin() : Float.NaN);
+		out.writeFloat(bb != null ? bb.getLatMax() : Float.NaN);
+		out.writeFloat(bb != null ? bb.getLonMax() : Float.NaN);
+	}
+
+	private static void writeLongs(DataOutputStream out, LongBuffer data)
+			throws IOException {
+		for (int i = 0; i < data.limit(); i++)
+			out.writeLong(data.get(i));
+	}
+
+	private static void writeInts(DataOutputStream out, IntBuffer data)
+			throws IOException {
+		for (int i = 0; i < data.limit(); i++)
+			out.writeInt(data.get(i));
+	}
+
+	/** Aligns the next section to 8 bytes. */
+	private static void pad(DataOutputStream out) throws IOException {
+		while (out.size() % 8 != 0)
+			out.writeByte(0);
+	}
+
+	/** Provides access to the sections of a buffer with preprocessed data. */
+	private static class Content {
+		final ByteBuffer buffer;
+		final int nodeCount;
+		final int wayCount;
+		final int poiCount;
+		final BoundingBox mapBB;
+		final BoundingBox nodeBB;
+		final LongBuffer nodeIds;
+		final LongBuffer wayIds;
+		final IntBuffer nodeLats;
+		final IntBuffer nodeLons;
+		final IntBuffer nodeRefStart;
+		final IntBuffer nodeRefWays;
+		final IntBuffer wayNodeStart;
+		final IntBuffer wayNodes;
+		final ShortBuffer nodeRefIdx;
+		final int[] wayNodeLayout;
+		final int[] poiIndices;
+		final String[] strings;
+
+		Content(ByteBuffer data) {
+			buffer = data.duplicate();
+			buffer.position(0);
+			if (buffer.limit() < HEADER_SIZE || buffer.getInt() != MAGIC)
+				throw new OsmRuntimeException(
+						"No preprocessed map data found.");
+			int version = buffer.getInt();
+			if (version != VERSION)
+				throw new OsmRuntimeException("Unsupported map format version "
+						+ version + " (expected " + VERSION + ").");
+			nodeCount = buffer.getInt();
+			wayCount = buffer.getInt();
+			int refCount = buffer.getInt();
+			int wayNodeCount = buffer.getInt();
+			poiCount = buffer.getInt();
+			int stringCount = buffer.getInt();
+			mapBB = readBoundingBox();
+			nodeBB = readBoundingBox();
+			buffer.position(HEADER_SIZE);
+
+			nodeIds = nextSlice(8 * nodeCount).asLongBuffer();
+			wayIds = nextSlice(8 * wayCount).asLongBuffer();
+			nodeLats = nextSlice(4 * nodeCount).asIntBuffer();
+			nodeLons = nextSlice(4 * nodeCount).asIntBuffer();
+			nodeRefStart = nextSlice(4 * (nodeCount + 1)).asIntBuffer();
+			nodeRefWays = nextSlice(4 * refCount).asIntBuffer();
+			wayNodeStart = nextSlice(4 * (wayCount + 1)).asIntBuffer();
+			wayNodes = nextSlice(4 * wayNodeCount).asIntBuffer();
+			nodeRefIdx = nextSlice(2 * refCount).asShortBuffer();
+			align();
+			int layoutSize = 0;
+			for (int i = 0; i < nodeCount; i++)
+				if (nodeRefStart.get(i) < nodeRefStart.get(i + 1))
+					layoutSize++;
+			wayNodeLayout = new int[layoutSize];
+			buffer.asIntBuffer().get(wayNodeLayout);
+			buffer.position(buffer.position() + 4 * layoutSize);
+			poiIndices = new int[poiCount];
+			buffer.asIntBuffer().get(poiIndices);
+			buffer.position(buffer.position() + 4 * poiCount);
+			align();
+
+			strings = new String[stringCount];
+			try {
+				for (int i = 0; i < stringCount; i++) {
+					byte[] bytes = new byte[buffer.getInt()];
+					buffer.get(bytes);
+					strings[i] = new String(bytes, "UTF-8");
+				}
+			} catch (UnsupportedEncodingException e) {
+				throw new OsmRuntimeException(e);
+			}
+		}
+
+		/** Reads name and attributes of the next entity. */
+		void readEntity(MapEntity entity) {
+			int nameIdx = buffer.getInt();
+			entity.setName(nameIdx != -1 ? strings[nameIdx] : null);
+			int attCount = buffer.getInt();
+			List<EntityAttribute> atts = new ArrayList<EntityAttribute>(
+					attCount);
+			for (int i = 0; i < attCount; i++) {
+				String key = strings[buffer.getInt()];
+				String value = strings[buffer.getInt()];
+				atts.add(new EntityAttribute(key, value));
+			}
+			entity.setAttributes(atts);
+		}
+
+		private BoundingBox readBoundingBox() {
+			float latMin = buffer.getFloat();
+			float lonMin = buffer.getFloat();
+			float latMax = buffer.getFloat();
+			float lonMax = buffer.getFloat();
+			if (Float.isNaN(latMin))
+				return null;
+			return new BoundingBox(latMin, lonMin, latMax, lonMax);
+		}
+
+		private ByteBuffer nextSlice(int bytes) {
+			ByteBuffer result = buffer.slice();
+			result.limit(bytes);
+			buffer.position(buffer.position() + bytes);
+			return result;
+		}
+
+		private void align() {
+			while (buffer.position() % 8 != 0)
+				buffer.get();
+		}
+	}
+}
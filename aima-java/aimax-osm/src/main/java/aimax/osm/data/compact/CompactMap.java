@@ -0,0 +1,586 @@
+package aimax.osm.data.compact;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import aimax.osm.data.BoundingBox;
+import aimax.osm.data.EntityAttributeManager;
+import aimax.osm.data.MapBuilder;
+import aimax.osm.data.MapEvent;
+import aimax.osm.data.MapWayFilter;
+import aimax.osm.data.Position;
+import aimax.osm.data.entities.MapNode;
+import aimax.osm.data.entities.MapWay;
+import aimax.osm.data.entities.WayRef;
+import aimax.osm.data.impl.AbstractOsmMap;
+import aimax.osm.data.impl.DefaultWayRef;
+import aimax.osm.data.impl.WayNodeIndex;
+import aimax.osm.reader.OsmRuntimeException;
+
+/**
+ * Memory efficient map implementation. Node IDs, coordinates, and the
+ * adjacency between nodes and ways are stored in primitive buffers, sorted by
+ * ID. Coordinates are represented as fixed-point integers with a resolution of
+ * 1e-7 degree, which is the precision of OSM. Way nodes are only represented
+ * by objects on demand (see {@link CompactMapNode}), so a node costs less than
+ * 40 bytes instead of more than 100 bytes in the {@link
+ * aimax.osm.data.impl.DefaultMap}. Ways and points of interest are still
+ * objects because they carry names, attributes, and view information and are
+ * maintained by the entity tree.
+ *
+ * <p>
+ * If a backing file is specified, the buffers are stored in a memory-mapped
+ * file instead of the Java heap. The operating system then decides which
+ * parts of the map data are kept in RAM. Note that one mapping cannot exceed
+ * 2 GB.
+ * </p>
+ *
+ * <p>
+ * Compact maps are read-only. Use {@link #getBuilder()} to fill the map.
+ * </p>
+ *
+ * @author agent
+ *
+ */
+public class CompactMap extends AbstractOsmMap {
+	/** Scale factor for fixed-point coordinates. */
+	static final double COORD_SCALE = 1e7;
+
+	private final File backingFile;
+
+	private int nodeCount;
+	/** Sorted node IDs. */
+	private LongBuffer nodeIds;
+	private IntBuffer nodeLats;
+	private IntBuffer nodeLons;
+	/** Start of the way references of each node (size nodeCount + 1). */
+	private IntBuffer nodeRefStart;
+	/** Way index of each way reference. */
+	private IntBuffer nodeRefWays;
+	/** Node position within the way of each way reference. */
+	private ShortBuffer nodeRefIdx;
+
+	private int wayCount;
+	/** Sorted way IDs. */
+	private LongBuffer wayIds;
+	/** Start of the node list of each way (size wayCount + 1). */
+	private IntBuffer wayNodeStart;
+	/** Node indices of all ways. */
+	private IntBuffer wayNodes;
+	private CompactMapWay[] ways;
+
+	/** Sorted indices of all points of interest. */
+	private int[] poiIndices;
+	private CompactMapNode[] pois;
+
+	/** Way nodes in the order of their occurrence in the node buffers. */
+	private WayNodeList wayNodeList;
+	private WayNodeIndex wayNodeIndex;
+
+	/** Creates a map which stores all data in the Java heap. */
+	public CompactMap() {
+		this(null);
+	}
+
+	/**
+	 * Creates a map which stores node and way data in a memory-mapped file.
+	 * Existing file content is overwritten when the map is built.
+	 *
+	 * @param backingFile
+	 *            possibly null
+	 */
+	public CompactMap(File backingFile) {
+		this.backingFile = backingFile;
+		clearData();
+	}
+
+	/** No data available after this reset. */
+	@Override
+	protected void clear() {
+		EntityAttributeManager.instance().clearHash();
+		clearData();
+		super.clear();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean isEmpty() {
+		return nodeCount == 0 && wayCount == 0 && getMarkers().isEmpty()
+				&& getTracks().isEmpty();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public MapBuilder getBuilder() {
+		return new CompactMapBuilder(this);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getNodeCount() {
+		return nodeCount;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public MapNode getNode(long id) {
+		int idx = binarySearch(nodeIds, nodeCount, id);
+		return idx >= 0 ? getNodeByIndex(idx) : null;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getWayCount() {
+		return wayCount;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public MapWay getWay(long id) {
+		int idx = binarySearch(wayIds, wayCount, id);
+		return idx >= 0 ? ways[idx] : null;
+	}
+
+	/**
+	 * Returns all map ways which intersect the specified bounding box.
+	 */
+	@Override
+	public Collection<MapWay> getWays(BoundingBox bb) {
+		List<MapWay> result = new ArrayList<MapWay>();
+		for (MapWay way : ways)
+			if (way.computeBoundingBox().intersectsWith(bb))
+				result.add(way);
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public MapNode getNearestWayNode(Position pos, MapWayFilter filter) {
+		return wayNodeIndex.getNearestWayNode(pos, filter);
+	}
+
+	/**
+	 * Returns the <code>k</code> nearest way nodes from all ways which are
+	 * accepted by the filter, ordered by ascending distance.
+	 *
+	 * @param pos
+	 *            The reference position.
+	 * @param filter
+	 *            possibly null
+	 */
+	public List<MapNode> getNearestWayNodes(Position pos, int k,
+			MapWayFilter filter) {
+		return wayNodeIndex.getNearestWayNodes(pos, k, filter);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int getPoiCount() {
+		return pois.length;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public List<MapNode> getPois(BoundingBox bb) {
+		List<MapNode> result = new ArrayList<MapNode>();
+		for (MapNode poi : pois)
+			if (bb.isInside(poi.getLat(), poi.getLon()))
+				result.add(poi);
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public List<MapNode> getPlaces(String name) {
+		String pattern = name.toLowerCase();
+		List<MapNode> results = new ArrayList<MapNode>();
+		for (MapNode node : pois) {
+			if (node.getAttributeValue("place") != null
+					&& node.getName() != null
+					&& node.getName().toLowerCase().startsWith(pattern))
+				results.add(node);
+		}
+		return results;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Object[][] getStatistics() {
+		Object[][] result = new Object[4][2];
+		result[0][0] = "Nodes";
+		result[0][1] = nodeCount;
+		result[1][0] = "Ways";
+		result[1][1] = wayCount;
+		result[2][0] = "POIs";
+		result[2][1] = pois.length;
+		result[3][0] = "Memory-Mapped";
+		result[3][1] = backingFile != null;
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	protected Collection<MapWay> getAllWays() {
+		return Collections.<MapWay> unmodifiableList(Arrays.asList(ways));
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	protected Collection<MapNode> getAllPois() {
+		return Collections.<MapNode> unmodifiableList(Arrays.asList(pois));
+	}
+
+	/** Makes the bounding box accessible for the builder. */
+	@Override
+	protected void setBoundingBox(BoundingBox bb) {
+		super.setBoundingBox(bb);
+	}
+
+	//
+	// PACKAGE METHODS (used by nodes, ways, and the builder)
+	//
+
+	long getNodeId(int nodeIdx) {
+		return nodeIds.get(nodeIdx);
+	}
+
+	float getNodeLat(int nodeIdx) {
+		return (float) (nodeLats.get(nodeIdx) / COORD_SCALE);
+	}
+
+	float getNodeLon(int nodeIdx) {
+		return (float) (nodeLons.get(nodeIdx) / COORD_SCALE);
+	}
+
+	/**
+	 * Returns the node with the given index. Points of interest are returned
+	 * as persistent objects, other nodes are created on demand.
+	 */
+	MapNode getNodeByIndex(int nodeIdx) {
+		int poiIdx = Arrays.binarySearch(poiIndices, nodeIdx);
+		if (poiIdx >= 0)
+			return pois[poiIdx];
+		return new CompactMapNode(this, nodeIdx);
+	}
+
+	List<WayRef> getWayRefs(int nodeIdx) {
+		int from = nodeRefStart.get(nodeIdx);
+		int to = nodeRefStart.get(nodeIdx + 1);
+		if (from == to)
+			return Collections.emptyList();
+		List<WayRef> result = new ArrayList<WayRef>(to - from);
+		for (int i = from; i < to; i++)
+			result.add(new DefaultWayRef(ways[nodeRefWays.get(i)], nodeRefIdx
+					.get(i)));
+		return result;
+	}
+
+	int getWayNodeStart(int wayIdx) {
+		return wayNodeStart.get(wayIdx);
+	}
+
+	int getWayNodeEnd(int wayIdx) {
+		return wayNodeStart.get(wayIdx + 1);
+	}
+
+	int getWayNodeIndex(int i) {
+		return wayNodes.get(i);
+	}
+
+	/**
+	 * Replaces the map data and prepares it for viewing and routing. All
+	 * arrays must be sorted by ID and consistent with each other. Ways and
+	 * points of interest are connected with the map, the entity tree and the
+	 * way node index are created, and listeners are informed.
+	 */
+	void compile(long[] nodeIds, int[] nodeLats, int[] nodeLons,
+			int[] nodeRefStart, int[] nodeRefWays, short[] nodeRefIdx,
+			long[] wayIds, int[] wayNodeStart, int[] wayNodes,
+			CompactMapWay[] ways, int[] poiIndices, CompactMapNode[] pois) {
+		if (backingFile == null) {
+			compile(LongBuffer.wrap(nodeIds), IntBuffer.wrap(nodeLats),
+					IntBuffer.wrap(nodeLons), IntBuffer.wrap(nodeRefStart),
+					IntBuffer.wrap(nodeRefWays), ShortBuffer.wrap(nodeRefIdx),
+					LongBuffer.wrap(wayIds), IntBuffer.wrap(wayNodeStart),
+					IntBuffer.wrap(wayNodes), ways, poiIndices, pois, null, null);
+		} else {
+			long size = 8L * (nodeIds.length + wayIds.length)
+					+ 4L
+					* (nodeLats.length + nodeLons.length + nodeRefStart.length
+							+ nodeRefWays.length + wayNodeStart.length + wayNodes.length)
+					+ 2L * nodeRefIdx.length;
+			ByteBuffer buffer = mapBackingFile(size);
+			// longs first, then ints, then shorts to keep views aligned
+			LongBuffer nodeIdBuf = putLongs(buffer, nodeIds);
+			LongBuffer wayIdBuf = putLongs(buffer, wayIds);
+			IntBuffer nodeLatBuf = putInts(buffer, nodeLats);
+			IntBuffer nodeLonBuf = putInts(buffer, nodeLons);
+			IntBuffer nodeRefStartBuf = putInts(buffer, nodeRefStart);
+			IntBuffer nodeRefWayBuf = putInts(buffer, nodeRefWays);
+			IntBuffer wayNodeStartBuf = putInts(buffer, wayNodeStart);
+			IntBuffer wayNodeBuf = putInts(buffer, wayNodes);
+			ShortBuffer nodeRefIdxBuf = putShorts(buffer, nodeRefIdx);
+			compile(nodeIdBuf, nodeLatBuf, nodeLonBuf, nodeRefStartBuf,
+					nodeRefWayBuf, nodeRefIdxBuf, wayIdBuf, wayNodeStartBuf,
+					wayNodeBuf, ways, poiIndices, pois, null, null);
+		}
+	}
+
+	/**
+	 * Buffer-based variant of the compile method. The buffers are used as
+	 * they are, without copying, so they can be views on a memory-mapped
+	 * file with preprocessed map data. Buffer limits define the sizes.
+	 *
+	 * @param nodeBB
+	 *            bounding box of all nodes, computed if null
+	 * @param wayNodeLayout
+	 *            indices of all way nodes in kd-tree order as provided by
+	 *            {@link #getWayNodeLayout()}, computed if null
+	 */
+	void compile(LongBuffer nodeIds, IntBuffer nodeLats, IntBuffer nodeLons,
+			IntBuffer nodeRefStart, IntBuffer nodeRefWays,
+			ShortBuffer nodeRefIdx, LongBuffer wayIds, IntBuffer wayNodeStart,
+			IntBuffer wayNodes, CompactMapWay[] ways, int[] poiIndices,
+			CompactMapNode[] pois, BoundingBox nodeBB, int[] wayNodeLayout) {
+		nodeCount = nodeIds.limit();
+		wayCount = wayIds.limit();
+		this.nodeIds = nodeIds;
+		this.nodeLats = nodeLats;
+		this.nodeLons = nodeLons;
+		this.nodeRefStart = nodeRefStart;
+		this.nodeRefWays = nodeRefWays;
+		this.nodeRefIdx = nodeRefIdx;
+		this.wayIds = wayIds;
+		this.wayNodeStart = wayNodeStart;
+		this.wayNodes = wayNodes;
+		this.ways = ways;
+		for (int i = 0; i < ways.length; i++)
+			ways[i].init(this, i);
+		this.poiIndices = poiIndices;
+		this.pois = pois;
+
+		BoundingBox bbAllNodes = nodeBB;
+		if (bbAllNodes == null) {
+			bbAllNodes = new BoundingBox();
+			for (int i = 0; i < nodeCount; i++)
+				bbAllNodes.adjust(getNodeLat(i), getNodeLon(i));
+		}
+		if (getBoundingBox() == null)
+			setBoundingBox(bbAllNodes);
+		else
+			getBoundingBox().intersectWith(bbAllNodes);
+		applyClassifierAndUpdateTree(bbAllNodes);
+		if (wayNodeLayout == null) {
+			wayNodeList = new WayNodeList();
+			wayNodeIndex = new WayNodeIndex(wayNodeList);
+		} else {
+			// the list is created in index order, so the layout is trivial
+			int[] identity = new int[wayNodeLayout.length];
+			for (int i = 0; i < identity.length; i++)
+				identity[i] = i;
+			wayNodeList = new WayNodeList(wayNodeLayout);
+			wayNodeIndex = new WayNodeIndex(wayNodeList, identity);
+		}
+		fireMapDataEvent(new MapEvent(this, MapEvent.Type.MAP_NEW));
+	}
+
+	/**
+	 * Returns the indices of all way nodes in the order of the way node index.
+	 * Preprocessed maps store this layout to avoid sorting when loaded.
+	 */
+	int[] getWayNodeLayout() {
+		int[] layout = wayNodeIndex.getLayout();
+		int[] indices = wayNodeList.indices;
+		for (int i = 0; i < layout.length; i++)
+			layout[i] = indices[layout[i]];
+		return layout;
+	}
+
+	LongBuffer getNodeIds() {
+		return nodeIds;
+	}
+
+	IntBuffer getNodeLats() {
+		return nodeLats;
+	}
+
+	IntBuffer getNodeLons() {
+		return nodeLons;
+	}
+
+	IntBuffer getNodeRefStart() {
+		return nodeRefStart;
+	}
+
+	IntBuffer getNodeRefWays() {
+		return nodeRefWays;
+	}
+
+	ShortBuffer getNodeRefIdx() {
+		return nodeRefIdx;
+	}
+
+	LongBuffer getWayIds() {
+		return wayIds;
+	}
+
+	IntBuffer getWayNodeStarts() {
+		return wayNodeStart;
+	}
+
+	IntBuffer getWayNodes() {
+		return wayNodes;
+	}
+
+	CompactMapWay[] getWayArray() {
+		return ways;
+	}
+
+	int[] getPoiIndices() {
+		return poiIndices;
+	}
+
+	CompactMapNode[] getPoiArray() {
+		return pois;
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	private void clearData() {
+		nodeCount = 0;
+		wayCount = 0;
+		nodeIds = LongBuffer.allocate(0);
+		nodeLats = IntBuffer.allocate(0);
+		nodeLons = IntBuffer.allocate(0);
+		nodeRefStart = IntBuffer.wrap(new int[] { 0 });
+		nodeRefWays = IntBuffer.allocate(0);
+		nodeRefIdx = ShortBuffer.allocate(0);
+		wayIds = LongBuffer.allocate(0);
+		wayNodeStart = IntBuffer.wrap(new int[] { 0 });
+		wayNodes = IntBuffer.allocate(0);
+		ways = new CompactMapWay[0];
+		poiIndices = new int[0];
+		pois = new CompactMapNode[0];
+		wayNodeList = new WayNodeList();
+		wayNodeIndex = new WayNodeIndex(wayNodeList);
+	}
+
+	private ByteBuffer mapBackingFile(long size) {
+		if (size > Integer.MAX_VALUE)
+			throw new OsmRuntimeException(
+					"Map data exceeds the maximal size of a mapped file.");
+		RandomAccessFile file = null;
+		try {
+			file = new RandomAccessFile(backingFile, "rw");
+			file.setLength(size);
+			return file.getChannel()
+					.map(FileChannel.MapMode.READ_WRITE, 0, size);
+		} catch (IOException e) {
+			throw new OsmRuntimeException("Unable to map file "
+					+ backingFile + ".", e);
+		} finally {
+			try {
+				if (file != null)
+					file.close(); // the mapping remains valid
+			} catch (IOException e) {
+				// ignore
+			}
+		}
+	}
+
+	private static LongBuffer putLongs(ByteBuffer buffer, long[] data) {
+		ByteBuffer slice = nextSlice(buffer, 8 * data.length);
+		LongBuffer result = slice.asLongBuffer();
+		result.put(data);
+		result.flip();
+		return result;
+	}
+
+	private static IntBuffer putInts(ByteBuffer buffer, int[] data) {
+		ByteBuffer slice = nextSlice(buffer, 4 * data.length);
+		IntBuffer result = slice.asIntBuffer();
+		result.put(data);
+		result.flip();
+		return result;
+	}
+
+	private static ShortBuffer putShorts(ByteBuffer buffer, short[] data) {
+		ByteBuffer slice = nextSlice(buffer, 2 * data.length);
+		ShortBuffer result = slice.asShortBuffer();
+		result.put(data);
+		result.flip();
+		return result;
+	}
+
+	private static ByteBuffer nextSlice(ByteBuffer buffer, int bytes) {
+		ByteBuffer result = buffer.slice();
+		result.limit(bytes);
+		buffer.position(buffer.position() + bytes);
+		return result;
+	}
+
+	private static int binarySearch(LongBuffer ids, int size, long id) {
+		int min = 0;
+		int max = size - 1;
+		while (min <= max) {
+			int curr = (min + max) >>> 1;
+			long currId = ids.get(curr);
+			if (currId < id)
+				min = curr + 1;
+			else if (currId > id)
+				max = curr - 1;
+			else
+				return curr;
+		}
+		return -1;
+	}
+
+	/**
+	 * View on all nodes which are part of at least one way. Used as input for
+	 * the way node index, which requests node objects only for candidates.
+	 */
+	private class WayNodeList extends AbstractList<MapNode> {
+		private final int[] indices;
+
+		WayNodeList() {
+			int count = 0;
+			for (int i = 0; i < nodeCount; i++)
+				if (nodeRefStart.get(i) < nodeRefStart.get(i + 1))
+					count++;
+			indices = new int[count];
+			count = 0;
+			for (int i = 0; i < nodeCount; i++)
+				if (nodeRefStart.get(i) < nodeRefStart.get(i + 1))
+					indices[count++] = i;
+		}
+
+		/** Creates a list for the way nodes with the given indices. */
+		WayNodeList(int[] indices) {
+			this.indices = indices;
+		}
+
+		@Override
+		public MapNode get(int i) {
+			return getNodeByIndex(indices[i]);
+		}
+
+		@Override
+		public int size() {
+			return indices.length;
+		}
+	}
+}
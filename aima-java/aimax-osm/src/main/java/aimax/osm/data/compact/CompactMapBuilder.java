@@ -0,0 +1,344 @@
+package aimax.osm.data.compact;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.logging.Logger;
+
+import aimax.osm.data.BoundingBox;
+import aimax.osm.data.EntityClassifier;
+import aimax.osm.data.MapBuilder;
+import aimax.osm.data.OsmMap;
+import aimax.osm.data.entities.EntityAttribute;
+import aimax.osm.data.entities.EntityViewInfo;
+
+/**
+ * Builder for {@link CompactMap} instances. Nodes and ways are collected in
+ * growable primitive arrays. When the map is built, nodes without definition
+ * and nodes which are neither part of a way nor points of interest are
+ * removed, and the remaining data is sorted by ID and converted into the
+ * compact representation.
+ *
+ * @author agent
+ *
+ */
+public class CompactMapBuilder implements MapBuilder {
+	private static Logger LOG = Logger.getLogger("aimax.osm");
+	private CompactMap result;
+	private boolean nodeRefsWithoutDefsAdded;
+
+	private LongIntHashMap nodeIndices = new LongIntHashMap();
+	private int nodeCount;
+	private long[] nodeIds = new long[1024];
+	private int[] nodeLats = new int[1024];
+	private int[] nodeLons = new int[1024];
+	private BitSet nodeDefined = new BitSet();
+	private BitSet nodeReferenced = new BitSet();
+	private HashMap<Integer, String> nodeNames = new HashMap<Integer, String>();
+	private HashMap<Integer, List<EntityAttribute>> nodeAtts = new HashMap<Integer, List<EntityAttribute>>();
+
+	private LongIntHashMap wayIndices = new LongIntHashMap();
+	private ArrayList<CompactMapWay> ways = new ArrayList<CompactMapWay>();
+	private int[] wayNodeStart = new int[1024];
+	private int wayNodeCount;
+	private int[] wayNodes = new int[4096];
+
+	/** Data of a preprocessed map, replaces all added entities if not null. */
+	private ByteBuffer preprocessedData;
+
+	public CompactMapBuilder() {
+		result = new CompactMap();
+	}
+
+	public CompactMapBuilder(CompactMap map) {
+		result = map;
+		result.clear();
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setEntityClassifier(EntityClassifier<EntityViewInfo> classifier) {
+		result.setEntityClassifier(classifier);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void setBoundingBox(BoundingBox bb) {
+		result.setBoundingBox(bb);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean isNodeDefined(long id, BoundingBox bb) {
+		int idx = nodeIndices.get(id);
+		boolean result = (idx != -1 && nodeDefined.get(idx));
+		if (result && bb != null)
+			result = bb.isInside(toDegree(nodeLats[idx]),
+					toDegree(nodeLons[idx]));
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean isNodeReferenced(long id) {
+		int idx = nodeIndices.get(id);
+		return idx != -1 && nodeReferenced.get(idx);
+	}
+
+	/**
+	 * {@inheritDoc} If a node with the same ID but without position has already
+	 * been added, it is redefined with the new data.
+	 */
+	@Override
+	public void addNode(long id, String name, List<EntityAttribute> atts,
+			float lat, float lon) {
+		int idx = nodeIndices.get(id);
+		if (idx == -1)
+			idx = newNode(id);
+		else if (nodeDefined.get(idx))
+			return;
+		nodeDefined.set(idx);
+		nodeLats[idx] = toFixedPoint(lat);
+		nodeLons[idx] = toFixedPoint(lon);
+		if (name != null)
+			nodeNames.put(idx, name);
+		if (!atts.isEmpty())
+			nodeAtts.put(idx, new ArrayList<EntityAttribute>(atts));
+		if (nodeCount % 500000 == 0)
+			LOG.fine("Nodes: " + nodeCount);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean isWayDefined(long id) {
+		return wayIndices.get(id) != -1;
+	}
+
+	/**
+	 * {@inheritDoc} Ways with less than two way nodes are ignored.
+	 */
+	@Override
+	public void addWay(long id, String name, List<EntityAttribute> atts,
+			List<Long> wayNodeIds) {
+		if (wayNodeIds.size() > 1) {
+			CompactMapWay way = new CompactMapWay(id);
+			way.setName(name);
+			way.setAttributes(atts);
+			int wayIdx = ways.size();
+			wayIndices.put(id, wayIdx);
+			ways.add(way);
+			if (wayIdx + 1 >= wayNodeStart.length)
+				wayNodeStart = Arrays.copyOf(wayNodeStart, 2 * (wayIdx + 1));
+			wayNodeStart[wayIdx] = wayNodeCount;
+			for (long nodeId : wayNodeIds) {
+				int nodeIdx = nodeIndices.get(nodeId);
+				if (nodeIdx == -1) {
+					nodeIdx = newNode(nodeId);
+					nodeRefsWithoutDefsAdded = true;
+				}
+				if (wayNodeCount == wayNodes.length)
+					wayNodes = Arrays.copyOf(wayNodes, 2 * wayNodeCount);
+				wayNodes[wayNodeCount++] = nodeIdx;
+				nodeReferenced.set(nodeIdx);
+			}
+			wayNodeStart[wayIdx + 1] = wayNodeCount;
+			if (ways.size() % 50000 == 0)
+				LOG.fine("Ways: " + ways.size());
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean nodeRefsWithoutDefsAdded() {
+		boolean result = nodeRefsWithoutDefsAdded;
+		nodeRefsWithoutDefsAdded = false;
+		return result;
+	}
+
+	/**
+	 * Provides the builder with the content of a file in
+	 * {@link BinaryMapFormat}. The map will use the buffer directly instead of
+	 * the entities added to this builder.
+	 */
+	public void setPreprocessedData(ByteBuffer buffer) {
+		preprocessedData = buffer;
+	}
+
+	/**
+	 * {@inheritDoc} Way nodes without definition are removed from their ways.
+	 * Ways which end up with less than two nodes are dropped.
+	 */
+	@Override
+	public OsmMap buildMap() {
+		if (preprocessedData != null) {
+			BinaryMapFormat.compile(preprocessedData, result);
+			preprocessedData = null;
+			releaseBuffers();
+			return result;
+		}
+		// determine the remaining ways and their nodes
+		BitSet referenced = new BitSet(nodeCount);
+		BitSet undefinedReported = new BitSet();
+		int[] wayNodeNums = new int[ways.size()];
+		List<Long> keptWayIds = new ArrayList<Long>(ways.size());
+		for (int w = 0; w < ways.size(); w++) {
+			for (int i = wayNodeStart[w]; i < wayNodeStart[w + 1]; i++) {
+				int nodeIdx = wayNodes[i];
+				if (nodeDefined.get(nodeIdx)) {
+					wayNodeNums[w]++;
+				} else if (!undefinedReported.get(nodeIdx)) {
+					LOG.warning("No definition found for referenced node "
+							+ nodeIds[nodeIdx] + ".");
+					undefinedReported.set(nodeIdx);
+				}
+			}
+			if (wayNodeNums[w] > 1) {
+				keptWayIds.add(ways.get(w).getId());
+				for (int i = wayNodeStart[w]; i < wayNodeStart[w + 1]; i++)
+					if (nodeDefined.get(wayNodes[i]))
+						referenced.set(wayNodes[i]);
+			}
+		}
+
+		// sort the remaining nodes by ID
+		int keptNodeCount = 0;
+		long[] sortedNodeIds = new long[nodeCount];
+		for (int i = 0; i < nodeCount; i++)
+			if (nodeDefined.get(i)
+					&& (referenced.get(i) || isPoi(i)))
+				sortedNodeIds[keptNodeCount++] = nodeIds[i];
+		sortedNodeIds = Arrays.copyOf(sortedNodeIds, keptNodeCount);
+		Arrays.sort(sortedNodeIds);
+		int[] newNodeIdx = new int[nodeCount];
+		Arrays.fill(newNodeIdx, -1);
+		int[] lats = new int[keptNodeCount];
+		int[] lons = new int[keptNodeCount];
+		List<Integer> poiList = new ArrayList<Integer>();
+		for (int i = 0; i < keptNodeCount; i++) {
+			int oldIdx = nodeIndices.get(sortedNodeIds[i]);
+			newNodeIdx[oldIdx] = i;
+			lats[i] = nodeLats[oldIdx];
+			lons[i] = nodeLons[oldIdx];
+			if (isPoi(oldIdx))
+				poiList.add(oldIdx);
+		}
+
+		// sort the remaining ways by ID and create the node lists
+		long[] sortedWayIds = new long[keptWayIds.size()];
+		for (int i = 0; i < sortedWayIds.length; i++)
+			sortedWayIds[i] = keptWayIds.get(i);
+		Arrays.sort(sortedWayIds);
+		CompactMapWay[] sortedWays = new CompactMapWay[sortedWayIds.length];
+		int[] newWayNodeStart = new int[sortedWayIds.length + 1];
+		int[] newWayNodes = new int[wayNodeCount];
+		int count = 0;
+		for (int w = 0; w < sortedWayIds.length; w++) {
+			int oldIdx = wayIndices.get(sortedWayIds[w]);
+			sortedWays[w] = ways.get(oldIdx);
+			newWayNodeStart[w] = count;
+			for (int i = wayNodeStart[oldIdx]; i < wayNodeStart[oldIdx + 1]; i++)
+				if (nodeDefined.get(wayNodes[i]))
+					newWayNodes[count++] = newNodeIdx[wayNodes[i]];
+		}
+		newWayNodeStart[sortedWayIds.length] = count;
+		newWayNodes = Arrays.copyOf(newWayNodes, count);
+
+		// create way references, be careful with closed ways (begin == end)
+		int[] firstRefWay = new int[keptNodeCount];
+		int[] refStart = new int[keptNodeCount + 1];
+		Arrays.fill(firstRefWay, -1);
+		for (int w = 0; w < sortedWays.length; w++)
+			for (int i = newWayNodeStart[w]; i < newWayNodeStart[w + 1]; i++) {
+				int n = newWayNodes[i];
+				if (firstRefWay[n] != w) {
+					if (firstRefWay[n] == -1)
+						firstRefWay[n] = w;
+					refStart[n + 1]++;
+				}
+			}
+		for (int n = 0; n < keptNodeCount; n++)
+			refStart[n + 1] += refStart[n];
+		int[] refWays = new int[refStart[keptNodeCount]];
+		short[] refIdx = new short[refStart[keptNodeCount]];
+		int[] fill = Arrays.copyOf(refStart, keptNodeCount);
+		Arrays.fill(firstRefWay, -1);
+		for (int w = 0; w < sortedWays.length; w++)
+			for (int i = newWayNodeStart[w]; i < newWayNodeStart[w + 1]; i++) {
+				int n = newWayNodes[i];
+				if (firstRefWay[n] != w) {
+					if (firstRefWay[n] == -1)
+						firstRefWay[n] = w;
+					refWays[fill[n]] = w;
+					refIdx[fill[n]++] = (short) (i - newWayNodeStart[w]);
+				}
+			}
+
+		// create the points of interest
+		int[] poiIndices = new int[poiList.size()];
+		CompactMapNode[] pois = new CompactMapNode[poiList.size()];
+		for (int i = 0; i < poiIndices.length; i++) {
+			int oldIdx = poiList.get(i);
+			poiIndices[i] = newNodeIdx[oldIdx];
+			pois[i] = new CompactMapNode(result, poiIndices[i], nodeIds[oldIdx]);
+			pois[i].setName(nodeNames.get(oldIdx));
+			List<EntityAttribute> atts = nodeAtts.get(oldIdx);
+			if (atts != null)
+				pois[i].setAttributes(atts);
+		}
+
+		result.compile(sortedNodeIds, lats, lons, refStart, refWays, refIdx,
+				sortedWayIds, newWayNodeStart, newWayNodes, sortedWays,
+				poiIndices, pois);
+		releaseBuffers();
+		if (!result.isEmpty())
+			LOG.fine("Loading completed. Ways: " + result.getWayCount()
+					+ ", Nodes: " + result.getNodeCount() + ", POIs: "
+					+ result.getPoiCount());
+		return result;
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	private int newNode(long id) {
+		if (nodeCount == nodeIds.length) {
+			nodeIds = Arrays.copyOf(nodeIds, 2 * nodeCount);
+			nodeLats = Arrays.copyOf(nodeLats, 2 * nodeCount);
+			nodeLons = Arrays.copyOf(nodeLons, 2 * nodeCount);
+		}
+		nodeIds[nodeCount] = id;
+		nodeIndices.put(id, nodeCount);
+		return nodeCount++;
+	}
+
+	private boolean isPoi(int nodeIdx) {
+		return nodeNames.containsKey(nodeIdx) || nodeAtts.containsKey(nodeIdx);
+	}
+
+	private void releaseBuffers() {
+		nodeIndices = new LongIntHashMap();
+		wayIndices = new LongIntHashMap();
+		nodeCount = 0;
+		nodeIds = new long[0];
+		nodeLats = new int[0];
+		nodeLons = new int[0];
+		nodeDefined.clear();
+		nodeReferenced.clear();
+		nodeNames.clear();
+		nodeAtts.clear();
+		ways.clear();
+		wayNodeCount = 0;
+	}
+
+	private static int toFixedPoint(float degree) {
+		return (int) Math.round(degree * CompactMap.COORD_SCALE);
+	}
+
+	private static float toDegree(int fixedPoint) {
+		return (float) (fixedPoint / CompactMap.COORD_SCALE);
+	}
+}
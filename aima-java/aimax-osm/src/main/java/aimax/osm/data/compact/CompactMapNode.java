@@ -0,0 +1,121 @@
+package aimax.osm.data.compact;
+
+import java.util.List;
+
+import aimax.osm.data.EntityVisitor;
+import aimax.osm.data.entities.MapNode;
+import aimax.osm.data.entities.WayRef;
+import aimax.osm.data.impl.DefaultMapEntity;
+
+/**
+ * Lightweight view of a node stored in a {@link CompactMap}. Objects of this
+ * class only maintain a reference to the map and the node index. They are
+ * created on demand, except for points of interest, whose names, attributes
+ * and view information are kept by persistent instances. Two nodes are equal
+ * if they refer to the same index of the same map.
+ *
+ * @author agent
+ *
+ */
+public class CompactMapNode extends DefaultMapEntity implements MapNode {
+	private final CompactMap map;
+	private final int index;
+
+	CompactMapNode(CompactMap map, int index) {
+		this(map, index, map.getNodeId(index));
+	}
+
+	CompactMapNode(CompactMap map, int index, long id) {
+		this.map = map;
+		this.index = index;
+		this.id = id;
+	}
+
+	/** Returns the position of the node within the arrays of the map. */
+	public int getIndex() {
+		return index;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean hasPosition() {
+		return true;
+	}
+
+	/** Not supported, compact maps are read-only. */
+	@Override
+	public void setPosition(float lat, float lon) {
+		throw new UnsupportedOperationException(
+				"Nodes of compact maps cannot be moved.");
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public float getLat() {
+		return map.getNodeLat(index);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public float getLon() {
+		return map.getNodeLon(index);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public List<WayRef> getWayRefs() {
+		return map.getWayRefs(index);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void accept(EntityVisitor visitor) {
+		visitor.visitMapNode(this);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj instanceof CompactMapNode) {
+			CompactMapNode node = (CompactMapNode) obj;
+			return map == node.map && index == node.index;
+		}
+		return false;
+	}
+
+	@Override
+	public int hashCode() {
+		return index;
+	}
+
+	@Override
+	public String toString() {
+		return "Node(" + id + ")";
+	}
+
+	// ///////////////////////////////////////////////////////////////
+	// extensions for KDTree
+
+	/** {@inheritDoc} */
+	@Override
+	public int compareLatitude(float lat) {
+		float nodeLat = getLat();
+		if (nodeLat < lat)
+			return -1;
+		else if (nodeLat > lat)
+			return 1;
+		else
+			return 0;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int compareLongitude(float lon) {
+		float nodeLon = getLon();
+		if (nodeLon < lon)
+			return -1;
+		else if (nodeLon > lon)
+			return 1;
+		else
+			return 0;
+	}
+}
@@ -0,0 +1,141 @@
+package aimax.osm.data.compact;
+
+import java.util.AbstractList;
+import java.util.List;
+
+import aimax.osm.data.BoundingBox;
+import aimax.osm.data.EntityVisitor;
+import aimax.osm.data.entities.MapNode;
+import aimax.osm.data.entities.MapWay;
+import aimax.osm.data.impl.DefaultMapEntity;
+
+/**
+ * Way of a {@link CompactMap}. Name, attributes and view information are kept
+ * in the object, the node list is provided as view on the primitive arrays of
+ * the map.
+ *
+ * @author agent
+ *
+ */
+public class CompactMapWay extends DefaultMapEntity implements MapWay {
+	private CompactMap map;
+	private int index;
+	// bounding box, computed when the way is added to the map
+	private float latMin;
+	private float lonMin;
+	private float latMax;
+	private float lonMax;
+
+	/** Creates a way with a specified ID. */
+	CompactMapWay(long id) {
+		this.id = id;
+	}
+
+	/** Connects the way with its storage. */
+	void init(CompactMap map, int index) {
+		this.map = map;
+		this.index = index;
+		latMin = lonMin = Float.MAX_VALUE;
+		latMax = lonMax = -Float.MAX_VALUE;
+		int to = map.getWayNodeEnd(index);
+		for (int i = map.getWayNodeStart(index); i < to; i++) {
+			int nodeIdx = map.getWayNodeIndex(i);
+			float lat = map.getNodeLat(nodeIdx);
+			float lon = map.getNodeLon(nodeIdx);
+			latMin = Math.min(latMin, lat);
+			latMax = Math.max(latMax, lat);
+			lonMin = Math.min(lonMin, lon);
+			lonMax = Math.max(lonMax, lon);
+		}
+	}
+
+	/** Returns the position of the way within the arrays of the map. */
+	public int getIndex() {
+		return index;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean isOneway() {
+		return "yes".equals(getAttributeValue("oneway"));
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public boolean isArea() {
+		return "yes".equals(getAttributeValue("area"));
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public List<MapNode> getNodes() {
+		final int from = map.getWayNodeStart(index);
+		final int size = map.getWayNodeEnd(index) - from;
+		return new AbstractList<MapNode>() {
+			@Override
+			public MapNode get(int i) {
+				if (i < 0 || i >= size)
+					throw new IndexOutOfBoundsException("Index: " + i);
+				return map.getNodeByIndex(map.getWayNodeIndex(from + i));
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void accept(EntityVisitor visitor) {
+		visitor.visitMapWay(this);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public BoundingBox computeBoundingBox() {
+		return new BoundingBox(latMin, lonMin, latMax, lonMax);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public float getBoundingBoxSize() {
+		return (latMax - latMin) + (lonMax - lonMin);
+	}
+
+	@Override
+	public String toString() {
+		StringBuffer result = new StringBuffer("Way(" + id + ", [ ");
+		int to = map.getWayNodeEnd(index);
+		for (int i = map.getWayNodeStart(index); i < to; i++)
+			result.append(map.getNodeId(map.getWayNodeIndex(i)) + " ");
+		result.append("])");
+		return result.toString();
+	}
+
+	// ///////////////////////////////////////////////////////////////
+	// extensions for KDTree
+
+	/** {@inheritDoc} */
+	@Override
+	public int compareLatitude(float lat) {
+		if (latMax < lat)
+			return -1;
+		else if (latMin > lat)
+			return 1;
+		else
+			return 0;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public int compareLongitude(float lon) {
+		if (lonMax < lon)
+			return -1;
+		else if (lonMin > lon)
+			return 1;
+		else
+			return 0;
+	}
+}
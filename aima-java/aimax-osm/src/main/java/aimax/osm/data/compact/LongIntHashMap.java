@@ -0,0 +1,79 @@
+package aimax.osm.data.compact;
+
+import java.util.Arrays;
+
+/**
+ * Hash map from long keys to non-negative int values with open addressing.
+ * Avoids the boxing overhead of <code>HashMap&lt;Long, Integer&gt;</code>
+ * which dominates the memory consumption when building large maps.
+ *
+ * @author agent
+ *
+ */
+class LongIntHashMap {
+	private long[] keys;
+	private int[] values;
+	private int size;
+
+	LongIntHashMap() {
+		keys = new long[64];
+		values = new int[64];
+		Arrays.fill(values, -1);
+	}
+
+	/** Returns the number of entries. */
+	int size() {
+		return size;
+	}
+
+	/** Returns the value stored for the key or -1 if no value is stored. */
+	int get(long key) {
+		int mask = keys.length - 1;
+		int i = hash(key) & mask;
+		while (values[i] != -1) {
+			if (keys[i] == key)
+				return values[i];
+			i = (i + 1) & mask;
+		}
+		return -1;
+	}
+
+	/** Stores the value (must be non-negative) for the key. */
+	void put(long key, int value) {
+		if (2 * (size + 1) > keys.length)
+			rehash(2 * keys.length);
+		int mask = keys.length - 1;
+		int i = hash(key) & mask;
+		while (values[i] != -1) {
+			if (keys[i] == key) {
+				values[i] = value;
+				return;
+			}
+			i = (i + 1) & mask;
+		}
+		keys[i] = key;
+		values[i] = value;
+		size++;
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		int[] oldValues = values;
+		keys = new long[capacity];
+		values = new int[capacity];
+		Arrays.fill(values, -1);
+		size = 0;
+		for (int i = 0; i < oldKeys.length; i++)
+			if (oldValues[i] != -1)
+				put(oldKeys[i], oldValues[i]);
+	}
+
+	private static int hash(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+}
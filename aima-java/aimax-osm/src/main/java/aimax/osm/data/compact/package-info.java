@@ -0,0 +1,9 @@
+/**
+ * This package contains a memory efficient map implementation. The
+ * {@link aimax.osm.data.compact.CompactMap} class stores node coordinates as
+ * fixed-point integers and the node-way adjacency in sorted primitive arrays,
+ * optionally backed by a memory-mapped file. Node objects are created on
+ * demand, so much larger maps fit into the available memory than with the
+ * {@link aimax.osm.data.impl.DefaultMap}.
+ */
+package aimax.osm.data.compact;
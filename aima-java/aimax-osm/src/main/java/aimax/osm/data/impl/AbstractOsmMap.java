@@ -0,0 +1,326 @@
+package aimax.osm.data.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import aimax.osm.data.BoundingBox;
+import aimax.osm.data.EntityAttributeManager;
+import aimax.osm.data.EntityClassifier;
+import aimax.osm.data.EntityFinder;
+import aimax.osm.data.EntityVisitor;
+import aimax.osm.data.MapEvent;
+import aimax.osm.data.MapEventListener;
+import aimax.osm.data.OsmMap;
+import aimax.osm.data.Position;
+import aimax.osm.data.entities.EntityAttribute;
+import aimax.osm.data.entities.EntityViewInfo;
+import aimax.osm.data.entities.MapEntity;
+import aimax.osm.data.entities.MapNode;
+import aimax.osm.data.entities.MapWay;
+import aimax.osm.data.entities.Track;
+
+/**
+ * Base class for map implementations which keep all data in RAM. It maintains
+ * everything which does not depend on the representation of the original map
+ * data: markers, tracks, event listeners, the entity classifier, and the
+ * kd-tree of classified entities (see {@link aimax.osm.data.impl.KDTree}).
+ * Subclasses store nodes, ways, and points of interest.
+ *
+ * @author agent
+ *
+ */
+public abstract class AbstractOsmMap implements OsmMap {
+	private BoundingBox boundingBox;
+	/** Maintains markers (not part of the original map). */
+	private ArrayList<MapNode> markers;
+	/** Maintains tracks (not part of the original map). */
+	private ArrayList<Track> tracks;
+	private long nextTrackId;
+
+	private EntityClassifier<EntityViewInfo> entityClassifier;
+	private KDTree entityTree;
+
+	private ArrayList<MapEventListener> listeners;
+
+	protected AbstractOsmMap() {
+		markers = new ArrayList<MapNode>();
+		tracks = new ArrayList<Track>();
+		listeners = new ArrayList<MapEventListener>();
+		// EntityAttributeManager.instance().ignoreAttKeys(new String[]{
+		// "created_by", "source", "history", "copyright", "fire_hydrant"},
+		// true);
+		EntityAttributeManager.instance()
+				.ignoreAttKeys(
+						new String[] { "created_by", "source", "history",
+								"copyright" }, false);
+	}
+
+	/**
+	 * Resets markers, tracks, and the entity tree and informs all listeners.
+	 * Subclasses should clear their own data before calling this method.
+	 */
+	protected void clear() {
+		markers.clear();
+		tracks.clear();
+		entityTree = null;
+		boundingBox = null;
+		fireMapDataEvent(new MapEvent(this, MapEvent.Type.MAP_CLEARED));
+	}
+
+	/** Does nothing */
+	@Override
+	public void close() {
+	}
+
+	/**
+	 * Provides the data store with an entity classifier. The classifier
+	 * strongly influences the generation of the entity tree.
+	 */
+	@Override
+	public void setEntityClassifier(EntityClassifier<EntityViewInfo> classifier) {
+		entityClassifier = classifier;
+		if (entityTree != null) {
+			applyClassifierAndUpdateTree(entityTree.getBoundingBox());
+			fireMapDataEvent(new MapEvent(this, MapEvent.Type.MAP_MODIFIED));
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public BoundingBox getBoundingBox() {
+		return boundingBox;
+	}
+
+	/** Defines a bounding box for the map. */
+	protected void setBoundingBox(BoundingBox bb) {
+		boundingBox = bb;
+	}
+
+	/** Returns all ways which shall be added to the entity tree. */
+	protected abstract Collection<MapWay> getAllWays();
+
+	/** Returns all points of interest which shall be added to the entity tree. */
+	protected abstract Collection<MapNode> getAllPois();
+
+	/**
+	 * Applies the current entity classifier to all currently maintained map
+	 * entities and creates a new entity tree with all relevant ways and points
+	 * of interest.
+	 */
+	protected void applyClassifierAndUpdateTree(BoundingBox bb) {
+		entityTree = new KDTree(bb, 8000, 60);
+		for (MapWay way : getAllWays())
+			updateEntityViewInfo(way, true);
+		for (MapNode poi : getAllPois())
+			updateEntityViewInfo(poi, true);
+		for (MapNode marker : markers)
+			updateEntityViewInfo(marker, false);
+		for (Track track : tracks)
+			updateEntityViewInfo(track, false);
+	}
+
+	/**
+	 * Updates the view information of a given entity by means of the current
+	 * entity classifier. If suitable viewing information was found and
+	 * <code>addToTree</code> is true, the entity is added to the entity tree.
+	 */
+	private void updateEntityViewInfo(MapEntity entity, boolean addToTree) {
+		EntityViewInfo info = null;
+		if (entityClassifier != null)
+			info = entityClassifier.classify(entity);
+		entity.setViewInfo(info);
+		if (addToTree && info != null)
+			entityTree.insertEntity((DefaultMapEntity) entity);
+	}
+
+	/** Reduces the level of detail by selecting some of the given nodes. */
+	@Override
+	public List<MapNode> getWayNodes(MapWay way, float scale) {
+		List<MapNode> wayNodes = way.getNodes();
+		int zoomLevel;
+		if (scale <= 1f / 10000000)
+			zoomLevel = 3;
+		else if (scale <= 1f / 750000)
+			zoomLevel = 2;
+		else if (scale <= 1f / 350000)
+			zoomLevel = 1;
+		else
+			zoomLevel = 0;
+		if (zoomLevel > 0) {
+			int size = wayNodes.size();
+			List<MapNode> result = new ArrayList<MapNode>(size / zoomLevel + 2);
+			int i = 0;
+			for (MapNode node : wayNodes) {
+				if (i == 0 || i == size - 1
+						|| node.getId() % (4 * zoomLevel) == 0)
+					result.add(node);
+				i++;
+			}
+			if (wayNodes.get(0).equals(wayNodes.get(size - 1))
+					&& result.size() < 4)
+				result.clear();
+			return result;
+		} else {
+			return Collections.unmodifiableList(wayNodes);
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void clearMarkersAndTracks() {
+		markers.clear();
+		tracks.clear();
+		fireMapDataEvent(new MapEvent(this, MapEvent.Type.MAP_MODIFIED));
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public List<MapEntity> getVisibleMarkersAndTracks(float scale) {
+		List<MapEntity> result = new ArrayList<MapEntity>();
+		for (MapNode marker : markers)
+			if (marker.getViewInfo() != null
+					&& marker.getViewInfo().getMinVisibleScale() <= scale)
+				result.add(marker);
+		for (Track track : tracks)
+			if (track.getViewInfo() != null
+					&& track.getViewInfo().getMinVisibleScale() <= scale)
+				result.add(track);
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public MapNode addMarker(float lat, float lon) {
+		long id = 1;
+		for (MapNode node : markers)
+			if (node.getId() >= id)
+				id = node.getId() + 1;
+		MapNode node = new DefaultMapNode(id);
+		node.setName(Long.toString(id));
+		List<EntityAttribute> atts = new ArrayList<EntityAttribute>(1);
+		atts.add(new EntityAttribute("marker", "yes"));
+		node.setAttributes(atts);
+		node.setPosition(lat, lon);
+		updateEntityViewInfo(node, false);
+		markers.add(node);
+		fireMapDataEvent(new MapEvent(this, MapEvent.Type.MARKER_ADDED, node
+				.getId()));
+		return node;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void removeMarker(MapNode marker) {
+		markers.remove(marker);
+		fireMapDataEvent(new MapEvent(this, MapEvent.Type.MARKER_REMOVED,
+				marker.getId()));
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public List<MapNode> getMarkers() {
+		return markers;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void clearTrack(String trackName) {
+		Track track = getTrack(trackName);
+		if (track != null) {
+			tracks.remove(track);
+			fireMapDataEvent(new MapEvent(this, MapEvent.Type.MAP_MODIFIED));
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void createTrack(String trackName, List<Position> positions) {
+		clearTrack(trackName);
+		Track track = new DefaultTrack(nextTrackId++, trackName, trackName);
+		updateEntityViewInfo(track, false);
+		tracks.add(track);
+		for (Position pos : positions)
+			track.addNode(pos);
+		fireMapDataEvent(new MapEvent(this, MapEvent.Type.TRACK_MODIFIED, track
+				.getId()));
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void addToTrack(String trackName, Position pos) {
+		Track track = getTrack(trackName);
+		if (track == null) {
+			track = new DefaultTrack(nextTrackId++, trackName, trackName);
+			updateEntityViewInfo(track, false);
+			tracks.add(track);
+		}
+		track.addNode(pos);
+		fireMapDataEvent(new MapEvent(this, MapEvent.Type.TRACK_MODIFIED, track
+				.getId()));
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public List<Track> getTracks() {
+		return tracks;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Track getTrack(long trackId) {
+		for (Track track : tracks)
+			if (track.getId() == trackId)
+				return track;
+		return null;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public Track getTrack(String trackName) {
+		for (Track track : tracks)
+			if (track.getName().equals(trackName))
+				return track;
+		return null;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public EntityFinder getEntityFinder() {
+		EntityFinder result = new DefaultEntityFinder(this);
+		return result;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void visitEntities(EntityVisitor visitor, BoundingBox vbox,
+			float scale) {
+		if (entityTree != null)
+			entityTree.visitEntities(visitor, vbox, scale);
+	}
+
+	/** Returns a kd-tree with all entities. */
+	public KDTree getEntityTree() {
+		return entityTree;
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void addMapDataEventListener(MapEventListener listener) {
+		listeners.add(listener);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void removeMapDataEventListener(MapEventListener listener) {
+		listeners.remove(listener);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void fireMapDataEvent(MapEvent event) {
+		for (MapEventListener listener : listeners)
+			listener.eventHappened(event);
+	}
+}
@@ -2,28 +2,18 @@ package aimax.osm.data.impl;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.logging.Logger;
 
 import aimax.osm.data.BoundingBox;
 import aimax.osm.data.EntityAttributeManager;
-import aimax.osm.data.EntityClassifier;
-import aimax.osm.data.EntityFinder;
-import aimax.osm.data.EntityVisitor;
 import aimax.osm.data.MapBuilder;
 import aimax.osm.data.MapEvent;
-import aimax.osm.data.MapEventListener;
 import aimax.osm.data.MapWayFilter;
-import aimax.osm.data.OsmMap;
 import aimax.osm.data.Position;
-import aimax.osm.data.entities.EntityAttribute;
-import aimax.osm.data.entities.EntityViewInfo;
-import aimax.osm.data.entities.MapEntity;
 import aimax.osm.data.entities.MapNode;
 import aimax.osm.data.entities.MapWay;
-import aimax.osm.data.entities.Track;
 
 /**
  * Central container for OSM map data. It is responsible for storing loaded map
@@ -40,7 +30,13 @@ import aimax.osm.data.entities.Track;
  * </p>
  * 
  * <p>
- * The second is a kd-tree (see {@link aimax.osm.data.impl.KDTree}).
+ * The second is a kd-tree (see {@link aimax.osm.data.impl.KDTree}), which is
+ * maintained by the base class.
+ * </p>
+ * 
+ * <p>
+ * Additionally, a spatial index for way nodes (see
+ * {@link aimax.osm.data.impl.WayNodeIndex}) supports nearest way node queries.
  * </p>
  * 
  * <p>
@@ -49,9 +45,8 @@ import aimax.osm.data.entities.Track;
  * 
  * @author Ruediger Lunde
  */
-public class DefaultMap implements OsmMap {
+public class DefaultMap extends AbstractOsmMap {
 	private static Logger LOG = Logger.getLogger("aimax.osm");
-	private BoundingBox boundingBox;
 	/**
 	 * Maintains all map nodes during map loading; after compilation only the
 	 * way nodes remain. IDs are used as keys.
@@ -64,51 +59,31 @@ public class DefaultMap implements OsmMap {
 	 * attribute.
 	 */
 	private ArrayList<MapNode> pois;
-	/** Maintains markers (not part of the original map). */
-	private ArrayList<MapNode> markers;
-	/** Maintains tracks (not part of the original map). */
-	private ArrayList<Track> tracks;
-	private long nextTrackId;
-
-	private EntityClassifier<EntityViewInfo> entityClassifier;
-	private KDTree entityTree;
-
-	private ArrayList<MapEventListener> listeners;
+	/** Created at compile time and reset when new nodes are added. */
+	private WayNodeIndex wayNodeIndex;
 
 	public DefaultMap() {
 		nodes = new Hashtable<Long, MapNode>();
 		ways = new Hashtable<Long, MapWay>();
 		pois = new ArrayList<MapNode>();
-		markers = new ArrayList<MapNode>();
-		tracks = new ArrayList<Track>();
-		listeners = new ArrayList<MapEventListener>();
-		// EntityAttributeManager.instance().ignoreAttKeys(new String[]{
-		// "created_by", "source", "history", "copyright", "fire_hydrant"},
-		// true);
-		EntityAttributeManager.instance()
-				.ignoreAttKeys(
-						new String[] { "created_by", "source", "history",
-								"copyright" }, false);
 	}
 
 	/** No data available after this reset. */
+	@Override
 	protected void clear() {
 		EntityAttributeManager.instance().clearHash();
 		nodes.clear();
 		ways.clear();
 		pois.clear();
-		markers.clear();
-		tracks.clear();
-		entityTree = null;
-		boundingBox = null;
-		fireMapDataEvent(new MapEvent(this, MapEvent.Type.MAP_CLEARED));
+		wayNodeIndex = null;
+		super.clear();
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	public boolean isEmpty() {
 		return nodes.isEmpty() && ways.isEmpty() && pois.isEmpty()
-				&& markers.isEmpty() && tracks.isEmpty();
+				&& getMarkers().isEmpty() && getTracks().isEmpty();
 	}
 
 	/** {@inheritDoc} */
@@ -117,35 +92,6 @@ public class DefaultMap implements OsmMap {
 		return new DefaultMapBuilder(this);
 	}
 
-	/** Does nothing */
-	@Override
-	public void close() {
-	}
-
-	/**
-	 * Provides the data store with an entity classifier. The classifier
-	 * strongly influences the generation of the entity tree.
-	 */
-	@Override
-	public void setEntityClassifier(EntityClassifier<EntityViewInfo> classifier) {
-		entityClassifier = classifier;
-		if (entityTree != null) {
-			applyClassifierAndUpdateTree(entityTree.getBoundingBox());
-			fireMapDataEvent(new MapEvent(this, MapEvent.Type.MAP_MODIFIED));
-		}
-	}
-
-	/** {@inheritDoc} */
-	@Override
-	public BoundingBox getBoundingBox() {
-		return boundingBox;
-	}
-
-	/** Defines a bounding box for the map. */
-	protected void setBoundingBox(BoundingBox bb) {
-		boundingBox = bb;
-	}
-
 	/** {@inheritDoc} */
 	@Override
 	public int getNodeCount() {
@@ -161,6 +107,7 @@ public class DefaultMap implements OsmMap {
 	/** Adds a node to the central node hashtable. */
 	protected void addNode(DefaultMapNode node) {
 		nodes.put(node.getId(), node);
+		wayNodeIndex = null;
 	}
 
 	/** {@inheritDoc} */
@@ -217,43 +164,25 @@ public class DefaultMap implements OsmMap {
 		BoundingBox bbAllNodes = new BoundingBox();
 		bbAllNodes.adjust(nodes.values());
 		bbAllNodes.adjust(pois);
-		if (boundingBox == null)
-			boundingBox = bbAllNodes;
+		if (getBoundingBox() == null)
+			setBoundingBox(bbAllNodes);
 		else
-			boundingBox.intersectWith(bbAllNodes);
+			getBoundingBox().intersectWith(bbAllNodes);
 		applyClassifierAndUpdateTree(bbAllNodes);
+		wayNodeIndex = new WayNodeIndex(collectWayNodes());
 		fireMapDataEvent(new MapEvent(this, MapEvent.Type.MAP_NEW));
 	}
 
-	/**
-	 * Applies the current entity classifier to all currently maintained map
-	 * entities and creates a new entity tree with all relevant ways and points
-	 * of interest.
-	 */
-	protected void applyClassifierAndUpdateTree(BoundingBox bb) {
-		entityTree = new KDTree(bb, 8000, 60);
-		for (MapWay way : ways.values())
-			updateEntityViewInfo(way, true);
-		for (MapNode poi : pois)
-			updateEntityViewInfo(poi, true);
-		for (MapNode marker : markers)
-			updateEntityViewInfo(marker, false);
-		for (Track track : tracks)
-			updateEntityViewInfo(track, false);
+	/** {@inheritDoc} */
+	@Override
+	protected Collection<MapWay> getAllWays() {
+		return ways.values();
 	}
 
-	/**
-	 * Updates the view information of a given entity by means of the current
-	 * entity classifier. If suitable viewing information was found and
-	 * <code>addToTree</code> is true, the entity is added to the entity tree.
-	 */
-	private void updateEntityViewInfo(MapEntity entity, boolean addToTree) {
-		EntityViewInfo info = null;
-		if (entityClassifier != null)
-			info = entityClassifier.classify(entity);
-		entity.setViewInfo(info);
-		if (addToTree && info != null)
-			entityTree.insertEntity((DefaultMapEntity) entity);
+	/** {@inheritDoc} */
+	@Override
+	protected Collection<MapNode> getAllPois() {
+		return pois;
 	}
 
 	/**
@@ -261,39 +190,31 @@ public class DefaultMap implements OsmMap {
 	 */
 	@Override
 	public MapNode getNearestWayNode(Position pos, MapWayFilter filter) {
-		MapNode node = pos.selectNearest(nodes.values(), filter);
-		return node;
+		return getWayNodeIndex().getNearestWayNode(pos, filter);
 	}
 
-	/** Reduces the level of detail by selecting some of the given nodes. */
-	@Override
-	public List<MapNode> getWayNodes(MapWay way, float scale) {
-		List<MapNode> wayNodes = way.getNodes();
-		int zoomLevel;
-		if (scale <= 1f / 10000000)
-			zoomLevel = 3;
-		else if (scale <= 1f / 750000)
-			zoomLevel = 2;
-		else if (scale <= 1f / 350000)
-			zoomLevel = 1;
-		else
-			zoomLevel = 0;
-		if (zoomLevel > 0) {
-			int size = wayNodes.size();
-			List<MapNode> result = new ArrayList<MapNode>(size / zoomLevel + 2);
-			int i = 0;
-			for (MapNode node : wayNodes) {
-				if (i == 0 || i == size - 1
-						|| node.getId() % (4 * zoomLevel) == 0)
-					result.add(node);
-				i++;
-			}
-			if (wayNodes.get(0) == wayNodes.get(size - 1) && result.size() < 4)
-				result.clear();
-			return result;
-		} else {
-			return Collections.unmodifiableList(wayNodes);
-		}
+	/**
+	 * Returns the <code>k</code> nearest way nodes from all ways which are
+	 * accepted by the filter, ordered by ascending distance.
+	 * 
+	 * @param pos
+	 *            The reference position.
+	 * @param filter
+	 *            possibly null
+	 */
+	public List<MapNode> getNearestWayNodes(Position pos, int k,
+			MapWayFilter filter) {
+		return getWayNodeIndex().getNearestWayNodes(pos, k, filter);
+	}
+
+	/**
+	 * Returns the spatial index for way nodes. If the index has been reset by
+	 * adding new nodes after compilation, it is recreated.
+	 */
+	public WayNodeIndex getWayNodeIndex() {
+		if (wayNodeIndex == null)
+			wayNodeIndex = new WayNodeIndex(collectWayNodes());
+		return wayNodeIndex;
 	}
 
 	/** {@inheritDoc} */
@@ -327,131 +248,6 @@ public class DefaultMap implements OsmMap {
 		return results;
 	}
 
-	/** {@inheritDoc} */
-	@Override
-	public void clearMarkersAndTracks() {
-		markers.clear();
-		tracks.clear();
-		fireMapDataEvent(new MapEvent(this, MapEvent.Type.MAP_MODIFIED));
-	}
-
-	/** {@inheritDoc} */
-	@Override
-	public List<MapEntity> getVisibleMarkersAndTracks(float scale) {
-		List<MapEntity> result = new ArrayList<MapEntity>();
-		for (MapNode marker : markers)
-			if (marker.getViewInfo() != null
-					&& marker.getViewInfo().getMinVisibleScale() <= scale)
-				result.add(marker);
-		for (Track track : tracks)
-			if (track.getViewInfo() != null
-					&& track.getViewInfo().getMinVisibleScale() <= scale)
-				result.add(track);
-		return result;
-	}
-
-	/** {@inheritDoc} */
-	@Override
-	public MapNode addMarker(float lat, float lon) {
-		long id = 1;
-		for (MapNode node : markers)
-			if (node.getId() >= id)
-				id = node.getId() + 1;
-		MapNode node = new DefaultMapNode(id);
-		node.setName(Long.toString(id));
-		List<EntityAttribute> atts = new ArrayList<EntityAttribute>(1);
-		atts.add(new EntityAttribute("marker", "yes"));
-		node.setAttributes(atts);
-		node.setPosition(lat, lon);
-		updateEntityViewInfo(node, false);
-		markers.add(node);
-		fireMapDataEvent(new MapEvent(this, MapEvent.Type.MARKER_ADDED, node
-				.getId()));
-		return node;
-	}
-
-	/** {@inheritDoc} */
-	@Override
-	public void removeMarker(MapNode marker) {
-		markers.remove(marker);
-		fireMapDataEvent(new MapEvent(this, MapEvent.Type.MARKER_REMOVED,
-				marker.getId()));
-	}
-
-	/** {@inheritDoc} */
-	@Override
-	public List<MapNode> getMarkers() {
-		return markers;
-	}
-
-	/** {@inheritDoc} */
-	@Override
-	public void clearTrack(String trackName) {
-		Track track = getTrack(trackName);
-		if (track != null) {
-			tracks.remove(track);
-			fireMapDataEvent(new MapEvent(this, MapEvent.Type.MAP_MODIFIED));
-		}
-	}
-
-	/** {@inheritDoc} */
-	@Override
-	public void createTrack(String trackName, List<Position> positions) {
-		clearTrack(trackName);
-		Track track = new DefaultTrack(nextTrackId++, trackName, trackName);
-		updateEntityViewInfo(track, false);
-		tracks.add(track);
-		for (Position pos : positions)
-			track.addNode(pos);
-		fireMapDataEvent(new MapEvent(this, MapEvent.Type.TRACK_MODIFIED, track
-				.getId()));
-	}
-
-	/** {@inheritDoc} */
-	@Override
-	public void addToTrack(String trackName, Position pos) {
-		Track track = getTrack(trackName);
-		if (track == null) {
-			track = new DefaultTrack(nextTrackId++, trackName, trackName);
-			updateEntityViewInfo(track, false);
-			tracks.add(track);
-		}
-		track.addNode(pos);
-		fireMapDataEvent(new MapEvent(this, MapEvent.Type.TRACK_MODIFIED, track
-				.getId()));
-	}
-
-	/** {@inheritDoc} */
-	@Override
-	public List<Track> getTracks() {
-		return tracks;
-	}
-
-	/** {@inheritDoc} */
-	@Override
-	public Track getTrack(long trackId) {
-		for (Track track : tracks)
-			if (track.getId() == trackId)
-				return track;
-		return null;
-	}
-
-	/** {@inheritDoc} */
-	@Override
-	public Track getTrack(String trackName) {
-		for (Track track : tracks)
-			if (track.getName().equals(trackName))
-				return track;
-		return null;
-	}
-
-	/** {@inheritDoc} */
-	@Override
-	public EntityFinder getEntityFinder() {
-		EntityFinder result = new DefaultEntityFinder(this);
-		return result;
-	}
-
 	/** {@inheritDoc} */
 	@Override
 	public Object[][] getStatistics() {
@@ -465,35 +261,12 @@ public class DefaultMap implements OsmMap {
 		return result;
 	}
 
-	/** {@inheritDoc} */
-	@Override
-	public void visitEntities(EntityVisitor visitor, BoundingBox vbox,
-			float scale) {
-		if (entityTree != null)
-			entityTree.visitEntities(visitor, vbox, scale);
-	}
-
-	/** Returns a kd-tree with all entities. */
-	public KDTree getEntityTree() {
-		return entityTree;
-	}
-
-	/** {@inheritDoc} */
-	@Override
-	public void addMapDataEventListener(MapEventListener listener) {
-		listeners.add(listener);
-	}
-
-	/** {@inheritDoc} */
-	@Override
-	public void removeMapDataEventListener(MapEventListener listener) {
-		listeners.remove(listener);
-	}
-
-	/** {@inheritDoc} */
-	@Override
-	public void fireMapDataEvent(MapEvent event) {
-		for (MapEventListener listener : listeners)
-			listener.eventHappened(event);
+	/** Returns all nodes with position which are part of at least one way. */
+	private List<MapNode> collectWayNodes() {
+		List<MapNode> result = new ArrayList<MapNode>();
+		for (MapNode node : nodes.values())
+			if (node.hasPosition() && !node.getWayRefs().isEmpty())
+				result.add(node);
+		return result;
 	}
-}
\ No newline at end of file
+}
@@ -98,7 +98,7 @@ public class DefaultTrack extends DefaultMapEntity implements Track {
 	
 	private DefaultMapEntity getTrkPt(int i) {
 		MapNode result = trkpts.get(i);
-		if (result instanceof DefaultMapNode)
+		if (result instanceof DefaultMapEntity)
 			return (DefaultMapEntity) result;
 			else
 		return null;
@@ -0,0 +1,274 @@
+package aimax.osm.data.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import aimax.osm.data.MapWayFilter;
+import aimax.osm.data.Position;
+import aimax.osm.data.entities.MapNode;
+import aimax.osm.data.entities.WayRef;
+
+/**
+ * Static spatial index for way nodes. The nodes are kept in a packed kd-tree:
+ * coordinates are stored in primitive arrays which are recursively partitioned
+ * around their median, alternating between latitude and longitude. The tree
+ * structure is implicit in the array order, so no tree nodes are allocated.
+ * Nearest and k-nearest queries prune subtrees by a lower bound of the
+ * great-circle distance to the splitting latitude circle or meridian and need
+ * logarithmic time on average. Node objects are only requested from the
+ * underlying list for candidates, so lists which create their elements on
+ * demand are supported.
+ *
+ * <p>
+ * The index does not track changes of the node set. It must be recreated
+ * whenever way nodes are added or removed.
+ * </p>
+ *
+ * @author agent
+ *
+ */
+public class WayNodeIndex {
+	/** Ranges up to this size are scanned linearly. */
+	private static final int LEAF_SIZE = 8;
+
+	private final List<MapNode> wayNodes;
+	/** Positions within <code>wayNodes</code> in kd-tree order. */
+	private final int[] refs;
+	private final float[] lats;
+	private final float[] lons;
+
+	/**
+	 * Creates an index for the given way nodes. All nodes must have a
+	 * position. The list is referenced, not copied, and must not be changed
+	 * while the index is in use.
+	 */
+	public WayNodeIndex(List<MapNode> wayNodes) {
+		this.wayNodes = wayNodes;
+		int size = wayNodes.size();
+		refs = new int[size];
+		lats = new float[size];
+		lons = new float[size];
+		for (int i = 0; i < size; i++) {
+			MapNode node = wayNodes.get(i);
+			refs[i] = i;
+			lats[i] = node.getLat();
+			lons[i] = node.getLon();
+		}
+		build(0, size, true);
+	}
+
+	/**
+	 * Creates an index for the given way nodes from a layout which was
+	 * obtained from an index for the same list by calling {@link #getLayout()}.
+	 * No sorting is necessary, which makes this variant suitable for
+	 * preprocessed maps.
+	 */
+	public WayNodeIndex(List<MapNode> wayNodes, int[] layout) {
+		this.wayNodes = wayNodes;
+		int size = wayNodes.size();
+		if (layout.length != size)
+			throw new IllegalArgumentException(
+					"Layout does not match the number of way nodes.");
+		refs = layout.clone();
+		lats = new float[size];
+		lons = new float[size];
+		for (int i = 0; i < size; i++) {
+			MapNode node = wayNodes.get(refs[i]);
+			lats[i] = node.getLat();
+			lons[i] = node.getLon();
+		}
+	}
+
+	/** Returns the number of indexed way nodes. */
+	public int size() {
+		return refs.length;
+	}
+
+	/**
+	 * Returns the positions of the indexed way nodes within the underlying list
+	 * in kd-tree order.
+	 */
+	public int[] getLayout() {
+		return refs.clone();
+	}
+
+	/**
+	 * Returns the way node which is nearest to the specified position and part
+	 * of a way accepted by the filter.
+	 *
+	 * @param filter
+	 *            possibly null
+	 * @return A node or null
+	 */
+	public MapNode getNearestWayNode(Position pos, MapWayFilter filter) {
+		List<MapNode> result = getNearestWayNodes(pos, 1, filter);
+		return result.isEmpty() ? null : result.get(0);
+	}
+
+	/**
+	 * Returns the <code>k</code> way nodes which are nearest to the specified
+	 * position and part of a way accepted by the filter, ordered by ascending
+	 * distance.
+	 *
+	 * @param filter
+	 *            possibly null
+	 */
+	public List<MapNode> getNearestWayNodes(Position pos, int k,
+			MapWayFilter filter) {
+		Candidates candidates = new Candidates(Math.max(0, k));
+		if (k > 0)
+			search(0, refs.length, true, pos.getLat(), pos.getLon(), filter,
+					candidates);
+		return candidates.toList();
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	/** Arranges the specified range as kd-tree. */
+	private void build(int from, int to, boolean splitAtLat) {
+		while (to - from > LEAF_SIZE) {
+			int median = (from + to) >>> 1;
+			select(from, to - 1, median, splitAtLat);
+			build(from, median, !splitAtLat);
+			from = median + 1;
+			splitAtLat = !splitAtLat;
+		}
+	}
+
+	/**
+	 * Partially sorts the range so that position <code>k</code> contains the
+	 * element which would be there in a sorted range (quickselect).
+	 */
+	private void select(int left, int right, int k, boolean byLat) {
+		float[] keys = byLat ? lats : lons;
+		while (right > left) {
+			float pivot = keys[(left + right) >>> 1];
+			int i = left;
+			int j = right;
+			while (i <= j) {
+				while (keys[i] < pivot)
+					i++;
+				while (keys[j] > pivot)
+					j--;
+				if (i <= j)
+					swap(i++, j--);
+			}
+			if (k <= j)
+				right = j;
+			else if (k >= i)
+				left = i;
+			else
+				break;
+		}
+	}
+
+	private void swap(int i, int j) {
+		int ref = refs[i];
+		refs[i] = refs[j];
+		refs[j] = ref;
+		float f = lats[i];
+		lats[i] = lats[j];
+		lats[j] = f;
+		f = lons[i];
+		lons[i] = lons[j];
+		lons[j] = f;
+	}
+
+	private void search(int from, int to, boolean splitAtLat, float lat,
+			float lon, MapWayFilter filter, Candidates candidates) {
+		if (to - from <= LEAF_SIZE) {
+			for (int i = from; i < to; i++)
+				check(i, lat, lon, filter, candidates);
+		} else {
+			int median = (from + to) >>> 1;
+			check(median, lat, lon, filter, candidates);
+			float diff = splitAtLat ? lat - lats[median] : lon - lons[median];
+			if (diff < 0) {
+				search(from, median, !splitAtLat, lat, lon, filter, candidates);
+				if (getLowerBoundKM(diff, splitAtLat, lat) <= candidates
+						.getMaxDistKM())
+					search(median + 1, to, !splitAtLat, lat, lon, filter,
+							candidates);
+			} else {
+				search(median + 1, to, !splitAtLat, lat, lon, filter,
+						candidates);
+				if (getLowerBoundKM(diff, splitAtLat, lat) <= candidates
+						.getMaxDistKM())
+					search(from, median, !splitAtLat, lat, lon, filter,
+							candidates);
+			}
+		}
+	}
+
+	private void check(int i, float lat, float lon, MapWayFilter filter,
+			Candidates candidates) {
+		double dist = Position.getDistKM(lat, lon, lats[i], lons[i]);
+		if (dist < candidates.getMaxDistKM()) {
+			MapNode node = wayNodes.get(refs[i]);
+			if (isAccepted(node, filter))
+				candidates.add(node, dist);
+		}
+	}
+
+	private boolean isAccepted(MapNode node, MapWayFilter filter) {
+		if (filter == null)
+			return true;
+		for (WayRef ref : node.getWayRefs())
+			if (filter.isAccepted(ref.getWay()))
+				return true;
+		return false;
+	}
+
+	/**
+	 * Returns a lower bound for the distance between the query position and
+	 * any position on the other side of the splitting latitude circle or
+	 * meridian. The shortest way to a latitude circle follows the meridian;
+	 * the distance to a meridian is the distance to its great circle.
+	 */
+	private double getLowerBoundKM(float diff, boolean splitAtLat, float lat) {
+		double dRad = Math.toRadians(Math.abs(diff));
+		if (splitAtLat)
+			return Position.EARTH_RADIUS * dRad;
+		if (dRad >= Math.PI / 2)
+			return 0.0;
+		return Position.EARTH_RADIUS
+				* Math.asin(Math.sin(dRad) * Math.cos(Math.toRadians(lat)));
+	}
+
+	/** Bounded list of the best candidates found so far. */
+	private static class Candidates {
+		private final MapNode[] nodes;
+		private final double[] dists;
+		private int size;
+
+		Candidates(int k) {
+			nodes = new MapNode[k];
+			dists = new double[k];
+		}
+
+		double getMaxDistKM() {
+			return size < nodes.length ? Double.MAX_VALUE : dists[size - 1];
+		}
+
+		/** Inserts by ascending distance, dropping the worst if full. */
+		void add(MapNode node, double dist) {
+			int i = size < nodes.length ? size++ : size - 1;
+			while (i > 0 && dists[i - 1] > dist) {
+				nodes[i] = nodes[i - 1];
+				dists[i] = dists[i - 1];
+				i--;
+			}
+			nodes[i] = node;
+			dists[i] = dist;
+		}
+
+		List<MapNode> toList() {
+			List<MapNode> result = new ArrayList<MapNode>(size);
+			for (int i = 0; i < size; i++)
+				result.add(nodes[i]);
+			return result;
+		}
+	}
+}
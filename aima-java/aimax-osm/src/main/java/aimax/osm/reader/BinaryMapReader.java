@@ -0,0 +1,143 @@
+package aimax.osm.reader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import aimax.osm.data.BoundingBox;
+import aimax.osm.data.EntityClassifier;
+import aimax.osm.data.MapBuilder;
+import aimax.osm.data.MapBuilderProxy;
+import aimax.osm.data.compact.BinaryMapFormat;
+
+/**
+ * Reads preprocessed maps (see {@link BinaryMapFormat}), which have been
+ * written by a {@link aimax.osm.writer.BinaryMapWriter}. Files are
+ * memory-mapped. If the builder creates a
+ * {@link aimax.osm.data.compact.CompactMap}, the map works directly on the
+ * mapped file content and is ready for use almost immediately. Other builders
+ * are filled entity by entity, which is still much faster than parsing XML.
+ *
+ * @author agent
+ *
+ */
+public class BinaryMapReader implements MapReader {
+
+	protected static Logger LOG = Logger.getLogger("aimax.osm");
+
+	BoundingBox boundingBox;
+	EntityClassifier<Boolean> attFilter;
+
+	/**
+	 * Sets a bounding box for the next read action. Map nodes which are not
+	 * inside will be ignored. Filtered maps are built entity by entity, even
+	 * if the builder creates a compact map.
+	 */
+	public void setFilter(BoundingBox bb) {
+		boundingBox = bb;
+		attFilter = null;
+	}
+
+	/**
+	 * Sets an attribute filter for the next read action. Map entities for
+	 * which the classifier returns null will be ignored. Filtered maps are
+	 * built entity by entity, even if the builder creates a compact map.
+	 */
+	public void setFilter(EntityClassifier<Boolean> attFilter) {
+		this.attFilter = attFilter;
+		boundingBox = null;
+	}
+
+	/**
+	 * Maps the file into memory and sends its content to the builder.
+	 */
+	public void readMap(File file, MapBuilder builder) {
+		RandomAccessFile raf = null;
+		try {
+			raf = new RandomAccessFile(file, "r");
+			ByteBuffer buffer = raf.getChannel().map(
+					FileChannel.MapMode.READ_ONLY, 0, raf.length());
+			readMap(buffer, builder);
+		} catch (IOException e) {
+			throw new OsmRuntimeException("Unable to map file " + file + ".",
+					e);
+		} finally {
+			boundingBox = null;
+			attFilter = null;
+			if (raf != null) {
+				try {
+					raf.close(); // the mapping remains valid
+				} catch (IOException e) {
+					LOG.log(Level.SEVERE, "Unable to close file.", e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads all data from the specified stream into a heap buffer and sends it
+	 * to the builder.
+	 */
+	public void readMap(InputStream inputStream, MapBuilder builder) {
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			byte[] chunk = new byte[65536];
+			int count;
+			while ((count = inputStream.read(chunk)) != -1)
+				bytes.write(chunk, 0, count);
+			readMap(ByteBuffer.wrap(bytes.toByteArray()), builder);
+		} catch (IOException e) {
+			throw new OsmRuntimeException("Unable to read map input stream.", e);
+		} finally {
+			boundingBox = null;
+			attFilter = null;
+			try {
+				inputStream.close();
+			} catch (IOException e) {
+				LOG.log(Level.SEVERE, "Unable to close input stream.", e);
+			}
+		}
+	}
+
+	public String[] fileFormatDescriptions() {
+		return new String[] { "Preprocessed Map (aimap)" };
+	}
+
+	public String[] fileFormatExtensions() {
+		return new String[] { "aimap" };
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	/**
+	 * Sends the buffer content to the builder, if necessary through a proxy
+	 * which applies the current filter. As in {@link FilteringOsmReader}, the
+	 * data is read a second time if filtered ways reference nodes which have
+	 * been filtered out.
+	 */
+	private void readMap(ByteBuffer buffer, MapBuilder builder) {
+		if (boundingBox == null && attFilter == null) {
+			BinaryMapFormat.read(buffer, builder);
+			return;
+		}
+		MapBuilderProxy proxy;
+		if (boundingBox != null)
+			proxy = new FilteringOsmReader.BBBuilderProxy(builder, boundingBox);
+		else
+			proxy = new FilteringOsmReader.FilteringBuilderProxy(builder,
+					attFilter);
+		BinaryMapFormat.read(buffer, proxy);
+		if (proxy.nodeRefsWithoutDefsAdded()) {
+			proxy.incrementCounter();
+			BinaryMapFormat.read(buffer, proxy);
+		}
+	}
+}
@@ -17,7 +17,7 @@ import java.lang.reflect.InvocationTargetException;
  */
 public class Bz2OsmReader extends FilteringOsmReader {
 
-	private Class<?> compressorClass;
+	protected Class<?> compressorClass;
 	
 	/**
 	 * Tries to find the <code>BZip2CompressorInputStream</code> class using
@@ -72,7 +72,7 @@ public class FilteringOsmReader extends OsmReader {
 	// inner classes
 
 	/** Builder proxy used for bounding box filtering. */
-	private static class BBBuilderProxy extends MapBuilderProxy {
+	static class BBBuilderProxy extends MapBuilderProxy {
 		BoundingBox bb;
 
 		protected BBBuilderProxy(MapBuilder builder, BoundingBox bb) {
@@ -110,7 +110,7 @@ public class FilteringOsmReader extends OsmReader {
 	}
 
 	/** Builder proxy used for attribute filtering. */
-	private static class FilteringBuilderProxy extends
+	static class FilteringBuilderProxy extends
 			aimax.osm.data.MapBuilderProxy {
 		EntityClassifier<Boolean> attFilter;
 
@@ -0,0 +1,85 @@
+package aimax.osm.reader;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import aimax.osm.data.BoundingBox;
+import aimax.osm.data.EntityClassifier;
+import aimax.osm.data.MapBuilder;
+
+/**
+ * Combines several map readers. Files are read by the first reader which
+ * supports the file name extension, streams by the first reader. Filters are
+ * passed to the reader which reads the next file.
+ *
+ * @author agent
+ *
+ */
+public class MultiFormatMapReader implements MapReader {
+
+	private List<MapReader> readers;
+	private BoundingBox boundingBox;
+	private EntityClassifier<Boolean> attFilter;
+
+	public MultiFormatMapReader(MapReader... readers) {
+		this.readers = Arrays.asList(readers);
+	}
+
+	public void setFilter(BoundingBox bb) {
+		boundingBox = bb;
+		attFilter = null;
+	}
+
+	public void setFilter(EntityClassifier<Boolean> attFilter) {
+		this.attFilter = attFilter;
+		boundingBox = null;
+	}
+
+	public void readMap(File file, MapBuilder builder) {
+		MapReader reader = getReader(file);
+		try {
+			if (boundingBox != null)
+				reader.setFilter(boundingBox);
+			else if (attFilter != null)
+				reader.setFilter(attFilter);
+			reader.readMap(file, builder);
+		} finally {
+			boundingBox = null;
+			attFilter = null;
+		}
+	}
+
+	public void readMap(InputStream inputStream, MapBuilder builder) {
+		readers.get(0).readMap(inputStream, builder);
+	}
+
+	public String[] fileFormatDescriptions() {
+		List<String> result = new ArrayList<String>();
+		for (MapReader reader : readers)
+			result.addAll(Arrays.asList(reader.fileFormatDescriptions()));
+		return result.toArray(new String[result.size()]);
+	}
+
+	public String[] fileFormatExtensions() {
+		List<String> result = new ArrayList<String>();
+		for (MapReader reader : readers)
+			result.addAll(Arrays.asList(reader.fileFormatExtensions()));
+		return result.toArray(new String[result.size()]);
+	}
+
+	/**
+	 * Returns the first reader which supports the extension of the file name,
+	 * or the first reader if no reader supports it.
+	 */
+	public MapReader getReader(File file) {
+		String name = file.getName().toLowerCase();
+		for (MapReader reader : readers)
+			for (String ext : reader.fileFormatExtensions())
+				if (name.endsWith("." + ext))
+					return reader;
+		return readers.get(0);
+	}
+}
@@ -0,0 +1,276 @@
+package aimax.osm.reader;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Decompresses bzip2 data with several threads. Files which were compressed
+ * by parallel bzip2 implementations (e.g. pbzip2) consist of many independent
+ * bzip2 streams. A splitter thread reads the compressed input and cuts it at
+ * stream headers, the segments are decompressed by a thread pool, and this
+ * stream delivers the results in their original order. The number of
+ * segments in progress is bounded, which limits memory consumption.
+ *
+ * <p>
+ * If no further stream header is found within {@link #MAX_SEGMENT_SIZE}
+ * bytes, or if the input consists of a single stream, the rest of the data is
+ * decompressed sequentially by a single decompressor, as done by the
+ * {@link Bz2OsmReader}.
+ * </p>
+ *
+ * @author agent
+ *
+ */
+public class ParallelBz2InputStream extends InputStream {
+	/** Compressed segments larger than this are decompressed sequentially. */
+	public static final int MAX_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+	/** "BZh" followed by block size digit and block header magic. */
+	private static final byte[] HEADER_START = { 'B', 'Z', 'h' };
+	private static final byte[] BLOCK_MAGIC = { 0x31, 0x41, 0x59, 0x26, 0x53,
+			0x59 };
+	private static final int HEADER_LENGTH = 10;
+	private static final Segment END = new Segment();
+
+	private final InputStream compressed;
+	private final Constructor<?> decompressor;
+	private final ExecutorService executor;
+	private final BlockingQueue<Segment> segments;
+	private final Thread splitter;
+
+	private byte[] current = new byte[0];
+	private int currentPos;
+	private InputStream currentStream;
+	private boolean eof;
+
+	/**
+	 * Starts the decompression.
+	 *
+	 * @param compressed
+	 *            bzip2 compressed data
+	 * @param decompressor
+	 *            constructor of a decompressing input stream class with an
+	 *            input stream as only parameter
+	 * @param threads
+	 *            number of decompression threads
+	 */
+	public ParallelBz2InputStream(InputStream compressed,
+			Constructor<?> decompressor, int threads) {
+		this.compressed = compressed;
+		this.decompressor = decompressor;
+		threads = Math.max(1, threads);
+		executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread result = new Thread(r, "bz2-decompressor");
+				result.setDaemon(true);
+				return result;
+			}
+		});
+		segments = new ArrayBlockingQueue<Segment>(2 * threads);
+		splitter = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				split();
+			}
+		}, "bz2-splitter");
+		splitter.setDaemon(true);
+		splitter.start();
+	}
+
+	@Override
+	public int read() throws IOException {
+		byte[] b = new byte[1];
+		int count;
+		while ((count = read(b, 0, 1)) == 0)
+			;
+		return count == -1 ? -1 : b[0] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0)
+			return 0;
+		while (!eof) {
+			if (currentStream != null) {
+				int count = currentStream.read(b, off, len);
+				if (count != -1)
+					return count;
+				currentStream = null;
+			} else if (currentPos < current.length) {
+				int count = Math.min(len, current.length - currentPos);
+				System.arraycopy(current, currentPos, b, off, count);
+				currentPos += count;
+				return count;
+			} else {
+				nextSegment();
+			}
+		}
+		return -1;
+	}
+
+	/** Stops all threads and closes the compressed input. */
+	@Override
+	public void close() throws IOException {
+		eof = true;
+		splitter.interrupt();
+		executor.shutdownNow();
+		compressed.close();
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	private void nextSegment() throws IOException {
+		Segment segment;
+		try {
+			segment = segments.take();
+		} catch (InterruptedException e) {
+			throw new IOException("Decompression interrupted.");
+		}
+		if (segment == END) {
+			eof = true;
+			executor.shutdown();
+		} else if (segment.failure != null) {
+			throw segment.failure;
+		} else if (segment.stream != null) {
+			currentStream = segment.stream;
+		} else {
+			try {
+				current = segment.data.get();
+				currentPos = 0;
+			} catch (InterruptedException e) {
+				throw new IOException("Decompression interrupted.");
+			} catch (ExecutionException e) {
+				IOException ioe = new IOException("Decompression failed.");
+				ioe.initCause(e.getCause());
+				throw ioe;
+			}
+		}
+	}
+
+	/** Cuts the compressed input at stream headers (splitter thread). */
+	private void split() {
+		try {
+			byte[] buf = new byte[1024 * 1024];
+			int len = 0;
+			int scanFrom = 1;
+			int count;
+			boolean multiStream = false;
+			while ((count = compressed.read(buf, len, buf.length - len)) != -1) {
+				len += count;
+				int p;
+				while ((p = findHeader(buf, scanFrom, len)) != -1) {
+					segments.put(submit(Arrays.copyOf(buf, p)));
+					System.arraycopy(buf, p, buf, 0, len - p);
+					len -= p;
+					scanFrom = 1;
+					multiStream = true;
+				}
+				scanFrom = Math.max(1, len - HEADER_LENGTH + 1);
+				if (len >= MAX_SEGMENT_SIZE) {
+					Segment rest = new Segment();
+					rest.stream = createDecompressor(new SequenceInputStream(
+							new ByteArrayInputStream(buf, 0, len), compressed));
+					segments.put(rest);
+					len = 0;
+					break;
+				}
+				if (len == buf.length)
+					buf = Arrays.copyOf(buf, 2 * buf.length);
+			}
+			if (len > 0) {
+				if (multiStream) {
+					segments.put(submit(Arrays.copyOf(buf, len)));
+				} else {
+					// a single stream gains nothing from the thread pool
+					Segment rest = new Segment();
+					rest.stream = createDecompressor(new ByteArrayInputStream(
+							buf, 0, len));
+					segments.put(rest);
+				}
+			}
+			segments.put(END);
+		} catch (InterruptedException e) {
+			// closed by the consumer
+		} catch (IOException e) {
+			Segment failed = new Segment();
+			failed.failure = e;
+			try {
+				segments.put(failed);
+			} catch (InterruptedException e1) {
+				// closed by the consumer
+			}
+		}
+	}
+
+	/** Returns the position of the first stream header or -1. */
+	private static int findHeader(byte[] buf, int from, int to) {
+		for (int p = from; p + HEADER_LENGTH <= to; p++) {
+			if (buf[p] == HEADER_START[0] && buf[p + 1] == HEADER_START[1]
+					&& buf[p + 2] == HEADER_START[2] && buf[p + 3] >= '1'
+					&& buf[p + 3] <= '9') {
+				int i = 0;
+				while (i < BLOCK_MAGIC.length && buf[p + 4 + i] == BLOCK_MAGIC[i])
+					i++;
+				if (i == BLOCK_MAGIC.length)
+					return p;
+			}
+		}
+		return -1;
+	}
+
+	private Segment submit(final byte[] data) {
+		Segment result = new Segment();
+		result.data = executor.submit(new Callable<byte[]>() {
+			@Override
+			public byte[] call() throws Exception {
+				InputStream is = createDecompressor(new ByteArrayInputStream(
+						data));
+				ByteArrayOutputStream result = new ByteArrayOutputStream(
+						4 * data.length);
+				byte[] buf = new byte[65536];
+				int count;
+				while ((count = is.read(buf)) != -1)
+					result.write(buf, 0, count);
+				is.close();
+				return result.toByteArray();
+			}
+		});
+		return result;
+	}
+
+	private InputStream createDecompressor(InputStream is) throws IOException {
+		try {
+			return (InputStream) decompressor.newInstance(is);
+		} catch (Exception e) {
+			IOException ioe = new IOException("Unable to create decompressor.");
+			ioe.initCause(e);
+			throw ioe;
+		}
+	}
+
+	/**
+	 * Part of the input: the future result of a decompression task, a stream
+	 * for sequential decompression, or a failure.
+	 */
+	private static class Segment {
+		Future<byte[]> data;
+		InputStream stream;
+		IOException failure;
+	}
+}
@@ -0,0 +1,304 @@
+package aimax.osm.reader;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+import javax.xml.parsers.SAXParser;
+
+import org.xml.sax.SAXException;
+
+import aimax.osm.data.BoundingBox;
+import aimax.osm.data.EntityClassifier;
+import aimax.osm.data.MapBuilder;
+import aimax.osm.data.OsmMap;
+import aimax.osm.data.entities.EntityAttribute;
+import aimax.osm.data.entities.EntityViewInfo;
+
+/**
+ * Reads OSM XML files in a pipeline of threads. Decompression of bz2 files
+ * (see {@link ParallelBz2InputStream}), XML parsing, and map building run
+ * concurrently and are connected by bounded queues of entity batches. The
+ * map builder is only accessed by the calling thread. Checks for already
+ * defined nodes and ways are performed by the building stage, so the builder
+ * receives exactly the same calls as with the sequential readers. Filtering
+ * (see {@link FilteringOsmReader}) is supported as well.
+ *
+ * <p>
+ * After each parse, the throughput of the building stage is logged and can
+ * be obtained by {@link #getElementsPerSecond()}.
+ * </p>
+ *
+ * @author agent
+ *
+ */
+public class PipelinedOsmReader extends Bz2OsmReader {
+	/** Number of entities which are passed from parser to builder at once. */
+	private static final int BATCH_SIZE = 1000;
+	private static final List<Object> END = new ArrayList<Object>(0);
+
+	private int decompressionThreads;
+	private int queueCapacity = 16;
+	private long lastElementCount;
+	private long lastDurationMillis;
+
+	/** Uses one decompression thread per available processor. */
+	public PipelinedOsmReader() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	public PipelinedOsmReader(int decompressionThreads) {
+		this.decompressionThreads = decompressionThreads;
+	}
+
+	/**
+	 * Defines how many entity batches can be buffered between parser and
+	 * builder.
+	 */
+	public void setQueueCapacity(int queueCapacity) {
+		this.queueCapacity = queueCapacity;
+	}
+
+	/** Returns the number of nodes and ways read by the last parse. */
+	public long getLastElementCount() {
+		return lastElementCount;
+	}
+
+	/** Returns the throughput of the last parse in elements per second. */
+	public double getElementsPerSecond() {
+		return lastDurationMillis > 0 ? 1000.0 * lastElementCount
+				/ lastDurationMillis : 0;
+	}
+
+	/**
+	 * Creates a stream which decompresses bz2 files with several threads.
+	 */
+	@Override
+	protected InputStream createFileStream(File file) throws Exception {
+		if (compressorClass != null && file.getName().endsWith(".bz2")) {
+			Constructor<?> c = compressorClass
+					.getConstructor(new Class<?>[] { InputStream.class });
+			return new ParallelBz2InputStream(new BufferedInputStream(
+					new FileInputStream(file)), c, decompressionThreads);
+		}
+		return super.createFileStream(file);
+	}
+
+	/**
+	 * Parses the stream in a separate thread and passes the entities to the
+	 * consumer in the calling thread.
+	 */
+	@Override
+	protected void parseMap(final InputStream inputStream,
+			final MapBuilder consumer) throws SAXException, IOException {
+		final BlockingQueue<List<Object>> queue = new ArrayBlockingQueue<List<Object>>(
+				queueCapacity);
+		final Throwable[] failure = new Throwable[1];
+		final AtomicBoolean stopped = new AtomicBoolean();
+		final SAXParser parser = createParser();
+		Thread parserThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				RecordingBuilder recorder = new RecordingBuilder(queue);
+				try {
+					parser.parse(inputStream, new OsmHandler(recorder));
+					recorder.flush();
+				} catch (Throwable t) {
+					failure[0] = t;
+				} finally {
+					try {
+						inputStream.close();
+					} catch (IOException e) {
+						LOG.log(Level.SEVERE, "Unable to close input stream.", e);
+					}
+					try {
+						while (!stopped.get()
+								&& !queue.offer(END, 100, TimeUnit.MILLISECONDS))
+							;
+					} catch (InterruptedException e) {
+						// builder stage has been terminated
+					}
+				}
+			}
+		}, "osm-parser");
+		parserThread.setDaemon(true);
+
+		long startTime = System.currentTimeMillis();
+		long elementCount = 0;
+		parserThread.start();
+		try {
+			List<Object> batch;
+			while ((batch = queue.take()) != END)
+				elementCount += replay(batch, consumer);
+			parserThread.join();
+		} catch (InterruptedException e) {
+			throw new OsmRuntimeException("Map reading interrupted.", e);
+		} finally {
+			stopped.set(true);
+			if (parserThread.isAlive()) {
+				// unblocks the parser if it waits for free queue capacity
+				queue.clear();
+				parserThread.interrupt();
+			}
+		}
+		if (failure[0] instanceof SAXException)
+			throw (SAXException) failure[0];
+		else if (failure[0] instanceof IOException)
+			throw (IOException) failure[0];
+		else if (failure[0] instanceof RuntimeException)
+			throw (RuntimeException) failure[0];
+		else if (failure[0] != null)
+			throw new OsmRuntimeException("Map reading failed.", failure[0]);
+
+		lastElementCount = elementCount;
+		lastDurationMillis = System.currentTimeMillis() - startTime;
+		LOG.info("Read " + elementCount + " elements in " + lastDurationMillis
+				+ " ms (" + Math.round(getElementsPerSecond())
+				+ " elements per second).");
+	}
+
+	/**
+	 * Passes the recorded entities to the builder and returns the number of
+	 * nodes and ways.
+	 */
+	private long replay(List<Object> batch, MapBuilder consumer) {
+		long result = 0;
+		for (Object rec : batch) {
+			if (rec instanceof NodeRecord) {
+				NodeRecord node = (NodeRecord) rec;
+				if (!consumer.isNodeDefined(node.id, null))
+					consumer.addNode(node.id, node.name, node.atts, node.lat,
+							node.lon);
+				result++;
+			} else if (rec instanceof WayRecord) {
+				WayRecord way = (WayRecord) rec;
+				if (!consumer.isWayDefined(way.id))
+					consumer.addWay(way.id, way.name, way.atts, way.wayNodeIds);
+				result++;
+			} else if (rec instanceof BoundingBox) {
+				consumer.setBoundingBox((BoundingBox) rec);
+			}
+		}
+		return result;
+	}
+
+	// ////////////////////////////////////////////////////////////////////
+	// inner classes
+
+	private static class NodeRecord {
+		long id;
+		String name;
+		List<EntityAttribute> atts;
+		float lat;
+		float lon;
+	}
+
+	private static class WayRecord {
+		long id;
+		String name;
+		List<EntityAttribute> atts;
+		List<Long> wayNodeIds;
+	}
+
+	/**
+	 * Collects the entities reported by the element processors in batches.
+	 * Queries are always answered negatively, the building stage performs the
+	 * corresponding checks.
+	 */
+	private static class RecordingBuilder implements MapBuilder {
+		private BlockingQueue<List<Object>> queue;
+		private List<Object> batch = new ArrayList<Object>(BATCH_SIZE);
+
+		RecordingBuilder(BlockingQueue<List<Object>> queue) {
+			this.queue = queue;
+		}
+
+		@Override
+		public void setEntityClassifier(
+				EntityClassifier<EntityViewInfo> classifier) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void setBoundingBox(BoundingBox bb) {
+			add(bb);
+		}
+
+		@Override
+		public boolean isNodeDefined(long id, BoundingBox bb) {
+			return false;
+		}
+
+		@Override
+		public boolean isNodeReferenced(long id) {
+			return false;
+		}
+
+		@Override
+		public void addNode(long id, String name, List<EntityAttribute> atts,
+				float lat, float lon) {
+			NodeRecord rec = new NodeRecord();
+			rec.id = id;
+			rec.name = name;
+			rec.atts = new ArrayList<EntityAttribute>(atts);
+			rec.lat = lat;
+			rec.lon = lon;
+			add(rec);
+		}
+
+		@Override
+		public boolean isWayDefined(long id) {
+			return false;
+		}
+
+		@Override
+		public void addWay(long id, String name, List<EntityAttribute> atts,
+				List<Long> wayNodeIds) {
+			WayRecord rec = new WayRecord();
+			rec.id = id;
+			rec.name = name;
+			rec.atts = new ArrayList<EntityAttribute>(atts);
+			rec.wayNodeIds = new ArrayList<Long>(wayNodeIds);
+			add(rec);
+		}
+
+		@Override
+		public boolean nodeRefsWithoutDefsAdded() {
+			return false;
+		}
+
+		@Override
+		public OsmMap buildMap() {
+			throw new UnsupportedOperationException();
+		}
+
+		void flush() throws InterruptedException {
+			if (!batch.isEmpty()) {
+				queue.put(batch);
+				batch = new ArrayList<Object>(BATCH_SIZE);
+			}
+		}
+
+		private void add(Object rec) {
+			batch.add(rec);
+			if (batch.size() == BATCH_SIZE) {
+				try {
+					flush();
+				} catch (InterruptedException e) {
+					throw new OsmRuntimeException("Map reading interrupted.",
+							e);
+				}
+			}
+		}
+	}
+}
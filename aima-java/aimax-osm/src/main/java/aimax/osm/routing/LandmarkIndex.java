@@ -0,0 +1,341 @@
+package aimax.osm.routing;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import aimax.osm.data.BoundingBox;
+import aimax.osm.data.MapWayFilter;
+import aimax.osm.data.OsmMap;
+import aimax.osm.data.Position;
+import aimax.osm.data.entities.MapNode;
+import aimax.osm.data.entities.MapWay;
+
+/**
+ * Preprocessed data for A* search with landmarks and the triangle inequality
+ * (ALT). For a small set of landmark nodes, the shortest path distances from
+ * each landmark to every way node and from every way node to each landmark
+ * are computed once. By the triangle inequality, for every landmark
+ * <code>L</code>, the distance from <code>v</code> to <code>t</code> is at
+ * least <code>d(L,t) - d(L,v)</code> and <code>d(v,L) - d(t,L)</code>. On road
+ * networks these bounds are much tighter than the straight-line distance, so
+ * A* settles far fewer nodes.
+ *
+ * <p>
+ * Landmarks are selected by farthest-point sampling: each new landmark is the
+ * node with the largest road distance to all landmarks selected before, which
+ * places them at the periphery of the map. The index depends on the way
+ * filter and on the treatment of one-ways and must be recreated if the map
+ * changes.
+ * </p>
+ *
+ * @author agent
+ *
+ */
+public class LandmarkIndex {
+	/**
+	 * Distances are stored as floats and step costs are summed up as floats.
+	 * Bounds are reduced by this factor to compensate rounding errors.
+	 */
+	private static final double ROUNDING_TOLERANCE = 1 - 1e-5;
+	private static final float UNREACHABLE = Float.POSITIVE_INFINITY;
+
+	private final HashMap<MapNode, Integer> nodeIndices;
+	private final MapNode[] nodes;
+	/** Forward graph in compressed row format. */
+	private final int[] edgeStart;
+	private final int[] edgeTarget;
+	private final float[] edgeDist;
+	/** Reverse graph in compressed row format. */
+	private final int[] revEdgeStart;
+	private final int[] revEdgeTarget;
+	private final float[] revEdgeDist;
+
+	private final int[] landmarks;
+	/** Distances from the landmarks to each node [landmark][node]. */
+	private final float[][] distFrom;
+	/** Distances from each node to the landmarks [landmark][node]. */
+	private final float[][] distTo;
+
+	/**
+	 * Creates the index for all ways of the map which are accepted by the
+	 * filter.
+	 *
+	 * @param filter
+	 *            possibly null
+	 * @param landmarkCount
+	 *            number of landmarks; 8 to 16 is a good choice for city maps.
+	 */
+	public LandmarkIndex(OsmMap map, MapWayFilter filter,
+			boolean ignoreOneways, int landmarkCount) {
+		nodeIndices = new HashMap<MapNode, Integer>();
+		EdgeList edges = new EdgeList();
+		for (MapWay way : map.getWays(new BoundingBox(-90, -180, 90, 180))) {
+			if (filter != null && !filter.isAccepted(way))
+				continue;
+			boolean bothDirs = ignoreOneways || !way.isOneway();
+			List<MapNode> wayNodes = way.getNodes();
+			int prev = getOrCreateIndex(wayNodes.get(0));
+			Position prevPos = new Position(wayNodes.get(0));
+			for (int i = 1; i < wayNodes.size(); i++) {
+				MapNode node = wayNodes.get(i);
+				int curr = getOrCreateIndex(node);
+				float dist = (float) prevPos.getDistKM(node);
+				edges.add(prev, curr, dist);
+				if (bothDirs)
+					edges.add(curr, prev, dist);
+				prev = curr;
+				prevPos = new Position(node);
+			}
+		}
+		int n = nodeIndices.size();
+		nodes = new MapNode[n];
+		for (Map.Entry<MapNode, Integer> e : nodeIndices.entrySet())
+			nodes[e.getValue()] = e.getKey();
+
+		edgeStart = new int[n + 1];
+		edgeTarget = new int[edges.size];
+		edgeDist = new float[edges.size];
+		edges.toCsr(n, false, edgeStart, edgeTarget, edgeDist);
+		revEdgeStart = new int[n + 1];
+		revEdgeTarget = new int[edges.size];
+		revEdgeDist = new float[edges.size];
+		edges.toCsr(n, true, revEdgeStart, revEdgeTarget, revEdgeDist);
+
+		landmarkCount = Math.min(landmarkCount, n);
+		landmarks = new int[landmarkCount];
+		distFrom = new float[landmarkCount][];
+		distTo = new float[landmarkCount][];
+		if (landmarkCount > 0)
+			selectLandmarks();
+	}
+
+	/** Returns the number of nodes in the routing graph. */
+	public int getNodeCount() {
+		return nodes.length;
+	}
+
+	/** Returns the number of landmarks. */
+	public int getLandmarkCount() {
+		return landmarks.length;
+	}
+
+	/** Returns the selected landmark nodes. */
+	public MapNode[] getLandmarks() {
+		MapNode[] result = new MapNode[landmarks.length];
+		for (int i = 0; i < landmarks.length; i++)
+			result[i] = nodes[landmarks[i]];
+		return result;
+	}
+
+	/**
+	 * Returns the index of the node in the routing graph, or -1 if the node is
+	 * not part of an accepted way.
+	 */
+	public int getIndex(MapNode node) {
+		Integer result = nodeIndices.get(node);
+		return result != null ? result : -1;
+	}
+
+	/**
+	 * Returns a lower bound for the road distance in KM between the nodes with
+	 * the specified indices. Never overestimates, but returns 0 if no bound is
+	 * known.
+	 */
+	public double getLowerBoundKM(int from, int to) {
+		double result = 0;
+		for (int l = 0; l < landmarks.length; l++) {
+			float[] df = distFrom[l];
+			float[] dt = distTo[l];
+			// d(L,to) <= d(L,from) + d(from,to)
+			if (df[from] != UNREACHABLE && df[to] != UNREACHABLE)
+				result = Math.max(result, df[to] - df[from]);
+			// d(from,L) <= d(from,to) + d(to,L)
+			if (dt[from] != UNREACHABLE && dt[to] != UNREACHABLE)
+				result = Math.max(result, dt[from] - dt[to]);
+		}
+		return result * ROUNDING_TOLERANCE;
+	}
+
+	//
+	// PRIVATE METHODS
+	//
+
+	private int getOrCreateIndex(MapNode node) {
+		Integer result = nodeIndices.get(node);
+		if (result == null) {
+			result = nodeIndices.size();
+			nodeIndices.put(node, result);
+		}
+		return result;
+	}
+
+	/** Applies farthest-point sampling, starting with an arbitrary node. */
+	private void selectLandmarks() {
+		float[] minDist = new float[nodes.length];
+		float[] start = dijkstra(0, false);
+		int next = argMax(start);
+		for (int l = 0; l < landmarks.length; l++) {
+			landmarks[l] = next;
+			distFrom[l] = dijkstra(next, false);
+			distTo[l] = dijkstra(next, true);
+			for (int i = 0; i < nodes.length; i++) {
+				float d = Math.min(distFrom[l][i], distTo[l][i]);
+				minDist[i] = (l == 0) ? d : Math.min(minDist[i], d);
+			}
+			next = argMax(minDist);
+		}
+	}
+
+	/** Returns the index of the largest finite value. */
+	private int argMax(float[] values) {
+		int result = 0;
+		float max = -1f;
+		for (int i = 0; i < values.length; i++)
+			if (values[i] != UNREACHABLE && values[i] > max) {
+				max = values[i];
+				result = i;
+			}
+		return result;
+	}
+
+	/**
+	 * Computes the shortest path distances from the source to all nodes, or
+	 * from all nodes to the source if <code>reverse</code> is true.
+	 */
+	private float[] dijkstra(int source, boolean reverse) {
+		int[] start = reverse ? revEdgeStart : edgeStart;
+		int[] target = reverse ? revEdgeTarget : edgeTarget;
+		float[] length = reverse ? revEdgeDist : edgeDist;
+		double[] dist = new double[nodes.length];
+		Arrays.fill(dist, Double.POSITIVE_INFINITY);
+		NodeHeap heap = new NodeHeap(nodes.length);
+		dist[source] = 0;
+		heap.insertOrDecrease(source, 0);
+		while (!heap.isEmpty()) {
+			int u = heap.removeMin();
+			for (int e = start[u]; e < start[u + 1]; e++) {
+				int v = target[e];
+				double d = dist[u] + length[e];
+				if (d < dist[v]) {
+					dist[v] = d;
+					heap.insertOrDecrease(v, d);
+				}
+			}
+		}
+		float[] result = new float[nodes.length];
+		for (int i = 0; i < result.length; i++)
+			result[i] = (float) dist[i];
+		return result;
+	}
+
+	/** Growable list of weighted edges. */
+	private static class EdgeList {
+		int[] from = new int[1024];
+		int[] to = new int[1024];
+		float[] dist = new float[1024];
+		int size;
+
+		void add(int f, int t, float d) {
+			if (size == from.length) {
+				from = Arrays.copyOf(from, 2 * size);
+				to = Arrays.copyOf(to, 2 * size);
+				dist = Arrays.copyOf(dist, 2 * size);
+			}
+			from[size] = f;
+			to[size] = t;
+			dist[size++] = d;
+		}
+
+		/** Sorts the edges by source (or target if reverse) by counting. */
+		void toCsr(int n, boolean reverse, int[] start, int[] target,
+				float[] length) {
+			int[] src = reverse ? to : from;
+			int[] dst = reverse ? from : to;
+			for (int i = 0; i < size; i++)
+				start[src[i] + 1]++;
+			for (int i = 0; i < n; i++)
+				start[i + 1] += start[i];
+			int[] fill = Arrays.copyOf(start, n);
+			for (int i = 0; i < size; i++) {
+				int pos = fill[src[i]]++;
+				target[pos] = dst[i];
+				length[pos] = dist[i];
+			}
+		}
+	}
+
+	/** Binary min-heap of node indices with decrease-key support. */
+	private static class NodeHeap {
+		private final int[] heap;
+		private final int[] pos;
+		private final double[] keys;
+		private int size;
+
+		NodeHeap(int capacity) {
+			heap = new int[capacity];
+			pos = new int[capacity];
+			keys = new double[capacity];
+			Arrays.fill(pos, -1);
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+
+		void insertOrDecrease(int node, double key) {
+			keys[node] = key;
+			int i = pos[node];
+			if (i == -1) {
+				i = size++;
+				heap[i] = node;
+				pos[node] = i;
+			}
+			siftUp(i);
+		}
+
+		int removeMin() {
+			int result = heap[0];
+			pos[result] = -2; // settled
+			size--;
+			if (size > 0) {
+				heap[0] = heap[size];
+				pos[heap[0]] = 0;
+				siftDown(0);
+			}
+			return result;
+		}
+
+		private void siftUp(int i) {
+			int node = heap[i];
+			while (i > 0) {
+				int parent = (i - 1) >>> 1;
+				if (keys[heap[parent]] <= keys[node])
+					break;
+				heap[i] = heap[parent];
+				pos[heap[i]] = i;
+				i = parent;
+			}
+			heap[i] = node;
+			pos[node] = i;
+		}
+
+		private void siftDown(int i) {
+			int node = heap[i];
+			int half = size >>> 1;
+			while (i < half) {
+				int child = 2 * i + 1;
+				if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]])
+					child++;
+				if (keys[node] <= keys[heap[child]])
+					break;
+				heap[i] = heap[child];
+				pos[heap[i]] = i;
+				i = child;
+			}
+			heap[i] = node;
+			pos[node] = i;
+		}
+	}
+}
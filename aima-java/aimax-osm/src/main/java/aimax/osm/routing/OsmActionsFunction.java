@@ -48,7 +48,7 @@ public class OsmActionsFunction implements ActionsFunction {
 				MapNode to;
 				for (int idx = nodeIdx + 1; idx < wayNodes.size(); idx++) {
 					to = wayNodes.get(idx);
-					if (goal == null || goal == to
+					if (goal == null || goal.equals(to)
 							|| to.getWayRefs().size() > 1
 							|| idx == wayNodes.size() - 1) {
 						result.add(new OsmMoveAction(way, from, to));
@@ -58,7 +58,7 @@ public class OsmActionsFunction implements ActionsFunction {
 				if (!way.isOneway() || ignoreOneWays) {
 					for (int idx = nodeIdx - 1; idx >= 0; idx--) {
 						to = wayNodes.get(idx);
-						if (goal == null || goal == to
+						if (goal == null || goal.equals(to)
 								|| to.getWayRefs().size() > 1 || idx == 0) {
 							result.add(new OsmMoveAction(way, from, to));
 							break;
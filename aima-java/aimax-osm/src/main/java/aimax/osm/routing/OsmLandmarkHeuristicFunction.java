@@ -0,0 +1,48 @@
+package aimax.osm.routing;
+
+import aima.core.search.framework.HeuristicFunction;
+import aimax.osm.data.entities.MapNode;
+
+/**
+ * Implements the ALT heuristic (A*, landmarks, triangle inequality) based on
+ * a {@link LandmarkIndex}. The result is the maximum of the landmark bound and
+ * the value of a base heuristic (by default the straight-line distance), so it
+ * is never weaker than the base heuristic and admissible if the base heuristic
+ * is admissible.
+ *
+ * @author agent
+ *
+ */
+public class OsmLandmarkHeuristicFunction implements HeuristicFunction {
+	private HeuristicFunction baseFunction;
+	private LandmarkIndex index;
+	private int goalIdx;
+
+	public OsmLandmarkHeuristicFunction(MapNode goalState, LandmarkIndex index) {
+		this(goalState, index, new OsmSldHeuristicFunction(goalState));
+	}
+
+	public OsmLandmarkHeuristicFunction(MapNode goalState,
+			LandmarkIndex index, HeuristicFunction baseFunction) {
+		this.baseFunction = baseFunction;
+		this.index = index;
+		goalIdx = index.getIndex(goalState);
+	}
+
+	/**
+	 * Assumes a <code>MapNode</code> as state and returns a lower bound of the
+	 * road distance to the goal in KM.
+	 */
+	@Override
+	public double h(Object s) {
+		MapNode currState = (MapNode) s;
+		double result = baseFunction.h(s);
+		if (goalIdx != -1) {
+			int currIdx = index.getIndex(currState);
+			if (currIdx != -1)
+				result = Math.max(result, index.getLowerBoundKM(currIdx,
+						goalIdx));
+		}
+		return result;
+	}
+}
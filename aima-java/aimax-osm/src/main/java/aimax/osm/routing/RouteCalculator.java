@@ -1,6 +1,7 @@
 package aimax.osm.routing;
 
 import java.util.ArrayList;
+import java.util.Hashtable;
 import java.util.List;
 
 import aima.core.agent.Action;
@@ -10,6 +11,8 @@ import aima.core.search.framework.Problem;
 import aima.core.search.framework.Search;
 import aima.core.search.informed.AStarSearch;
 import aima.core.util.CancelableThread;
+import aimax.osm.data.MapEvent;
+import aimax.osm.data.MapEventListener;
 import aimax.osm.data.OsmMap;
 import aimax.osm.data.MapWayAttFilter;
 import aimax.osm.data.MapWayFilter;
@@ -17,11 +20,70 @@ import aimax.osm.data.Position;
 import aimax.osm.data.entities.MapNode;
 
 /**
- * Implements a search engine for shortest path calculations.
+ * Implements a search engine for shortest path calculations. By default, A*
+ * search with straight-line distance heuristic is used. If a landmark count
+ * greater than zero is set, a {@link LandmarkIndex} is created for each map
+ * and way selection when needed for the first time, and the heuristic is
+ * combined with the much more informed ALT heuristic.
  * 
  * @author Ruediger Lunde
  */
 public class RouteCalculator {
+	/** Number of landmarks for the ALT heuristic, zero disables it. */
+	private int landmarkCount;
+	/** Map for which the landmark indices were computed. */
+	private OsmMap indexedMap;
+	/** Landmark indices for the indexed map, way selections are used as keys. */
+	private Hashtable<Integer, LandmarkIndex> landmarkIndices = new Hashtable<Integer, LandmarkIndex>();
+	private MapEventListener indexInvalidator = new MapEventListener() {
+		@Override
+		public void eventHappened(MapEvent event) {
+			if (event.getType() == MapEvent.Type.MAP_NEW
+					|| event.getType() == MapEvent.Type.MAP_CLEARED)
+				landmarkIndices.clear();
+		}
+	};
+
+	/**
+	 * Enables the landmark-based query mode. Preprocessing costs two
+	 * single-source shortest path computations per landmark and way selection,
+	 * memory consumption is eight bytes per landmark and way node.
+	 * 
+	 * @param landmarkCount
+	 *            number of landmarks, zero disables the landmark mode
+	 */
+	public synchronized void setLandmarkCount(int landmarkCount) {
+		if (this.landmarkCount != landmarkCount)
+			landmarkIndices.clear();
+		this.landmarkCount = landmarkCount;
+	}
+
+	/** Returns the number of landmarks, zero if landmarks are not used. */
+	public int getLandmarkCount() {
+		return landmarkCount;
+	}
+
+	/**
+	 * Returns the landmark index for the given map and way selection. The
+	 * index is created if necessary and reused until the map changes.
+	 */
+	public synchronized LandmarkIndex getLandmarkIndex(OsmMap map,
+			int waySelection) {
+		if (map != indexedMap) {
+			if (indexedMap != null)
+				indexedMap.removeMapDataEventListener(indexInvalidator);
+			landmarkIndices.clear();
+			indexedMap = map;
+			map.addMapDataEventListener(indexInvalidator);
+		}
+		LandmarkIndex result = landmarkIndices.get(waySelection);
+		if (result == null) {
+			result = new LandmarkIndex(map, createMapWayFilter(map,
+					waySelection), waySelection == 0, landmarkCount);
+			landmarkIndices.put(waySelection, result);
+		}
+		return result;
+	}
 
 	/** Returns the names of all supported way selection options. */
 	public String[] getWaySelectionOptions() {
@@ -57,7 +119,7 @@ public class RouteCalculator {
 					&& !CancelableThread.currIsCanceled(); i++) {
 				MapNode toNode = map.getNearestWayNode(new Position(locs
 						.get(i)), wayFilter);
-				HeuristicFunction hf = createHeuristicFunction(toNode,
+				HeuristicFunction hf = createHeuristicFunction(toNode, map,
 						waySelection);
 				Problem problem = createProblem(fromNode, toNode, map,
 						wayFilter, ignoreOneways, waySelection);
@@ -92,6 +154,20 @@ public class RouteCalculator {
 			return MapWayAttFilter.createAnyWayFilter();
 	}
 
+	/**
+	 * Factory method, responsible for heuristic function creation. Delegates
+	 * to the map independent factory method and, if a landmark count is set,
+	 * combines the result with the ALT heuristic.
+	 */
+	protected HeuristicFunction createHeuristicFunction(MapNode toRNode,
+			OsmMap map, int waySelection) {
+		HeuristicFunction hf = createHeuristicFunction(toRNode, waySelection);
+		if (landmarkCount > 0)
+			hf = new OsmLandmarkHeuristicFunction(toRNode, getLandmarkIndex(
+					map, waySelection), hf);
+		return hf;
+	}
+
 	/** Factory method, responsible for heuristic function creation. */
 	protected HeuristicFunction createHeuristicFunction(MapNode toRNode,
 			int waySelection) {
@@ -21,8 +21,10 @@ import aimax.osm.data.OsmMap;
 import aimax.osm.data.Position;
 import aimax.osm.data.entities.EntityViewInfo;
 import aimax.osm.data.entities.MapNode;
+import aimax.osm.reader.BinaryMapReader;
 import aimax.osm.reader.Bz2OsmReader;
 import aimax.osm.reader.MapReader;
+import aimax.osm.reader.MultiFormatMapReader;
 import aimax.osm.viewer.MapStyleFactory;
 import aimax.osm.viewer.MapViewPane;
 import aimax.osm.viewer.MapViewPopup;
@@ -116,7 +118,8 @@ public class OsmAgentView extends AgentAppEnvironmentView {
 		JFileChooser loadFileChooser;
 
 		MapViewPopupWithLoad() {
-			mapReader = new Bz2OsmReader();
+			mapReader = new MultiFormatMapReader(new Bz2OsmReader(),
+					new BinaryMapReader());
 			loadMenuItem = new JMenuItem("Load Map");
 			loadMenuItem.addActionListener(this);
 			add(loadMenuItem, 3);
@@ -30,13 +30,17 @@ import aimax.osm.data.BoundingBox;
 import aimax.osm.data.EntityClassifier;
 import aimax.osm.data.MapBuilder;
 import aimax.osm.data.OsmMap;
+import aimax.osm.data.compact.CompactMap;
 import aimax.osm.data.entities.EntityViewInfo;
 import aimax.osm.data.entities.MapNode;
-import aimax.osm.data.impl.DefaultMap;
+import aimax.osm.reader.BinaryMapReader;
 import aimax.osm.reader.Bz2OsmReader;
 import aimax.osm.reader.MapReader;
+import aimax.osm.reader.MultiFormatMapReader;
+import aimax.osm.writer.BinaryMapWriter;
 import aimax.osm.writer.Bz2OsmWriter;
 import aimax.osm.writer.MapWriter;
+import aimax.osm.writer.MultiFormatMapWriter;
 
 /**
  * Implements a simple frame with a toolbar, a sidebar, and a map view. The
@@ -100,8 +104,10 @@ public class MapViewFrame extends JFrame implements ActionListener {
 			}
 		});
 		fileChooser = new JFileChooser();
-		setMapReader(new Bz2OsmReader());
-		setMapWriter(new Bz2OsmWriter());
+		setMapReader(new MultiFormatMapReader(new Bz2OsmReader(),
+				new BinaryMapReader()));
+		setMapWriter(new MultiFormatMapWriter(new Bz2OsmWriter(),
+				new BinaryMapWriter()));
 
 		JPanel contentPanel = new JPanel();
 		contentPanel.setLayout(new BorderLayout());
@@ -133,10 +139,12 @@ public class MapViewFrame extends JFrame implements ActionListener {
 
 	/**
 	 * Creates the map, provides it to the view, and creates a corresponding
-	 * entity classifier which is used by default when reading maps.
+	 * entity classifier which is used by default when reading maps. The map
+	 * is a {@link CompactMap}, so preprocessed maps are used directly from the
+	 * memory-mapped file.
 	 */
 	protected void initMapAndClassifier() {
-		view.setMap(new DefaultMap());
+		view.setMap(new CompactMap());
 		viewInfo = new MapStyleFactory().createDefaultClassifier();
 	}
 
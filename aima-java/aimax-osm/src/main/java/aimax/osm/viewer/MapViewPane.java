@@ -30,7 +30,7 @@ import aimax.osm.data.entities.EntityAttribute;
 import aimax.osm.data.entities.MapEntity;
 import aimax.osm.data.entities.MapNode;
 import aimax.osm.data.entities.WayRef;
-import aimax.osm.data.impl.DefaultMap;
+import aimax.osm.data.impl.AbstractOsmMap;
 
 /**
  * Provides a panel which shows map data. As model, a
@@ -343,8 +343,8 @@ public class MapViewPane extends JComponent implements MapEventListener {
 			for (MapEntity entity : map.getVisibleMarkersAndTracks(viewScale))
 				entity.accept(renderer);
 			renderer.printBufferedObjects();
-			if (renderer.isDebugModeEnabled() && map instanceof DefaultMap) {
-				List<double[]> splits = ((DefaultMap) map).getEntityTree()
+			if (renderer.isDebugModeEnabled() && map instanceof AbstractOsmMap) {
+				List<double[]> splits = ((AbstractOsmMap) map).getEntityTree()
 						.getSplitCoords();
 				g2.setColor(Color.LIGHT_GRAY);
 				g2.setStroke(new BasicStroke(1f));
@@ -0,0 +1,119 @@
+package aimax.osm.writer;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import aimax.osm.data.BoundingBox;
+import aimax.osm.data.MapBuilder;
+import aimax.osm.data.OsmMap;
+import aimax.osm.data.compact.BinaryMapFormat;
+import aimax.osm.data.compact.CompactMap;
+import aimax.osm.data.compact.CompactMapBuilder;
+import aimax.osm.data.entities.MapNode;
+import aimax.osm.data.entities.MapWay;
+import aimax.osm.reader.OsmRuntimeException;
+
+/**
+ * Writes a map to file using the preprocessed binary format (see
+ * {@link BinaryMapFormat}). Compact maps are written as they are, all other
+ * maps are converted into a compact map first. The resulting files can be
+ * loaded with a {@link aimax.osm.reader.BinaryMapReader}.
+ *
+ * @author agent
+ *
+ */
+public class BinaryMapWriter implements MapWriter {
+
+	private static Logger LOG = Logger.getLogger("aimax.osm");
+
+	/**
+	 * Writes all data from <code>map</code> which is inside the bounding box to
+	 * file.
+	 *
+	 * @param bb
+	 *            possibly null
+	 */
+	public void writeMap(File file, OsmMap map, BoundingBox bb) {
+		OutputStream os = null;
+		try {
+			os = new BufferedOutputStream(new FileOutputStream(file));
+			BinaryMapFormat.write(toCompactMap(map, bb), os);
+		} catch (IOException e) {
+			throw new OsmRuntimeException("Unable to write map to file "
+					+ file + ".", e);
+		} finally {
+			if (os != null) {
+				try {
+					os.close();
+				} catch (IOException e) {
+					LOG.log(Level.SEVERE, "Unable to close output stream.", e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * This implementation throws an <code>UnsupportedOperationException</code>
+	 * because the format is not character-based.
+	 */
+	public void writeMap(OutputStreamWriter writer, OsmMap map,
+			BoundingBox bb) {
+		throw new UnsupportedOperationException(
+				"Binary maps cannot be written to character streams.");
+	}
+
+	public String[] fileFormatDescriptions() {
+		return new String[] { "Preprocessed Map (aimap)" };
+	}
+
+	public String[] fileFormatExtensions() {
+		return new String[] { "aimap" };
+	}
+
+	/**
+	 * Returns the map itself if it is a compact map which is completely
+	 * covered by the bounding box. Otherwise, a compact copy of all entities
+	 * inside the bounding box is returned.
+	 */
+	protected CompactMap toCompactMap(OsmMap map, BoundingBox bb) {
+		BoundingBox mapBB = map.getBoundingBox();
+		if (map instanceof CompactMap
+				&& (bb == null || mapBB != null
+						&& bb.isInside(mapBB.getLatMin(), mapBB.getLonMin())
+						&& bb.isInside(mapBB.getLatMax(), mapBB.getLonMax())))
+			return (CompactMap) map;
+		if (bb == null)
+			bb = mapBB;
+		MapBuilder builder = new CompactMapBuilder();
+		builder.setBoundingBox(new BoundingBox(bb.getLatMin(), bb
+				.getLonMin(), bb.getLatMax(), bb.getLonMax()));
+		for (MapWay way : map.getWays(bb)) {
+			List<MapNode> wayNodes = way.getNodes();
+			Long[] wayNodeIds = new Long[wayNodes.size()];
+			int i = 0;
+			for (MapNode node : wayNodes) {
+				addNode(builder, node);
+				wayNodeIds[i++] = node.getId();
+			}
+			builder.addWay(way.getId(), way.getName(), Arrays.asList(way
+					.getAttributes()), Arrays.asList(wayNodeIds));
+		}
+		for (MapNode poi : map.getPois(bb))
+			addNode(builder, poi);
+		return (CompactMap) builder.buildMap();
+	}
+
+	private void addNode(MapBuilder builder, MapNode node) {
+		if (node.hasPosition() && !builder.isNodeDefined(node.getId(), null))
+			builder.addNode(node.getId(), node.getName(), Arrays.asList(node
+					.getAttributes()), node.getLat(), node.getLon());
+	}
+}
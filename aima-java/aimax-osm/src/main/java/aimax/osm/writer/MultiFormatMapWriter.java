@@ -0,0 +1,62 @@
+package aimax.osm.writer;
+
+import java.io.File;
+import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import aimax.osm.data.BoundingBox;
+import aimax.osm.data.OsmMap;
+
+/**
+ * Combines several map writers. Files are written by the first writer which
+ * supports the file name extension, character streams by the first writer.
+ *
+ * @author agent
+ *
+ */
+public class MultiFormatMapWriter implements MapWriter {
+
+	private List<MapWriter> writers;
+
+	public MultiFormatMapWriter(MapWriter... writers) {
+		this.writers = Arrays.asList(writers);
+	}
+
+	public void writeMap(File file, OsmMap map, BoundingBox bb) {
+		getWriter(file).writeMap(file, map, bb);
+	}
+
+	public void writeMap(OutputStreamWriter writer, OsmMap map,
+			BoundingBox bb) {
+		writers.get(0).writeMap(writer, map, bb);
+	}
+
+	public String[] fileFormatDescriptions() {
+		List<String> result = new ArrayList<String>();
+		for (MapWriter writer : writers)
+			result.addAll(Arrays.asList(writer.fileFormatDescriptions()));
+		return result.toArray(new String[result.size()]);
+	}
+
+	public String[] fileFormatExtensions() {
+		List<String> result = new ArrayList<String>();
+		for (MapWriter writer : writers)
+			result.addAll(Arrays.asList(writer.fileFormatExtensions()));
+		return result.toArray(new String[result.size()]);
+	}
+
+	/**
+	 * Returns the first writer which supports the extension of the file name,
+	 * or the first writer if no writer supports it.
+	 */
+	public MapWriter getWriter(File file) {
+		String name = file.getName().toLowerCase();
+		for (MapWriter writer : writers)
+			for (String ext : writer.fileFormatExtensions())
+				if (name.endsWith("." + ext))
+					return writer;
+		return writers.get(0);
+	}
+}
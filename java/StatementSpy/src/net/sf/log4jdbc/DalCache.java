@@ -1,9 +1,21 @@
 package net.sf.log4jdbc;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Created with IntelliJ IDEA.
@@ -11,8 +23,26 @@ import java.io.IOException;
  * Date: 11/15/13
  * Time: 5:05 PM
  * To change this template use File | Settings | File Templates.
+ *
+ * Results are appended asynchronously: appendResult only puts the data into a
+ * bounded queue, a background thread writes it in batches to files which are
+ * kept open. Batches are written when flushBytes are pending or flushMillis
+ * have passed. If the queue is full, the overflow policy decides whether the
+ * caller waits or data is dropped.
  */
 public class DalCache {
+    /**
+     * What appendResult does if the queue is full.
+     */
+    public enum OverflowPolicy {
+        /** Wait until there is room in the queue. */
+        BLOCK,
+        /** Drop the data that is appended. */
+        DROP_NEWEST,
+        /** Drop the oldest queued data to make room. */
+        DROP_OLDEST
+    }
+
     private static final DalCache instance = new DalCache();
 
     public static DalCache getInstance() {
@@ -25,7 +55,25 @@ public class DalCache {
         return instance;
     }
 
-    private File saveDir;
+    private volatile File saveDir;
+
+    private volatile int capacity = 8192;
+    private volatile int flushBytes = 64 * 1024;
+    private volatile long flushMillis = 1000;
+    private volatile OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    /** How often waiting callers check whether the writer has stopped. */
+    private static final long POLL_MILLIS = 100;
+
+    private BlockingQueue<Entry> queue;
+    private volatile Thread writer;
+    private volatile boolean closed;
+    /** Set by the writer thread when it no longer takes entries. */
+    private volatile boolean stopped;
+
+    private final AtomicLong queuedBytes = new AtomicLong();
+    private final AtomicLong writtenBytes = new AtomicLong();
+    private final AtomicLong droppedBytes = new AtomicLong();
 
     public void setPath(String path) {
         File dir = new File(path);
@@ -40,23 +88,305 @@ public class DalCache {
         }
     }
 
+    /**
+     * Sets the maximum number of results which can be queued. Takes effect
+     * before the first result is appended.
+     */
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /** Sets the number of pending bytes which causes a batch to be written. */
+    public void setFlushBytes(int flushBytes) {
+        this.flushBytes = flushBytes;
+    }
+
+    /** Sets the maximum time pending results wait before they are written. */
+    public void setFlushMillis(long flushMillis) {
+        this.flushMillis = flushMillis;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /** Returns the number of bytes which are queued but not yet written. */
+    public long getQueuedBytes() {
+        return queuedBytes.get();
+    }
+
+    /** Returns the number of bytes written to the result files. */
+    public long getWrittenBytes() {
+        return writtenBytes.get();
+    }
+
+    /**
+     * Returns the number of bytes dropped because the queue was full or the
+     * file could not be written.
+     */
+    public long getDroppedBytes() {
+        return droppedBytes.get();
+    }
+
+    /**
+     * Queues data to be appended to a file in the result directory.
+     */
     public void appendResult(String file, String data)  {
-        File f = new File(saveDir, file);
+        byte[] bytes = data.getBytes();
+        if (closed) {
+            droppedBytes.addAndGet(bytes.length);
+            return;
+        }
+        Entry entry = new Entry(new File(saveDir, file), bytes, null);
+        BlockingQueue<Entry> q = getQueue();
+        queuedBytes.addAndGet(bytes.length);
+        try {
+            boolean queued = false;
+            switch (overflowPolicy) {
+                case BLOCK:
+                    queued = enqueue(q, entry);
+                    break;
+                case DROP_NEWEST:
+                    queued = q.offer(entry);
+                    break;
+                case DROP_OLDEST:
+                    while (!(queued = q.offer(entry)) && dropOldest(q))
+                        ;
+                    break;
+            }
+            if (!queued || stopped && q.remove(entry)) {
+                // rejected, or queued after the writer has stopped
+                dropped(entry);
+            }
+        } catch (InterruptedException e) {
+            dropped(entry);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits until all results appended before have been written. Returns at
+     * once if the writer has been stopped by close.
+     */
+    public void flush() throws InterruptedException {
+        if (writer == null || stopped)
+            return;
+        CountDownLatch done = new CountDownLatch(1);
+        if (!enqueue(getQueue(), new Entry(null, null, done)))
+            return;
+        while (!done.await(POLL_MILLIS, TimeUnit.MILLISECONDS))
+            if (stopped)
+                return;
+    }
+
+    /**
+     * Writes all queued results, closes the files and stops the writer
+     * thread. Results appended afterwards are dropped.
+     */
+    public synchronized void close() throws InterruptedException {
+        if (closed)
+            return;
+        closed = true;
+        if (writer != null) {
+            enqueue(getQueue(), new Entry(null, null, null));
+            writer.join();
+        }
+    }
 
-        try{
-            //if file doesnt exists, then create it
-            if (!f.exists()) {
-                f.createNewFile();
+    private synchronized BlockingQueue<Entry> getQueue() {
+        if (queue == null) {
+            queue = new ArrayBlockingQueue<Entry>(capacity);
+            writer = new Thread(new Writer(), "dal-cache-writer");
+            writer.setDaemon(true);
+            writer.start();
+            Runtime.getRuntime().addShutdownHook(new Thread() {
+                public void run() {
+                    try {
+                        DalCache.this.close();
+                    } catch (InterruptedException e) {
+                        // exiting anyway
+                    }
+                }
+            });
+        }
+        return queue;
+    }
+
+    /**
+     * Waits for room in the queue as long as the writer is running. Returns
+     * false if the writer has stopped before the entry could be queued.
+     */
+    private boolean enqueue(BlockingQueue<Entry> q, Entry entry)
+            throws InterruptedException {
+        while (!q.offer(entry, POLL_MILLIS, TimeUnit.MILLISECONDS))
+            if (stopped)
+                return false;
+        return true;
+    }
+
+    /**
+     * Removes the oldest queued data. Flush and stop requests are kept.
+     * Returns false if there is no data to remove.
+     */
+    private boolean dropOldest(BlockingQueue<Entry> q) {
+        for (Entry oldest : q) {
+            if (oldest.data != null) {
+                if (q.remove(oldest))
+                    dropped(oldest);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void dropped(Entry entry) {
+        queuedBytes.addAndGet(-entry.data.length);
+        droppedBytes.addAndGet(entry.data.length);
+    }
+
+    private static void log(String msg) {
+        SpyLogFactory.getSpyLogDelegator().debug(msg);
+    }
+
+    /**
+     * Data for one file. If data is null, the entry is a flush request, or
+     * a stop request if there is no latch either.
+     */
+    private static class Entry {
+        final File file;
+        final byte[] data;
+        final CountDownLatch flushed;
+
+        Entry(File file, byte[] data, CountDownLatch flushed) {
+            this.file = file;
+            this.data = data;
+            this.flushed = flushed;
+        }
+    }
+
+    /**
+     * Collects queued results per file and writes them in batches.
+     */
+    private class Writer implements Runnable {
+        private final Map<File, FileChannel> channels = new HashMap<File, FileChannel>();
+        private final Map<File, List<byte[]>> pending = new LinkedHashMap<File, List<byte[]>>();
+        private long pendingBytes;
+        private long lastWrite = System.currentTimeMillis();
+
+        public void run() {
+            List<Entry> batch = new ArrayList<Entry>();
+            try {
+                while (true) {
+                    long wait = lastWrite + flushMillis - System.currentTimeMillis();
+                    Entry entry = queue.poll(Math.max(wait, 1), TimeUnit.MILLISECONDS);
+                    if (entry != null) {
+                        batch.add(entry);
+                        queue.drainTo(batch);
+                        for (int i = 0; i < batch.size(); i++)
+                            if (!add(batch.get(i))) {
+                                batch.subList(0, i + 1).clear();
+                                return;
+                            }
+                        batch.clear();
+                    }
+                    if (pendingBytes >= flushBytes
+                            || System.currentTimeMillis() - lastWrite >= flushMillis)
+                        writePending();
+                }
+            } catch (InterruptedException e) {
+                log("ERROR!  dal result writer interrupted");
+            } finally {
+                writePending();
+                for (FileChannel channel : channels.values())
+                    try {
+                        channel.close();
+                    } catch (IOException e) {
+                        log("ERROR!  unable to close dal result file: " + e);
+                    }
+                channels.clear();
+                // entries which are queued from now on are dropped by the
+                // appending thread, discard those which are already queued
+                stopped = true;
+                queue.drainTo(batch);
+                for (Entry e : batch)
+                    discard(e);
             }
-            FileWriter writer = new FileWriter(f, true);
+        }
 
-            BufferedWriter bufferWritter = new BufferedWriter(writer);
-            bufferWritter.write(data);
-            bufferWritter.close();
+        /** Drops data and releases threads waiting for a flush. */
+        private void discard(Entry entry) {
+            if (entry.data != null)
+                dropped(entry);
+            else if (entry.flushed != null)
+                entry.flushed.countDown();
         }
-        catch(Exception e){
-            e.printStackTrace();
+
+        /** Returns false if the entry is a stop request. */
+        private boolean add(Entry entry) {
+            if (entry.data == null) {
+                writePending();
+                if (entry.flushed == null)
+                    return false;
+                entry.flushed.countDown();
+                return true;
+            }
+            List<byte[]> list = pending.get(entry.file);
+            if (list == null) {
+                list = new ArrayList<byte[]>();
+                pending.put(entry.file, list);
+            }
+            list.add(entry.data);
+            pendingBytes += entry.data.length;
+            if (pendingBytes >= flushBytes)
+                writePending();
+            return true;
         }
 
+        private void writePending() {
+            for (Iterator<Map.Entry<File, List<byte[]>>> i = pending.entrySet().iterator(); i.hasNext();) {
+                Map.Entry<File, List<byte[]>> e = i.next();
+                List<byte[]> list = e.getValue();
+                ByteBuffer[] buffers = new ByteBuffer[list.size()];
+                long size = 0;
+                for (int j = 0; j < buffers.length; j++) {
+                    buffers[j] = ByteBuffer.wrap(list.get(j));
+                    size += list.get(j).length;
+                }
+                try {
+                    FileChannel channel = getChannel(e.getKey());
+                    long remaining = size;
+                    while (remaining > 0)
+                        remaining -= channel.write(buffers);
+                    writtenBytes.addAndGet(size);
+                } catch (IOException ex) {
+                    log("ERROR!  unable to write dal result file " + e.getKey() + ": " + ex);
+                    droppedBytes.addAndGet(size);
+                    closeChannel(e.getKey());
+                }
+                queuedBytes.addAndGet(-size);
+                i.remove();
+            }
+            pendingBytes = 0;
+            lastWrite = System.currentTimeMillis();
+        }
+
+        private FileChannel getChannel(File file) throws IOException {
+            FileChannel result = channels.get(file);
+            if (result == null) {
+                result = new FileOutputStream(file, true).getChannel();
+                channels.put(file, result);
+            }
+            return result;
+        }
+
+        private void closeChannel(File file) {
+            FileChannel channel = channels.remove(file);
+            if (channel != null)
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    // already failed
+                }
+        }
     }
-}
\ No newline at end of file
+}
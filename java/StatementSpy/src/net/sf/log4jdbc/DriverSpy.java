@@ -219,6 +219,21 @@ public class DriverSpy implements Driver
    */
   static boolean SuppressGetGeneratedKeysException;
 
+  /**
+   * The column getters of a ResultSet are called once per column for every
+   * row, so logging their return values is expensive for large results.  If
+   * this flag is true, the getters are never logged (exceptions are still
+   * reported), while all other ResultSet calls are logged as usual.
+   */
+  static boolean BypassResultSetGetters;
+
+  /**
+   * Flag to indicate if SQL execution times are aggregated in process by the
+   * SqlTimingAggregator.  If true, connections are spied upon even if all
+   * loggers are turned off.
+   */
+  static boolean SqlTimingAggregateEnabled;
+
   /**
    * Get a Long option from a property and
    * log a debug message about this.
@@ -444,6 +459,19 @@ public class DriverSpy implements Driver
       getBooleanOption(props, "log4jdbc.suppress.generated.keys.exception",
       false);
 
+    BypassResultSetGetters =
+      getBooleanOption(props, "log4jdbc.resultset.getters.bypass", false);
+
+    SqlTimingAggregateEnabled =
+      getBooleanOption(props, "log4jdbc.sqltiming.aggregate", false);
+    if (SqlTimingAggregateEnabled)
+    {
+      SqlTimingAggregator aggregator = SqlTimingAggregator.getInstance();
+      aggregator.setMaxShapes(getLongOption(props,
+        "log4jdbc.sqltiming.aggregate.maxshapes", 1000L).intValue());
+      aggregator.registerMBean();
+    }
+
     // The Set of drivers that the log4jdbc driver will preload at instantiation
     // time.  The driver can spy on any driver type, it's just a little bit
     // easier to configure log4jdbc if it's one of these types!
@@ -698,9 +726,9 @@ public class DriverSpy implements Driver
 
   /**
    * Get a Connection to the database from the underlying driver that this
-   * DriverSpy is spying on.  If logging is not enabled, an actual Connection to
-   * the database returned.  If logging is enabled, a ConnectionSpy object which
-   * wraps the real Connection is returned.
+   * DriverSpy is spying on.  If neither logging nor SQL timing aggregation is
+   * enabled, an actual Connection to the database returned.  Otherwise, a
+   * ConnectionSpy object which wraps the real Connection is returned.
    *
    * @param url  JDBC connection URL
    * .
@@ -732,7 +760,7 @@ public class DriverSpy implements Driver
     {
       throw new SQLException("invalid or unknown driver url: " + url);
     }
-    if (log.isJdbcLoggingEnabled())
+    if (log.isJdbcLoggingEnabled() || SqlTimingAggregateEnabled)
     {
       ConnectionSpy cspy = new ConnectionSpy(c);
       RdbmsSpecifics r = null;
@@ -0,0 +1,139 @@
+package net.sf.log4jdbc;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock free histogram of execution times in the style of an HDR histogram.
+ * Values below 16 are counted exactly, larger values are counted in buckets
+ * which are 16 per power of two, so that each recorded value is represented
+ * with a relative error of at most 1/16 (6.25%).
+ * <p/>
+ * Recording is thread safe and never blocks.  Percentiles are computed from
+ * the current bucket counts, which may be slightly inconsistent while other
+ * threads are recording.
+ *
+ * @author agent
+ *
+ */
+public class LatencyHistogram
+{
+  /**
+   * Number of bits used to subdivide each power of two.
+   */
+  private static final int SUB_BUCKET_BITS = 4;
+
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+  /**
+   * Largest value that can be recorded, larger values are clamped to it.
+   * 2^40 msec is more than 30 years.
+   */
+  static final long MAX_VALUE = (1L << 40) - 1;
+
+  /**
+   * Counts per bucket.
+   */
+  private final AtomicLongArray counts =
+    new AtomicLongArray(bucketIndex(MAX_VALUE) + 1);
+
+  /**
+   * Record one value.
+   *
+   * @param value value to record, negative values are counted as 0.
+   */
+  public void record(long value)
+  {
+    counts.incrementAndGet(bucketIndex(value));
+  }
+
+  /**
+   * Get a copy of the current bucket counts.
+   *
+   * @return the number of values recorded in each bucket.
+   */
+  long[] getCounts()
+  {
+    long[] result = new long[counts.length()];
+    for (int i = 0; i < result.length; i++)
+    {
+      result[i] = counts.get(i);
+    }
+    return result;
+  }
+
+  /**
+   * Compute a percentile from bucket counts.
+   *
+   * @param counts     bucket counts as returned by getCounts.
+   * @param percentile percentile between 0 and 100.
+   * @return the largest value of the bucket that contains the percentile,
+   *         or 0 if no values were recorded.
+   */
+  static long getValueAtPercentile(long[] counts, double percentile)
+  {
+    long total = 0;
+    for (int i = 0; i < counts.length; i++)
+    {
+      total += counts[i];
+    }
+    if (total == 0)
+    {
+      return 0;
+    }
+    long rank = (long) Math.ceil(percentile / 100.0 * total);
+    if (rank < 1)
+    {
+      rank = 1;
+    }
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++)
+    {
+      seen += counts[i];
+      if (seen >= rank)
+      {
+        return highestValueInBucket(i);
+      }
+    }
+    return MAX_VALUE;
+  }
+
+  /**
+   * Get the bucket a value is counted in.
+   *
+   * @param value value to be recorded.
+   * @return the index of the bucket.
+   */
+  static int bucketIndex(long value)
+  {
+    if (value < SUB_BUCKETS)
+    {
+      return value < 0 ? 0 : (int) value;
+    }
+    if (value > MAX_VALUE)
+    {
+      value = MAX_VALUE;
+    }
+    int exp = 63 - Long.numberOfLeadingZeros(value);
+    int shift = exp - SUB_BUCKET_BITS;
+    int sub = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+    return SUB_BUCKETS * (shift + 1) + sub;
+  }
+
+  /**
+   * Get the largest value that is counted in the given bucket.
+   *
+   * @param index index of a bucket.
+   * @return the largest value counted in the bucket.
+   */
+  static long highestValueInBucket(int index)
+  {
+    if (index < SUB_BUCKETS)
+    {
+      return index;
+    }
+    int shift = index / SUB_BUCKETS - 1;
+    long sub = index % SUB_BUCKETS;
+    long lowest = (SUB_BUCKETS + sub) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+}
@@ -146,6 +146,27 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     return dumpSql.toString();
   }
 
+  /**
+   * Shape of the prepared SQL, computed on first use.
+   */
+  private String sqlShape;
+
+  /**
+   * All SQL run by a PreparedStatement has the shape of the prepared SQL, no matter which bind
+   * values were used or how many times it was batched.
+   *
+   * @param sql the SQL that was run, with bind values filled in.
+   * @return the normalized prepared SQL.
+   */
+  protected String getSqlShape(String sql)
+  {
+    if (sqlShape == null)
+    {
+      sqlShape = SqlTimingAggregator.normalize(this.sql);
+    }
+    return sqlShape;
+  }
+
   protected void reportAllReturns(String methodCall, String msg)
   {
     log.methodReturned(this, methodCall, msg);
@@ -195,7 +216,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setTime(int parameterIndex, Time x) throws SQLException
   {
-    String methodCall = "setTime(" + parameterIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setTime", parameterIndex, x) : null;
     argTraceSet(parameterIndex, "(Time)", x);
     try
     {
@@ -203,7 +224,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setTime", s, parameterIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -211,7 +232,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setTime(int parameterIndex, Time x, Calendar cal) throws SQLException
   {
-    String methodCall = "setTime(" + parameterIndex + ", " + x + ", " + cal + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setTime", parameterIndex, x, cal) : null;
     argTraceSet(parameterIndex, "(Time)", x);
     try
     {
@@ -219,7 +240,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setTime", s, parameterIndex, x, cal);
       throw s;
     }
     reportReturn(methodCall);
@@ -227,7 +248,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setCharacterStream(int parameterIndex, Reader reader, int length) throws SQLException
   {
-    String methodCall = "setCharacterStream(" + parameterIndex + ", " + reader + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setCharacterStream", parameterIndex, reader, length) : null;
     argTraceSet(parameterIndex, "(Reader)", "<Reader of length " + length + ">");
     try
     {
@@ -235,7 +256,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setCharacterStream", s, parameterIndex, reader, length);
       throw s;
     }
     reportReturn(methodCall);
@@ -243,7 +264,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setNull(int parameterIndex, int sqlType) throws SQLException
   {
-    String methodCall = "setNull(" + parameterIndex + ", " + sqlType + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setNull", parameterIndex, sqlType) : null;
     argTraceSet(parameterIndex, null, null);
     try
     {
@@ -251,7 +272,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setNull", s, parameterIndex, sqlType);
       throw s;
     }
     reportReturn(methodCall);
@@ -259,7 +280,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setNull(int paramIndex, int sqlType, String typeName) throws SQLException
   {
-    String methodCall = "setNull(" + paramIndex + ", " + sqlType + ", " + typeName + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setNull", paramIndex, sqlType, typeName) : null;
     argTraceSet(paramIndex, null, null);
     try
     {
@@ -267,7 +288,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setNull", s, paramIndex, sqlType, typeName);
       throw s;
     }
     reportReturn(methodCall);
@@ -275,7 +296,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setRef(int i, Ref x) throws SQLException
   {
-    String methodCall = "setRef(" + i + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setRef", i, x) : null;
     argTraceSet(i, "(Ref)", x);
     try
     {
@@ -283,7 +304,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setRef", s, i, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -291,7 +312,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setBoolean(int parameterIndex, boolean x) throws SQLException
   {
-    String methodCall = "setBoolean(" + parameterIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setBoolean", parameterIndex, x) : null;
     argTraceSet(parameterIndex, "(boolean)", x?Boolean.TRUE:Boolean.FALSE);
     try
     {
@@ -299,7 +320,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setBoolean", s, parameterIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -307,7 +328,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setBlob(int i, Blob x) throws SQLException
   {
-    String methodCall = "setBlob(" + i + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setBlob", i, x) : null;
     argTraceSet(i, "(Blob)", 
       x==null?null:("<Blob of size " + x.length() + ">"));
     try
@@ -316,7 +337,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setBlob", s, i, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -324,7 +345,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setClob(int i, Clob x) throws SQLException
   {
-    String methodCall = "setClob(" + i + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setClob", i, x) : null;
     argTraceSet(i, "(Clob)",
       x==null?null:("<Clob of size " + x.length() + ">"));
     try
@@ -333,7 +354,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setClob", s, i, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -341,7 +362,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setArray(int i, Array x) throws SQLException
   {
-    String methodCall = "setArray(" + i + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setArray", i, x) : null;
     argTraceSet(i, "(Array)", "<Array>");
     try
     {
@@ -349,7 +370,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setArray", s, i, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -357,7 +378,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setByte(int parameterIndex, byte x) throws SQLException
   {
-    String methodCall = "setByte(" + parameterIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setByte", parameterIndex, x) : null;
     argTraceSet(parameterIndex, "(byte)", new Byte(x));
     try
     {
@@ -365,7 +386,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setByte", s, parameterIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -376,7 +397,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
    */
   public void setUnicodeStream(int parameterIndex, InputStream x, int length) throws SQLException
   {
-    String methodCall = "setUnicodeStream(" + parameterIndex + ", " + x + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setUnicodeStream", parameterIndex, x, length) : null;
     argTraceSet(parameterIndex, "(Unicode InputStream)", "<Unicode InputStream of length " + length + ">");
     try
     {
@@ -384,7 +405,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setUnicodeStream", s, parameterIndex, x, length);
       throw s;
     }
     reportReturn(methodCall);
@@ -392,7 +413,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setShort(int parameterIndex, short x) throws SQLException
   {
-    String methodCall = "setShort(" + parameterIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setShort", parameterIndex, x) : null;
     argTraceSet(parameterIndex, "(short)", new Short(x));
     try
     {
@@ -400,7 +421,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setShort", s, parameterIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -427,7 +448,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setInt(int parameterIndex, int x) throws SQLException
   {
-    String methodCall = "setInt(" + parameterIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setInt", parameterIndex, x) : null;
     argTraceSet(parameterIndex, "(int)", new Integer(x));
     try
     {
@@ -435,7 +456,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setInt", s, parameterIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -443,7 +464,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setLong(int parameterIndex, long x) throws SQLException
   {
-    String methodCall = "setLong(" + parameterIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setLong", parameterIndex, x) : null;
     argTraceSet(parameterIndex, "(long)", new Long(x));
     try
     {
@@ -451,7 +472,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setLong", s, parameterIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -459,7 +480,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setFloat(int parameterIndex, float x) throws SQLException
   {
-    String methodCall = "setFloat(" + parameterIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setFloat", parameterIndex, x) : null;
     argTraceSet(parameterIndex, "(float)", new Float(x));
     try
     {
@@ -467,7 +488,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setFloat", s, parameterIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -475,7 +496,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setDouble(int parameterIndex, double x) throws SQLException
   {
-    String methodCall = "setDouble(" + parameterIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setDouble", parameterIndex, x) : null;
     argTraceSet(parameterIndex, "(double)", new Double(x));
     try
     {
@@ -483,7 +504,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setDouble", s, parameterIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -491,7 +512,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException
   {
-    String methodCall = "setBigDecimal(" + parameterIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setBigDecimal", parameterIndex, x) : null;
     argTraceSet(parameterIndex, "(BigDecimal)", x);
     try
     {
@@ -499,7 +520,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setBigDecimal", s, parameterIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -507,7 +528,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setURL(int parameterIndex, URL x) throws SQLException
   {
-    String methodCall = "setURL(" + parameterIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setURL", parameterIndex, x) : null;
     argTraceSet(parameterIndex, "(URL)", x);
 
     try
@@ -516,7 +537,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setURL", s, parameterIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -524,7 +545,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setString(int parameterIndex, String x) throws SQLException
   {
-    String methodCall = "setString(" + parameterIndex + ", \"" + x + "\")";
+    String methodCall = isReturnReported() ? Utilities.describe("setString", parameterIndex, "\"" + x + "\"") : null;
     argTraceSet(parameterIndex, "(String)", x);
 
     try
@@ -533,7 +554,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setString", s, parameterIndex, "\"" + x + "\"");
       throw s;
     }
     reportReturn(methodCall);
@@ -542,7 +563,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
   public void setBytes(int parameterIndex, byte[] x) throws SQLException
   {
     //todo: dump array?
-    String methodCall = "setBytes(" + parameterIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setBytes", parameterIndex, x) : null;
     argTraceSet(parameterIndex, "(byte[])", "<byte[]>");
     try
     {
@@ -550,7 +571,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setBytes", s, parameterIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -558,7 +579,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setDate(int parameterIndex, Date x) throws SQLException
   {
-    String methodCall = "setDate(" + parameterIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setDate", parameterIndex, x) : null;
     argTraceSet(parameterIndex, "(Date)", x);
     try
     {
@@ -566,7 +587,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setDate", s, parameterIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -574,20 +595,20 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public ParameterMetaData getParameterMetaData() throws SQLException
   {
-    String methodCall = "getParameterMetaData()";
+    String methodCall = isReturnReported() ? "getParameterMetaData()" : null;
     try
     {
       return (ParameterMetaData) reportReturn(methodCall, realPreparedStatement.getParameterMetaData());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getParameterMetaData()", s);
       throw s;
     }
   }
 
   public void setRowId(int parameterIndex, RowId x) throws SQLException {
-    String methodCall = "setRowId(" + parameterIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setRowId", parameterIndex, x) : null;
     argTraceSet(parameterIndex, "(RowId)", x);
     try
     {
@@ -595,14 +616,14 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setRowId", s, parameterIndex, x);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void setNString(int parameterIndex, String value) throws SQLException {
-    String methodCall = "setNString(" + parameterIndex + ", " + value + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setNString", parameterIndex, value) : null;
     argTraceSet(parameterIndex, "(String)", value);
     try
     {
@@ -610,14 +631,14 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setNString", s, parameterIndex, value);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void setNCharacterStream(int parameterIndex, Reader value, long length) throws SQLException {
-    String methodCall = "setNCharacterStream(" + parameterIndex + ", " + value + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setNCharacterStream", parameterIndex, value, length) : null;
     argTraceSet(parameterIndex, "(Reader)", "<Reader of length " + length + ">");
     try
     {
@@ -625,14 +646,14 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setNCharacterStream", s, parameterIndex, value, length);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void setNClob(int parameterIndex, NClob value) throws SQLException {
-    String methodCall = "setNClob(" + parameterIndex + ", " + value + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setNClob", parameterIndex, value) : null;
     argTraceSet(parameterIndex, "(NClob)", "<NClob>");
     try
     {
@@ -640,14 +661,14 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setNClob", s, parameterIndex, value);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void setClob(int parameterIndex, Reader reader, long length) throws SQLException {
-    String methodCall = "setClob(" + parameterIndex + ", " + reader + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setClob", parameterIndex, reader, length) : null;
     argTraceSet(parameterIndex, "(Reader)", "<Reader of length " + length + ">");
     try
     {
@@ -655,14 +676,14 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setClob", s, parameterIndex, reader, length);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void setBlob(int parameterIndex, InputStream inputStream, long length) throws SQLException {
-    String methodCall = "setBlob(" + parameterIndex + ", " + inputStream + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setBlob", parameterIndex, inputStream, length) : null;
     argTraceSet(parameterIndex, "(InputStream)", "<InputStream of length " + length + ">");
     try
     {
@@ -670,14 +691,14 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setBlob", s, parameterIndex, inputStream, length);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void setNClob(int parameterIndex, Reader reader, long length) throws SQLException {
-    String methodCall = "setNClob(" + parameterIndex + ", " + reader + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setNClob", parameterIndex, reader, length) : null;
     argTraceSet(parameterIndex, "(Reader)", "<Reader of length " + length + ">");
     try
     {
@@ -685,14 +706,14 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setNClob", s, parameterIndex, reader, length);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void setSQLXML(int parameterIndex, SQLXML xmlObject) throws SQLException {
-    String methodCall = "setSQLXML(" + parameterIndex + ", " + xmlObject + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setSQLXML", parameterIndex, xmlObject) : null;
     argTraceSet(parameterIndex, "(SQLXML)", xmlObject);
     try
     {
@@ -700,7 +721,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setSQLXML", s, parameterIndex, xmlObject);
       throw s;
     }
     reportReturn(methodCall);
@@ -708,7 +729,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setDate(int parameterIndex, Date x, Calendar cal) throws SQLException
   {
-    String methodCall = "setDate(" + parameterIndex + ", " + x + ", " + cal + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setDate", parameterIndex, x, cal) : null;
     argTraceSet(parameterIndex, "(Date)", x);
 
     try
@@ -717,7 +738,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setDate", s, parameterIndex, x, cal);
       throw s;
     }
     reportReturn(methodCall);
@@ -757,7 +778,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setObject(int parameterIndex, Object x, int targetSqlType, int scale) throws SQLException
   {
-    String methodCall = "setObject(" + parameterIndex + ", " + x + ", " + targetSqlType + ", " + scale + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setObject", parameterIndex, x, targetSqlType, scale) : null;
     argTraceSet(parameterIndex, getTypeHelp(x), x);
 
     try
@@ -766,7 +787,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setObject", s, parameterIndex, x, targetSqlType, scale);
       throw s;
     }
     reportReturn(methodCall);
@@ -794,7 +815,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
    * @since 1.6
    */
   public void setAsciiStream(int parameterIndex, InputStream x, long length) throws SQLException {
-    String methodCall = "setAsciiStream(" + parameterIndex + ", " + x + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setAsciiStream", parameterIndex, x, length) : null;
     argTraceSet(parameterIndex, "(Ascii InputStream)", "<Ascii InputStream of length " + length + ">");
     try
     {
@@ -802,14 +823,14 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setAsciiStream", s, parameterIndex, x, length);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void setBinaryStream(int parameterIndex, InputStream x, long length) throws SQLException {
-    String methodCall = "setBinaryStream(" + parameterIndex + ", " + x + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setBinaryStream", parameterIndex, x, length) : null;
     argTraceSet(parameterIndex, "(Binary InputStream)", "<Binary InputStream of length " + length + ">");
     try
     {
@@ -817,14 +838,14 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setBinaryStream", s, parameterIndex, x, length);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void setCharacterStream(int parameterIndex, Reader reader, long length) throws SQLException {
-    String methodCall = "setCharacterStream(" + parameterIndex + ", " + reader + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setCharacterStream", parameterIndex, reader, length) : null;
     argTraceSet(parameterIndex, "(Reader)", "<Reader of length " + length + ">");
     try
     {
@@ -832,7 +853,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setCharacterStream", s, parameterIndex, reader, length);
       throw s;
     }
     reportReturn(methodCall);
@@ -840,7 +861,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
   }
 
   public void setAsciiStream(int parameterIndex, InputStream x) throws SQLException {
-    String methodCall = "setAsciiStream(" + parameterIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setAsciiStream", parameterIndex, x) : null;
     argTraceSet(parameterIndex, "(Ascii InputStream)", "<Ascii InputStream>");
     try
     {
@@ -848,14 +869,14 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setAsciiStream", s, parameterIndex, x);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void setBinaryStream(int parameterIndex, InputStream x) throws SQLException {
-    String methodCall = "setBinaryStream(" + parameterIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setBinaryStream", parameterIndex, x) : null;
     argTraceSet(parameterIndex, "(Binary InputStream)", "<Binary InputStream>");
     try
     {
@@ -863,7 +884,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setBinaryStream", s, parameterIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -871,7 +892,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
   }
 
   public void setCharacterStream(int parameterIndex, Reader reader) throws SQLException {
-    String methodCall = "setCharacterStream(" + parameterIndex + ", " + reader + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setCharacterStream", parameterIndex, reader) : null;
     argTraceSet(parameterIndex, "(Reader)", "<Reader>");
     try
     {
@@ -879,14 +900,14 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setCharacterStream", s, parameterIndex, reader);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void setNCharacterStream(int parameterIndex, Reader reader) throws SQLException {
-    String methodCall = "setNCharacterStream(" + parameterIndex + ", " + reader + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setNCharacterStream", parameterIndex, reader) : null;
     argTraceSet(parameterIndex, "(Reader)", "<Reader>");
     try
     {
@@ -894,14 +915,14 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setNCharacterStream", s, parameterIndex, reader);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void setClob(int parameterIndex, Reader reader) throws SQLException {
-    String methodCall = "setClob(" + parameterIndex + ", " + reader + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setClob", parameterIndex, reader) : null;
     argTraceSet(parameterIndex, "(Reader)", "<Reader>");
     try
     {
@@ -909,14 +930,14 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setClob", s, parameterIndex, reader);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void setBlob(int parameterIndex, InputStream inputStream) throws SQLException {
-    String methodCall = "setBlob(" + parameterIndex + ", " + inputStream + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setBlob", parameterIndex, inputStream) : null;
     argTraceSet(parameterIndex, "(InputStream)", "<InputStream>");
     try
     {
@@ -924,14 +945,14 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setBlob", s, parameterIndex, inputStream);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void setNClob(int parameterIndex, Reader reader) throws SQLException {
-    String methodCall = "setNClob(" + parameterIndex + ", " + reader + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setNClob", parameterIndex, reader) : null;
     argTraceSet(parameterIndex, "(Reader)", "<Reader>");
     try
     {
@@ -939,7 +960,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setNClob", s, parameterIndex, reader);
       throw s;
     }
     reportReturn(methodCall);
@@ -948,7 +969,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException
   {
-    String methodCall = "setObject(" + parameterIndex + ", " + x + ", " + targetSqlType + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setObject", parameterIndex, x, targetSqlType) : null;
     argTraceSet(parameterIndex, getTypeHelp(x), x);
     try
     {
@@ -956,7 +977,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setObject", s, parameterIndex, x, targetSqlType);
       throw s;
     }
     reportReturn(methodCall);
@@ -964,7 +985,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setObject(int parameterIndex, Object x) throws SQLException
   {
-    String methodCall = "setObject(" + parameterIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setObject", parameterIndex, x) : null;
     argTraceSet(parameterIndex, getTypeHelp(x), x);
     try
     {
@@ -972,7 +993,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setObject", s, parameterIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -980,7 +1001,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException
   {
-    String methodCall = "setTimestamp(" + parameterIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setTimestamp", parameterIndex, x) : null;
     argTraceSet(parameterIndex, "(Date)", x);
     try
     {
@@ -988,7 +1009,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setTimestamp", s, parameterIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -996,7 +1017,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setTimestamp(int parameterIndex, Timestamp x, Calendar cal) throws SQLException
   {
-    String methodCall = "setTimestamp(" + parameterIndex + ", " + x + ", " + cal + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setTimestamp", parameterIndex, x, cal) : null;
     argTraceSet(parameterIndex, "(Timestamp)", x);
     try
     {
@@ -1004,7 +1025,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setTimestamp", s, parameterIndex, x, cal);
       throw s;
     }
     reportReturn(methodCall);
@@ -1031,7 +1052,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setAsciiStream(int parameterIndex, InputStream x, int length) throws SQLException
   {
-    String methodCall = "setAsciiStream(" + parameterIndex + ", " + x + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setAsciiStream", parameterIndex, x, length) : null;
     argTraceSet(parameterIndex, "(Ascii InputStream)", "<Ascii InputStream of length " + length + ">");
     try
     {
@@ -1039,7 +1060,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setAsciiStream", s, parameterIndex, x, length);
       throw s;
     }
     reportReturn(methodCall);
@@ -1047,7 +1068,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void setBinaryStream(int parameterIndex, InputStream x, int length) throws SQLException
   {
-    String methodCall = "setBinaryStream(" + parameterIndex + ", " + x + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setBinaryStream", parameterIndex, x, length) : null;
     argTraceSet(parameterIndex, "(Binary InputStream)", "<Binary InputStream of length " + length + ">");
     try
     {
@@ -1055,7 +1076,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setBinaryStream", s, parameterIndex, x, length);
       throw s;
     }
     reportReturn(methodCall);
@@ -1063,7 +1084,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public void clearParameters() throws SQLException
   {
-    String methodCall = "clearParameters()";
+    String methodCall = isReturnReported() ? "clearParameters()" : null;
 
     synchronized (argTrace)
     {
@@ -1076,7 +1097,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("clearParameters()", s);
       throw s;
     }
     reportReturn(methodCall);
@@ -1084,21 +1105,21 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
 
   public ResultSetMetaData getMetaData() throws SQLException
   {
-    String methodCall = "getMetaData()";
+    String methodCall = isReturnReported() ? "getMetaData()" : null;
     try
     {
       return (ResultSetMetaData) reportReturn(methodCall, realPreparedStatement.getMetaData());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getMetaData()", s);
       throw s;
     }
   }
 
   public void addBatch() throws SQLException
   {
-    String methodCall = "addBatch()";
+    String methodCall = isReturnReported() ? "addBatch()" : null;
     currentBatch.add(dumpedSql());
     try
     {
@@ -1106,14 +1127,14 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("addBatch()", s);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public <T> T unwrap(Class<T> iface) throws SQLException {
-    String methodCall = "unwrap(" + (iface==null?"null":iface.getName()) + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("unwrap", (iface==null?"null":iface.getName())) : null;
     try
     {
       //todo: double check this logic
@@ -1126,14 +1147,14 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall,s);
+      reportException("unwrap", s, (Object) (iface==null?"null":iface.getName()));
       throw s;
     }
   }
 
   public boolean isWrapperFor(Class<?> iface) throws SQLException
   {
-    String methodCall = "isWrapperFor(" + (iface==null?"null":iface.getName()) + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("isWrapperFor", (iface==null?"null":iface.getName())) : null;
     try
     {
       //NOTE: could call super.isWrapperFor to simplify this logic, but it would result in extra log output
@@ -1144,7 +1165,7 @@ public class PreparedStatementSpy extends StatementSpy implements PreparedStatem
     }
     catch (SQLException s)
     {
-      reportException(methodCall,s);
+      reportException("isWrapperFor", s, (Object) (iface==null?"null":iface.getName()));
       throw s;
     }
   }
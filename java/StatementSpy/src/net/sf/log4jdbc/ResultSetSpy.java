@@ -59,6 +59,18 @@ public class ResultSetSpy implements ResultSet, Spy
     log.exceptionOccured(this, methodCall, exception, null, -1L);
   }
 
+  /**
+   * Report an exception to be logged, describing the method call from the method name and arguments.
+   *
+   * @param method name of the method that generated the exception.
+   * @param exception exception that was generated
+   * @param args arguments passed to the method.
+   */
+  protected void reportException(String method, SQLException exception, Object... args)
+  {
+    reportException(Utilities.describe(method, args), exception);
+  }
+
   /**
    * Report (for logging) that a method returned.  All the other reportReturn methods are conveniance methods that call
    * this method.
@@ -71,6 +83,28 @@ public class ResultSetSpy implements ResultSet, Spy
     log.methodReturned(this, methodCall, msg);
   }
 
+  /**
+   * Determine if method returns of this ResultSet are logged.  If not, the spy methods do not build a description
+   * of the method call at all, which keeps the overhead of a spy low when the return loggers are turned off.
+   *
+   * @return true if the logger for method returns is enabled.
+   */
+  protected boolean isReturnReported()
+  {
+    return log.isReturnLoggingEnabled(this);
+  }
+
+  /**
+   * Determine if the values returned by the column getters (which are called once per column for every row)
+   * are logged.  This is never the case if the <b>log4jdbc.resultset.getters.bypass</b> option is set.
+   *
+   * @return true if column getter returns are logged.
+   */
+  protected boolean isRowValueReported()
+  {
+    return !DriverSpy.BypassResultSetGetters && isReturnReported();
+  }
+
   private ResultSet realResultSet;
 
   /**
@@ -121,129 +155,165 @@ public class ResultSetSpy implements ResultSet, Spy
   /**
    * Conveniance method to report (for logging) that a method returned a boolean value.
    *
-   * @param methodCall description of method call and arguments passed to it that returned.
+   * @param methodCall description of method call and arguments passed to it that returned, or null if the
+   *                   return is not reported.
    * @param value boolean return value.
    * @return the boolean return value as passed in.
    */
   protected boolean reportReturn(String methodCall, boolean value)
   {
-    reportAllReturns(methodCall, "" + value);
+    if (methodCall != null)
+    {
+      reportAllReturns(methodCall, "" + value);
+    }
     return value;
   }
 
   /**
    * Conveniance method to report (for logging) that a method returned a byte value.
    *
-   * @param methodCall description of method call and arguments passed to it that returned.
+   * @param methodCall description of method call and arguments passed to it that returned, or null if the
+   *                   return is not reported.
    * @param value byte return value.
    * @return the byte return value as passed in.
    */
   protected byte reportReturn(String methodCall, byte value)
   {
-    reportAllReturns(methodCall, "" + value);
+    if (methodCall != null)
+    {
+      reportAllReturns(methodCall, "" + value);
+    }
     return value;
   }
 
   /**
    * Conveniance method to report (for logging) that a method returned a int value.
    *
-   * @param methodCall description of method call and arguments passed to it that returned.
+   * @param methodCall description of method call and arguments passed to it that returned, or null if the
+   *                   return is not reported.
    * @param value int return value.
    * @return the int return value as passed in.
    */
   protected int reportReturn(String methodCall, int value)
   {
-    reportAllReturns(methodCall, "" + value);
+    if (methodCall != null)
+    {
+      reportAllReturns(methodCall, "" + value);
+    }
     return value;
   }
 
   /**
    * Conveniance method to report (for logging) that a method returned a double value.
    *
-   * @param methodCall description of method call and arguments passed to it that returned.
+   * @param methodCall description of method call and arguments passed to it that returned, or null if the
+   *                   return is not reported.
    * @param value double return value.
    * @return the double return value as passed in.
    */
   protected double reportReturn(String methodCall, double value)
   {
-    reportAllReturns(methodCall, "" + value);
+    if (methodCall != null)
+    {
+      reportAllReturns(methodCall, "" + value);
+    }
     return value;
   }
 
   /**
    * Conveniance method to report (for logging) that a method returned a short value.
    *
-   * @param methodCall description of method call and arguments passed to it that returned.
+   * @param methodCall description of method call and arguments passed to it that returned, or null if the
+   *                   return is not reported.
    * @param value short return value.
    * @return the short return value as passed in.
    */
   protected short reportReturn(String methodCall, short value)
   {
-    reportAllReturns(methodCall, "" + value);
+    if (methodCall != null)
+    {
+      reportAllReturns(methodCall, "" + value);
+    }
     return value;
   }
 
   /**
    * Conveniance method to report (for logging) that a method returned a long value.
    *
-   * @param methodCall description of method call and arguments passed to it that returned.
+   * @param methodCall description of method call and arguments passed to it that returned, or null if the
+   *                   return is not reported.
    * @param value long return value.
    * @return the long return value as passed in.
    */
   protected long reportReturn(String methodCall, long value)
   {
-    reportAllReturns(methodCall, "" + value);
+    if (methodCall != null)
+    {
+      reportAllReturns(methodCall, "" + value);
+    }
     return value;
   }
 
   /**
    * Conveniance method to report (for logging) that a method returned a float value.
    *
-   * @param methodCall description of method call and arguments passed to it that returned.
+   * @param methodCall description of method call and arguments passed to it that returned, or null if the
+   *                   return is not reported.
    * @param value float return value.
    * @return the float return value as passed in.
    */
   protected float reportReturn(String methodCall, float value)
   {
-    reportAllReturns(methodCall, "" + value);
+    if (methodCall != null)
+    {
+      reportAllReturns(methodCall, "" + value);
+    }
     return value;
   }
 
   /**
    * Conveniance method to report (for logging) that a method returned an Object.
    *
-   * @param methodCall description of method call and arguments passed to it that returned.
+   * @param methodCall description of method call and arguments passed to it that returned, or null if the
+   *                   return is not reported.
    * @param value return Object.
    * @return the return Object as passed in.
    */
   protected Object reportReturn(String methodCall, Object value)
   {
-    reportAllReturns(methodCall, "" + value);
+    if (methodCall != null)
+    {
+      reportAllReturns(methodCall, "" + value);
+    }
     return value;
   }
 
   /**
    * Conveniance method to report (for logging) that a method returned (void return type).
    *
-   * @param methodCall description of method call and arguments passed to it that returned.
+   * @param methodCall description of method call and arguments passed to it that returned, or null if the
+   *                   return is not reported.
    */
   protected void reportReturn(String methodCall)
   {
-    reportAllReturns(methodCall, "");
+    if (methodCall != null)
+    {
+      reportAllReturns(methodCall, "");
+    }
   }
 
   // forwarding methods
 
   public void updateAsciiStream(int columnIndex, InputStream x, int length) throws SQLException
   {
-    String methodCall = "updateAsciiStream(" + columnIndex + ", " + x + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateAsciiStream", columnIndex, x, length) : null;
     try
     {
       realResultSet.updateAsciiStream(columnIndex, x, length);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateAsciiStream", s, columnIndex, x, length);
       throw s;
     }
     reportReturn(methodCall);
@@ -251,14 +321,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateAsciiStream(String columnName, InputStream x, int length) throws SQLException
   {
-    String methodCall = "updateAsciiStream(" + columnName + ", " + x + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateAsciiStream", columnName, x, length) : null;
     try
     {
       realResultSet.updateAsciiStream(columnName, x, length);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateAsciiStream", s, columnName, x, length);
       throw s;
     }
     reportReturn(methodCall);
@@ -266,28 +336,28 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public int getRow() throws SQLException
   {
-    String methodCall = "getRow()";
+    String methodCall = isReturnReported() ? "getRow()" : null;
     try
     {
       return reportReturn(methodCall, realResultSet.getRow());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getRow()", s);
       throw s;
     }
   }
 
   public void cancelRowUpdates() throws SQLException
   {
-    String methodCall = "cancelRowUpdates()";
+    String methodCall = isReturnReported() ? "cancelRowUpdates()" : null;
     try
     {
       realResultSet.cancelRowUpdates();
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("cancelRowUpdates()", s);
       throw s;
     }
     reportReturn(methodCall);
@@ -295,98 +365,98 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Time getTime(int columnIndex) throws SQLException
   {
-    String methodCall = "getTime(" + columnIndex + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getTime", columnIndex) : null;
     try
     {
       return (Time) reportReturn(methodCall, realResultSet.getTime(columnIndex));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getTime", s, columnIndex);
       throw s;
     }
   }
 
   public Time getTime(String columnName) throws SQLException
   {
-    String methodCall = "getTime(" + columnName + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getTime", columnName) : null;
     try
     {
       return (Time) reportReturn(methodCall, realResultSet.getTime(columnName));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getTime", s, columnName);
       throw s;
     }
   }
 
   public Time getTime(int columnIndex, Calendar cal) throws SQLException
   {
-    String methodCall = "getTime(" + columnIndex + ", " + cal + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getTime", columnIndex, cal) : null;
     try
     {
       return (Time) reportReturn(methodCall, realResultSet.getTime(columnIndex, cal));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getTime", s, columnIndex, cal);
       throw s;
     }
   }
 
   public Time getTime(String columnName, Calendar cal) throws SQLException
   {
-    String methodCall = "getTime(" + columnName + ", " + cal + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getTime", columnName, cal) : null;
     try
     {
       return (Time) reportReturn(methodCall, realResultSet.getTime(columnName, cal));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getTime", s, columnName, cal);
       throw s;
     }
   }
 
   public boolean absolute(int row) throws SQLException
   {
-    String methodCall = "absolute(" + row + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("absolute", row) : null;
     try
     {
       return reportReturn(methodCall, realResultSet.absolute(row));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("absolute", s, row);
       throw s;
     }
   }
 
   public Timestamp getTimestamp(int columnIndex) throws SQLException
   {
-    String methodCall = "getTimestamp(" + columnIndex + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getTimestamp", columnIndex) : null;
     try
     {
       return (Timestamp) reportReturn(methodCall, realResultSet.getTimestamp(columnIndex));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getTimestamp", s, columnIndex);
       throw s;
     }
   }
 
   public Timestamp getTimestamp(String columnName) throws SQLException
   {
-    String methodCall = "getTimestamp(" + columnName + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getTimestamp", columnName) : null;
     try
     {
       return (Timestamp) reportReturn(methodCall, realResultSet.getTimestamp(columnName));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getTimestamp", s, columnName);
       throw s;
     }
 
@@ -394,14 +464,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException
   {
-    String methodCall = "getTimestamp(" + columnIndex + ", " + cal + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getTimestamp", columnIndex, cal) : null;
     try
     {
       return (Timestamp) reportReturn(methodCall, realResultSet.getTimestamp(columnIndex, cal));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getTimestamp", s, columnIndex, cal);
       throw s;
     }
 
@@ -409,28 +479,28 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Timestamp getTimestamp(String columnName, Calendar cal) throws SQLException
   {
-    String methodCall = "getTimestamp(" + columnName + ", " + cal + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getTimestamp", columnName, cal) : null;
     try
     {
       return (Timestamp) reportReturn(methodCall, realResultSet.getTimestamp(columnName, cal));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getTimestamp", s, columnName, cal);
       throw s;
     }
   }
 
   public void moveToInsertRow() throws SQLException
   {
-    String methodCall = "moveToInsertRow()";
+    String methodCall = isReturnReported() ? "moveToInsertRow()" : null;
     try
     {
       realResultSet.moveToInsertRow();
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("moveToInsertRow()", s);
       throw s;
     }
     reportReturn(methodCall);
@@ -438,42 +508,42 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public boolean relative(int rows) throws SQLException
   {
-    String methodCall = "relative(" + rows + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("relative", rows) : null;
     try
     {
       return reportReturn(methodCall, realResultSet.relative(rows));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("relative", s, rows);
       throw s;
     }
   }
 
   public boolean previous() throws SQLException
   {
-    String methodCall = "previous()";
+    String methodCall = isReturnReported() ? "previous()" : null;
     try
     {
       return reportReturn(methodCall, realResultSet.previous());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("previous()", s);
       throw s;
     }
   }
 
   public void moveToCurrentRow() throws SQLException
   {
-    String methodCall = "moveToCurrentRow()";
+    String methodCall = isReturnReported() ? "moveToCurrentRow()" : null;
     try
     {
       realResultSet.moveToCurrentRow();
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("moveToCurrentRow()", s);
       throw s;
     }
     reportReturn(methodCall);
@@ -481,28 +551,28 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Ref getRef(int i) throws SQLException
   {
-    String methodCall = "getRef(" + i + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getRef", i) : null;
     try
     {
       return (Ref) reportReturn(methodCall, realResultSet.getRef(i));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getRef", s, i);
       throw s;
     }
   }
 
   public void updateRef(int columnIndex, Ref x) throws SQLException
   {
-    String methodCall = "updateRef(" + columnIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateRef", columnIndex, x) : null;
     try
     {
       realResultSet.updateRef(columnIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateRef", s, columnIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -510,28 +580,28 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Ref getRef(String colName) throws SQLException
   {
-    String methodCall = "getRef(" + colName + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getRef", colName) : null;
     try
     {
       return (Ref) reportReturn(methodCall, realResultSet.getRef(colName));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getRef", s, colName);
       throw s;
     }
   }
 
   public void updateRef(String columnName, Ref x) throws SQLException
   {
-    String methodCall = "updateRef(" + columnName + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateRef", columnName, x) : null;
     try
     {
       realResultSet.updateRef(columnName, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateRef", s, columnName, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -539,28 +609,28 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Blob getBlob(int i) throws SQLException
   {
-    String methodCall = "getBlob(" + i + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getBlob", i) : null;
     try
     {
       return (Blob) reportReturn(methodCall, realResultSet.getBlob(i));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getBlob", s, i);
       throw s;
     }
   }
 
   public void updateBlob(int columnIndex, Blob x) throws SQLException
   {
-    String methodCall = "updateBlob(" + columnIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateBlob", columnIndex, x) : null;
     try
     {
       realResultSet.updateBlob(columnIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateBlob", s, columnIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -568,28 +638,28 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Blob getBlob(String colName) throws SQLException
   {
-    String methodCall = "getBlob(" + colName + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getBlob", colName) : null;
     try
     {
       return (Blob) reportReturn(methodCall, realResultSet.getBlob(colName));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getBlob", s, colName);
       throw s;
     }
   }
 
   public void updateBlob(String columnName, Blob x) throws SQLException
   {
-    String methodCall = "updateBlob(" + columnName + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateBlob", columnName, x) : null;
     try
     {
       realResultSet.updateBlob(columnName, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateBlob", s, columnName, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -597,28 +667,28 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Clob getClob(int i) throws SQLException
   {
-    String methodCall = "getClob(" + i + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getClob", i) : null;
     try
     {
       return (Clob) reportReturn(methodCall, realResultSet.getClob(i));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getClob", s, i);
       throw s;
     }
   }
 
   public void updateClob(int columnIndex, Clob x) throws SQLException
   {
-    String methodCall = "updateClob(" + columnIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateClob", columnIndex, x) : null;
     try
     {
       realResultSet.updateClob(columnIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateClob", s, columnIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -626,28 +696,28 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Clob getClob(String colName) throws SQLException
   {
-    String methodCall = "getClob(" + colName + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getClob", colName) : null;
     try
     {
       return (Clob) reportReturn(methodCall, realResultSet.getClob(colName));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getClob", s, colName);
       throw s;
     }
   }
 
   public void updateClob(String columnName, Clob x) throws SQLException
   {
-    String methodCall = "updateClob(" + columnName + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateClob", columnName, x) : null;
     try
     {
       realResultSet.updateClob(columnName, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateClob", s, columnName, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -655,56 +725,56 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public boolean getBoolean(int columnIndex) throws SQLException
   {
-    String methodCall = "getBoolean(" + columnIndex + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getBoolean", columnIndex) : null;
     try
     {
       return reportReturn(methodCall, realResultSet.getBoolean(columnIndex));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getBoolean", s, columnIndex);
       throw s;
     }
   }
 
   public boolean getBoolean(String columnName) throws SQLException
   {
-    String methodCall = "getBoolean(" + columnName + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getBoolean", columnName) : null;
     try
     {
       return reportReturn(methodCall, realResultSet.getBoolean(columnName));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getBoolean", s, columnName);
       throw s;
     }
   }
 
   public Array getArray(int i) throws SQLException
   {
-    String methodCall = "getArray(" + i + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getArray", i) : null;
     try
     {
       return (Array) reportReturn(methodCall, realResultSet.getArray(i));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getArray", s, i);
       throw s;
     }
   }
 
   public void updateArray(int columnIndex, Array x) throws SQLException
   {
-    String methodCall = "updateArray(" + columnIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateArray", columnIndex, x) : null;
     try
     {
       realResultSet.updateArray(columnIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateArray", s, columnIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -712,688 +782,688 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Array getArray(String colName) throws SQLException
   {
-    String methodCall = "getArray(" + colName + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getArray", colName) : null;
     try
     {
       return (Array) reportReturn(methodCall, realResultSet.getArray(colName));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getArray", s, colName);
       throw s;
     }
   }
 
   public void updateArray(String columnName, Array x) throws SQLException
   {
-    String methodCall = "updateArray(" + columnName + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateArray", columnName, x) : null;
     try
     {
       realResultSet.updateArray(columnName, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateArray", s, columnName, x);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public RowId getRowId(int columnIndex) throws SQLException {
-    String methodCall = "getRowId(" + columnIndex + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getRowId", columnIndex) : null;
     try
     {
       return (RowId) reportReturn(methodCall, realResultSet.getRowId(columnIndex));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getRowId", s, columnIndex);
       throw s;
     }
   }
 
   public RowId getRowId(String columnLabel) throws SQLException {
-    String methodCall = "getRowId(" + columnLabel + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getRowId", columnLabel) : null;
     try
     {
       return (RowId) reportReturn(methodCall, realResultSet.getRowId(columnLabel));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getRowId", s, columnLabel);
       throw s;
     }
   }
 
   public void updateRowId(int columnIndex, RowId x) throws SQLException {
-    String methodCall = "updateRowId(" + columnIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateRowId", columnIndex, x) : null;
     try
     {
       realResultSet.updateRowId(columnIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateRowId", s, columnIndex, x);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateRowId(String columnLabel, RowId x) throws SQLException {
-    String methodCall = "updateRowId(" + columnLabel + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateRowId", columnLabel, x) : null;
     try
     {
       realResultSet.updateRowId(columnLabel, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateRowId", s, columnLabel, x);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public int getHoldability() throws SQLException {
-    String methodCall = "getHoldability()";
+    String methodCall = isReturnReported() ? "getHoldability()" : null;
     try
     {
       return reportReturn(methodCall, realResultSet.getHoldability());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getHoldability()", s);
       throw s;
     }
   }
 
   public boolean isClosed() throws SQLException {
-    String methodCall = "isClosed()";
+    String methodCall = isReturnReported() ? "isClosed()" : null;
     try
     {
       return reportReturn(methodCall, realResultSet.isClosed());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("isClosed()", s);
       throw s;
     }
   }
 
   public void updateNString(int columnIndex, String nString) throws SQLException {
-    String methodCall = "updateNString(" + columnIndex + ", " + nString + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateNString", columnIndex, nString) : null;
     try
     {
       realResultSet.updateNString(columnIndex, nString);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateNString", s, columnIndex, nString);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateNString(String columnLabel, String nString) throws SQLException {
-    String methodCall = "updateNString(" + columnLabel + ", " + nString + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateNString", columnLabel, nString) : null;
     try
     {
       realResultSet.updateNString(columnLabel, nString);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateNString", s, columnLabel, nString);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateNClob(int columnIndex, NClob nClob) throws SQLException {
-    String methodCall = "updateNClob(" + columnIndex + ", " + nClob + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateNClob", columnIndex, nClob) : null;
     try
     {
       realResultSet.updateNClob(columnIndex, nClob);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateNClob", s, columnIndex, nClob);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateNClob(String columnLabel, NClob nClob) throws SQLException {
-    String methodCall = "updateNClob(" + columnLabel + ", " + nClob + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateNClob", columnLabel, nClob) : null;
     try
     {
       realResultSet.updateNClob(columnLabel, nClob);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateNClob", s, columnLabel, nClob);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public NClob getNClob(int columnIndex) throws SQLException {
-    String methodCall = "getNClob(" + columnIndex + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getNClob", columnIndex) : null;
     try
     {
       return (NClob) reportReturn(methodCall, realResultSet.getNClob(columnIndex));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getNClob", s, columnIndex);
       throw s;
     }
   }
 
   public NClob getNClob(String columnLabel) throws SQLException {
-    String methodCall = "getNClob(" + columnLabel + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getNClob", columnLabel) : null;
     try
     {
       return (NClob) reportReturn(methodCall, realResultSet.getNClob(columnLabel));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getNClob", s, columnLabel);
       throw s;
     }
   }
 
   public SQLXML getSQLXML(int columnIndex) throws SQLException {
-    String methodCall = "getSQLXML(" + columnIndex + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getSQLXML", columnIndex) : null;
     try
     {
       return (SQLXML) reportReturn(methodCall, realResultSet.getSQLXML(columnIndex));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getSQLXML", s, columnIndex);
       throw s;
     }
   }
 
   public SQLXML getSQLXML(String columnLabel) throws SQLException {
-    String methodCall = "getSQLXML(" + columnLabel + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getSQLXML", columnLabel) : null;
     try
     {
       return (SQLXML) reportReturn(methodCall, realResultSet.getSQLXML(columnLabel));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getSQLXML", s, columnLabel);
       throw s;
     }
   }
 
   public void updateSQLXML(int columnIndex, SQLXML xmlObject) throws SQLException {
-    String methodCall = "updateSQLXML(" + columnIndex + ", " + xmlObject + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateSQLXML", columnIndex, xmlObject) : null;
     try
     {
       realResultSet.updateSQLXML(columnIndex, xmlObject);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateSQLXML", s, columnIndex, xmlObject);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateSQLXML(String columnLabel, SQLXML xmlObject) throws SQLException {
-    String methodCall = "updateSQLXML(" + columnLabel + ", " + xmlObject + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateSQLXML", columnLabel, xmlObject) : null;
     try
     {
       realResultSet.updateSQLXML(columnLabel, xmlObject);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateSQLXML", s, columnLabel, xmlObject);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public String getNString(int columnIndex) throws SQLException {
-    String methodCall = "getNString(" + columnIndex + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getNString", columnIndex) : null;
     try
     {
       return (String) reportReturn(methodCall, realResultSet.getNString(columnIndex));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getNString", s, columnIndex);
       throw s;
     }
   }
 
   public String getNString(String columnLabel) throws SQLException {
-    String methodCall = "getNString(" + columnLabel + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getNString", columnLabel) : null;
     try
     {
       return (String) reportReturn(methodCall, realResultSet.getNString(columnLabel));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getNString", s, columnLabel);
       throw s;
     }
   }
 
   public Reader getNCharacterStream(int columnIndex) throws SQLException {
-    String methodCall = "getNCharacterStream(" + columnIndex + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getNCharacterStream", columnIndex) : null;
     try
     {
       return (Reader) reportReturn(methodCall, realResultSet.getNCharacterStream(columnIndex));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getNCharacterStream", s, columnIndex);
       throw s;
     }
   }
 
   public Reader getNCharacterStream(String columnLabel) throws SQLException {
-    String methodCall = "getNCharacterStream(" + columnLabel + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getNCharacterStream", columnLabel) : null;
     try
     {
       return (Reader) reportReturn(methodCall, realResultSet.getNCharacterStream(columnLabel));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getNCharacterStream", s, columnLabel);
       throw s;
     }
   }
 
   public void updateNCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
-    String methodCall = "updateNCharacterStream(" + columnIndex + ", " + x + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateNCharacterStream", columnIndex, x, length) : null;
     try
     {
       realResultSet.updateNCharacterStream(columnIndex, x, length);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateNCharacterStream", s, columnIndex, x, length);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateNCharacterStream(String columnLabel, Reader reader, long length) throws SQLException {
-    String methodCall = "updateNCharacterStream(" + columnLabel + ", " + reader + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateNCharacterStream", columnLabel, reader, length) : null;
     try
     {
       realResultSet.updateNCharacterStream(columnLabel, reader, length);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateNCharacterStream", s, columnLabel, reader, length);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateAsciiStream(int columnIndex, InputStream x, long length) throws SQLException {
-    String methodCall = "updateAsciiStream(" + columnIndex + ", " + x + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateAsciiStream", columnIndex, x, length) : null;
     try
     {
       realResultSet.updateAsciiStream(columnIndex, x, length);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateAsciiStream", s, columnIndex, x, length);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateBinaryStream(int columnIndex, InputStream x, long length) throws SQLException {
-    String methodCall = "updateBinaryStream(" + columnIndex + ", " + x + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateBinaryStream", columnIndex, x, length) : null;
     try
     {
       realResultSet.updateBinaryStream(columnIndex, x, length);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateBinaryStream", s, columnIndex, x, length);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
-    String methodCall = "updateCharacterStream(" + columnIndex + ", " + x + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateCharacterStream", columnIndex, x, length) : null;
     try
     {
       realResultSet.updateCharacterStream(columnIndex, x, length);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateCharacterStream", s, columnIndex, x, length);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateAsciiStream(String columnLabel, InputStream x, long length) throws SQLException {
-    String methodCall = "updateAsciiStream(" + columnLabel + ", " + x + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateAsciiStream", columnLabel, x, length) : null;
     try
     {
       realResultSet.updateAsciiStream(columnLabel, x, length);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateAsciiStream", s, columnLabel, x, length);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateBinaryStream(String columnLabel, InputStream x, long length) throws SQLException {
-    String methodCall = "updateBinaryStream(" + columnLabel + ", " + x + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateBinaryStream", columnLabel, x, length) : null;
     try
     {
       realResultSet.updateBinaryStream(columnLabel, x, length);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateBinaryStream", s, columnLabel, x, length);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateCharacterStream(String columnLabel, Reader reader, long length) throws SQLException {
-    String methodCall = "updateCharacterStream(" + columnLabel + ", " + reader + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateCharacterStream", columnLabel, reader, length) : null;
     try
     {
       realResultSet.updateCharacterStream(columnLabel, reader, length);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateCharacterStream", s, columnLabel, reader, length);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateBlob(int columnIndex, InputStream inputStream, long length) throws SQLException {
-    String methodCall = "updateBlob(" + columnIndex + ", " + inputStream + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateBlob", columnIndex, inputStream, length) : null;
     try
     {
       realResultSet.updateBlob(columnIndex, inputStream, length);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateBlob", s, columnIndex, inputStream, length);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateBlob(String columnLabel, InputStream inputStream, long length) throws SQLException {
-    String methodCall = "updateBlob(" + columnLabel + ", " + inputStream + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateBlob", columnLabel, inputStream, length) : null;
     try
     {
       realResultSet.updateBlob(columnLabel, inputStream, length);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateBlob", s, columnLabel, inputStream, length);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateClob(int columnIndex, Reader reader, long length) throws SQLException {
-    String methodCall = "updateClob(" + columnIndex + ", " + reader + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateClob", columnIndex, reader, length) : null;
     try
     {
       realResultSet.updateClob(columnIndex, reader, length);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateClob", s, columnIndex, reader, length);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateClob(String columnLabel, Reader reader, long length) throws SQLException {
-    String methodCall = "updateClob(" + columnLabel + ", " + reader + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateClob", columnLabel, reader, length) : null;
     try
     {
       realResultSet.updateClob(columnLabel, reader, length);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateClob", s, columnLabel, reader, length);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateNClob(int columnIndex, Reader reader, long length) throws SQLException {
-    String methodCall = "updateNClob(" + columnIndex + ", " + reader + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateNClob", columnIndex, reader, length) : null;
     try
     {
       realResultSet.updateNClob(columnIndex, reader, length);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateNClob", s, columnIndex, reader, length);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateNClob(String columnLabel, Reader reader, long length) throws SQLException {
-    String methodCall = "updateNClob(" + columnLabel + ", " + reader + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateNClob", columnLabel, reader, length) : null;
     try
     {
       realResultSet.updateNClob(columnLabel, reader, length);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateNClob", s, columnLabel, reader, length);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateNCharacterStream(int columnIndex, Reader reader) throws SQLException {
-    String methodCall = "updateNCharacterStream(" + columnIndex + ", " + reader + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateNCharacterStream", columnIndex, reader) : null;
     try
     {
       realResultSet.updateNCharacterStream(columnIndex, reader);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateNCharacterStream", s, columnIndex, reader);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateNCharacterStream(String columnLabel, Reader reader) throws SQLException {
-    String methodCall = "updateNCharacterStream(" + columnLabel + ", " + reader + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateNCharacterStream", columnLabel, reader) : null;
     try
     {
       realResultSet.updateNCharacterStream(columnLabel, reader);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateNCharacterStream", s, columnLabel, reader);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateAsciiStream(int columnIndex, InputStream x) throws SQLException {
-    String methodCall = "updateAsciiStream(" + columnIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateAsciiStream", columnIndex, x) : null;
     try
     {
       realResultSet.updateAsciiStream(columnIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateAsciiStream", s, columnIndex, x);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateBinaryStream(int columnIndex, InputStream x) throws SQLException {
-    String methodCall = "updateBinaryStream(" + columnIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateBinaryStream", columnIndex, x) : null;
     try
     {
       realResultSet.updateBinaryStream(columnIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateBinaryStream", s, columnIndex, x);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateCharacterStream(int columnIndex, Reader x) throws SQLException {
-    String methodCall = "updateCharacterStream(" + columnIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateCharacterStream", columnIndex, x) : null;
     try
     {
       realResultSet.updateCharacterStream(columnIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateCharacterStream", s, columnIndex, x);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateAsciiStream(String columnLabel, InputStream x) throws SQLException {
-    String methodCall = "updateAsciiStream(" + columnLabel + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateAsciiStream", columnLabel, x) : null;
     try
     {
       realResultSet.updateAsciiStream(columnLabel, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateAsciiStream", s, columnLabel, x);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateBinaryStream(String columnLabel, InputStream x) throws SQLException {
-    String methodCall = "updateBinaryStream(" + columnLabel + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateBinaryStream", columnLabel, x) : null;
     try
     {
       realResultSet.updateBinaryStream(columnLabel, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateBinaryStream", s, columnLabel, x);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateCharacterStream(String columnLabel, Reader reader) throws SQLException {
-    String methodCall = "updateCharacterStream(" + columnLabel + ", " + reader + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateCharacterStream", columnLabel, reader) : null;
     try
     {
       realResultSet.updateCharacterStream(columnLabel, reader);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateCharacterStream", s, columnLabel, reader);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateBlob(int columnIndex, InputStream inputStream) throws SQLException {
-    String methodCall = "updateBlob(" + columnIndex + ", " + inputStream + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateBlob", columnIndex, inputStream) : null;
     try
     {
       realResultSet.updateBlob(columnIndex, inputStream);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateBlob", s, columnIndex, inputStream);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateBlob(String columnLabel, InputStream inputStream) throws SQLException {
-    String methodCall = "updateBlob(" + columnLabel + ", " + inputStream + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateBlob", columnLabel, inputStream) : null;
     try
     {
       realResultSet.updateBlob(columnLabel, inputStream);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateBlob", s, columnLabel, inputStream);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateClob(int columnIndex, Reader reader) throws SQLException {
-    String methodCall = "updateClob(" + columnIndex + ", " + reader + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateClob", columnIndex, reader) : null;
     try
     {
       realResultSet.updateClob(columnIndex, reader);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateClob", s, columnIndex, reader);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateClob(String columnLabel, Reader reader) throws SQLException {
-    String methodCall = "updateClob(" + columnLabel + ", " + reader + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateClob", columnLabel, reader) : null;
     try
     {
       realResultSet.updateClob(columnLabel, reader);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateClob", s, columnLabel, reader);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateNClob(int columnIndex, Reader reader) throws SQLException {
-    String methodCall = "updateNClob(" + columnIndex + ", " + reader + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateNClob", columnIndex, reader) : null;
     try
     {
       realResultSet.updateNClob(columnIndex, reader);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateNClob", s, columnIndex, reader);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public void updateNClob(String columnLabel, Reader reader) throws SQLException {
-    String methodCall = "updateNClob(" + columnLabel + ", " + reader + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateNClob", columnLabel, reader) : null;
     try
     {
       realResultSet.updateNClob(columnLabel, reader);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateNClob", s, columnLabel, reader);
       throw s;
     }
     reportReturn(methodCall);
@@ -1411,84 +1481,84 @@ public class ResultSetSpy implements ResultSet, Spy
 
     public boolean isBeforeFirst() throws SQLException
   {
-    String methodCall = "isBeforeFirst()";
+    String methodCall = isReturnReported() ? "isBeforeFirst()" : null;
     try
     {
       return reportReturn(methodCall, realResultSet.isBeforeFirst());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("isBeforeFirst()", s);
       throw s;
     }
   }
 
   public short getShort(int columnIndex) throws SQLException
   {
-    String methodCall = "getShort(" + columnIndex + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getShort", columnIndex) : null;
     try
     {
       return reportReturn(methodCall, realResultSet.getShort(columnIndex));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getShort", s, columnIndex);
       throw s;
     }
   }
 
   public short getShort(String columnName) throws SQLException
   {
-    String methodCall = "getShort(" + columnName + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getShort", columnName) : null;
     try
     {
       return reportReturn(methodCall, realResultSet.getShort(columnName));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getShort", s, columnName);
       throw s;
     }
   }
 
   public int getInt(int columnIndex) throws SQLException
   {
-    String methodCall = "getInt(" + columnIndex + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getInt", columnIndex) : null;
     try
     {
       return reportReturn(methodCall, realResultSet.getInt(columnIndex));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getInt", s, columnIndex);
       throw s;
     }
   }
 
   public int getInt(String columnName) throws SQLException
   {
-    String methodCall = "getInt(" + columnName + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getInt", columnName) : null;
     try
     {
       return reportReturn(methodCall, realResultSet.getInt(columnName));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getInt", s, columnName);
       throw s;
     }
   }
 
   public void close() throws SQLException
   {
-    String methodCall = "close()";
+    String methodCall = isReturnReported() ? "close()" : null;
     try
     {
       realResultSet.close();
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("close()", s);
       throw s;
     }
     reportReturn(methodCall);
@@ -1496,70 +1566,70 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public ResultSetMetaData getMetaData() throws SQLException
   {
-    String methodCall = "getMetaData()";
+    String methodCall = isReturnReported() ? "getMetaData()" : null;
     try
     {
       return (ResultSetMetaData) reportReturn(methodCall, realResultSet.getMetaData());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getMetaData()", s);
       throw s;
     }
   }
 
   public int getType() throws SQLException
   {
-    String methodCall = "getType()";
+    String methodCall = isReturnReported() ? "getType()" : null;
     try
     {
       return reportReturn(methodCall, realResultSet.getType());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getType()", s);
       throw s;
     }
   }
 
   public double getDouble(int columnIndex) throws SQLException
   {
-    String methodCall = "getDouble(" + columnIndex + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getDouble", columnIndex) : null;
     try
     {
       return reportReturn(methodCall, realResultSet.getDouble(columnIndex));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getDouble", s, columnIndex);
       throw s;
     }
   }
 
   public double getDouble(String columnName) throws SQLException
   {
-    String methodCall = "getDouble(" + columnName + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getDouble", columnName) : null;
     try
     {
       return reportReturn(methodCall, realResultSet.getDouble(columnName));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getDouble", s, columnName);
       throw s;
     }
   }
 
   public void deleteRow() throws SQLException
   {
-    String methodCall = "deleteRow()";
+    String methodCall = isReturnReported() ? "deleteRow()" : null;
     try
     {
       realResultSet.deleteRow();
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("deleteRow()", s);
       throw s;
     }
     reportReturn(methodCall);
@@ -1567,70 +1637,70 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public int getConcurrency() throws SQLException
   {
-    String methodCall = "getConcurrency()";
+    String methodCall = isReturnReported() ? "getConcurrency()" : null;
     try
     {
       return reportReturn(methodCall, realResultSet.getConcurrency());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getConcurrency()", s);
       throw s;
     }
   }
 
   public boolean rowUpdated() throws SQLException
   {
-    String methodCall = "rowUpdated()";
+    String methodCall = isReturnReported() ? "rowUpdated()" : null;
     try
     {
       return reportReturn(methodCall, realResultSet.rowUpdated());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("rowUpdated()", s);
       throw s;
     }
   }
 
   public Date getDate(int columnIndex) throws SQLException
   {
-    String methodCall = "getDate(" + columnIndex + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getDate", columnIndex) : null;
     try
     {
       return (Date) reportReturn(methodCall, realResultSet.getDate(columnIndex));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getDate", s, columnIndex);
       throw s;
     }
   }
 
   public Date getDate(String columnName) throws SQLException
   {
-    String methodCall = "getDate(" + columnName + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getDate", columnName) : null;
     try
     {
       return (Date) reportReturn(methodCall, realResultSet.getDate(columnName));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getDate", s, columnName);
       throw s;
     }
   }
 
   public Date getDate(int columnIndex, Calendar cal) throws SQLException
   {
-    String methodCall = "getDate(" + columnIndex + ", " + cal + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getDate", columnIndex, cal) : null;
     try
     {
       return (Date) reportReturn(methodCall, realResultSet.getDate(columnIndex, cal));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getDate", s, columnIndex, cal);
       throw s;
     }
 
@@ -1638,70 +1708,70 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Date getDate(String columnName, Calendar cal) throws SQLException
   {
-    String methodCall = "getDate(" + columnName + ", " + cal + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getDate", columnName, cal) : null;
     try
     {
       return (Date) reportReturn(methodCall, realResultSet.getDate(columnName, cal));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getDate", s, columnName, cal);
       throw s;
     }
   }
 
   public boolean last() throws SQLException
   {
-    String methodCall = "last()";
+    String methodCall = isReturnReported() ? "last()" : null;
     try
     {
       return reportReturn(methodCall, realResultSet.last());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("last()", s);
       throw s;
     }
   }
 
   public boolean rowInserted() throws SQLException
   {
-    String methodCall = "rowInserted()";
+    String methodCall = isReturnReported() ? "rowInserted()" : null;
     try
     {
       return reportReturn(methodCall, realResultSet.rowInserted());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("rowInserted()", s);
       throw s;
     }
   }
 
   public boolean rowDeleted() throws SQLException
   {
-    String methodCall = "rowDeleted()";
+    String methodCall = isReturnReported() ? "rowDeleted()" : null;
     try
     {
       return reportReturn(methodCall, realResultSet.rowDeleted());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("rowDeleted()", s);
       throw s;
     }
   }
 
   public void updateNull(int columnIndex) throws SQLException
   {
-    String methodCall = "updateNull(" + columnIndex + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateNull", columnIndex) : null;
     try
     {
       realResultSet.updateNull(columnIndex);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateNull", s, columnIndex);
       throw s;
     }
     reportReturn(methodCall);
@@ -1709,14 +1779,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateNull(String columnName) throws SQLException
   {
-    String methodCall = "updateNull(" + columnName + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateNull", columnName) : null;
     try
     {
       realResultSet.updateNull(columnName);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateNull", s, columnName);
       throw s;
     }
     reportReturn(methodCall);
@@ -1724,14 +1794,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateShort(int columnIndex, short x) throws SQLException
   {
-    String methodCall = "updateShort(" + columnIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateShort", columnIndex, x) : null;
     try
     {
       realResultSet.updateShort(columnIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateShort", s, columnIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -1739,14 +1809,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateShort(String columnName, short x) throws SQLException
   {
-    String methodCall = "updateShort(" + columnName + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateShort", columnName, x) : null;
     try
     {
       realResultSet.updateShort(columnName, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateShort", s, columnName, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -1754,14 +1824,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateBoolean(int columnIndex, boolean x) throws SQLException
   {
-    String methodCall = "updateBoolean(" + columnIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateBoolean", columnIndex, x) : null;
     try
     {
       realResultSet.updateBoolean(columnIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateBoolean", s, columnIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -1769,14 +1839,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateBoolean(String columnName, boolean x) throws SQLException
   {
-    String methodCall = "updateBoolean(" + columnName + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateBoolean", columnName, x) : null;
     try
     {
       realResultSet.updateBoolean(columnName, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateBoolean", s, columnName, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -1784,14 +1854,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateByte(int columnIndex, byte x) throws SQLException
   {
-    String methodCall = "updateByte(" + columnIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateByte", columnIndex, x) : null;
     try
     {
       realResultSet.updateByte(columnIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateByte", s, columnIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -1799,14 +1869,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateByte(String columnName, byte x) throws SQLException
   {
-    String methodCall = "updateByte(" + columnName + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateByte", columnName, x) : null;
     try
     {
       realResultSet.updateByte(columnName, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateByte", s, columnName, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -1814,14 +1884,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateInt(int columnIndex, int x) throws SQLException
   {
-    String methodCall = "updateInt(" + columnIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateInt", columnIndex, x) : null;
     try
     {
       realResultSet.updateInt(columnIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateInt", s, columnIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -1829,14 +1899,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateInt(String columnName, int x) throws SQLException
   {
-    String methodCall = "updateInt(" + columnName + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateInt", columnName, x) : null;
     try
     {
       realResultSet.updateInt(columnName, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateInt", s, columnName, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -1844,70 +1914,70 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Object getObject(int columnIndex) throws SQLException
   {
-    String methodCall = "getObject(" + columnIndex + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getObject", columnIndex) : null;
     try
     {
       return reportReturn(methodCall, realResultSet.getObject(columnIndex));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getObject", s, columnIndex);
       throw s;
     }
   }
 
   public Object getObject(String columnName) throws SQLException
   {
-    String methodCall = "getObject(" + columnName + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getObject", columnName) : null;
     try
     {
       return reportReturn(methodCall, realResultSet.getObject(columnName));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getObject", s, columnName);
       throw s;
     }
   }
 
   public Object getObject(String colName, Map map) throws SQLException
   {
-    String methodCall = "getObject(" + colName + ", " + map + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getObject", colName, map) : null;
     try
     {
       return reportReturn(methodCall, realResultSet.getObject(colName, map));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getObject", s, colName, map);
       throw s;
     }
   }
 
   public boolean next() throws SQLException
   {
-    String methodCall = "next()";
+    String methodCall = isReturnReported() ? "next()" : null;
     try
     {
       return reportReturn(methodCall, realResultSet.next());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("next()", s);
       throw s;
     }
   }
 
   public void updateLong(int columnIndex, long x) throws SQLException
   {
-    String methodCall = "updateLong(" + columnIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateLong", columnIndex, x) : null;
     try
     {
       realResultSet.updateLong(columnIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateLong", s, columnIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -1915,14 +1985,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateLong(String columnName, long x) throws SQLException
   {
-    String methodCall = "updateLong(" + columnName + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateLong", columnName, x) : null;
     try
     {
       realResultSet.updateLong(columnName, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateLong", s, columnName, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -1930,14 +2000,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateFloat(int columnIndex, float x) throws SQLException
   {
-    String methodCall = "updateFloat(" + columnIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateFloat", columnIndex, x) : null;
     try
     {
       realResultSet.updateFloat(columnIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateFloat", s, columnIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -1946,14 +2016,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateFloat(String columnName, float x) throws SQLException
   {
-    String methodCall = "updateFloat(" + columnName + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateFloat", columnName, x) : null;
     try
     {
       realResultSet.updateFloat(columnName, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateFloat", s, columnName, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -1961,14 +2031,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateDouble(int columnIndex, double x) throws SQLException
   {
-    String methodCall = "updateDouble(" + columnIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateDouble", columnIndex, x) : null;
     try
     {
       realResultSet.updateDouble(columnIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateDouble", s, columnIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -1976,14 +2046,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateDouble(String columnName, double x) throws SQLException
   {
-    String methodCall = "updateDouble(" + columnName + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateDouble", columnName, x) : null;
     try
     {
       realResultSet.updateDouble(columnName, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateDouble", s, columnName, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -1991,34 +2061,34 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public Statement getStatement() throws SQLException
   {
-    String methodCall = "getStatement()";
+    String methodCall = isReturnReported() ? "getStatement()" : null;
     return (Statement) reportReturn(methodCall, parent);
   }
 
   public Object getObject(int columnIndex, Map<String, Class<?>> map) throws SQLException
   {
-    String methodCall = "getObject(" + columnIndex + ", " + map + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getObject", columnIndex, map) : null;
     try
     {
       return reportReturn(methodCall, realResultSet.getObject(columnIndex, map));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getObject", s, columnIndex, map);
       throw s;
     }
   }
 
   public void updateString(int columnIndex, String x) throws SQLException
   {
-    String methodCall = "updateString(" + columnIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateString", columnIndex, x) : null;
     try
     {
       realResultSet.updateString(columnIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateString", s, columnIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -2026,14 +2096,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateString(String columnName, String x) throws SQLException
   {
-    String methodCall = "updateString(" + columnName + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateString", columnName, x) : null;
     try
     {
       realResultSet.updateString(columnName, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateString", s, columnName, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -2041,42 +2111,42 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public InputStream getAsciiStream(int columnIndex) throws SQLException
   {
-    String methodCall = "getAsciiStream(" + columnIndex + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getAsciiStream", columnIndex) : null;
     try
     {
       return (InputStream) reportReturn(methodCall, realResultSet.getAsciiStream(columnIndex));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getAsciiStream", s, columnIndex);
       throw s;
     }
   }
 
   public InputStream getAsciiStream(String columnName) throws SQLException
   {
-    String methodCall = "getAsciiStream(" + columnName + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getAsciiStream", columnName) : null;
     try
     {
       return (InputStream) reportReturn(methodCall, realResultSet.getAsciiStream(columnName));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getAsciiStream", s, columnName);
       throw s;
     }
   }
 
   public void updateBigDecimal(int columnIndex, BigDecimal x) throws SQLException
   {
-    String methodCall = "updateBigDecimal(" + columnIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateBigDecimal", columnIndex, x) : null;
     try
     {
       realResultSet.updateBigDecimal(columnIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateBigDecimal", s, columnIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -2084,28 +2154,28 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public URL getURL(int columnIndex) throws SQLException
   {
-    String methodCall = "getURL(" + columnIndex + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getURL", columnIndex) : null;
     try
     {
       return (URL) reportReturn(methodCall, realResultSet.getURL(columnIndex));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getURL", s, columnIndex);
       throw s;
     }
   }
 
   public void updateBigDecimal(String columnName, BigDecimal x) throws SQLException
   {
-    String methodCall = "updateBigDecimal(" + columnName + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateBigDecimal", columnName, x) : null;
     try
     {
       realResultSet.updateBigDecimal(columnName, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateBigDecimal", s, columnName, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -2113,14 +2183,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public URL getURL(String columnName) throws SQLException
   {
-    String methodCall = "getURL(" + columnName + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getURL", columnName) : null;
     try
     {
       return (URL) reportReturn(methodCall, realResultSet.getURL(columnName));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getURL", s, columnName);
       throw s;
     }
   }
@@ -2128,14 +2198,14 @@ public class ResultSetSpy implements ResultSet, Spy
   public void updateBytes(int columnIndex, byte[] x) throws SQLException
   {
     // todo: dump array?
-    String methodCall = "updateBytes(" + columnIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateBytes", columnIndex, x) : null;
     try
     {
       realResultSet.updateBytes(columnIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateBytes", s, columnIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -2144,14 +2214,14 @@ public class ResultSetSpy implements ResultSet, Spy
   public void updateBytes(String columnName, byte[] x) throws SQLException
   {
     // todo: dump array?
-    String methodCall = "updateBytes(" + columnName + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateBytes", columnName, x) : null;
     try
     {
       realResultSet.updateBytes(columnName, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateBytes", s, columnName, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -2162,14 +2232,14 @@ public class ResultSetSpy implements ResultSet, Spy
    */
   public InputStream getUnicodeStream(int columnIndex) throws SQLException
   {
-    String methodCall = "getUnicodeStream(" + columnIndex + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getUnicodeStream", columnIndex) : null;
     try
     {
       return (InputStream) reportReturn(methodCall, realResultSet.getUnicodeStream(columnIndex));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getUnicodeStream", s, columnIndex);
       throw s;
     }
   }
@@ -2179,42 +2249,42 @@ public class ResultSetSpy implements ResultSet, Spy
    */
   public InputStream getUnicodeStream(String columnName) throws SQLException
   {
-    String methodCall = "getUnicodeStream(" + columnName + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getUnicodeStream", columnName) : null;
     try
     {
       return (InputStream) reportReturn(methodCall, realResultSet.getUnicodeStream(columnName));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getUnicodeStream", s, columnName);
       throw s;
     }
   }
 
   public void updateDate(int columnIndex, Date x) throws SQLException
   {
-    String methodCall = "updateDate(" + columnIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateDate", columnIndex, x) : null;
     try
     {
       realResultSet.updateDate(columnIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateDate", s, columnIndex, x);
       throw s;
     }
   }
 
   public void updateDate(String columnName, Date x) throws SQLException
   {
-    String methodCall = "updateDate(" + columnName + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateDate", columnName, x) : null;
     try
     {
       realResultSet.updateDate(columnName, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateDate", s, columnName, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -2222,70 +2292,70 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public int getFetchSize() throws SQLException
   {
-    String methodCall = "getFetchSize()";
+    String methodCall = isReturnReported() ? "getFetchSize()" : null;
     try
     {
       return reportReturn(methodCall, realResultSet.getFetchSize());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getFetchSize()", s);
       throw s;
     }
   }
 
   public SQLWarning getWarnings() throws SQLException
   {
-    String methodCall = "getWarnings()";
+    String methodCall = isReturnReported() ? "getWarnings()" : null;
     try
     {
       return (SQLWarning) reportReturn(methodCall, realResultSet.getWarnings());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getWarnings()", s);
       throw s;
     }
   }
 
   public InputStream getBinaryStream(int columnIndex) throws SQLException
   {
-    String methodCall = "getBinaryStream(" + columnIndex + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getBinaryStream", columnIndex) : null;
     try
     {
       return (InputStream) reportReturn(methodCall, realResultSet.getBinaryStream(columnIndex));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getBinaryStream", s, columnIndex);
       throw s;
     }
   }
 
   public InputStream getBinaryStream(String columnName) throws SQLException
   {
-    String methodCall = "getBinaryStream(" + columnName + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getBinaryStream", columnName) : null;
     try
     {
       return (InputStream) reportReturn(methodCall, realResultSet.getBinaryStream(columnName));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getBinaryStream", s, columnName);
       throw s;
     }
   }
 
   public void clearWarnings() throws SQLException
   {
-    String methodCall = "clearWarnings()";
+    String methodCall = isReturnReported() ? "clearWarnings()" : null;
     try
     {
       realResultSet.clearWarnings();
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("clearWarnings()", s);
       throw s;
     }
     reportReturn(methodCall);
@@ -2293,14 +2363,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateTimestamp(int columnIndex, Timestamp x) throws SQLException
   {
-    String methodCall = "updateTimestamp(" + columnIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateTimestamp", columnIndex, x) : null;
     try
     {
       realResultSet.updateTimestamp(columnIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateTimestamp", s, columnIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -2308,14 +2378,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateTimestamp(String columnName, Timestamp x) throws SQLException
   {
-    String methodCall = "updateTimestamp(" + columnName + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateTimestamp", columnName, x) : null;
     try
     {
       realResultSet.updateTimestamp(columnName, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateTimestamp", s, columnName, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -2323,70 +2393,70 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public boolean first() throws SQLException
   {
-    String methodCall = "first()";
+    String methodCall = isReturnReported() ? "first()" : null;
     try
     {
       return reportReturn(methodCall, realResultSet.first());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("first()", s);
       throw s;
     }
   }
 
   public String getCursorName() throws SQLException
   {
-    String methodCall = "getCursorName()";
+    String methodCall = isReturnReported() ? "getCursorName()" : null;
     try
     {
       return (String) reportReturn(methodCall, realResultSet.getCursorName());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getCursorName()", s);
       throw s;
     }
   }
 
   public int findColumn(String columnName) throws SQLException
   {
-    String methodCall = "findColumn(" + columnName + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("findColumn", columnName) : null;
     try
     {
       return reportReturn(methodCall, realResultSet.findColumn(columnName));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("findColumn", s, columnName);
       throw s;
     }
   }
 
   public boolean wasNull() throws SQLException
   {
-    String methodCall = "wasNull()";
+    String methodCall = isReturnReported() ? "wasNull()" : null;
     try
     {
       return reportReturn(methodCall, realResultSet.wasNull());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("wasNull()", s);
       throw s;
     }
   }
 
   public void updateBinaryStream(int columnIndex, InputStream x, int length) throws SQLException
   {
-    String methodCall = "updateBinaryStream(" + columnIndex + ", " + x + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateBinaryStream", columnIndex, x, length) : null;
     try
     {
       realResultSet.updateBinaryStream(columnIndex, x, length);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateBinaryStream", s, columnIndex, x, length);
       throw s;
     }
     reportReturn(methodCall);
@@ -2394,14 +2464,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateBinaryStream(String columnName, InputStream x, int length) throws SQLException
   {
-    String methodCall = "updateBinaryStream(" + columnName + ", " + x + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateBinaryStream", columnName, x, length) : null;
     try
     {
       realResultSet.updateBinaryStream(columnName, x, length);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateBinaryStream", s, columnName, x, length);
       throw s;
     }
     reportReturn(methodCall);
@@ -2409,70 +2479,70 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public String getString(int columnIndex) throws SQLException
   {
-    String methodCall = "getString(" + columnIndex + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getString", columnIndex) : null;
     try
     {
       return (String) reportReturn(methodCall, realResultSet.getString(columnIndex));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getString", s, columnIndex);
       throw s;
     }
   }
 
   public String getString(String columnName) throws SQLException
   {
-    String methodCall = "getString(" + columnName + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getString", columnName) : null;
     try
     {
       return (String) reportReturn(methodCall, realResultSet.getString(columnName));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getString", s, columnName);
       throw s;
     }
   }
 
   public Reader getCharacterStream(int columnIndex) throws SQLException
   {
-    String methodCall = "getCharacterStream(" + columnIndex + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getCharacterStream", columnIndex) : null;
     try
     {
       return (Reader) reportReturn(methodCall, realResultSet.getCharacterStream(columnIndex));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getCharacterStream", s, columnIndex);
       throw s;
     }
   }
 
   public Reader getCharacterStream(String columnName) throws SQLException
   {
-    String methodCall = "getCharacterStream(" + columnName + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getCharacterStream", columnName) : null;
     try
     {
       return (Reader) reportReturn(methodCall, realResultSet.getCharacterStream(columnName));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getCharacterStream", s, columnName);
       throw s;
     }
   }
 
   public void setFetchDirection(int direction) throws SQLException
   {
-    String methodCall = "setFetchDirection(" + direction + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setFetchDirection", direction) : null;
     try
     {
       realResultSet.setFetchDirection(direction);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setFetchDirection", s, direction);
       throw s;
     }
     reportReturn(methodCall);
@@ -2480,14 +2550,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateCharacterStream(int columnIndex, Reader x, int length) throws SQLException
   {
-    String methodCall = "updateCharacterStream(" + columnIndex + ", " + x + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateCharacterStream", columnIndex, x, length) : null;
     try
     {
       realResultSet.updateCharacterStream(columnIndex, x, length);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateCharacterStream", s, columnIndex, x, length);
       throw s;
     }
     reportReturn(methodCall);
@@ -2495,14 +2565,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateCharacterStream(String columnName, Reader reader, int length) throws SQLException
   {
-    String methodCall = "updateCharacterStream(" + columnName + ", " + reader + ", " + length + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateCharacterStream", columnName, reader, length) : null;
     try
     {
       realResultSet.updateCharacterStream(columnName, reader, length);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateCharacterStream", s, columnName, reader, length);
       throw s;
     }
     reportReturn(methodCall);
@@ -2510,42 +2580,42 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public byte getByte(int columnIndex) throws SQLException
   {
-    String methodCall = "getByte(" + columnIndex + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getByte", columnIndex) : null;
     try
     {
       return reportReturn(methodCall, realResultSet.getByte(columnIndex));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getByte", s, columnIndex);
       throw s;
     }
   }
 
   public byte getByte(String columnName) throws SQLException
   {
-    String methodCall = "getByte(" + columnName + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getByte", columnName) : null;
     try
     {
       return reportReturn(methodCall, realResultSet.getByte(columnName));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getByte", s, columnName);
       throw s;
     }
   }
 
   public void updateTime(int columnIndex, Time x) throws SQLException
   {
-    String methodCall = "updateTime(" + columnIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateTime", columnIndex, x) : null;
     try
     {
       realResultSet.updateTime(columnIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateTime", s, columnIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -2553,14 +2623,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateTime(String columnName, Time x) throws SQLException
   {
-    String methodCall = "updateTime(" + columnName + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateTime", columnName, x) : null;
     try
     {
       realResultSet.updateTime(columnName, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateTime", s, columnName, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -2568,56 +2638,56 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public byte[] getBytes(int columnIndex) throws SQLException
   {
-    String methodCall = "getBytes(" + columnIndex + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getBytes", columnIndex) : null;
     try
     {
       return (byte[]) reportReturn(methodCall, realResultSet.getBytes(columnIndex));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getBytes", s, columnIndex);
       throw s;
     }
   }
 
   public byte[] getBytes(String columnName) throws SQLException
   {
-    String methodCall = "getBytes(" + columnName + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getBytes", columnName) : null;
     try
     {
       return (byte[]) reportReturn(methodCall, realResultSet.getBytes(columnName));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getBytes", s, columnName);
       throw s;
     }
   }
 
   public boolean isAfterLast() throws SQLException
   {
-    String methodCall = "isAfterLast()";
+    String methodCall = isReturnReported() ? "isAfterLast()" : null;
     try
     {
       return reportReturn(methodCall, realResultSet.isAfterLast());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("isAfterLast()", s);
       throw s;
     }
   }
 
   public void updateObject(int columnIndex, Object x, int scale) throws SQLException
   {
-    String methodCall = "updateObject(" + columnIndex + ", " + x + ", " + scale + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateObject", columnIndex, x, scale) : null;
     try
     {
       realResultSet.updateObject(columnIndex, x, scale);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateObject", s, columnIndex, x, scale);
       throw s;
     }
     reportReturn(methodCall);
@@ -2625,14 +2695,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateObject(int columnIndex, Object x) throws SQLException
   {
-    String methodCall = "updateObject(" + columnIndex + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateObject", columnIndex, x) : null;
     try
     {
       realResultSet.updateObject(columnIndex, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateObject", s, columnIndex, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -2640,14 +2710,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateObject(String columnName, Object x, int scale) throws SQLException
   {
-    String methodCall = "updateObject(" + columnName + ", " + x + ", " + scale + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateObject", columnName, x, scale) : null;
     try
     {
       realResultSet.updateObject(columnName, x, scale);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateObject", s, columnName, x, scale);
       throw s;
     }
     reportReturn(methodCall);
@@ -2655,14 +2725,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateObject(String columnName, Object x) throws SQLException
   {
-    String methodCall = "updateObject(" + columnName + ", " + x + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("updateObject", columnName, x) : null;
     try
     {
       realResultSet.updateObject(columnName, x);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateObject", s, columnName, x);
       throw s;
     }
     reportReturn(methodCall);
@@ -2670,126 +2740,126 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public int getFetchDirection() throws SQLException
   {
-    String methodCall = "getFetchDirection()";
+    String methodCall = isReturnReported() ? "getFetchDirection()" : null;
     try
     {
       return reportReturn(methodCall, realResultSet.getFetchDirection());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getFetchDirection()", s);
       throw s;
     }
   }
 
   public long getLong(int columnIndex) throws SQLException
   {
-    String methodCall = "getLong(" + columnIndex + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getLong", columnIndex) : null;
     try
     {
       return reportReturn(methodCall, realResultSet.getLong(columnIndex));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getLong", s, columnIndex);
       throw s;
     }
   }
 
   public long getLong(String columnName) throws SQLException
   {
-    String methodCall = "getLong(" + columnName + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getLong", columnName) : null;
     try
     {
       return reportReturn(methodCall, realResultSet.getLong(columnName));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getLong", s, columnName);
       throw s;
     }
   }
 
   public boolean isFirst() throws SQLException
   {
-    String methodCall = "isFirst()";
+    String methodCall = isReturnReported() ? "isFirst()" : null;
     try
     {
       return reportReturn(methodCall, realResultSet.isFirst());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("isFirst()", s);
       throw s;
     }
   }
 
   public void insertRow() throws SQLException
   {
-    String methodCall = "insertRow()";
+    String methodCall = isReturnReported() ? "insertRow()" : null;
     try
     {
       realResultSet.insertRow();
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("insertRow()", s);
       throw s;
     }
   }
 
   public float getFloat(int columnIndex) throws SQLException
   {
-    String methodCall = "getFloat(" + columnIndex + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getFloat", columnIndex) : null;
     try
     {
       return reportReturn(methodCall, realResultSet.getFloat(columnIndex));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getFloat", s, columnIndex);
       throw s;
     }
   }
 
   public float getFloat(String columnName) throws SQLException
   {
-    String methodCall = "getFloat(" + columnName + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getFloat", columnName) : null;
     try
     {
       return reportReturn(methodCall, realResultSet.getFloat(columnName));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getFloat", s, columnName);
       throw s;
     }
   }
 
   public boolean isLast() throws SQLException
   {
-    String methodCall = "isLast()";
+    String methodCall = isReturnReported() ? "isLast()" : null;
     try
     {
       return reportReturn(methodCall, realResultSet.isLast());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("isLast()", s);
       throw s;
     }
   }
 
   public void setFetchSize(int rows) throws SQLException
   {
-    String methodCall = "setFetchSize(" + rows + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setFetchSize", rows) : null;
     try
     {
       realResultSet.setFetchSize(rows);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setFetchSize", s, rows);
       throw s;
     }
     reportReturn(methodCall);
@@ -2797,14 +2867,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void updateRow() throws SQLException
   {
-    String methodCall = "updateRow()";
+    String methodCall = isReturnReported() ? "updateRow()" : null;
     try
     {
       realResultSet.updateRow();
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("updateRow()", s);
       throw s;
     }
     reportReturn(methodCall);
@@ -2812,14 +2882,14 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void beforeFirst() throws SQLException
   {
-    String methodCall = "beforeFirst()";
+    String methodCall = isReturnReported() ? "beforeFirst()" : null;
     try
     {
       realResultSet.beforeFirst();
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("beforeFirst()", s);
       throw s;
     }
     reportReturn(methodCall);
@@ -2830,14 +2900,14 @@ public class ResultSetSpy implements ResultSet, Spy
    */
   public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException
   {
-    String methodCall = "getBigDecimal(" + columnIndex + ", " + scale + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getBigDecimal", columnIndex, scale) : null;
     try
     {
       return (BigDecimal) reportReturn(methodCall, realResultSet.getBigDecimal(columnIndex, scale));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getBigDecimal", s, columnIndex, scale);
       throw s;
     }
   }
@@ -2847,56 +2917,56 @@ public class ResultSetSpy implements ResultSet, Spy
    */
   public BigDecimal getBigDecimal(String columnName, int scale) throws SQLException
   {
-    String methodCall = "getBigDecimal(" + columnName + ", " + scale + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getBigDecimal", columnName, scale) : null;
     try
     {
       return (BigDecimal) reportReturn(methodCall, realResultSet.getBigDecimal(columnName, scale));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getBigDecimal", s, columnName, scale);
       throw s;
     }
   }
 
   public BigDecimal getBigDecimal(int columnIndex) throws SQLException
   {
-    String methodCall = "getBigDecimal(" + columnIndex + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getBigDecimal", columnIndex) : null;
     try
     {
       return (BigDecimal) reportReturn(methodCall, realResultSet.getBigDecimal(columnIndex));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getBigDecimal", s, columnIndex);
       throw s;
     }
   }
 
   public BigDecimal getBigDecimal(String columnName) throws SQLException
   {
-    String methodCall = "getBigDecimal(" + columnName + ")";
+    String methodCall = isRowValueReported() ? Utilities.describe("getBigDecimal", columnName) : null;
     try
     {
       return (BigDecimal) reportReturn(methodCall, realResultSet.getBigDecimal(columnName));
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getBigDecimal", s, columnName);
       throw s;
     }
   }
 
   public void afterLast() throws SQLException
   {
-    String methodCall = "afterLast()";
+    String methodCall = isReturnReported() ? "afterLast()" : null;
     try
     {
       realResultSet.afterLast();
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("afterLast()", s);
       throw s;
     }
     reportReturn(methodCall);
@@ -2904,20 +2974,20 @@ public class ResultSetSpy implements ResultSet, Spy
 
   public void refreshRow() throws SQLException
   {
-    String methodCall = "refreshRow()";
+    String methodCall = isReturnReported() ? "refreshRow()" : null;
     try
     {
       realResultSet.refreshRow();
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("refreshRow()", s);
       throw s;
     }
   }
 
   public <T> T unwrap(Class<T> iface) throws SQLException {
-    String methodCall = "unwrap(" + (iface==null?"null":iface.getName()) + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("unwrap", (iface==null?"null":iface.getName())) : null;
     try
     {
       //todo: double check this logic
@@ -2925,14 +2995,14 @@ public class ResultSetSpy implements ResultSet, Spy
     }
     catch (SQLException s)
     {
-      reportException(methodCall,s);
+      reportException("unwrap", s, (iface==null?"null":iface.getName()));
       throw s;
     }
   }
 
   public boolean isWrapperFor(Class<?> iface) throws SQLException
   {
-    String methodCall = "isWrapperFor(" + (iface==null?"null":iface.getName()) + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("isWrapperFor", (iface==null?"null":iface.getName())) : null;
     try
     {
       return reportReturn(methodCall, (iface != null && (iface == ResultSet.class || iface == Spy.class)) ||
@@ -2940,7 +3010,7 @@ public class ResultSetSpy implements ResultSet, Spy
     }
     catch (SQLException s)
     {
-      reportException(methodCall,s);
+      reportException("isWrapperFor", s, (iface==null?"null":iface.getName()));
       throw s;
     }
   }
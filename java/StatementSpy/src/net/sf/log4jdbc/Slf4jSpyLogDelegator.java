@@ -147,8 +147,7 @@ public class Slf4jSpyLogDelegator implements SpyLogDelegator
   public void methodReturned(Spy spy, String methodCall, String returnMsg)
   {
     String classType = spy.getClassType();
-    Logger logger=ResultSetSpy.classTypeDescription.equals(classType)?
-      resultSetLogger:jdbcLogger;
+    Logger logger = getReturnLogger(classType);
     if (logger.isInfoEnabled())
     {
       String header = spy.getConnectionNumber() + ". " + classType + "." +
@@ -164,6 +163,30 @@ public class Slf4jSpyLogDelegator implements SpyLogDelegator
     }
   }
 
+  /**
+   * Determine if a call to methodReturned for the given spy would be logged.
+   *
+   * @param spy the Spy wrapping the class whose method returns are to be reported.
+   * @return true if the jdbc.resultset logger (for ResultSets) or the jdbc.audit logger (for all other classes)
+   *         is enabled at info level.
+   */
+  public boolean isReturnLoggingEnabled(Spy spy)
+  {
+    return getReturnLogger(spy.getClassType()).isInfoEnabled();
+  }
+
+  /**
+   * Get the logger that reports method returns of the given class type.
+   *
+   * @param classType the class type of a Spy.
+   * @return the jdbc.resultset logger for ResultSets, otherwise the jdbc.audit logger.
+   */
+  private Logger getReturnLogger(String classType)
+  {
+    return ResultSetSpy.classTypeDescription.equals(classType)?
+      resultSetLogger:jdbcLogger;
+  }
+
   /**
    * Called when a spied upon object is constructed.
    *
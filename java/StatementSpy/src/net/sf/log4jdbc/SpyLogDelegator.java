@@ -31,6 +31,15 @@ public interface SpyLogDelegator
    */
   public boolean isJdbcLoggingEnabled();
 
+  /**
+   * Determine if a call to methodReturned for the given spy would be logged.  Spies use this to avoid building the
+   * description of method calls and return values that are discarded anyway.
+   *
+   * @param spy the Spy wrapping the class whose method returns are to be reported.
+   * @return true if method returns of the spy are logged.
+   */
+  public boolean isReturnLoggingEnabled(Spy spy);
+
   /**
    * Called when a spied upon method throws an Exception.
    *
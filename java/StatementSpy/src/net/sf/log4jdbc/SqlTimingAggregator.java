@@ -0,0 +1,541 @@
+package net.sf.log4jdbc;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Collects SQL execution times in process, as an alternative to writing every
+ * statement to the sqltiming log and post processing it with the
+ * PostLogProfilerProcessor.
+ * <p/>
+ * Timings are aggregated per SQL shape: the SQL with all string and numeric
+ * literals and bind values replaced by <code>?</code>, lists of such values
+ * collapsed into a single <code>?</code>, and comments and extra white space
+ * removed.  A batch of statements has the shape of its distinct member
+ * statements.  For each shape the number of executions, the number of failures,
+ * the total and maximum execution time and a latency histogram are kept.  All
+ * counters are updated without locking.
+ * <p/>
+ * Aggregation is turned on with the <b>log4jdbc.sqltiming.aggregate</b>
+ * option.  The collected data can be read programmatically with
+ * {@link #getTopByTotalTime(int)} and {@link #getTopByP99(int)}, or through
+ * JMX under the name <code>net.sf.log4jdbc:type=SqlTimingAggregator</code>.
+ * To bound the memory used, at most <b>log4jdbc.sqltiming.aggregate.maxshapes</b>
+ * shapes are kept, all further shapes are aggregated under the shape
+ * <code>{other}</code>.
+ *
+ * @author agent
+ *
+ */
+public class SqlTimingAggregator implements SqlTimingAggregatorMBean
+{
+  /**
+   * Name under which the aggregator is registered with the platform MBean
+   * server.
+   */
+  public static final String MBEAN_NAME =
+    "net.sf.log4jdbc:type=SqlTimingAggregator";
+
+  /**
+   * Shape under which all SQL is aggregated once the maximum number of shapes
+   * is reached.
+   */
+  public static final String OTHER_SHAPE = "{other}";
+
+  private static final SqlTimingAggregator instance = new SqlTimingAggregator();
+
+  /**
+   * Get the aggregator used by the spies.
+   *
+   * @return the one and only SqlTimingAggregator.
+   */
+  public static SqlTimingAggregator getInstance()
+  {
+    return instance;
+  }
+
+  private final ConcurrentMap<String, ShapeStats> shapes =
+    new ConcurrentHashMap<String, ShapeStats>();
+
+  /**
+   * Number of shapes which have reserved one of the maxShapes slots, not
+   * counting the {other} shape.
+   */
+  private final AtomicInteger shapeCount = new AtomicInteger();
+
+  private volatile int maxShapes = 1000;
+
+  /**
+   * Create a new, empty aggregator.
+   */
+  public SqlTimingAggregator()
+  {
+  }
+
+  /**
+   * Set the maximum number of SQL shapes which are kept separately.
+   *
+   * @param maxShapes maximum number of shapes.
+   */
+  public void setMaxShapes(int maxShapes)
+  {
+    this.maxShapes = maxShapes;
+  }
+
+  /**
+   * Record the execution time of an SQL statement.
+   *
+   * @param sql      the SQL that was run, with or without bind values.
+   * @param execTime execution time in msec.
+   * @param failed   true if the execution threw an exception.
+   */
+  public void record(String sql, long execTime, boolean failed)
+  {
+    recordShape(normalize(sql), execTime, failed);
+  }
+
+  /**
+   * Record the execution time of an SQL statement whose shape is already
+   * known.
+   *
+   * @param shape    normalized SQL as returned by normalize.
+   * @param execTime execution time in msec.
+   * @param failed   true if the execution threw an exception.
+   */
+  public void recordShape(String shape, long execTime, boolean failed)
+  {
+    ShapeStats stats = shapes.get(shape);
+    if (stats == null)
+    {
+      // reserve a slot first, so that concurrent new shapes cannot exceed
+      // the limit
+      if (reserveShape())
+      {
+        stats = new ShapeStats();
+        ShapeStats old = shapes.putIfAbsent(shape, stats);
+        if (old != null)
+        {
+          stats = old;
+          shapeCount.decrementAndGet();
+        }
+      }
+      else
+      {
+        // once the limit is reached, new shapes only look up the overflow
+        // entry, which is created at most once
+        stats = shapes.get(OTHER_SHAPE);
+        if (stats == null)
+        {
+          stats = new ShapeStats();
+          ShapeStats old = shapes.putIfAbsent(OTHER_SHAPE, stats);
+          if (old != null)
+          {
+            stats = old;
+          }
+        }
+      }
+    }
+    stats.record(execTime, failed);
+  }
+
+  /**
+   * Reserve a slot for a new shape, unless the limit has been reached.
+   *
+   * @return true if a slot was reserved.
+   */
+  private boolean reserveShape()
+  {
+    int count;
+    do
+    {
+      count = shapeCount.get();
+      if (count >= maxShapes)
+      {
+        return false;
+      }
+    }
+    while (!shapeCount.compareAndSet(count, count + 1));
+    return true;
+  }
+
+  /**
+   * Get a snapshot of the statistics of all SQL shapes.
+   *
+   * @return statistics in no particular order.
+   */
+  public List<SqlTimingStats> getStats()
+  {
+    List<SqlTimingStats> result = new ArrayList<SqlTimingStats>(shapes.size());
+    for (Map.Entry<String, ShapeStats> e : shapes.entrySet())
+    {
+      result.add(e.getValue().snapshot(e.getKey()));
+    }
+    return result;
+  }
+
+  /**
+   * Get a snapshot of the statistics of one SQL statement.
+   *
+   * @param sql the SQL, with or without bind values.
+   * @return statistics of the shape of the SQL, or null if it was never run.
+   */
+  public SqlTimingStats getStats(String sql)
+  {
+    String shape = normalize(sql);
+    ShapeStats stats = shapes.get(shape);
+    return stats == null ? null : stats.snapshot(shape);
+  }
+
+  /**
+   * Get the SQL shapes with the highest total execution time.
+   *
+   * @param n maximum number of shapes to return.
+   * @return list of SqlTimingStats, sorted by decreasing total time.
+   */
+  public List<SqlTimingStats> getTopByTotalTime(int n)
+  {
+    return top(n, new Comparator<SqlTimingStats>()
+    {
+      public int compare(SqlTimingStats s1, SqlTimingStats s2)
+      {
+        return compareLongs(s2.getTotalMsec(), s1.getTotalMsec());
+      }
+    });
+  }
+
+  /**
+   * Get the SQL shapes with the highest 99th percentile of execution times.
+   *
+   * @param n maximum number of shapes to return.
+   * @return list of SqlTimingStats, sorted by decreasing 99th percentile.
+   */
+  public List<SqlTimingStats> getTopByP99(int n)
+  {
+    return top(n, new Comparator<SqlTimingStats>()
+    {
+      public int compare(SqlTimingStats s1, SqlTimingStats s2)
+      {
+        return compareLongs(s2.getP99Msec(), s1.getP99Msec());
+      }
+    });
+  }
+
+  public int getShapeCount()
+  {
+    return shapes.size();
+  }
+
+  public long getExecutionCount()
+  {
+    long result = 0;
+    for (ShapeStats stats : shapes.values())
+    {
+      result += stats.count.get();
+    }
+    return result;
+  }
+
+  public long getErrorCount()
+  {
+    long result = 0;
+    for (ShapeStats stats : shapes.values())
+    {
+      result += stats.errors.get();
+    }
+    return result;
+  }
+
+  public String[] getTopShapes()
+  {
+    return topByTotalTime(20);
+  }
+
+  public String[] topByTotalTime(int n)
+  {
+    return toStrings(getTopByTotalTime(n));
+  }
+
+  public String[] topByP99(int n)
+  {
+    return toStrings(getTopByP99(n));
+  }
+
+  /**
+   * Discard all statistics.  Shapes recorded concurrently may be lost or
+   * may not count towards the maximum number of shapes.
+   */
+  public void reset()
+  {
+    shapes.clear();
+    shapeCount.set(0);
+  }
+
+  /**
+   * Register the aggregator with the platform MBean server.  Failures are
+   * logged on the log4jdbc.debug logger and otherwise ignored.
+   */
+  void registerMBean()
+  {
+    try
+    {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = new ObjectName(MBEAN_NAME);
+      if (!server.isRegistered(name))
+      {
+        server.registerMBean(this, name);
+      }
+    }
+    catch (Exception e)
+    {
+      SpyLogFactory.getSpyLogDelegator().debug(
+        "ERROR!  unable to register " + MBEAN_NAME + ": " + e);
+    }
+  }
+
+  private static final Pattern VALUE_LIST = Pattern.compile("\\?(\\s*,\\s*\\?)+");
+
+  /**
+   * Header of the SQL reported for a batch of statements by
+   * StatementSpy.executeBatch.
+   */
+  private static final Pattern BATCH_HEADER =
+    Pattern.compile("^batching (\\d+) statements:");
+
+  /**
+   * Get the shape of an SQL statement: replace string and numeric literals by
+   * ?, collapse lists of ? into one ?, remove comments and reduce white space
+   * to single blanks.  Quoted identifiers are kept.  The shape of a batch
+   * report (batching N statements: ...) is <code>batch: </code> followed by
+   * the distinct shapes of its statements, separated by <code>; </code>.
+   *
+   * @param sql SQL to normalize.
+   * @return the normalized SQL.
+   */
+  public static String normalize(String sql)
+  {
+    Matcher m = BATCH_HEADER.matcher(sql);
+    if (m.find())
+    {
+      return normalizeBatch(sql, m.end(), Integer.parseInt(m.group(1)));
+    }
+    return normalizeStatement(sql);
+  }
+
+  /**
+   * Get the shape of a batch report: the distinct shapes of the statements
+   * in order of their first occurrence.  The statements are numbered as done
+   * by StatementSpy.executeBatch.
+   *
+   * @param sql   the batch report.
+   * @param start position after the header.
+   * @param count number of statements in the batch.
+   * @return the normalized batch.
+   */
+  private static String normalizeBatch(String sql, int start, int count)
+  {
+    int fieldSize = ("" + count).length();
+    Set<String> members = new LinkedHashSet<String>();
+    int from = sql.indexOf(batchMarker(fieldSize, 1), start);
+    for (int i = 1; from >= 0 && i <= count; i++)
+    {
+      from += batchMarker(fieldSize, i).length();
+      int to = i < count ? sql.indexOf(batchMarker(fieldSize, i + 1), from) : -1;
+      members.add(normalizeStatement(to < 0 ? sql.substring(from) :
+        sql.substring(from, to)));
+      from = to;
+    }
+    StringBuffer out = new StringBuffer("batch:");
+    String separator = " ";
+    for (String member : members)
+    {
+      out.append(separator).append(member);
+      separator = "; ";
+    }
+    return out.toString();
+  }
+
+  private static String batchMarker(int fieldSize, int i)
+  {
+    return "\n" + Utilities.rightJustify(fieldSize, "" + i) + ":  ";
+  }
+
+  private static String normalizeStatement(String sql)
+  {
+    int len = sql.length();
+    StringBuffer out = new StringBuffer(len);
+    boolean space = false;
+    int i = 0;
+    while (i < len)
+    {
+      char c = sql.charAt(i);
+      if (Character.isWhitespace(c))
+      {
+        space = true;
+        i++;
+        continue;
+      }
+      if (c == '-' && i + 1 < len && sql.charAt(i + 1) == '-')
+      {
+        while (i < len && sql.charAt(i) != '\n')
+        {
+          i++;
+        }
+        space = true;
+        continue;
+      }
+      if (c == '/' && i + 1 < len && sql.charAt(i + 1) == '*')
+      {
+        int end = sql.indexOf("*/", i + 2);
+        i = end < 0 ? len : end + 2;
+        space = true;
+        continue;
+      }
+      if (space && out.length() > 0)
+      {
+        out.append(' ');
+      }
+      space = false;
+      if (c == '\'')
+      {
+        // string literal, '' is an escaped quote
+        i++;
+        while (i < len)
+        {
+          if (sql.charAt(i) == '\'')
+          {
+            if (i + 1 < len && sql.charAt(i + 1) == '\'')
+            {
+              i += 2;
+              continue;
+            }
+            break;
+          }
+          i++;
+        }
+        i++;
+        out.append('?');
+      }
+      else if (c == '"' || c == '`')
+      {
+        // quoted identifier
+        int end = sql.indexOf(c, i + 1);
+        end = end < 0 ? len : end + 1;
+        out.append(sql, i, end);
+        i = end;
+      }
+      else if (Character.isDigit(c) || (c == '.' && i + 1 < len &&
+        Character.isDigit(sql.charAt(i + 1))))
+      {
+        boolean partOfName = out.length() > 0 &&
+          isNameChar(out.charAt(out.length() - 1));
+        int start = i;
+        while (i < len && (isNameChar(sql.charAt(i)) || sql.charAt(i) == '.' ||
+          ((sql.charAt(i) == '+' || sql.charAt(i) == '-') &&
+          (sql.charAt(i - 1) == 'e' || sql.charAt(i - 1) == 'E'))))
+        {
+          i++;
+        }
+        if (partOfName)
+        {
+          out.append(sql, start, i);
+        }
+        else
+        {
+          out.append('?');
+        }
+      }
+      else if (isNameChar(c))
+      {
+        int start = i;
+        while (i < len && isNameChar(sql.charAt(i)))
+        {
+          i++;
+        }
+        out.append(sql, start, i);
+      }
+      else
+      {
+        out.append(c);
+        i++;
+      }
+    }
+    return VALUE_LIST.matcher(out).replaceAll("?");
+  }
+
+  private static boolean isNameChar(char c)
+  {
+    return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '#';
+  }
+
+  private static int compareLongs(long l1, long l2)
+  {
+    return l1 < l2 ? -1 : (l1 == l2 ? 0 : 1);
+  }
+
+  private List<SqlTimingStats> top(int n, Comparator<SqlTimingStats> order)
+  {
+    List<SqlTimingStats> result = getStats();
+    Collections.sort(result, order);
+    return n < result.size() ?
+      new ArrayList<SqlTimingStats>(result.subList(0, n)) : result;
+  }
+
+  private static String[] toStrings(List<SqlTimingStats> stats)
+  {
+    String[] result = new String[stats.size()];
+    for (int i = 0; i < result.length; i++)
+    {
+      result[i] = stats.get(i).toString();
+    }
+    return result;
+  }
+
+  /**
+   * Counters of one SQL shape.
+   */
+  private static class ShapeStats
+  {
+    final AtomicLong count = new AtomicLong();
+    final AtomicLong errors = new AtomicLong();
+    final AtomicLong totalMsec = new AtomicLong();
+    final AtomicLong maxMsec = new AtomicLong();
+    final LatencyHistogram histogram = new LatencyHistogram();
+
+    void record(long execTime, boolean failed)
+    {
+      count.incrementAndGet();
+      if (failed)
+      {
+        errors.incrementAndGet();
+      }
+      totalMsec.addAndGet(execTime);
+      long max = maxMsec.get();
+      while (execTime > max && !maxMsec.compareAndSet(max, execTime))
+      {
+        max = maxMsec.get();
+      }
+      histogram.record(execTime);
+    }
+
+    SqlTimingStats snapshot(String shape)
+    {
+      return new SqlTimingStats(shape, count.get(), errors.get(),
+        totalMsec.get(), maxMsec.get(), histogram.getCounts());
+    }
+  }
+}
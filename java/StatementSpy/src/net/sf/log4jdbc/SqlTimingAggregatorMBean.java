@@ -0,0 +1,61 @@
+package net.sf.log4jdbc;
+
+/**
+ * JMX management interface of the SqlTimingAggregator.
+ *
+ * @author agent
+ *
+ */
+public interface SqlTimingAggregatorMBean
+{
+  /**
+   * Get the number of distinct SQL shapes for which timings were collected.
+   *
+   * @return number of SQL shapes.
+   */
+  public int getShapeCount();
+
+  /**
+   * Get the total number of SQL executions that were recorded.
+   *
+   * @return number of executions.
+   */
+  public long getExecutionCount();
+
+  /**
+   * Get the total number of SQL executions that threw an exception.
+   *
+   * @return number of failed executions.
+   */
+  public long getErrorCount();
+
+  /**
+   * Get a summary of the 20 SQL shapes with the highest total execution time.
+   *
+   * @return one line per SQL shape, see topByTotalTime.
+   */
+  public String[] getTopShapes();
+
+  /**
+   * Get a summary of the SQL shapes with the highest total execution time.
+   *
+   * @param n maximum number of SQL shapes to return.
+   * @return one line per SQL shape with count, error count, total, p50, p99
+   *         and max execution time followed by the SQL.
+   */
+  public String[] topByTotalTime(int n);
+
+  /**
+   * Get a summary of the SQL shapes with the highest 99th percentile of the
+   * execution times.
+   *
+   * @param n maximum number of SQL shapes to return.
+   * @return one line per SQL shape, see topByTotalTime.
+   */
+  public String[] topByP99(int n);
+
+  /**
+   * Discard all collected timings.
+   */
+  public void reset();
+}
@@ -0,0 +1,129 @@
+package net.sf.log4jdbc;
+
+/**
+ * An immutable snapshot of the timing statistics that the SqlTimingAggregator
+ * collected for one SQL shape.
+ *
+ * @author agent
+ *
+ */
+public class SqlTimingStats
+{
+  private final String sql;
+  private final long count;
+  private final long errorCount;
+  private final long totalMsec;
+  private final long maxMsec;
+  private final long[] histogram;
+
+  SqlTimingStats(String sql, long count, long errorCount, long totalMsec,
+    long maxMsec, long[] histogram)
+  {
+    this.sql = sql;
+    this.count = count;
+    this.errorCount = errorCount;
+    this.totalMsec = totalMsec;
+    this.maxMsec = maxMsec;
+    this.histogram = histogram;
+  }
+
+  /**
+   * Get the normalized SQL, with all literals and bind values replaced by ?.
+   *
+   * @return the SQL shape.
+   */
+  public String getSql()
+  {
+    return sql;
+  }
+
+  /**
+   * Get the number of executions, including the failed ones.
+   *
+   * @return the number of executions.
+   */
+  public long getCount()
+  {
+    return count;
+  }
+
+  /**
+   * Get the number of executions that threw an SQLException.
+   *
+   * @return the number of failed executions.
+   */
+  public long getErrorCount()
+  {
+    return errorCount;
+  }
+
+  /**
+   * Get the sum of all execution times.
+   *
+   * @return total execution time in msec.
+   */
+  public long getTotalMsec()
+  {
+    return totalMsec;
+  }
+
+  /**
+   * Get the longest execution time.
+   *
+   * @return maximum execution time in msec.
+   */
+  public long getMaxMsec()
+  {
+    return maxMsec;
+  }
+
+  /**
+   * Get the average execution time.
+   *
+   * @return mean execution time in msec.
+   */
+  public double getMeanMsec()
+  {
+    return count == 0 ? 0 : (double) totalMsec / count;
+  }
+
+  /**
+   * Get a percentile of the execution times.  The result is accurate to
+   * 6.25% and never larger than the maximum execution time.
+   *
+   * @param percentile percentile between 0 and 100.
+   * @return execution time in msec.
+   */
+  public long getPercentileMsec(double percentile)
+  {
+    return Math.min(maxMsec,
+      LatencyHistogram.getValueAtPercentile(histogram, percentile));
+  }
+
+  /**
+   * Get the median execution time.
+   *
+   * @return 50th percentile in msec.
+   */
+  public long getP50Msec()
+  {
+    return getPercentileMsec(50);
+  }
+
+  /**
+   * Get the 99th percentile of the execution times.
+   *
+   * @return 99th percentile in msec.
+   */
+  public long getP99Msec()
+  {
+    return getPercentileMsec(99);
+  }
+
+  public String toString()
+  {
+    return "count=" + count + " errors=" + errorCount + " total=" + totalMsec +
+      " p50=" + getP50Msec() + " p99=" + getP99Msec() + " max=" + maxMsec +
+      " msec: " + sql;
+  }
+}
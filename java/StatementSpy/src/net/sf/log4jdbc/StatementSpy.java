@@ -112,6 +112,7 @@ public class StatementSpy implements Statement, Spy
   protected void reportException(String methodCall, SQLException exception, String sql, long execTime)
   {
     log.exceptionOccured(this, methodCall, exception, sql, execTime);
+    aggregateSqlTiming(execTime, sql, true);
   }
 
   /**
@@ -136,6 +137,20 @@ public class StatementSpy implements Statement, Spy
     log.exceptionOccured(this, methodCall, exception, null, -1L);
   }
 
+  /**
+   * Report an exception to be logged, describing the method call from the method name and arguments.
+   * A single String argument must be cast to Object, otherwise the call resolves to
+   * {@link #reportException(String, SQLException, String)}.
+   *
+   * @param method name of the method that generated the exception.
+   * @param exception exception that was generated
+   * @param args arguments passed to the method.
+   */
+  protected void reportException(String method, SQLException exception, Object... args)
+  {
+    reportException(Utilities.describe(method, args), exception);
+  }
+
   /**
    * Report (for logging) that a method returned.  All the other reportReturn methods are conveniance methods that call this method.
    *
@@ -147,118 +162,165 @@ public class StatementSpy implements Statement, Spy
     log.methodReturned(this, methodCall, msg);
   }
 
+  /**
+   * Determine if method returns of this Statement are logged.  If not, the spy methods do not build a description
+   * of the method call at all, which keeps the overhead of a spy low when the return loggers are turned off.
+   *
+   * @return true if the logger for method returns is enabled.
+   */
+  protected boolean isReturnReported()
+  {
+    return log.isReturnLoggingEnabled(this);
+  }
+
   /**
    * Conveniance method to report (for logging) that a method returned a boolean value.
    *
-   * @param methodCall description of method call and arguments passed to it that returned.
+   * @param methodCall description of method call and arguments passed to it that returned, or null if the
+   *                   return is not reported.
    * @param value boolean return value.
    * @return the boolean return value as passed in.
    */
   protected boolean reportReturn(String methodCall, boolean value)
   {
-    reportAllReturns(methodCall, "" + value);
+    if (methodCall != null)
+    {
+      reportAllReturns(methodCall, "" + value);
+    }
     return value;
   }
 
   /**
    * Conveniance method to report (for logging) that a method returned a byte value.
    *
-   * @param methodCall description of method call and arguments passed to it that returned.
+   * @param methodCall description of method call and arguments passed to it that returned, or null if the
+   *                   return is not reported.
    * @param value byte return value.
    * @return the byte return value as passed in.
    */
   protected byte reportReturn(String methodCall, byte value)
   {
-    reportAllReturns(methodCall, "" + value);
+    if (methodCall != null)
+    {
+      reportAllReturns(methodCall, "" + value);
+    }
     return value;
   }
 
   /**
    * Conveniance method to report (for logging) that a method returned a int value.
    *
-   * @param methodCall description of method call and arguments passed to it that returned.
+   * @param methodCall description of method call and arguments passed to it that returned, or null if the
+   *                   return is not reported.
    * @param value int return value.
    * @return the int return value as passed in.
    */
   protected int reportReturn(String methodCall, int value)
   {
-    reportAllReturns(methodCall, "" + value);
+    if (methodCall != null)
+    {
+      reportAllReturns(methodCall, "" + value);
+    }
     return value;
   }
 
   /**
    * Conveniance method to report (for logging) that a method returned a double value.
    *
-   * @param methodCall description of method call and arguments passed to it that returned.
+   * @param methodCall description of method call and arguments passed to it that returned, or null if the
+   *                   return is not reported.
    * @param value double return value.
    * @return the double return value as passed in.
    */
   protected double reportReturn(String methodCall, double value)
   {
-    reportAllReturns(methodCall, "" + value);
+    if (methodCall != null)
+    {
+      reportAllReturns(methodCall, "" + value);
+    }
     return value;
   }
 
   /**
    * Conveniance method to report (for logging) that a method returned a short value.
    *
-   * @param methodCall description of method call and arguments passed to it that returned.
+   * @param methodCall description of method call and arguments passed to it that returned, or null if the
+   *                   return is not reported.
    * @param value short return value.
    * @return the short return value as passed in.
    */
   protected short reportReturn(String methodCall, short value)
   {
-    reportAllReturns(methodCall, "" + value);
+    if (methodCall != null)
+    {
+      reportAllReturns(methodCall, "" + value);
+    }
     return value;
   }
 
   /**
    * Conveniance method to report (for logging) that a method returned a long value.
    *
-   * @param methodCall description of method call and arguments passed to it that returned.
+   * @param methodCall description of method call and arguments passed to it that returned, or null if the
+   *                   return is not reported.
    * @param value long return value.
    * @return the long return value as passed in.
    */
   protected long reportReturn(String methodCall, long value)
   {
-    reportAllReturns(methodCall, "" + value);
+    if (methodCall != null)
+    {
+      reportAllReturns(methodCall, "" + value);
+    }
     return value;
   }
 
   /**
    * Conveniance method to report (for logging) that a method returned a float value.
    *
-   * @param methodCall description of method call and arguments passed to it that returned.
+   * @param methodCall description of method call and arguments passed to it that returned, or null if the
+   *                   return is not reported.
    * @param value float return value.
    * @return the float return value as passed in.
    */
   protected float reportReturn(String methodCall, float value)
   {
-    reportAllReturns(methodCall, "" + value);
+    if (methodCall != null)
+    {
+      reportAllReturns(methodCall, "" + value);
+    }
     return value;
   }
 
   /**
    * Conveniance method to report (for logging) that a method returned an Object.
    *
-   * @param methodCall description of method call and arguments passed to it that returned.
+   * @param methodCall description of method call and arguments passed to it that returned, or null if the
+   *                   return is not reported.
    * @param value return Object.
    * @return the return Object as passed in.
    */
   protected Object reportReturn(String methodCall, Object value)
   {
-    reportAllReturns(methodCall, "" + value);
+    if (methodCall != null)
+    {
+      reportAllReturns(methodCall, "" + value);
+    }
     return value;
   }
 
   /**
    * Conveniance method to report (for logging) that a method returned (void return type).
    *
-   * @param methodCall description of method call and arguments passed to it that returned.
+   * @param methodCall description of method call and arguments passed to it that returned, or null if the
+   *                   return is not reported.
    */
   protected void reportReturn(String methodCall)
   {
-    reportAllReturns(methodCall, "");
+    if (methodCall != null)
+    {
+      reportAllReturns(methodCall, "");
+    }
   }
 
   /**
@@ -294,6 +356,7 @@ public class StatementSpy implements Statement, Spy
     // with the reportReturn calls
     _reportSqlTiming(execTime, (DriverSpy.StatementUsageWarn?StatementSqlWarning:"") +
       sql, methodCall);
+    aggregateSqlTiming(execTime, sql, false);
   }
 
   /**
@@ -308,6 +371,7 @@ public class StatementSpy implements Statement, Spy
     // redirect to one more method call ONLY so that stack trace search is consistent
     // with the reportReturn calls
     _reportSqlTiming(execTime, sql, methodCall);
+    aggregateSqlTiming(execTime, sql, false);
   }
 
   /**
@@ -333,17 +397,43 @@ public class StatementSpy implements Statement, Spy
     log.sqlTimingOccured(this, execTime, methodCall, sql);
   }
 
+  /**
+   * Pass the execution time of SQL to the SqlTimingAggregator, if aggregation is turned on.
+   *
+   * @param execTime execution time in msec, or -1 if not known.
+   * @param sql      the SQL that was run.
+   * @param failed   true if the SQL threw an exception.
+   */
+  private void aggregateSqlTiming(long execTime, String sql, boolean failed)
+  {
+    if (DriverSpy.SqlTimingAggregateEnabled && execTime >= 0 && sql != null)
+    {
+      SqlTimingAggregator.getInstance().recordShape(getSqlShape(sql), execTime, failed);
+    }
+  }
+
+  /**
+   * Get the shape under which the execution time of SQL is aggregated.
+   *
+   * @param sql the SQL that was run.
+   * @return the normalized SQL.
+   */
+  protected String getSqlShape(String sql)
+  {
+    return SqlTimingAggregator.normalize(sql);
+  }
+
   // implementation of interface methods
   public SQLWarning getWarnings() throws SQLException
   {
-    String methodCall = "getWarnings()";
+    String methodCall = isReturnReported() ? "getWarnings()" : null;
     try
     {
       return (SQLWarning) reportReturn(methodCall, realStatement.getWarnings());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getWarnings()", s);
       throw s;
     }
   }
@@ -386,14 +476,14 @@ public class StatementSpy implements Statement, Spy
 
   public void setMaxRows(int max) throws SQLException
   {
-    String methodCall = "setMaxRows(" + max + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setMaxRows", max) : null;
     try
     {
       realStatement.setMaxRows(max);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setMaxRows", s, max);
       throw s;
     }
     reportReturn(methodCall);
@@ -401,7 +491,7 @@ public class StatementSpy implements Statement, Spy
 
   public boolean getMoreResults() throws SQLException
   {
-    String methodCall = "getMoreResults()";
+    String methodCall = isReturnReported() ? "getMoreResults()" : null;
 
     try
     {
@@ -409,21 +499,21 @@ public class StatementSpy implements Statement, Spy
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getMoreResults()", s);
       throw s;
     }
   }
 
   public void clearWarnings() throws SQLException
   {
-    String methodCall = "clearWarnings()";
+    String methodCall = isReturnReported() ? "clearWarnings()" : null;
     try
     {
       realStatement.clearWarnings();
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("clearWarnings()", s);
       throw s;
     }
     reportReturn(methodCall);
@@ -437,7 +527,7 @@ public class StatementSpy implements Statement, Spy
 
   public void addBatch(String sql) throws SQLException
   {
-    String methodCall = "addBatch(" + sql + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("addBatch", sql) : null;
 
     currentBatch.add(StatementSqlWarning + sql);
     try
@@ -446,7 +536,7 @@ public class StatementSpy implements Statement, Spy
     }
     catch (SQLException s)
     {
-      reportException(methodCall,s);
+      reportException("addBatch", s, (Object) sql);
       throw s;
     }
     reportReturn(methodCall);
@@ -454,28 +544,28 @@ public class StatementSpy implements Statement, Spy
 
   public int getResultSetType() throws SQLException
   {
-    String methodCall = "getResultSetType()";
+    String methodCall = isReturnReported() ? "getResultSetType()" : null;
     try
     {
       return reportReturn(methodCall, realStatement.getResultSetType());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getResultSetType()", s);
       throw s;
     }
   }
 
   public void clearBatch() throws SQLException
   {
-    String methodCall = "clearBatch()";
+    String methodCall = isReturnReported() ? "clearBatch()" : null;
     try
     {
       realStatement.clearBatch();
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("clearBatch()", s);
       throw s;
     }
     currentBatch.clear();
@@ -484,14 +574,14 @@ public class StatementSpy implements Statement, Spy
 
   public void setFetchDirection(int direction) throws SQLException
   {
-    String methodCall = "setFetchDirection(" + direction + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setFetchDirection", direction) : null;
     try
     {
       realStatement.setFetchDirection(direction);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setFetchDirection", s, direction);
       throw s;
     }
     reportReturn(methodCall);
@@ -537,14 +627,14 @@ public class StatementSpy implements Statement, Spy
 
   public void setFetchSize(int rows) throws SQLException
   {
-    String methodCall = "setFetchSize(" + rows + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setFetchSize", rows) : null;
     try
     {
       realStatement.setFetchSize(rows);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setFetchSize", s, rows);
       throw s;
     }
     reportReturn(methodCall);
@@ -552,27 +642,27 @@ public class StatementSpy implements Statement, Spy
 
   public int getQueryTimeout() throws SQLException
   {
-    String methodCall = "getQueryTimeout()";
+    String methodCall = isReturnReported() ? "getQueryTimeout()" : null;
     try
     {
       return reportReturn(methodCall, realStatement.getQueryTimeout());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getQueryTimeout()", s);
       throw s;
     }
   }
 
   public Connection getConnection() throws SQLException
   {
-    String methodCall = "getConnection()";
+    String methodCall = isReturnReported() ? "getConnection()" : null;
     return (Connection) reportReturn(methodCall, connectionSpy);
   }
 
   public ResultSet getGeneratedKeys() throws SQLException
   {
-    String methodCall = "getGeneratedKeys()";
+    String methodCall = isReturnReported() ? "getGeneratedKeys()" : null;
     try
     {
       ResultSet r = realStatement.getGeneratedKeys();
@@ -589,7 +679,7 @@ public class StatementSpy implements Statement, Spy
     {
       if (!DriverSpy.SuppressGetGeneratedKeysException)
       {
-        reportException(methodCall, s);
+        reportException("getGeneratedKeys()", s);
       }
       throw s;
     }
@@ -597,14 +687,14 @@ public class StatementSpy implements Statement, Spy
 
   public void setEscapeProcessing(boolean enable) throws SQLException
   {
-    String methodCall = "setEscapeProcessing(" + enable + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setEscapeProcessing", enable) : null;
     try
     {
       realStatement.setEscapeProcessing(enable);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setEscapeProcessing", s, enable);
       throw s;
     }
     reportReturn(methodCall);
@@ -612,28 +702,28 @@ public class StatementSpy implements Statement, Spy
 
   public int getFetchDirection() throws SQLException
   {
-    String methodCall = "getFetchDirection()";
+    String methodCall = isReturnReported() ? "getFetchDirection()" : null;
     try
     {
       return reportReturn(methodCall, realStatement.getFetchDirection());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getFetchDirection()", s);
       throw s;
     }
   }
 
   public void setQueryTimeout(int seconds) throws SQLException
   {
-    String methodCall = "setQueryTimeout(" + seconds + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setQueryTimeout", seconds) : null;
     try
     {
       realStatement.setQueryTimeout(seconds);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setQueryTimeout", s, seconds);
       throw s;
     }
     reportReturn(methodCall);
@@ -641,7 +731,7 @@ public class StatementSpy implements Statement, Spy
 
   public boolean getMoreResults(int current) throws SQLException
   {
-    String methodCall = "getMoreResults(" + current + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("getMoreResults", current) : null;
 
     try
     {
@@ -649,7 +739,7 @@ public class StatementSpy implements Statement, Spy
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getMoreResults", s, current);
       throw s;
     }
   }
@@ -675,14 +765,14 @@ public class StatementSpy implements Statement, Spy
 
   public int getMaxFieldSize() throws SQLException
   {
-    String methodCall = "getMaxFieldSize()";
+    String methodCall = isReturnReported() ? "getMaxFieldSize()" : null;
     try
     {
       return reportReturn(methodCall, realStatement.getMaxFieldSize());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getMaxFieldSize()", s);
       throw s;
     }
   }
@@ -707,14 +797,14 @@ public class StatementSpy implements Statement, Spy
 
   public void cancel() throws SQLException
   {
-    String methodCall = "cancel()";
+    String methodCall = isReturnReported() ? "cancel()" : null;
     try
     {
       realStatement.cancel();
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("cancel()", s);
       throw s;
     }
     reportReturn(methodCall);
@@ -722,14 +812,14 @@ public class StatementSpy implements Statement, Spy
 
   public void setCursorName(String name) throws SQLException
   {
-    String methodCall = "setCursorName(" + name + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setCursorName", name) : null;
     try
     {
       realStatement.setCursorName(name);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setCursorName", s, (Object) name);
       throw s;
     }
     reportReturn(methodCall);
@@ -737,82 +827,82 @@ public class StatementSpy implements Statement, Spy
 
   public int getFetchSize() throws SQLException
   {
-    String methodCall = "getFetchSize()";
+    String methodCall = isReturnReported() ? "getFetchSize()" : null;
     try
     {
       return reportReturn(methodCall, realStatement.getFetchSize());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getFetchSize()", s);
       throw s;
     }
   }
 
   public int getResultSetConcurrency() throws SQLException
   {
-    String methodCall = "getResultSetConcurrency()";
+    String methodCall = isReturnReported() ? "getResultSetConcurrency()" : null;
     try
     {
       return reportReturn(methodCall, realStatement.getResultSetConcurrency());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getResultSetConcurrency()", s);
       throw s;
     }
   }
 
   public int getResultSetHoldability() throws SQLException
   {
-    String methodCall = "getResultSetHoldability()";
+    String methodCall = isReturnReported() ? "getResultSetHoldability()" : null;
     try
     {
       return reportReturn(methodCall, realStatement.getResultSetHoldability());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getResultSetHoldability()", s);
       throw s;
     }
   }
 
   public boolean isClosed() throws SQLException {
-    String methodCall = "isClosed()";
+    String methodCall = isReturnReported() ? "isClosed()" : null;
     try
     {
       return reportReturn(methodCall, realStatement.isClosed());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("isClosed()", s);
       throw s;
     }
   }
 
   public void setPoolable(boolean poolable) throws SQLException {
-    String methodCall = "setPoolable(" + poolable + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setPoolable", poolable) : null;
     try
     {
       realStatement.setPoolable(poolable);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setPoolable", s, poolable);
       throw s;
     }
     reportReturn(methodCall);
   }
 
   public boolean isPoolable() throws SQLException {
-    String methodCall = "isPoolable()";
+    String methodCall = isReturnReported() ? "isPoolable()" : null;
     try
     {
       return reportReturn(methodCall, realStatement.isPoolable());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("isPoolable()", s);
       throw s;
     }
   }
@@ -829,14 +919,14 @@ public class StatementSpy implements Statement, Spy
 
     public void setMaxFieldSize(int max) throws SQLException
   {
-    String methodCall = "setMaxFieldSize(" + max + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("setMaxFieldSize", max) : null;
     try
     {
       realStatement.setMaxFieldSize(max);
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("setMaxFieldSize", s, max);
       throw s;
     }
     reportReturn(methodCall);
@@ -934,7 +1024,7 @@ public class StatementSpy implements Statement, Spy
 
   public ResultSet getResultSet() throws SQLException
   {
-    String methodCall = "getResultSet()";
+    String methodCall = isReturnReported() ? "getResultSet()" : null;
     try
     {
       ResultSet r = realStatement.getResultSet();
@@ -949,35 +1039,35 @@ public class StatementSpy implements Statement, Spy
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getResultSet()", s);
       throw s;
     }
   }
 
   public int getMaxRows() throws SQLException
   {
-    String methodCall = "getMaxRows()";
+    String methodCall = isReturnReported() ? "getMaxRows()" : null;
     try
     {
       return reportReturn(methodCall, realStatement.getMaxRows());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getMaxRows()", s);
       throw s;
     }
   }
 
   public void close() throws SQLException
   {
-    String methodCall = "close()";
+    String methodCall = isReturnReported() ? "close()" : null;
     try
     {
       realStatement.close();
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("close()", s);
       throw s;
     }
     reportReturn(methodCall);
@@ -985,20 +1075,20 @@ public class StatementSpy implements Statement, Spy
 
   public int getUpdateCount() throws SQLException
   {
-    String methodCall = "getUpdateCount()";
+    String methodCall = isReturnReported() ? "getUpdateCount()" : null;
     try
     {
       return reportReturn(methodCall, realStatement.getUpdateCount());
     }
     catch (SQLException s)
     {
-      reportException(methodCall, s);
+      reportException("getUpdateCount()", s);
       throw s;
     }
   }
 
   public <T> T unwrap(Class<T> iface) throws SQLException {
-    String methodCall = "unwrap(" + (iface==null?"null":iface.getName()) + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("unwrap", (iface==null?"null":iface.getName())) : null;
     try
     {
       //todo: double check this logic
@@ -1006,14 +1096,14 @@ public class StatementSpy implements Statement, Spy
     }
     catch (SQLException s)
     {
-      reportException(methodCall,s);
+      reportException("unwrap", s, (Object) (iface==null?"null":iface.getName()));
       throw s;
     }
   }
 
   public boolean isWrapperFor(Class<?> iface) throws SQLException
   {
-    String methodCall = "isWrapperFor(" + (iface==null?"null":iface.getName()) + ")";
+    String methodCall = isReturnReported() ? Utilities.describe("isWrapperFor", (iface==null?"null":iface.getName())) : null;
     try
     {
       return reportReturn(methodCall, (iface != null && (iface == Statement.class || iface == Spy.class)) ||
@@ -1021,7 +1111,7 @@ public class StatementSpy implements Statement, Spy
     }
     catch (SQLException s)
     {
-      reportException(methodCall,s);
+      reportException("isWrapperFor", s, (Object) (iface==null?"null":iface.getName()));
       throw s;
     }
   }
@@ -40,4 +40,27 @@ public class Utilities {
     return output.toString();
   }
 
+  /**
+   * Describe a method call and the arguments passed to it, for logging.  The spies only call this when the
+   * description is actually logged, so its cost is not paid when the loggers are turned off.
+   * @param method name of the method that was called.
+   * @param args arguments passed to the method.
+   * @return the method name followed by the comma separated arguments in parentheses.
+   */
+  public static String describe(String method, Object... args)
+  {
+    StringBuffer output = new StringBuffer(method);
+    output.append('(');
+    for (int i=0; i < args.length; i++)
+    {
+      if (i > 0)
+      {
+        output.append(", ");
+      }
+      output.append(args[i]);
+    }
+    output.append(')');
+    return output.toString();
+  }
+
 }